@@ -0,0 +1,484 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.processor;
+
+import static javax.tools.Diagnostic.Kind.NOTE;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.GeneratedListenerIndex;
+import org.spongepowered.api.event.cause.EventContextKeys;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.filter.IsCancelled;
+import org.spongepowered.api.event.filter.cause.After;
+import org.spongepowered.api.event.filter.cause.All;
+import org.spongepowered.api.event.filter.cause.Before;
+import org.spongepowered.api.event.filter.cause.ContextValue;
+import org.spongepowered.api.event.filter.cause.First;
+import org.spongepowered.api.event.filter.cause.Last;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.filter.data.Has;
+import org.spongepowered.api.event.filter.data.Supports;
+import org.spongepowered.api.event.filter.type.Exclude;
+import org.spongepowered.api.event.filter.type.Include;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.QualifiedNameable;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+
+/**
+ * Generates an {@link EventListener} for each supported listener method that
+ * applies the filter annotations of the method and then calls it directly,
+ * and lists them in the {@link GeneratedListenerIndex#RESOURCE listener index}.
+ *
+ * <p>Listeners using filters that can't be translated are skipped and left
+ * to the event manager.</p>
+ */
+final class ListenerDispatcherGenerator {
+
+    private static final String FILTER_PACKAGE = "org.spongepowered.api.event.filter";
+    private static final String DISPATCHER_SUFFIX = "_Dispatcher";
+    private static final String INDENT = "    ";
+    private static final String GENERATED_ANNOTATION = "javax.annotation.processing.Generated";
+
+    private final ProcessingEnvironment processingEnv;
+    private final Elements elements;
+    private final Types types;
+    // javax.annotation.Generated is gone since Java 11, so only its
+    // replacement is used when the compiled source version has it
+    @Nullable private final String generatedAnnotation;
+
+    private final Set<String> dispatcherNames = new HashSet<>();
+    private final List<String> entries = new ArrayList<>();
+
+    ListenerDispatcherGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.generatedAnnotation = processingEnv.getSourceVersion().compareTo(SourceVersion.RELEASE_8) > 0
+                && this.elements.getTypeElement(GENERATED_ANNOTATION) != null ? GENERATED_ANNOTATION : null;
+    }
+
+    void generate(ExecutableElement method) {
+        final TypeElement listener = (TypeElement) method.getEnclosingElement();
+        final String packageName = this.elements.getPackageOf(listener).getQualifiedName().toString();
+        final String dispatcherName = createDispatcherName(listener, method);
+
+        final String source;
+        try {
+            source = createSource(packageName, dispatcherName, listener, method);
+        } catch (UnsupportedListenerException e) {
+            this.processingEnv.getMessager().printMessage(NOTE, "Not generating a dispatcher: " + e.getMessage(), method);
+            return;
+        }
+
+        final String qualifiedName = packageName.isEmpty() ? dispatcherName : packageName + '.' + dispatcherName;
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedName, method).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            throw new PluginProcessException("Failed to write listener dispatcher " + qualifiedName, e);
+        }
+
+        this.dispatcherNames.add(dispatcherName);
+        final StringJoiner parameterTypes = new StringJoiner(",");
+        for (VariableElement parameter : method.getParameters()) {
+            parameterTypes.add(getRuntimeName(parameter.asType()));
+        }
+        this.entries.add(qualifiedName + '\t' + this.elements.getBinaryName(listener) + '\t' + method.getSimpleName() + '\t' + parameterTypes);
+    }
+
+    void writeIndex() {
+        if (this.entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject obj = this.processingEnv.getFiler().createResource(CLASS_OUTPUT, "", GeneratedListenerIndex.RESOURCE);
+            try (Writer writer = obj.openWriter()) {
+                for (String entry : this.entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new PluginProcessException("Failed to write listener index", e);
+        }
+    }
+
+    private String createDispatcherName(TypeElement listener, ExecutableElement method) {
+        final String binaryName = this.elements.getBinaryName(listener).toString();
+        final String base = binaryName.substring(binaryName.lastIndexOf('.') + 1).replace('$', '_') + '_' + method.getSimpleName();
+
+        String name = base + DISPATCHER_SUFFIX;
+        for (int i = 1; this.dispatcherNames.contains(name); i++) {
+            name = base + '_' + i + DISPATCHER_SUFFIX;
+        }
+        return name;
+    }
+
+    private String createSource(String packageName, String dispatcherName, TypeElement listener, ExecutableElement method)
+            throws UnsupportedListenerException {
+        checkAccessible(listener);
+        if (!method.getTypeParameters().isEmpty()) {
+            throw new UnsupportedListenerException("generic listener methods are not supported");
+        }
+
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final TypeMirror eventType = parameters.get(0).asType();
+        if (eventType.getKind() != TypeKind.DECLARED) {
+            throw new UnsupportedListenerException("unsupported event type " + eventType);
+        }
+
+        final String listenerName = getSourceName(listener.asType());
+        final String eventName = getSourceName(eventType);
+
+        final StringBuilder body = new StringBuilder();
+        appendEventFilters(body, method);
+
+        final StringJoiner arguments = new StringJoiner(", ");
+        arguments.add("event");
+        for (int i = 1; i < parameters.size(); i++) {
+            arguments.add(appendParameter(body, (DeclaredType) eventType, parameters.get(i), "arg" + i));
+        }
+        line(body, "this.listener." + method.getSimpleName() + '(' + arguments + ");");
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        if (this.generatedAnnotation != null) {
+            source.append('@').append(this.generatedAnnotation).append("(\"").append(ListenerProcessor.class.getName()).append("\")\n");
+        }
+        source.append("public final class ").append(dispatcherName)
+                .append(" implements ").append(EventListener.class.getName()).append('<').append(eventName).append("> {\n\n")
+                .append(INDENT).append("private final ").append(listenerName).append(" listener;\n\n")
+                .append(INDENT).append("public ").append(dispatcherName).append('(').append(listenerName).append(" listener) {\n")
+                .append(INDENT).append(INDENT).append("this.listener = listener;\n")
+                .append(INDENT).append("}\n\n")
+                .append(INDENT).append("@Override\n")
+                .append(INDENT).append("@SuppressWarnings(\"unchecked\")\n")
+                .append(INDENT).append("public void handle(").append(eventName).append(" event) throws Exception {\n")
+                .append(body)
+                .append(INDENT).append("}\n\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private void appendEventFilters(StringBuilder body, ExecutableElement method) throws UnsupportedListenerException {
+        final String cancellable = Cancellable.class.getName();
+        final AnnotationMirror isCancelled = getAnnotation(method, IsCancelled.class);
+        final String state = isCancelled == null ? "FALSE" : ((VariableElement) getValue(isCancelled, "value")).getSimpleName().toString();
+        if (!state.equals("UNDEFINED")) {
+            line(body, "if (event instanceof " + cancellable + " && ((" + cancellable + ") event).isCancelled() != "
+                    + state.equals("TRUE") + ") {");
+            line(body, INDENT + "return;");
+            line(body, "}");
+        }
+
+        final AnnotationMirror include = getAnnotation(method, Include.class);
+        if (include != null) {
+            line(body, "if (!(" + createInstanceOf("event", getTypes(include, "value")) + ")) {");
+            line(body, INDENT + "return;");
+            line(body, "}");
+        }
+
+        final AnnotationMirror exclude = getAnnotation(method, Exclude.class);
+        if (exclude != null) {
+            line(body, "if (" + createInstanceOf("event", getTypes(exclude, "value")) + ") {");
+            line(body, INDENT + "return;");
+            line(body, "}");
+        }
+
+        checkKnownFilters(method, IsCancelled.class, Include.class, Exclude.class);
+    }
+
+    private String appendParameter(StringBuilder body, DeclaredType eventType, VariableElement parameter, String name)
+            throws UnsupportedListenerException {
+        final TypeMirror type = parameter.asType();
+        if (type.getKind() == TypeKind.TYPEVAR || type.getKind().isPrimitive()) {
+            throw new UnsupportedListenerException("unsupported parameter type " + type);
+        }
+        checkKnownFilters(parameter, First.class, Last.class, Root.class, Before.class, After.class, All.class, Getter.class,
+                ContextValue.class, Has.class, Supports.class);
+
+        final String typeName = getSourceName(type);
+        final String value = name + "Value";
+        AnnotationMirror annotation;
+        if ((annotation = getAnnotation(parameter, First.class)) != null || (annotation = getAnnotation(parameter, Last.class)) != null) {
+            final boolean first = isAnnotation(annotation, First.class);
+            final List<TypeMirror> typeFilter = getTypes(annotation, "typeFilter");
+            if (typeFilter.isEmpty()) {
+                line(body, "final java.util.Optional<" + typeName + "> " + value + " = event.getCause()." + (first ? "first" : "last")
+                        + '(' + typeName + ".class);");
+                line(body, "if (!" + value + ".isPresent()) {");
+                line(body, INDENT + "return;");
+                line(body, "}");
+                line(body, "final " + typeName + ' ' + name + " = " + value + ".get();");
+            } else {
+                final String causes = name + "Causes";
+                line(body, "final java.util.List<Object> " + causes + " = event.getCause().all();");
+                line(body, typeName + ' ' + name + " = null;");
+                line(body, first ? "for (int i = 0; i < " + causes + ".size(); i++) {" : "for (int i = " + causes + ".size() - 1; i >= 0; i--) {");
+                line(body, INDENT + "final Object " + value + " = " + causes + ".get(i);");
+                line(body, INDENT + "if (" + value + " instanceof " + typeName + " && (" + createInstanceOf(value, typeFilter) + ") != "
+                        + getValue(annotation, "inverse") + ") {");
+                line(body, INDENT + INDENT + name + " = (" + typeName + ") " + value + ';');
+                line(body, INDENT + INDENT + "break;");
+                line(body, INDENT + "}");
+                line(body, "}");
+                line(body, "if (" + name + " == null) {");
+                line(body, INDENT + "return;");
+                line(body, "}");
+            }
+        } else if ((annotation = getAnnotation(parameter, All.class)) != null) {
+            if (type.getKind() != TypeKind.ARRAY) {
+                throw new UnsupportedListenerException("@All requires an array parameter");
+            }
+            final String componentName = getSourceName(((ArrayType) type).getComponentType());
+            line(body, "final java.util.List<" + componentName + "> " + value + " = event.getCause().allOf(" + componentName + ".class);");
+            if ((Boolean) getValue(annotation, "ignoreEmpty")) {
+                line(body, "if (" + value + ".isEmpty()) {");
+                line(body, INDENT + "return;");
+                line(body, "}");
+            }
+            line(body, "final " + typeName + ' ' + name + " = " + value + ".toArray(new " + componentName + '[' + value + ".size()]);");
+        } else {
+            final String expression;
+            List<TypeMirror> typeFilter = new ArrayList<>();
+            boolean inverse = false;
+            if ((annotation = getAnnotation(parameter, Root.class)) != null) {
+                expression = "event.getCause().root()";
+            } else if ((annotation = getAnnotation(parameter, Before.class)) != null
+                    || (annotation = getAnnotation(parameter, After.class)) != null) {
+                expression = "event.getCause()." + (isAnnotation(annotation, Before.class) ? "before" : "after")
+                        + '(' + getSourceName((TypeMirror) getValue(annotation, "value")) + ".class).orElse(null)";
+            } else if ((annotation = getAnnotation(parameter, ContextValue.class)) != null) {
+                expression = "event.getContext().get(" + getContextKey((String) getValue(annotation, "value")) + ").orElse(null)";
+            } else if ((annotation = getAnnotation(parameter, Getter.class)) != null) {
+                expression = createGetter(eventType, (String) getValue(annotation, "value"), type);
+            } else {
+                throw new UnsupportedListenerException("parameter " + parameter.getSimpleName() + " has no source annotation");
+            }
+            if (!isAnnotation(annotation, Getter.class)) {
+                typeFilter = getTypes(annotation, "typeFilter");
+                inverse = (Boolean) getValue(annotation, "inverse");
+            }
+
+            line(body, "final Object " + value + " = " + expression + ';');
+            String condition = "!(" + value + " instanceof " + getSourceName(this.types.erasure(type)) + ')';
+            if (!typeFilter.isEmpty()) {
+                condition += " || (" + createInstanceOf(value, typeFilter) + ") == " + inverse;
+            }
+            line(body, "if (" + condition + ") {");
+            line(body, INDENT + "return;");
+            line(body, "}");
+            line(body, "final " + typeName + ' ' + name + " = (" + typeName + ") " + value + ';');
+        }
+
+        appendDataFilter(body, parameter, Has.class, "get", ".isPresent()", name);
+        appendDataFilter(body, parameter, Supports.class, "supports", "", name);
+        return name;
+    }
+
+    private void appendDataFilter(StringBuilder body, VariableElement parameter, Class<? extends Annotation> filter, String method,
+            String suffix, String name) throws UnsupportedListenerException {
+        final AnnotationMirror annotation = getAnnotation(parameter, filter);
+        if (annotation == null) {
+            return;
+        }
+        final TypeMirror dataHolder = this.types.getDeclaredType(this.elements.getTypeElement(DataHolder.class.getName()));
+        if (!this.types.isAssignable(parameter.asType(), dataHolder)) {
+            throw new UnsupportedListenerException("@" + filter.getSimpleName() + " requires a DataHolder parameter");
+        }
+        line(body, "if (" + name + '.' + method + '(' + getSourceName((TypeMirror) getValue(annotation, "value")) + ".class)" + suffix
+                + " == " + getValue(annotation, "inverse") + ") {");
+        line(body, INDENT + "return;");
+        line(body, "}");
+    }
+
+    private String createGetter(DeclaredType eventType, String methodName, TypeMirror parameterType) throws UnsupportedListenerException {
+        final TypeElement eventElement = (TypeElement) eventType.asElement();
+        for (ExecutableElement getter : ElementFilter.methodsIn(this.elements.getAllMembers(eventElement))) {
+            if (!getter.getSimpleName().contentEquals(methodName) || !getter.getParameters().isEmpty()
+                    || getter.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+
+            final TypeMirror returnType = ((ExecutableType) this.types.asMemberOf(eventType, getter)).getReturnType();
+            if (returnType.getKind().isPrimitive() || returnType.getKind() == TypeKind.VOID) {
+                break;
+            }
+            final String expression = "event." + methodName + "()";
+            if (isOptional(returnType) && !isOptional(parameterType)) {
+                return expression + ".orElse(null)";
+            }
+            return expression;
+        }
+        throw new UnsupportedListenerException("no supported getter " + methodName + " in " + eventType);
+    }
+
+    private boolean isOptional(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(Optional.class.getName());
+    }
+
+    private String getContextKey(String name) throws UnsupportedListenerException {
+        final TypeElement keys = this.elements.getTypeElement(EventContextKeys.class.getName());
+        for (VariableElement field : ElementFilter.fieldsIn(keys.getEnclosedElements())) {
+            if (field.getSimpleName().contentEquals(name) && field.getModifiers().contains(Modifier.STATIC)) {
+                return keys.getQualifiedName() + "." + name;
+            }
+        }
+        throw new UnsupportedListenerException("unknown event context key " + name);
+    }
+
+    private String createInstanceOf(String variable, List<TypeMirror> types) {
+        final StringJoiner joiner = new StringJoiner(" || ");
+        for (TypeMirror type : types) {
+            joiner.add(variable + " instanceof " + getSourceName(this.types.erasure(type)));
+        }
+        return joiner.toString();
+    }
+
+    private void checkAccessible(TypeElement type) throws UnsupportedListenerException {
+        for (Element element = type; element.getKind() != ElementKind.PACKAGE; element = element.getEnclosingElement()) {
+            if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+                throw new UnsupportedListenerException("local and anonymous classes are not supported");
+            }
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedListenerException(element + " is private");
+            }
+        }
+    }
+
+    private void checkKnownFilters(Element element, Class<?>... known) throws UnsupportedListenerException {
+        outer:
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final String name = ((QualifiedNameable) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (!name.startsWith(FILTER_PACKAGE)) {
+                continue;
+            }
+            for (Class<?> annotation : known) {
+                if (annotation.getName().equals(name)) {
+                    continue outer;
+                }
+            }
+            throw new UnsupportedListenerException("unsupported filter @" + mirror.getAnnotationType().asElement().getSimpleName());
+        }
+    }
+
+    private String getSourceName(TypeMirror type) {
+        return this.types.erasure(type).toString();
+    }
+
+    private String getRuntimeName(TypeMirror type) {
+        final TypeMirror erased = this.types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return getRuntimeName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return this.elements.getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+        }
+        return erased.toString();
+    }
+
+    private List<TypeMirror> getTypes(AnnotationMirror annotation, String name) {
+        final List<TypeMirror> types = new ArrayList<>();
+        for (Object value : (List<?>) getValue(annotation, name)) {
+            types.add((TypeMirror) ((AnnotationValue) value).getValue());
+        }
+        return types;
+    }
+
+    private Object getValue(AnnotationMirror annotation, String name) {
+        final Map<? extends ExecutableElement, ? extends AnnotationValue> values = this.elements.getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalArgumentException("Annotation value '" + name + "' is not present in " + annotation);
+    }
+
+    private static boolean isAnnotation(AnnotationMirror mirror, Class<? extends Annotation> annotation) {
+        return ((QualifiedNameable) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation.getName());
+    }
+
+    @Nullable
+    private static AnnotationMirror getAnnotation(Element element, Class<? extends Annotation> annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (isAnnotation(mirror, annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static void line(StringBuilder builder, String line) {
+        builder.append(INDENT).append(INDENT).append(line).append('\n');
+    }
+
+    private static final class UnsupportedListenerException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedListenerException(String message) {
+            super(message);
+        }
+
+    }
+
+}
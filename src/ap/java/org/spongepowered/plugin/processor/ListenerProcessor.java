@@ -32,10 +32,13 @@
 import java.util.List;
 import java.util.Set;
 
+import javax.annotation.Nullable;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
@@ -51,14 +54,36 @@
 import javax.tools.Diagnostic;
 
 @SupportedAnnotationTypes(ListenerProcessor.LISTENER_ANNOTATION_CLASS)
+@SupportedOptions(ListenerProcessor.GENERATE_DISPATCHERS_OPTION)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 public class ListenerProcessor extends AbstractProcessor {
 
+    public static final String GENERATE_DISPATCHERS_OPTION = "generateListenerDispatchers";
+
     static final String LISTENER_ANNOTATION_CLASS = "org.spongepowered.api.event.Listener";
     private static final String EVENT_CLASS = Event.class.getName();
 
+    @Nullable private ListenerDispatcherGenerator generator;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(GENERATE_DISPATCHERS_OPTION))) {
+            this.generator = new ListenerDispatcherGenerator(processingEnv);
+        }
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (this.generator != null && !roundEnv.errorRaised()) {
+                this.generator.writeIndex();
+            }
+
+            return false;
+        }
+
         if (ProcessorUtils.contains(annotations, Listener.class)) {
             for (Element e : roundEnv.getElementsAnnotatedWith(Listener.class)) {
                 if (e.getKind() != ElementKind.METHOD) {
@@ -68,24 +93,35 @@ public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment
                 ExecutableElement method = (ExecutableElement) e;
 
                 Messager msg = this.processingEnv.getMessager();
+                boolean valid = true;
                 if (method.getModifiers().contains(Modifier.STATIC)) {
                     msg.printMessage(Diagnostic.Kind.ERROR, "method must not be static", method);
+                    valid = false;
                 }
                 if (!method.getModifiers().contains(Modifier.PUBLIC)) {
                     msg.printMessage(Diagnostic.Kind.ERROR, "method must be public", method);
+                    valid = false;
                 }
                 if (method.getModifiers().contains(Modifier.ABSTRACT)) {
                     msg.printMessage(Diagnostic.Kind.ERROR, "method must not be abstract", method);
+                    valid = false;
                 }
                 if (method.getEnclosingElement().getKind().isInterface()) {
                     msg.printMessage(Diagnostic.Kind.ERROR, "interfaces cannot declare listeners", method);
+                    valid = false;
                 }
                 if (method.getReturnType().getKind() != TypeKind.VOID) {
                     msg.printMessage(Diagnostic.Kind.ERROR, "method must return void", method);
+                    valid = false;
                 }
                 List<? extends VariableElement> parameters = method.getParameters();
                 if (parameters.isEmpty() || !isTypeSubclass(parameters.get(0), EVENT_CLASS)) {
                     msg.printMessage(Diagnostic.Kind.ERROR, "method must have an Event as its first parameter", method);
+                    valid = false;
+                }
+
+                if (valid && this.generator != null) {
+                    this.generator.generate(method);
                 }
             }
         }
@@ -31,6 +31,8 @@
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nullable;
 
@@ -71,6 +73,46 @@ public interface CommandCallable {
      */
     List<String> getSuggestions(CommandSource source, String arguments, @Nullable  Location<World> targetPosition) throws CommandException;
 
+    /**
+     * Gets a list of suggestions based on input, computed by a task submitted
+     * to the given executor.
+     *
+     * <p>The returned future may be cancelled if the suggestions are no
+     * longer needed, for example because the source requested suggestions
+     * for newer input. Cancelling it before the task started prevents the
+     * suggestions from being computed at all. A {@link CommandException}
+     * completes the future exceptionally.</p>
+     *
+     * <p>The default implementation runs
+     * {@link #getSuggestions(CommandSource, String, Location)} on the
+     * executor, so callers are responsible for choosing an executor on which
+     * this command may be completed.</p>
+     *
+     * @param source The command source
+     * @param arguments The arguments entered up to this point
+     * @param targetPosition The position the source is looking at when
+     *     performing tab completion
+     * @param executor The executor to compute the suggestions on
+     * @return A future completing with a list of suggestions
+     * @see TabCompletionSession
+     */
+    default CompletableFuture<List<String>> getSuggestionsAsync(CommandSource source, String arguments,
+            @Nullable Location<World> targetPosition, Executor executor) {
+        final CompletableFuture<List<String>> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                // Cancelled before the task got to run
+                return;
+            }
+            try {
+                future.complete(getSuggestions(source, arguments, targetPosition));
+            } catch (CommandException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
     /**
      * Test whether this command can probably be executed by the given source.
      *
@@ -0,0 +1,176 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.command;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
+
+/**
+ * Tracks the tab completion requests of a single client against a
+ * {@link CommandCallable}.
+ *
+ * <p>Each request cancels the previous one if it is still pending, so only
+ * the suggestions for the latest input are computed. Results can be limited
+ * to a maximum amount of suggestions.</p>
+ *
+ * <p>In incremental mode, input that only appends characters to the last
+ * word of the previous input is completed by narrowing down the previous
+ * suggestions instead of asking the callable again. This relies on the
+ * suggestions starting with the word being completed, which is the case for
+ * the standard command elements.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class TabCompletionSession {
+
+    private final CommandCallable callable;
+    private final Executor executor;
+    private final int limit;
+    private final boolean incremental;
+
+    @Nullable private CompletableFuture<List<String>> pending;
+    private long generation;
+    @Nullable private CommandSource lastSource;
+    @Nullable private String lastArguments;
+    @Nullable private List<String> lastSuggestions;
+
+    /**
+     * Creates a new session without a suggestion limit that always asks the
+     * callable for suggestions.
+     *
+     * @param callable The callable to complete
+     * @param executor The executor to compute suggestions on
+     */
+    public TabCompletionSession(CommandCallable callable, Executor executor) {
+        this(callable, executor, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Creates a new session.
+     *
+     * @param callable The callable to complete
+     * @param executor The executor to compute suggestions on
+     * @param limit The maximum amount of suggestions to return
+     * @param incremental Whether suggestions for extended input are narrowed
+     *     down from the previous suggestions
+     */
+    public TabCompletionSession(CommandCallable callable, Executor executor, int limit, boolean incremental) {
+        checkArgument(limit > 0, "limit must be positive");
+        this.callable = checkNotNull(callable, "callable");
+        this.executor = checkNotNull(executor, "executor");
+        this.limit = limit;
+        this.incremental = incremental;
+    }
+
+    /**
+     * Requests suggestions for the given input, cancelling the previous
+     * request if it is still pending.
+     *
+     * @param source The command source
+     * @param arguments The arguments entered up to this point
+     * @param targetPosition The position the source is looking at when
+     *     performing tab completion
+     * @return A future completing with at most the limit of suggestions
+     * @see CommandCallable#getSuggestionsAsync(CommandSource, String,
+     *     Location, Executor)
+     */
+    public synchronized CompletableFuture<List<String>> complete(CommandSource source, String arguments,
+            @Nullable Location<World> targetPosition) {
+        checkNotNull(source, "source");
+        checkNotNull(arguments, "arguments");
+        cancel();
+        final long generation = ++this.generation;
+        if (this.incremental && this.lastSuggestions != null && source == this.lastSource
+                && extendsLastWord(this.lastArguments, arguments)) {
+            final String word = arguments.substring(arguments.lastIndexOf(' ') + 1);
+            final ImmutableList.Builder<String> narrowed = ImmutableList.builder();
+            for (String suggestion : this.lastSuggestions) {
+                if (suggestion.regionMatches(true, 0, word, 0, word.length())) {
+                    narrowed.add(suggestion);
+                }
+            }
+            final List<String> suggestions = narrowed.build();
+            this.lastArguments = arguments;
+            this.lastSuggestions = suggestions;
+            return CompletableFuture.completedFuture(limit(suggestions));
+        }
+        this.lastSource = null;
+        this.lastArguments = null;
+        this.lastSuggestions = null;
+        final CompletableFuture<List<String>> future = this.callable.getSuggestionsAsync(source, arguments, targetPosition,
+                this.executor);
+        final CompletableFuture<List<String>> result = future.thenApply(suggestions -> {
+            record(generation, source, arguments, suggestions);
+            return limit(suggestions);
+        });
+        // Cancelling the returned future has to stop the actual completion
+        result.whenComplete((suggestions, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(false);
+            }
+        });
+        this.pending = result;
+        return result;
+    }
+
+    /**
+     * Cancels the pending request, if any.
+     */
+    public synchronized void cancel() {
+        if (this.pending != null) {
+            this.pending.cancel(false);
+            this.pending = null;
+        }
+    }
+
+    private synchronized void record(long generation, CommandSource source, String arguments, List<String> suggestions) {
+        // Suggestions of superseded requests must not be narrowed down later
+        if (this.generation == generation) {
+            this.lastSource = source;
+            this.lastArguments = arguments;
+            this.lastSuggestions = suggestions;
+        }
+    }
+
+    private List<String> limit(List<String> suggestions) {
+        return suggestions.size() <= this.limit ? suggestions : ImmutableList.copyOf(suggestions.subList(0, this.limit));
+    }
+
+    private static boolean extendsLastWord(@Nullable String previous, String arguments) {
+        return previous != null && arguments.length() > previous.length() && arguments.startsWith(previous)
+                && arguments.indexOf(' ', previous.length()) < 0;
+    }
+
+}
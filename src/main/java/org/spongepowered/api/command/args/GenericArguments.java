@@ -1248,7 +1248,7 @@ public List<String> complete(CommandSource src, CommandArgs args, CommandContext
             Iterable<String> choices = getCompletionChoices(src);
             final Optional<String> nextArg = args.nextIfPresent();
             if (nextArg.isPresent()) {
-                choices = Iterables.filter(choices, input -> getFormattedPattern(nextArg.get()).matcher(input).find());
+                choices = filterChoices(src, choices, nextArg.get());
             }
             return ImmutableList.copyOf(choices);
         }
@@ -26,11 +26,17 @@
 
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.text.Text;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -40,9 +46,25 @@
 
 /**
  * Abstract command element that matches values based on pattern.
+ *
+ * <p>Input without any regex syntax is matched as a case-insensitive prefix
+ * without compiling a pattern. If {@link #getChoices(CommandSource)} returns
+ * the same choices for a source repeatedly, even as a new collection, those
+ * prefix matches are looked up in a sorted index of the choices of that
+ * source.</p>
  */
 public abstract class PatternMatchingCommandElement extends CommandElement {
     private static final Text nullKeyArg = t("argument");
+    private static final String REGEX_SYNTAX = "\\^$.|?*+()[]{}";
+    private static final Cache<String, Pattern> patternCache = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    // Choices may differ per source, so each source gets its own index
+    private final Cache<CommandSource, ChoiceIndex> choiceIndices = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(256)
+            .build();
 
     protected PatternMatchingCommandElement(@Nullable Text key) {
         super(key);
@@ -52,8 +74,7 @@ protected PatternMatchingCommandElement(@Nullable Text key) {
     @Override
     protected Object parseValue(CommandSource source, CommandArgs args) throws ArgumentParseException {
         final String unformattedPattern = args.next();
-        Pattern pattern = getFormattedPattern(unformattedPattern);
-        Iterable<String> filteredChoices = Iterables.filter(getChoices(source), element -> pattern.matcher(element).find());
+        Iterable<String> filteredChoices = filterChoices(source, getChoices(source), unformattedPattern);
         for (String el : filteredChoices) { // Match a single value
             if (el.equalsIgnoreCase(unformattedPattern)) {
                 return Collections.singleton(getValue(el));
@@ -73,17 +94,92 @@ public List<String> complete(CommandSource src, CommandArgs args, CommandContext
         Iterable<String> choices = getChoices(src);
         final Optional<String> nextArg = args.nextIfPresent();
         if (nextArg.isPresent()) {
-            choices = Iterables.filter(choices, input -> getFormattedPattern(nextArg.get()).matcher(input).find());
+            choices = filterChoices(src, choices, nextArg.get());
         }
         return ImmutableList.copyOf(choices);
     }
 
+    /**
+     * Filters the given choices down to the ones matching the given input,
+     * as by {@link #getFormattedPattern(String)}.
+     *
+     * @param source The source the choices were returned for
+     * @param choices The choices to filter
+     * @param input The input to match
+     * @return The matching choices
+     */
+    Iterable<String> filterChoices(CommandSource source, Iterable<String> choices, String input) {
+        final String prefix = getLiteralPrefix(input);
+        if (prefix == null) {
+            final Pattern pattern = getFormattedPattern(input);
+            return Iterables.filter(choices, element -> pattern.matcher(element).find());
+        }
+        if (prefix.isEmpty()) {
+            return choices;
+        }
+        final ChoiceIndex index = getChoiceIndex(source, choices);
+        if (index != null) {
+            return index.withPrefix(prefix);
+        }
+        return Iterables.filter(choices, element -> element.regionMatches(true, 0, prefix, 0, prefix.length()));
+    }
+
     Pattern getFormattedPattern(String input) {
         if (!input.startsWith("^")) { // Anchor matches to the beginning -- this lets us use find()
             input = "^" + input;
         }
-        return Pattern.compile(input, Pattern.CASE_INSENSITIVE);
+        Pattern pattern = patternCache.getIfPresent(input);
+        if (pattern == null) {
+            // Compiled outside of the cache, so invalid input still throws
+            // a PatternSyntaxException and is never cached
+            pattern = Pattern.compile(input, Pattern.CASE_INSENSITIVE);
+            patternCache.put(input, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Gets the prefix the given input matches if it doesn't use any regex
+     * syntax apart from the leading anchor.
+     *
+     * @param input The input
+     * @return The literal prefix, or null if the input is a regex
+     */
+    @Nullable
+    private static String getLiteralPrefix(String input) {
+        final int start = input.startsWith("^") ? 1 : 0;
+        for (int i = start; i < input.length(); i++) {
+            if (REGEX_SYNTAX.indexOf(input.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        return input.substring(start);
+    }
 
+    /**
+     * Gets the index of the given choices, if they are the same as the last
+     * indexed choices of the source. Otherwise the choices are remembered to
+     * be indexed once they are seen again.
+     *
+     * @param source The source the choices were returned for
+     * @param choices The choices
+     * @return The index, or null if it isn't available yet
+     */
+    @Nullable
+    ChoiceIndex getChoiceIndex(CommandSource source, Iterable<String> choices) {
+        final ChoiceIndex index = this.choiceIndices.getIfPresent(source);
+        if (index != null && index.matches(choices)) {
+            return index;
+        }
+        // Sorting only pays off if the same choices are returned again,
+        // until then only a snapshot of the choices is kept
+        final ChoiceIndex snapshot = ChoiceIndex.of(choices);
+        if (snapshot != null) {
+            this.choiceIndices.put(source, snapshot);
+        } else {
+            this.choiceIndices.invalidate(source);
+        }
+        return null;
     }
 
     /**
@@ -105,4 +201,136 @@ Pattern getFormattedPattern(String input) {
      *         value of {@link #getChoices(CommandSource)}
      */
     protected abstract Object getValue(String choice) throws IllegalArgumentException;
+
+    /**
+     * A snapshot of the choices of an element, together with the positions
+     * of the choices sorted case-insensitively, so all choices with a given
+     * prefix are next to each other.
+     */
+    static final class ChoiceIndex {
+
+        private final String[] choices;
+        // An immutable collection the choices were copied from, it can't
+        // have changed if it is returned again
+        @Nullable private final Iterable<String> immutableChoices;
+        @Nullable private volatile int[] sorted;
+
+        private ChoiceIndex(String[] choices, @Nullable Iterable<String> immutableChoices) {
+            this.choices = choices;
+            this.immutableChoices = immutableChoices;
+        }
+
+        @Nullable
+        static ChoiceIndex of(Iterable<String> choices) {
+            final List<String> snapshot = choices instanceof Collection ? new ArrayList<>(((Collection<String>) choices).size())
+                    : new ArrayList<>();
+            for (String choice : choices) {
+                if (choice == null) {
+                    return null;
+                }
+                snapshot.add(choice);
+            }
+            return new ChoiceIndex(snapshot.toArray(new String[snapshot.size()]), choices instanceof ImmutableCollection ? choices : null);
+        }
+
+        /**
+         * Gets whether the given choices are the same as the indexed ones,
+         * in the same order. Choices usually are the same string instances
+         * every time, so this is a cheap pass without allocations.
+         *
+         * @param choices The choices to check
+         * @return Whether the choices match
+         */
+        boolean matches(Iterable<String> choices) {
+            if (choices == this.immutableChoices) {
+                return true;
+            }
+            if (choices instanceof Collection && ((Collection<?>) choices).size() != this.choices.length) {
+                return false;
+            }
+            int i = 0;
+            for (String choice : choices) {
+                if (i == this.choices.length) {
+                    return false;
+                }
+                final String indexed = this.choices[i++];
+                if (choice != indexed && (choice == null || !choice.equals(indexed))) {
+                    return false;
+                }
+            }
+            return i == this.choices.length;
+        }
+
+        /**
+         * Gets the choices starting with the given prefix, ignoring case, in
+         * their original order.
+         *
+         * @param prefix The prefix
+         * @return The matching choices
+         */
+        List<String> withPrefix(String prefix) {
+            int[] sorted = this.sorted;
+            if (sorted == null) {
+                sorted = new int[this.choices.length];
+                for (int i = 0; i < sorted.length; i++) {
+                    sorted[i] = i;
+                }
+                sort(sorted, sorted.clone(), 0, sorted.length);
+                this.sorted = sorted;
+            }
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (String.CASE_INSENSITIVE_ORDER.compare(this.choices[sorted[mid]], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int end = low;
+            while (end < sorted.length && this.choices[sorted[end]].regionMatches(true, 0, prefix, 0, prefix.length())) {
+                end++;
+            }
+            final int[] matches = new int[end - low];
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = sorted[low + i];
+            }
+            Arrays.sort(matches);
+            final ImmutableList.Builder<String> builder = ImmutableList.builder();
+            for (int match : matches) {
+                builder.add(this.choices[match]);
+            }
+            return builder.build();
+        }
+
+        /**
+         * Merge sorts the positions in the given range by their choices,
+         * ignoring case, without boxing them.
+         *
+         * @param positions The positions to sort
+         * @param buffer A buffer of the same length
+         * @param from The start of the range, inclusive
+         * @param to The end of the range, exclusive
+         */
+        private void sort(int[] positions, int[] buffer, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            sort(positions, buffer, from, mid);
+            sort(positions, buffer, mid, to);
+            System.arraycopy(positions, from, buffer, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right == to || left < mid
+                        && String.CASE_INSENSITIVE_ORDER.compare(this.choices[buffer[left]], this.choices[buffer[right]]) <= 0) {
+                    positions[i] = buffer[left++];
+                } else {
+                    positions[i] = buffer[right++];
+                }
+            }
+        }
+    }
 }
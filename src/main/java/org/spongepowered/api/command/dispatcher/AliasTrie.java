@@ -0,0 +1,327 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.command.dispatcher;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.command.CommandMapping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * A persistent trie mapping lower case aliases to the command mappings
+ * registered for them.
+ *
+ * <p>Instances are immutable, modifications return a new trie that shares
+ * all unchanged nodes with this one. This allows readers to work on a
+ * snapshot without any synchronization.</p>
+ */
+final class AliasTrie {
+
+    static final AliasTrie EMPTY = new AliasTrie(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private AliasTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the amount of alias to mapping entries in this trie.
+     *
+     * @return The size
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the mappings registered for the given lower case alias.
+     *
+     * @param alias The alias
+     * @return The mappings, can be empty
+     */
+    List<CommandMapping> get(String alias) {
+        final Node node = this.root.find(alias);
+        return node == null ? ImmutableList.of() : node.mappings;
+    }
+
+    /**
+     * Gets whether any mappings are registered for the given lower case
+     * alias.
+     *
+     * @param alias The alias
+     * @return Whether the alias is registered
+     */
+    boolean contains(String alias) {
+        final Node node = this.root.find(alias);
+        return node != null && !node.mappings.isEmpty();
+    }
+
+    /**
+     * Gets whether any registered mapping matches the given predicate.
+     *
+     * @param predicate The predicate
+     * @return Whether any mapping matches
+     */
+    boolean anyMatch(Predicate<? super CommandMapping> predicate) {
+        return this.root.anyMatch(predicate);
+    }
+
+    /**
+     * Passes every registered alias, in alphabetical order, together with
+     * its mappings to the given consumer.
+     *
+     * @param consumer The consumer
+     */
+    void forEach(BiConsumer<String, List<CommandMapping>> consumer) {
+        this.root.forEach(new StringBuilder(), consumer);
+    }
+
+    /**
+     * Passes every registered alias starting with the given lower case
+     * prefix, in alphabetical order, together with its mappings to the given
+     * consumer. Only the part of the trie below the prefix is visited.
+     *
+     * @param prefix The prefix
+     * @param consumer The consumer
+     */
+    void forEachWithPrefix(String prefix, BiConsumer<String, List<CommandMapping>> consumer) {
+        final Node node = this.root.find(prefix);
+        if (node != null) {
+            node.forEach(new StringBuilder(prefix), consumer);
+        }
+    }
+
+    /**
+     * Returns a trie that additionally maps the given lower case alias to
+     * the given mapping.
+     *
+     * @param alias The alias
+     * @param mapping The mapping
+     * @return The new trie
+     */
+    AliasTrie with(String alias, CommandMapping mapping) {
+        return new AliasTrie(this.root.with(alias, 0, mapping), this.size + 1);
+    }
+
+    /**
+     * Returns a trie without any mappings for the given lower case alias.
+     *
+     * @param alias The alias
+     * @return The new trie, or this trie if the alias isn't registered
+     */
+    AliasTrie without(String alias) {
+        final int removed = get(alias).size();
+        if (removed == 0) {
+            return this;
+        }
+        final Node root = this.root.without(alias, 0);
+        return new AliasTrie(root == null ? Node.EMPTY : root, this.size - removed);
+    }
+
+    /**
+     * Returns a trie that only retains the mappings matching the given
+     * predicate.
+     *
+     * @param predicate The predicate
+     * @return The new trie, or this trie if all mappings match
+     */
+    AliasTrie filter(Predicate<? super CommandMapping> predicate) {
+        final int[] size = new int[1];
+        final Node root = this.root.filter(predicate, size);
+        if (root == this.root) {
+            return this;
+        }
+        return new AliasTrie(root == null ? Node.EMPTY : root, size[0]);
+    }
+
+    private static final class Node {
+
+        static final Node EMPTY = new Node(new char[0], new Node[0], ImmutableList.of());
+
+        // Sorted, so children can be looked up by binary search and are
+        // visited in alphabetical order
+        final char[] keys;
+        final Node[] children;
+        final ImmutableList<CommandMapping> mappings;
+
+        Node(char[] keys, Node[] children, ImmutableList<CommandMapping> mappings) {
+            this.keys = keys;
+            this.children = children;
+            this.mappings = mappings;
+        }
+
+        @Nullable
+        Node find(String key) {
+            Node node = this;
+            for (int i = 0; i < key.length(); i++) {
+                final int index = Arrays.binarySearch(node.keys, key.charAt(i));
+                if (index < 0) {
+                    return null;
+                }
+                node = node.children[index];
+            }
+            return node;
+        }
+
+        boolean anyMatch(Predicate<? super CommandMapping> predicate) {
+            for (CommandMapping mapping : this.mappings) {
+                if (predicate.test(mapping)) {
+                    return true;
+                }
+            }
+            for (Node child : this.children) {
+                if (child.anyMatch(predicate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void forEach(StringBuilder path, BiConsumer<String, List<CommandMapping>> consumer) {
+            if (!this.mappings.isEmpty()) {
+                consumer.accept(path.toString(), this.mappings);
+            }
+            final int length = path.length();
+            for (int i = 0; i < this.keys.length; i++) {
+                path.append(this.keys[i]);
+                this.children[i].forEach(path, consumer);
+                path.setLength(length);
+            }
+        }
+
+        Node with(String key, int depth, CommandMapping mapping) {
+            if (depth == key.length()) {
+                final ImmutableList<CommandMapping> mappings = ImmutableList.<CommandMapping>builder()
+                        .addAll(this.mappings)
+                        .add(mapping)
+                        .build();
+                return new Node(this.keys, this.children, mappings);
+            }
+            final char c = key.charAt(depth);
+            final int index = Arrays.binarySearch(this.keys, c);
+            if (index >= 0) {
+                final Node[] children = this.children.clone();
+                children[index] = children[index].with(key, depth + 1, mapping);
+                return new Node(this.keys, children, this.mappings);
+            }
+            final int insert = -index - 1;
+            final char[] keys = new char[this.keys.length + 1];
+            final Node[] children = new Node[keys.length];
+            System.arraycopy(this.keys, 0, keys, 0, insert);
+            System.arraycopy(this.children, 0, children, 0, insert);
+            keys[insert] = c;
+            children[insert] = EMPTY.with(key, depth + 1, mapping);
+            System.arraycopy(this.keys, insert, keys, insert + 1, this.keys.length - insert);
+            System.arraycopy(this.children, insert, children, insert + 1, this.children.length - insert);
+            return new Node(keys, children, this.mappings);
+        }
+
+        @Nullable
+        Node without(String key, int depth) {
+            if (depth == key.length()) {
+                return this.keys.length == 0 ? null : new Node(this.keys, this.children, ImmutableList.of());
+            }
+            final int index = Arrays.binarySearch(this.keys, key.charAt(depth));
+            if (index < 0) {
+                return this;
+            }
+            final Node child = this.children[index].without(key, depth + 1);
+            if (child != null) {
+                final Node[] children = this.children.clone();
+                children[index] = child;
+                return new Node(this.keys, children, this.mappings);
+            }
+            if (this.keys.length == 1 && this.mappings.isEmpty()) {
+                return null;
+            }
+            final char[] keys = new char[this.keys.length - 1];
+            final Node[] children = new Node[keys.length];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.children, 0, children, 0, index);
+            System.arraycopy(this.keys, index + 1, keys, index, keys.length - index);
+            System.arraycopy(this.children, index + 1, children, index, children.length - index);
+            return new Node(keys, children, this.mappings);
+        }
+
+        @Nullable
+        Node filter(Predicate<? super CommandMapping> predicate, int[] size) {
+            boolean changed = false;
+            ImmutableList<CommandMapping> mappings = this.mappings;
+            if (!mappings.isEmpty()) {
+                final ImmutableList.Builder<CommandMapping> builder = ImmutableList.builder();
+                int retained = 0;
+                for (CommandMapping mapping : mappings) {
+                    if (predicate.test(mapping)) {
+                        builder.add(mapping);
+                        retained++;
+                    }
+                }
+                if (retained != mappings.size()) {
+                    mappings = builder.build();
+                    changed = true;
+                }
+                size[0] += retained;
+            }
+            char[] keys = this.keys;
+            Node[] children = this.children;
+            boolean copied = false;
+            int count = 0;
+            for (int i = 0; i < this.keys.length; i++) {
+                final Node child = this.children[i].filter(predicate, size);
+                if (child != this.children[i] && !copied) {
+                    keys = this.keys.clone();
+                    children = this.children.clone();
+                    copied = true;
+                }
+                if (copied && child != null) {
+                    keys[count] = this.keys[i];
+                    children[count] = child;
+                }
+                if (child != null) {
+                    count++;
+                }
+            }
+            if (!changed && !copied) {
+                return this;
+            }
+            if (count == 0 && mappings.isEmpty()) {
+                return null;
+            }
+            if (count != keys.length) {
+                keys = Arrays.copyOf(keys, count);
+                children = Arrays.copyOf(children, count);
+            }
+            return new Node(keys, children, mappings);
+        }
+    }
+}
@@ -28,13 +28,10 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.SPACE_TEXT;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandCallable;
 import org.spongepowered.api.command.CommandException;
@@ -55,12 +52,12 @@
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -68,6 +65,10 @@
 
 /**
  * A simple implementation of a {@link Dispatcher}.
+ *
+ * <p>Aliases are stored in an immutable trie which is replaced on every
+ * modification, so lookups never block and only need to walk the
+ * characters of the alias or prefix in question.</p>
  */
 public final class SimpleDispatcher implements Dispatcher {
 
@@ -84,7 +85,9 @@ public final class SimpleDispatcher implements Dispatcher {
     };
 
     private final Disambiguator disambiguatorFunc;
-    private final ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create();
+    // Writers synchronize on this dispatcher and publish a new snapshot,
+    // readers only ever see complete snapshots
+    private volatile AliasTrie commands = AliasTrie.EMPTY;
 
     /**
      * Creates a basic new dispatcher.
@@ -180,9 +183,11 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
         List<String> secondary = aliases.subList(1, aliases.size());
         CommandMapping mapping = new ImmutableCommandMapping(callable, primary, secondary);
 
+        AliasTrie commands = this.commands;
         for (String alias : aliases) {
-            this.commands.put(alias.toLowerCase(), mapping);
+            commands = commands.with(alias.toLowerCase(), mapping);
         }
+        this.commands = commands;
 
         return Optional.of(mapping);
     }
@@ -194,7 +199,10 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
      * @return The previous mapping associated with the alias, if one was found
      */
     public synchronized Collection<CommandMapping> remove(String alias) {
-        return this.commands.removeAll(alias.toLowerCase());
+        final String key = alias.toLowerCase();
+        final List<CommandMapping> removed = this.commands.get(key);
+        this.commands = this.commands.without(key);
+        return removed;
     }
 
     /**
@@ -206,15 +214,14 @@ public synchronized Collection<CommandMapping> remove(String alias) {
     public synchronized boolean removeAll(Collection<?> aliases) {
         checkNotNull(aliases, "aliases");
 
-        boolean found = false;
-
+        final AliasTrie old = this.commands;
+        AliasTrie commands = old;
         for (Object alias : aliases) {
-            if (!this.commands.removeAll(alias.toString().toLowerCase()).isEmpty()) {
-                found = true;
-            }
+            commands = commands.without(alias.toString().toLowerCase());
         }
+        this.commands = commands;
 
-        return found;
+        return commands != old;
     }
 
     /**
@@ -226,18 +233,16 @@ public synchronized boolean removeAll(Collection<?> aliases) {
     public synchronized Optional<CommandMapping> removeMapping(CommandMapping mapping) {
         checkNotNull(mapping, "mapping");
 
-        CommandMapping found = null;
-
-        Iterator<CommandMapping> it = this.commands.values().iterator();
-        while (it.hasNext()) {
-            CommandMapping current = it.next();
+        final CommandMapping[] found = new CommandMapping[1];
+        this.commands = this.commands.filter(current -> {
             if (current.equals(mapping)) {
-                it.remove();
-                found = current;
+                found[0] = current;
+                return false;
             }
-        }
+            return true;
+        });
 
-        return Optional.ofNullable(found);
+        return Optional.ofNullable(found[0]);
     }
 
     /**
@@ -249,44 +254,39 @@ public synchronized Optional<CommandMapping> removeMapping(CommandMapping mappin
     public synchronized boolean removeMappings(Collection<?> mappings) {
         checkNotNull(mappings, "mappings");
 
-        boolean found = false;
-
-        Iterator<CommandMapping> it = this.commands.values().iterator();
-        while (it.hasNext()) {
-            if (mappings.contains(it.next())) {
-                it.remove();
-                found = true;
-            }
-        }
+        final AliasTrie old = this.commands;
+        this.commands = old.filter(current -> !mappings.contains(current));
 
-        return found;
+        return this.commands != old;
     }
 
     @Override
-    public synchronized Set<CommandMapping> getCommands() {
-        return ImmutableSet.copyOf(this.commands.values());
+    public Set<CommandMapping> getCommands() {
+        final ImmutableSet.Builder<CommandMapping> commands = ImmutableSet.builder();
+        this.commands.forEach((alias, mappings) -> commands.addAll(mappings));
+        return commands.build();
     }
 
     @Override
-    public synchronized Set<String> getPrimaryAliases() {
-        Set<String> aliases = new HashSet<>();
-
-        for (CommandMapping mapping : this.commands.values()) {
-            aliases.add(mapping.getPrimaryAlias());
-        }
-
-        return Collections.unmodifiableSet(aliases);
+    public Set<String> getPrimaryAliases() {
+        final ImmutableSet.Builder<String> aliases = ImmutableSet.builder();
+        this.commands.forEach((alias, mappings) -> {
+            for (CommandMapping mapping : mappings) {
+                aliases.add(mapping.getPrimaryAlias());
+            }
+        });
+        return aliases.build();
     }
 
     @Override
-    public synchronized Set<String> getAliases() {
-        Set<String> aliases = new HashSet<>();
-
-        for (CommandMapping mapping : this.commands.values()) {
-            aliases.addAll(mapping.getAllAliases());
-        }
-
-        return Collections.unmodifiableSet(aliases);
+    public Set<String> getAliases() {
+        final ImmutableSet.Builder<String> aliases = ImmutableSet.builder();
+        this.commands.forEach((alias, mappings) -> {
+            for (CommandMapping mapping : mappings) {
+                aliases.addAll(mapping.getAllAliases());
+            }
+        });
+        return aliases.build();
     }
 
     @Override
@@ -295,7 +295,7 @@ public Optional<CommandMapping> get(String alias) {
     }
 
     @Override
-    public synchronized Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
+    public Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
         List<CommandMapping> results = this.commands.get(alias.toLowerCase());
         if (results.size() == 1) {
             return Optional.of(results.get(0));
@@ -307,21 +307,15 @@ public synchronized Optional<CommandMapping> get(String alias, @Nullable Command
     }
 
     @Override
-    public synchronized boolean containsAlias(String alias) {
-        return this.commands.containsKey(alias.toLowerCase());
+    public boolean containsAlias(String alias) {
+        return this.commands.contains(alias.toLowerCase());
     }
 
     @Override
     public boolean containsMapping(CommandMapping mapping) {
         checkNotNull(mapping, "mapping");
 
-        for (CommandMapping test : this.commands.values()) {
-            if (mapping.equals(test)) {
-                return true;
-            }
-        }
-
-        return false;
+        return this.commands.anyMatch(mapping::equals);
     }
 
     @Override
@@ -352,23 +346,34 @@ public CommandResult process(CommandSource source, String commandLine) throws Co
     @Override
     public List<String> getSuggestions(CommandSource src, final String arguments, @Nullable Location<World> targetPosition) throws CommandException {
         final String[] argSplit = arguments.split(" ", 2);
-        Optional<CommandMapping> cmdOptional = get(argSplit[0], src);
         if (argSplit.length == 1) {
-            return filterCommands(src, argSplit[0]).stream().collect(ImmutableList.toImmutableList());
-        } else if (!cmdOptional.isPresent()) {
+            return filterCommands(src, argSplit[0]).asList();
+        }
+        Optional<CommandMapping> cmdOptional = get(argSplit[0], src);
+        if (!cmdOptional.isPresent()) {
             return ImmutableList.of();
         }
         return cmdOptional.get().getCallable().getSuggestions(src, argSplit[1], targetPosition);
     }
 
     @Override
-    public boolean testPermission(CommandSource source) {
-        for (CommandMapping mapping : this.commands.values()) {
-            if (mapping.getCallable().testPermission(source)) {
-                return true;
+    public CompletableFuture<List<String>> getSuggestionsAsync(CommandSource src, String arguments,
+            @Nullable Location<World> targetPosition, Executor executor) {
+        final String[] argSplit = arguments.split(" ", 2);
+        if (argSplit.length > 1) {
+            // Let the child command decide how to complete its arguments
+            final Optional<CommandMapping> cmdOptional = get(argSplit[0], src);
+            if (!cmdOptional.isPresent()) {
+                return CompletableFuture.completedFuture(ImmutableList.of());
             }
+            return cmdOptional.get().getCallable().getSuggestionsAsync(src, argSplit[1], targetPosition, executor);
         }
-        return false;
+        return Dispatcher.super.getSuggestionsAsync(src, arguments, targetPosition, executor);
+    }
+
+    @Override
+    public boolean testPermission(CommandSource source) {
+        return this.commands.anyMatch(mapping -> mapping.getCallable().testPermission(source));
     }
 
     @Override
@@ -378,7 +383,7 @@ public Optional<Text> getShortDescription(CommandSource source) {
 
     @Override
     public Optional<Text> getHelp(CommandSource source) {
-        if (this.commands.isEmpty()) {
+        if (this.commands.size() == 0) {
             return Optional.empty();
         }
         Text.Builder build = t("Available commands:\n").toBuilder();
@@ -401,14 +406,22 @@ public Optional<Text> getHelp(CommandSource source) {
         return Optional.of(build.build());
     }
 
-    private Set<String> filterCommands(final CommandSource src) {
-        return Multimaps.filterValues(this.commands, input -> input.getCallable().testPermission(src)).keys().elementSet();
+    private ImmutableSet<String> filterCommands(final CommandSource src) {
+        return filterCommands(src, "");
     }
 
-    // Filter out commands by String first
-    private Set<String> filterCommands(final CommandSource src, String start) {
-        ListMultimap<String, CommandMapping> map = Multimaps.filterKeys(this.commands, input -> input != null && input.toLowerCase().startsWith(start.toLowerCase()));
-        return Multimaps.filterValues(map, input -> input.getCallable().testPermission(src)).keys().elementSet();
+    // Only the aliases below the prefix in the trie are visited
+    private ImmutableSet<String> filterCommands(final CommandSource src, String start) {
+        final ImmutableSet.Builder<String> aliases = ImmutableSet.builder();
+        this.commands.forEachWithPrefix(start.toLowerCase(), (alias, mappings) -> {
+            for (CommandMapping mapping : mappings) {
+                if (mapping.getCallable().testPermission(src)) {
+                    aliases.add(alias);
+                    break;
+                }
+            }
+        });
+        return aliases.build();
     }
 
     /**
@@ -416,7 +429,7 @@ private Set<String> filterCommands(final CommandSource src, String start) {
      *
      * @return The number of aliases
      */
-    public synchronized int size() {
+    public int size() {
         return this.commands.size();
     }
 
@@ -443,12 +456,14 @@ public Text getUsage(final CommandSource source) {
     }
 
     @Override
-    public synchronized Set<CommandMapping> getAll(String alias) {
-        return ImmutableSet.copyOf(this.commands.get(alias));
+    public Set<CommandMapping> getAll(String alias) {
+        return ImmutableSet.copyOf(this.commands.get(alias.toLowerCase()));
     }
 
     @Override
     public Multimap<String, CommandMapping> getAll() {
-        return ImmutableMultimap.copyOf(this.commands);
+        final ImmutableListMultimap.Builder<String, CommandMapping> commands = ImmutableListMultimap.builder();
+        this.commands.forEach(commands::putAll);
+        return commands.build();
     }
 }
@@ -24,58 +24,69 @@
  */
 package org.spongepowered.api.data;
 
-import com.google.common.base.Joiner;
-import com.google.common.base.Objects;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.google.common.collect.ImmutableList;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
 /**
  * Represents a query that can be done on views. Queries do not depend on
  * their separator, it is just a way to construct them.
+ *
+ * <p>Queries are backed by a flat array of parts which may be shared between
+ * several queries. Operations that only shorten a query, such as
+ * {@link #pop()}, {@link #popFirst()} and {@link #last()}, return a view over
+ * the same array instead of copying it.</p>
  */
 public final class DataQuery {
 
-    private static final DataQuery EMPTY = new DataQuery();
+    private static final DataQuery EMPTY = new DataQuery(new String[0], 0, 0);
 
     /**
-     * The parts that make up this query.
+     * The single part queries declared in {@link Queries}, which are by far
+     * the most common ones. They are shared to avoid recreating them for
+     * every lookup. Other segments are never interned.
      */
-    private final ImmutableList<String> parts;
-
-    private ImmutableList<DataQuery> queryParts; //lazy loaded
+    private static final ConcurrentMap<String, DataQuery> SHARED = new ConcurrentHashMap<>();
 
     /**
-     * Constructs a query using the given separator character and path.
-     *
-     * <p>As an example, {@code new DataQuery('/', "a/b/c")} and
-     * {@code new DataQuery('.', "a.b.c")} represent the same path but are
-     * constructed using different separators.</p>
-     *
-     * @param separator The separator
-     * @param path The path
+     * The parts that make up this query, only the range starting at
+     * {@link #offset} with the length {@link #length} belongs to this query.
      */
-    private DataQuery(char separator, String path) {
-        this(path.split(Pattern.quote(String.valueOf(separator))));
-    }
+    private final String[] parts;
+    private final int offset;
+    private final int length;
+    private final int hash;
 
-    /**
-     * Constructs a query using the given parts.
-     *
-     * @param parts The parts
-     */
-    private DataQuery(String... parts) {
-        this.parts = ImmutableList.copyOf(parts);
-    }
+    @Nullable private ImmutableList<String> partsList; //lazy loaded
+    @Nullable private ImmutableList<DataQuery> queryParts; //lazy loaded
 
     /**
-     * Constructs a query using the given parts.
+     * Constructs a query over the given range of parts. The array is not
+     * copied and must therefore never be modified afterwards.
      *
      * @param parts The parts
+     * @param offset The index of the first part of this query
+     * @param length The amount of parts of this query
      */
-    private DataQuery(List<String> parts) {
-        this.parts = ImmutableList.copyOf(parts);
+    private DataQuery(String[] parts, int offset, int length) {
+        this.parts = parts;
+        this.offset = offset;
+        this.length = length;
+        // Same as Objects.hashCode(List) over the parts, to keep the hash
+        // codes of the previous list based implementation
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + parts[i].hashCode();
+        }
+        this.hash = 31 + hash;
     }
 
     /**
@@ -101,7 +112,24 @@ public static DataQuery of() {
      * @return The newly constructed {@link DataQuery}
      */
     public static DataQuery of(char separator, String path) {
-        return new DataQuery(separator, path);
+        return ofParts(path.split(Pattern.quote(String.valueOf(separator))));
+    }
+
+    /**
+     * Constructs a query consisting of a single part. The single part queries
+     * declared in {@link Queries} are shared and may be returned multiple
+     * times.
+     *
+     * @param part The part
+     * @return The single part {@link DataQuery}
+     */
+    public static DataQuery of(String part) {
+        checkNotNull(part, "part");
+        @Nullable final DataQuery query = SHARED.get(part);
+        if (query != null) {
+            return query;
+        }
+        return new DataQuery(new String[] {part}, 0, 1);
     }
 
     /**
@@ -111,10 +139,7 @@ public static DataQuery of(char separator, String path) {
      * @return The newly constructed {@link DataQuery}
      */
     public static DataQuery of(String... parts) {
-        if (parts.length == 0) {
-            return DataQuery.EMPTY;
-        }
-        return new DataQuery(parts);
+        return ofParts(parts.clone());
     }
 
     /**
@@ -124,10 +149,31 @@ public static DataQuery of(String... parts) {
      * @return The newly constructed {@link DataQuery}
      */
     public static DataQuery of(List<String> parts) {
-        if (parts.isEmpty()) {
+        return ofParts(parts.toArray(new String[parts.size()]));
+    }
+
+    /**
+     * Constructs a single part query that is shared by all later calls to
+     * {@link #of(String)} with the same part. Only used for the constants in
+     * {@link Queries}.
+     *
+     * @param part The part
+     * @return The shared single part {@link DataQuery}
+     */
+    static DataQuery shared(String part) {
+        return SHARED.computeIfAbsent(checkNotNull(part, "part"), key -> new DataQuery(new String[] {key}, 0, 1));
+    }
+
+    private static DataQuery ofParts(String[] parts) {
+        if (parts.length == 0) {
             return DataQuery.EMPTY;
+        } else if (parts.length == 1) {
+            return of(parts[0]);
         }
-        return new DataQuery(parts);
+        for (String part : parts) {
+            checkNotNull(part, "part");
+        }
+        return new DataQuery(parts, 0, parts.length);
     }
 
     /**
@@ -136,7 +182,46 @@ public static DataQuery of(List<String> parts) {
      * @return The parts of this query
      */
     public List<String> getParts() {
-        return this.parts;
+        if (this.partsList == null) {
+            this.partsList = ImmutableList.copyOf(Arrays.asList(this.parts).subList(this.offset, this.offset + this.length));
+        }
+        return this.partsList;
+    }
+
+    /**
+     * Gets the amount of parts this query is made of.
+     *
+     * @return The amount of parts
+     */
+    int size() {
+        return this.length;
+    }
+
+    /**
+     * Gets the part at the given index, without creating the list of
+     * {@link #getParts()}.
+     *
+     * @param index The index of the part
+     * @return The part
+     */
+    String part(int index) {
+        return this.parts[this.offset + index];
+    }
+
+    /**
+     * Gets the query made of all parts starting at the given index, sharing
+     * the parts of this query.
+     *
+     * @param index The index of the first part
+     * @return The sub query
+     */
+    DataQuery from(int index) {
+        if (index == 0) {
+            return this;
+        } else if (index >= this.length) {
+            return of();
+        }
+        return new DataQuery(this.parts, this.offset + index, this.length - index);
     }
 
     /**
@@ -147,13 +232,15 @@ public List<String> getParts() {
      * @return The constructed query
      */
     public DataQuery then(DataQuery that) {
-        ImmutableList.Builder<String> builder =
-            new ImmutableList.Builder<>();
-
-        builder.addAll(this.parts);
-        builder.addAll(that.parts);
-
-        return new DataQuery(builder.build());
+        if (that.length == 0) {
+            return this;
+        } else if (this.length == 0) {
+            return that;
+        }
+        final String[] parts = new String[this.length + that.length];
+        System.arraycopy(this.parts, this.offset, parts, 0, this.length);
+        System.arraycopy(that.parts, that.offset, parts, this.length, that.length);
+        return new DataQuery(parts, 0, parts.length);
     }
 
     /**
@@ -164,13 +251,14 @@ public DataQuery then(DataQuery that) {
      * @return The constructed query
      */
     public DataQuery then(String that) {
-        ImmutableList.Builder<String> builder =
-            new ImmutableList.Builder<>();
-
-        builder.addAll(this.parts);
-        builder.add(that);
-
-        return new DataQuery(builder.build());
+        checkNotNull(that, "that");
+        if (this.length == 0) {
+            return of(that);
+        }
+        final String[] parts = new String[this.length + 1];
+        System.arraycopy(this.parts, this.offset, parts, 0, this.length);
+        parts[this.length] = that;
+        return new DataQuery(parts, 0, parts.length);
     }
 
     /**
@@ -181,9 +269,9 @@ public DataQuery then(String that) {
      */
     public List<DataQuery> getQueryParts() {
         if (this.queryParts == null) {
-            ImmutableList.Builder<DataQuery> builder = ImmutableList.builder();
-            for (String part : getParts()) {
-                builder.add(new DataQuery(part));
+            final ImmutableList.Builder<DataQuery> builder = ImmutableList.builder();
+            for (int i = 0; i < this.length; i++) {
+                builder.add(new DataQuery(this.parts, this.offset + i, 1));
             }
             this.queryParts = builder.build();
         }
@@ -198,14 +286,10 @@ public List<DataQuery> getQueryParts() {
      * @return The next level query
      */
     public DataQuery pop() {
-        if (this.parts.size() <= 1) {
+        if (this.length <= 1) {
             return of();
         }
-        ImmutableList.Builder<String> builder = ImmutableList.builder();
-        for (int i = 0; i < this.parts.size() - 1; i++) {
-            builder.add(this.parts.get(i));
-        }
-        return new DataQuery(builder.build());
+        return new DataQuery(this.parts, this.offset, this.length - 1);
     }
 
     /**
@@ -216,14 +300,7 @@ public DataQuery pop() {
      * @return The next level query
      */
     public DataQuery popFirst() {
-        if (this.parts.size() <= 1) {
-            return of();
-        }
-        ImmutableList.Builder<String> builder = ImmutableList.builder();
-        for (int i = 1; i < this.parts.size(); i++) {
-            builder.add(this.parts.get(i));
-        }
-        return new DataQuery(builder.build());
+        return from(1);
     }
 
     /**
@@ -233,10 +310,10 @@ public DataQuery popFirst() {
      * @return The last entry as a data query, if not already last
      */
     public DataQuery last() {
-        if (this.parts.size() <= 1) {
+        if (this.length <= 1) {
             return this;
         }
-        return new DataQuery(this.parts.get(this.parts.size() - 1));
+        return new DataQuery(this.parts, this.offset + this.length - 1, 1);
     }
 
     /**
@@ -246,7 +323,17 @@ public DataQuery last() {
      * @return This query as a string
      */
     public String asString(String separator) {
-        return Joiner.on(separator).join(this.parts);
+        if (this.length == 1) {
+            return this.parts[this.offset];
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.length; i++) {
+            if (i != 0) {
+                builder.append(separator);
+            }
+            builder.append(this.parts[this.offset + i]);
+        }
+        return builder.toString();
     }
 
     /**
@@ -266,7 +353,7 @@ public String toString() {
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.parts);
+        return this.hash;
     }
 
     @Override
@@ -278,6 +365,14 @@ public boolean equals(Object obj) {
             return false;
         }
         final DataQuery other = (DataQuery) obj;
-        return Objects.equal(this.parts, other.parts);
+        if (this.length != other.length || this.hash != other.hash) {
+            return false;
+        }
+        for (int i = 0; i < this.length; i++) {
+            if (!this.parts[this.offset + i].equals(other.parts[other.offset + i])) {
+                return false;
+            }
+        }
+        return true;
     }
 }
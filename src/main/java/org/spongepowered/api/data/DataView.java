@@ -26,6 +26,10 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.persistence.DataBuilder;
@@ -473,6 +477,82 @@ default boolean contains(Key<?> key, Key<?>... keys) {
      */
     Optional<List<Double>> getDoubleList(DataQuery path);
 
+    /**
+     * Gets the {@code byte} array by path, if available.
+     *
+     * <p>Unlike {@link #getByteList(DataQuery)} the values are not boxed if they
+     * are stored as {@code byte} values. If the data residing at the path is
+     * neither a {@code byte} array nor a {@link List} of {@link Byte}, an
+     * absent is returned.</p>
+     *
+     * @param path The path of the value to get
+     * @return The byte array, if available
+     */
+    default Optional<byte[]> getByteArray(DataQuery path) {
+        final Optional<Object> value = get(path);
+        if (value.isPresent() && value.get() instanceof byte[]) {
+            return Optional.of((byte[]) value.get());
+        }
+        return getByteList(path).map(Bytes::toArray);
+    }
+
+    /**
+     * Gets the {@code int} array by path, if available.
+     *
+     * <p>Unlike {@link #getIntegerList(DataQuery)} the values are not boxed if they
+     * are stored as {@code int} values. If the data residing at the path is
+     * neither an {@code int} array nor a {@link List} of {@link Integer}, an
+     * absent is returned.</p>
+     *
+     * @param path The path of the value to get
+     * @return The int array, if available
+     */
+    default Optional<int[]> getIntArray(DataQuery path) {
+        final Optional<Object> value = get(path);
+        if (value.isPresent() && value.get() instanceof int[]) {
+            return Optional.of((int[]) value.get());
+        }
+        return getIntegerList(path).map(Ints::toArray);
+    }
+
+    /**
+     * Gets the {@code long} array by path, if available.
+     *
+     * <p>Unlike {@link #getLongList(DataQuery)} the values are not boxed if they
+     * are stored as {@code long} values. If the data residing at the path is
+     * neither a {@code long} array nor a {@link List} of {@link Long}, an
+     * absent is returned.</p>
+     *
+     * @param path The path of the value to get
+     * @return The long array, if available
+     */
+    default Optional<long[]> getLongArray(DataQuery path) {
+        final Optional<Object> value = get(path);
+        if (value.isPresent() && value.get() instanceof long[]) {
+            return Optional.of((long[]) value.get());
+        }
+        return getLongList(path).map(Longs::toArray);
+    }
+
+    /**
+     * Gets the {@code double} array by path, if available.
+     *
+     * <p>Unlike {@link #getDoubleList(DataQuery)} the values are not boxed if they
+     * are stored as {@code double} values. If the data residing at the path is
+     * neither a {@code double} array nor a {@link List} of {@link Double}, an
+     * absent is returned.</p>
+     *
+     * @param path The path of the value to get
+     * @return The double array, if available
+     */
+    default Optional<double[]> getDoubleArray(DataQuery path) {
+        final Optional<Object> value = get(path);
+        if (value.isPresent() && value.get() instanceof double[]) {
+            return Optional.of((double[]) value.get());
+        }
+        return getDoubleList(path).map(Doubles::toArray);
+    }
+
     /**
      * Gets the {@link List} of {@link Map} by path, if available.
      *
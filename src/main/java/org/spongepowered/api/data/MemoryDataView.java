@@ -47,6 +47,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -65,30 +66,108 @@
 @Deprecated
 public class MemoryDataView implements DataView {
 
-    protected final Map<String, Object> map = Maps.newLinkedHashMap();
+    protected final Map<String, Object> map;
     private final DataContainer container;
     private final DataView parent;
     private final DataQuery path;
     private final DataView.SafetyMode safety;
+    private final boolean borrowed;
 
     protected MemoryDataView(DataView.SafetyMode safety) {
         checkState(this instanceof DataContainer, "Cannot construct a root MemoryDataView without a container!");
+        this.map = Maps.newLinkedHashMap();
         this.path = of();
         this.parent = this;
         this.container = (DataContainer) this;
         this.safety = checkNotNull(safety, "Safety mode");
+        this.borrowed = false;
     }
 
     protected MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
-        checkArgument(path.getParts().size() >= 1, "Path must have at least one part");
+        checkArgument(path.size() >= 1, "Path must have at least one part");
+        this.map = Maps.newLinkedHashMap();
         this.parent = parent;
         this.container = parent.getContainer();
         this.path = parent.getCurrentPath().then(path);
         this.safety = checkNotNull(safety, "Safety mode");
+        this.borrowed = false;
+    }
+
+    private MemoryDataView(MemoryDataView source) {
+        this.map = source.map;
+        this.parent = source.parent;
+        this.container = source.container;
+        this.path = source.path;
+        this.safety = SafetyMode.NO_DATA_CLONED;
+        this.borrowed = true;
+    }
+
+    /**
+     * Gets a read only view sharing the contents of this view, which hands
+     * out the stored data without cloning it regardless of the
+     * {@link SafetyMode} of this view.
+     *
+     * <p>This is meant for trusted callers reading large amounts of data,
+     * such as block or biome arrays, which must not modify any of the
+     * retrieved arrays. Changes to this view are visible through the
+     * borrowed view, attempts to modify the borrowed view will throw an
+     * {@link UnsupportedOperationException}.</p>
+     *
+     * <p>The container, the parent and all nested views retrieved from a
+     * borrowed view, including views inside of lists, are borrowed as well.
+     * Borrowing a {@link DataContainer} results in a borrowed
+     * {@link DataContainer}.</p>
+     *
+     * @return The borrowed view
+     */
+    public DataView asBorrowedView() {
+        if (this.borrowed) {
+            return this;
+        }
+        return this instanceof DataContainer ? new BorrowedDataContainer(this) : new MemoryDataView(this);
+    }
+
+    /**
+     * Borrows the given object if it is, or contains, a
+     * {@link MemoryDataView}.
+     *
+     * @param object The object to borrow
+     * @return The borrowed object
+     */
+    private static Object borrow(Object object) {
+        if (object instanceof MemoryDataView) {
+            return ((MemoryDataView) object).asBorrowedView();
+        } else if (!(object instanceof List) || object instanceof PrimitiveList) {
+            return object;
+        }
+        final List<?> list = (List<?>) object;
+        @Nullable List<Object> borrowed = null;
+        int index = 0;
+        for (Object element : list) {
+            final Object borrowedElement = borrow(element);
+            if (borrowed == null && borrowedElement != element) {
+                borrowed = new ArrayList<>(list.size());
+                borrowed.addAll(list.subList(0, index));
+            }
+            if (borrowed != null) {
+                borrowed.add(borrowedElement);
+            }
+            index++;
+        }
+        return borrowed == null ? list : Collections.unmodifiableList(borrowed);
+    }
+
+    private void checkWritable() {
+        if (this.borrowed) {
+            throw new UnsupportedOperationException("Borrowed views are read only");
+        }
     }
 
     @Override
     public DataContainer getContainer() {
+        if (this.borrowed && this.container instanceof MemoryDataView) {
+            return (DataContainer) ((MemoryDataView) this.container).asBorrowedView();
+        }
         return this.container;
     }
 
@@ -99,12 +178,15 @@ public DataQuery getCurrentPath() {
 
     @Override
     public String getName() {
-        List<String> parts = this.path.getParts();
-        return parts.isEmpty() ? "" : parts.get(parts.size() - 1);
+        final int size = this.path.size();
+        return size == 0 ? "" : this.path.part(size - 1);
     }
 
     @Override
     public Optional<DataView> getParent() {
+        if (this.borrowed && this.parent instanceof MemoryDataView) {
+            return Optional.of(((MemoryDataView) this.parent).asBorrowedView());
+        }
         return Optional.ofNullable(this.parent);
     }
 
@@ -144,14 +226,21 @@ public Map<DataQuery, Object> getValues(boolean deep) {
     @Override
     public final boolean contains(DataQuery path) {
         checkNotNull(path, "path");
-        List<String> queryParts = path.getParts();
+        final int sz = path.size();
+        checkArgument(sz != 0, "The size of the query must be at least 1");
 
-        String key = queryParts.get(0);
-        if (queryParts.size() == 1) {
-            return this.map.containsKey(key);
+        MemoryDataView view = this;
+        for (int i = 0; i < sz - 1; i++) {
+            final Object child = view.map.get(path.part(i));
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else if (child instanceof DataView) {
+                return ((DataView) child).contains(path.from(i + 1));
+            } else {
+                return false;
+            }
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        return subViewOptional.isPresent() && subViewOptional.get().contains(path.popFirst());
+        return view.map.containsKey(path.part(sz - 1));
     }
 
     @Override
@@ -177,50 +266,63 @@ public boolean contains(DataQuery path, DataQuery... paths) {
     @Override
     public Optional<Object> get(DataQuery path) {
         checkNotNull(path, "path");
-        List<String> queryParts = path.getParts();
-
-        int sz = queryParts.size();
-
-        if (sz == 0) {
-            return Optional.<Object>of(this);
+        final Object object = lookup(path);
+        if (object == null) {
+            return Optional.empty();
         }
-
-        String key = queryParts.get(0);
-        if (sz == 1) {
-            final Object object = this.map.get(key);
-            if (object == null) {
-                return Optional.empty();
-            }
-            if (this.safety == SafetyMode.ALL_DATA_CLONED) {
-                if (object.getClass().isArray()) {
-                    if (object instanceof byte[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
-                    } else if (object instanceof short[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((short[]) object));
-                    } else if (object instanceof int[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((int[]) object));
-                    } else if (object instanceof long[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((long[]) object));
-                    } else if (object instanceof float[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((float[]) object));
-                    } else if (object instanceof double[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((double[]) object));
-                    } else if (object instanceof boolean[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
-                    } else {
-                        return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
-                    }
+        if (this.borrowed) {
+            return Optional.of(borrow(object));
+        }
+        if (this.safety == SafetyMode.ALL_DATA_CLONED) {
+            if (object.getClass().isArray()) {
+                if (object instanceof byte[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
+                } else if (object instanceof short[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((short[]) object));
+                } else if (object instanceof int[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((int[]) object));
+                } else if (object instanceof long[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((long[]) object));
+                } else if (object instanceof float[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((float[]) object));
+                } else if (object instanceof double[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((double[]) object));
+                } else if (object instanceof boolean[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
+                } else {
+                    return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
                 }
             }
-            return Optional.of(object);
-        }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        if (!subViewOptional.isPresent()) {
-            return Optional.empty();
         }
-        DataView subView = subViewOptional.get();
-        return subView.get(path.popFirst());
+        return Optional.of(object);
+    }
 
+    /**
+     * Gets the object stored at the given path without applying the
+     * {@link SafetyMode} of this view.
+     *
+     * <p>The nested views are walked down in place instead of recursing with
+     * popped queries, only falling back to the sub view for foreign view
+     * implementations.</p>
+     */
+    @Nullable
+    private Object lookup(DataQuery path) {
+        final int sz = path.size();
+        if (sz == 0) {
+            return this;
+        }
+        MemoryDataView view = this;
+        for (int i = 0; i < sz - 1; i++) {
+            final Object child = view.map.get(path.part(i));
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else if (child instanceof DataView) {
+                return ((DataView) child).get(path.from(i + 1)).orElse(null);
+            } else {
+                return null;
+            }
+        }
+        return view.map.get(path.part(sz - 1));
     }
 
     @Override
@@ -229,6 +331,29 @@ public DataView set(DataQuery path, Object value) {
         checkNotNull(path, "path");
         checkNotNull(value, "value");
         checkState(this.container != null);
+        checkWritable();
+
+        final int sz = path.size();
+        checkArgument(sz != 0, "The size of the query must be at least 1");
+        if (sz > 1) {
+            MemoryDataView view = this;
+            for (int i = 0; i < sz - 1; i++) {
+                final String key = path.part(i);
+                final Object child = view.map.get(key);
+                if (child instanceof MemoryDataView) {
+                    view = (MemoryDataView) child;
+                } else if (child instanceof DataView) {
+                    ((DataView) child).set(path.from(i + 1), value);
+                    return this;
+                } else {
+                    final MemoryDataView subView = new MemoryDataView(view, of(key), view.safety);
+                    view.map.put(key, subView);
+                    view = subView;
+                }
+            }
+            view.set(path.last(), value);
+            return this;
+        }
 
         @Nullable DataManager manager;
 
@@ -239,21 +364,7 @@ public DataView set(DataQuery path, Object value) {
             manager = null;
         }
 
-        List<String> parts = path.getParts();
-        String key = parts.get(0);
-        if (parts.size() > 1) {
-            DataQuery subQuery = of(key);
-            Optional<DataView> subViewOptional = this.getUnsafeView(subQuery);
-            DataView subView;
-            if (!subViewOptional.isPresent()) {
-                this.createView(subQuery);
-                subView = (DataView) this.map.get(key);
-            } else {
-                subView = subViewOptional.get();
-            }
-            subView.set(path.popFirst(), value);
-            return this;
-        }
+        final String key = path.part(0);
         if (value instanceof DataView) {
             checkArgument(value != this, "Cannot set a DataView to itself.");
             // always have to copy a data view to avoid overwriting existing
@@ -311,6 +422,13 @@ public <E> DataView set(Key<? extends BaseValue<E>> key, E value) {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void setCollection(String key, Collection<?> value) {
+        // Number lists are stored unboxed, they can't contain anything that
+        // would need to be serialized
+        final List<?> packed = PrimitiveList.pack(value);
+        if (packed != null) {
+            this.map.put(key, packed);
+            return;
+        }
         ImmutableList.Builder<Object> builder = ImmutableList.builder();
         @Nullable DataManager manager;
 
@@ -410,32 +528,35 @@ private void copyDataView(DataQuery path, DataView value) {
     @Override
     public DataView remove(DataQuery path) {
         checkNotNull(path, "path");
-        List<String> parts = path.getParts();
-        if (parts.size() > 1) {
-            String subKey = parts.get(0);
-            DataQuery subQuery = of(subKey);
-            Optional<DataView> subViewOptional = this.getUnsafeView(subQuery);
-            if (!subViewOptional.isPresent()) {
+        checkWritable();
+        final int sz = path.size();
+        checkArgument(sz != 0, "The size of the query must be at least 1");
+
+        MemoryDataView view = this;
+        for (int i = 0; i < sz - 1; i++) {
+            final Object child = view.map.get(path.part(i));
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else if (child instanceof DataView) {
+                ((DataView) child).remove(path.from(i + 1));
+                return this;
+            } else {
                 return this;
             }
-            DataView subView = subViewOptional.get();
-            subView.remove(path.popFirst());
-        } else {
-            this.map.remove(parts.get(0));
         }
+        view.map.remove(path.part(sz - 1));
         return this;
     }
 
     @Override
     public DataView createView(DataQuery path) {
         checkNotNull(path, "path");
-        List<String> queryParts = path.getParts();
-
-        int sz = queryParts.size();
+        checkWritable();
+        final int sz = path.size();
 
         checkArgument(sz != 0, "The size of the query must be at least 1");
 
-        String key = queryParts.get(0);
+        String key = path.part(0);
         DataQuery keyQuery = of(key);
 
         if (sz == 1) {
@@ -518,14 +639,6 @@ private Optional<DataView> getUnsafeView(DataQuery path) {
         return get(path).filter(obj -> obj instanceof DataView).map(obj -> (DataView) obj);
     }
 
-    private Optional<DataView> getUnsafeView(String path) {
-        final Object object = this.map.get(path);
-        if (!(object instanceof DataView)) {
-            return Optional.empty();
-        }
-        return Optional.of((DataView) object);
-    }
-
 
     @Override
     public Optional<Boolean> getBoolean(DataQuery path) {
@@ -692,6 +805,54 @@ public Optional<List<Double>> getDoubleList(DataQuery path) {
         );
     }
 
+    @Override
+    public Optional<byte[]> getByteArray(DataQuery path) {
+        final Object value = lookup(checkNotNull(path, "path"));
+        if (value instanceof byte[]) {
+            return Optional.of(this.borrowed || this.safety != SafetyMode.ALL_DATA_CLONED ? (byte[]) value : ((byte[]) value).clone());
+        } else if (value instanceof PrimitiveList.OfByte) {
+            final byte[] values = ((PrimitiveList.OfByte) value).values;
+            return Optional.of(this.borrowed ? values : values.clone());
+        }
+        return value == null ? Optional.empty() : DataView.super.getByteArray(path);
+    }
+
+    @Override
+    public Optional<int[]> getIntArray(DataQuery path) {
+        final Object value = lookup(checkNotNull(path, "path"));
+        if (value instanceof int[]) {
+            return Optional.of(this.borrowed || this.safety != SafetyMode.ALL_DATA_CLONED ? (int[]) value : ((int[]) value).clone());
+        } else if (value instanceof PrimitiveList.OfInt) {
+            final int[] values = ((PrimitiveList.OfInt) value).values;
+            return Optional.of(this.borrowed ? values : values.clone());
+        }
+        return value == null ? Optional.empty() : DataView.super.getIntArray(path);
+    }
+
+    @Override
+    public Optional<long[]> getLongArray(DataQuery path) {
+        final Object value = lookup(checkNotNull(path, "path"));
+        if (value instanceof long[]) {
+            return Optional.of(this.borrowed || this.safety != SafetyMode.ALL_DATA_CLONED ? (long[]) value : ((long[]) value).clone());
+        } else if (value instanceof PrimitiveList.OfLong) {
+            final long[] values = ((PrimitiveList.OfLong) value).values;
+            return Optional.of(this.borrowed ? values : values.clone());
+        }
+        return value == null ? Optional.empty() : DataView.super.getLongArray(path);
+    }
+
+    @Override
+    public Optional<double[]> getDoubleArray(DataQuery path) {
+        final Object value = lookup(checkNotNull(path, "path"));
+        if (value instanceof double[]) {
+            return Optional.of(this.borrowed || this.safety != SafetyMode.ALL_DATA_CLONED ? (double[]) value : ((double[]) value).clone());
+        } else if (value instanceof PrimitiveList.OfDouble) {
+            final double[] values = ((PrimitiveList.OfDouble) value).values;
+            return Optional.of(this.borrowed ? values : values.clone());
+        }
+        return value == null ? Optional.empty() : DataView.super.getDoubleArray(path);
+    }
+
     @Override
     public Optional<List<Map<?, ?>>> getMapList(DataQuery path) {
         return getUnsafeList(path).<List<Map<?, ?>>>map(list ->
@@ -858,4 +1019,42 @@ public String toString() {
         helper.add("safety", this.safety.name());
         return helper.add("map", this.map).toString();
     }
+
+    /**
+     * A borrowed view of a {@link DataContainer}, which is a container
+     * itself.
+     */
+    private static final class BorrowedDataContainer extends MemoryDataView implements DataContainer {
+
+        BorrowedDataContainer(MemoryDataView source) {
+            super(source);
+        }
+
+        @Override
+        public Optional<DataView> getParent() {
+            return Optional.empty();
+        }
+
+        @Override
+        public DataContainer getContainer() {
+            return this;
+        }
+
+        @Override
+        public DataContainer set(DataQuery path, Object value) {
+            return (DataContainer) super.set(path, value);
+        }
+
+        @Override
+        public <E> DataContainer set(Key<? extends BaseValue<E>> key, E value) {
+            return (DataContainer) super.set(key, value);
+        }
+
+        @Override
+        public DataContainer remove(DataQuery path) {
+            return (DataContainer) super.remove(path);
+        }
+
+    }
+
 }
@@ -0,0 +1,174 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.data;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable {@link java.util.List} of boxed numbers which is backed by a
+ * primitive array, used by {@link MemoryDataView} to store number lists
+ * without keeping a boxed object per element.
+ *
+ * @param <E> The type of the boxed elements
+ */
+abstract class PrimitiveList<E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * Packs the given collection into a {@link PrimitiveList} if all its
+     * elements are of the same supported number type.
+     *
+     * @param collection The collection to pack
+     * @return The packed list, or null if the collection cannot be packed
+     */
+    @Nullable
+    static PrimitiveList<?> pack(Collection<?> collection) {
+        if (collection.isEmpty()) {
+            return null;
+        }
+        final Object first = collection.iterator().next();
+        if (first == null) {
+            return null;
+        }
+        final Class<?> type = first.getClass();
+        if (type != Byte.class && type != Integer.class && type != Long.class && type != Double.class) {
+            return null;
+        }
+        for (Object element : collection) {
+            if (element == null || element.getClass() != type) {
+                return null;
+            }
+        }
+        int i = 0;
+        if (type == Byte.class) {
+            final byte[] values = new byte[collection.size()];
+            for (Object element : collection) {
+                values[i++] = (Byte) element;
+            }
+            return new OfByte(values);
+        } else if (type == Integer.class) {
+            final int[] values = new int[collection.size()];
+            for (Object element : collection) {
+                values[i++] = (Integer) element;
+            }
+            return new OfInt(values);
+        } else if (type == Long.class) {
+            final long[] values = new long[collection.size()];
+            for (Object element : collection) {
+                values[i++] = (Long) element;
+            }
+            return new OfLong(values);
+        }
+        final double[] values = new double[collection.size()];
+        for (Object element : collection) {
+            values[i++] = (Double) element;
+        }
+        return new OfDouble(values);
+    }
+
+    static final class OfByte extends PrimitiveList<Byte> {
+
+        final byte[] values;
+
+        OfByte(byte[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Byte get(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+    }
+
+    static final class OfInt extends PrimitiveList<Integer> {
+
+        final int[] values;
+
+        OfInt(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+    }
+
+    static final class OfLong extends PrimitiveList<Long> {
+
+        final long[] values;
+
+        OfLong(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Long get(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+    }
+
+    static final class OfDouble extends PrimitiveList<Double> {
+
+        final double[] values;
+
+        OfDouble(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(int index) {
+            return this.values[index];
+        }
+
+        @Override
+        public int size() {
+            return this.values.length;
+        }
+
+    }
+
+}
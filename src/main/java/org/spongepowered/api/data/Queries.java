@@ -24,69 +24,69 @@
  */
 package org.spongepowered.api.data;
 
-import static org.spongepowered.api.data.DataQuery.of;
+import static org.spongepowered.api.data.DataQuery.shared;
 
 public final class Queries {
 
     // Content version
-    public static final DataQuery CONTENT_VERSION = of("ContentVersion");
+    public static final DataQuery CONTENT_VERSION = shared("ContentVersion");
 
     // Transaction
-    public static final DataQuery TYPE_CLASS = of("TypeClass");
-    public static final DataQuery ORIGINAL = of("Original");
-    public static final DataQuery DEFAULT_REPLACEMENT = of("DefaultReplacement");
-    public static final DataQuery CUSTOM_REPLACEMENT = of("CustomReplacement");
-    public static final DataQuery VALID = of("IsValid");
+    public static final DataQuery TYPE_CLASS = shared("TypeClass");
+    public static final DataQuery ORIGINAL = shared("Original");
+    public static final DataQuery DEFAULT_REPLACEMENT = shared("DefaultReplacement");
+    public static final DataQuery CUSTOM_REPLACEMENT = shared("CustomReplacement");
+    public static final DataQuery VALID = shared("IsValid");
 
     // WeightedSerializableObject
-    public static final DataQuery WEIGHTED_SERIALIZABLE = of("DataSerializable");
-    public static final DataQuery WEIGHTED_SERIALIZABLE_WEIGHT = of("Weight");
+    public static final DataQuery WEIGHTED_SERIALIZABLE = shared("DataSerializable");
+    public static final DataQuery WEIGHTED_SERIALIZABLE_WEIGHT = shared("Weight");
 
     // Item Enchantment
-    public static final DataQuery ENCHANTMENT_ID = of("Enchantment");
-    public static final DataQuery LEVEL = of("Level");
+    public static final DataQuery ENCHANTMENT_ID = shared("Enchantment");
+    public static final DataQuery LEVEL = shared("Level");
 
     // WeightedItem
-    public static final DataQuery WEIGHTED_ITEM_QUANTITY = of("Quantity");
+    public static final DataQuery WEIGHTED_ITEM_QUANTITY = shared("Quantity");
 
     // Location
-    public static final DataQuery WORLD_NAME = of("WorldName");
-    public static final DataQuery WORLD_ID = of("WorldUuid");
-    public static final DataQuery CHUNK_X = of("ChunkX");
-    public static final DataQuery CHUNK_Y = of("ChunkY");
-    public static final DataQuery CHUNK_Z = of("ChunkZ");
-    public static final DataQuery BLOCK_TYPE = of("BlockType");
-    public static final DataQuery POSITION_X = of("X");
-    public static final DataQuery POSITION_Y = of("Y");
-    public static final DataQuery POSITION_Z = of("Z");
+    public static final DataQuery WORLD_NAME = shared("WorldName");
+    public static final DataQuery WORLD_ID = shared("WorldUuid");
+    public static final DataQuery CHUNK_X = shared("ChunkX");
+    public static final DataQuery CHUNK_Y = shared("ChunkY");
+    public static final DataQuery CHUNK_Z = shared("ChunkZ");
+    public static final DataQuery BLOCK_TYPE = shared("BlockType");
+    public static final DataQuery POSITION_X = shared("X");
+    public static final DataQuery POSITION_Y = shared("Y");
+    public static final DataQuery POSITION_Z = shared("Z");
 
     // Variable
-    public static final DataQuery VARIABLE_CHANCE = of("Chance");
-    public static final DataQuery VARIABLE_BASE = of("Base");
-    public static final DataQuery VARIABLE_VARIANCE = of("Variance");
-    public static final DataQuery VARIABLE_AMOUNT = of("Amount");
+    public static final DataQuery VARIABLE_CHANCE = shared("Chance");
+    public static final DataQuery VARIABLE_BASE = shared("Base");
+    public static final DataQuery VARIABLE_VARIANCE = shared("Variance");
+    public static final DataQuery VARIABLE_AMOUNT = shared("Amount");
 
     // Color
-    public static final DataQuery COLOR_RED = of("Red");
-    public static final DataQuery COLOR_BLUE = of("Blue");
-    public static final DataQuery COLOR_GREEN = of("Green");
+    public static final DataQuery COLOR_RED = shared("Red");
+    public static final DataQuery COLOR_BLUE = shared("Blue");
+    public static final DataQuery COLOR_GREEN = shared("Green");
 
     // Tracking
-    public static final DataQuery CREATOR_ID = of("Creator");
-    public static final DataQuery NOTIFIER_ID = of("Notifier");
+    public static final DataQuery CREATOR_ID = shared("Creator");
+    public static final DataQuery NOTIFIER_ID = shared("Notifier");
 
     // Text
-    public static final DataQuery JSON = of("JSON");
-    public static final DataQuery TEXT_TITLE = of("TextTitle");
-    public static final DataQuery TEXT_AUTHOR = of("TextAuthor");
-    public static final DataQuery TEXT_PAGE_LIST = of("TextPageList");
+    public static final DataQuery JSON = shared("JSON");
+    public static final DataQuery TEXT_TITLE = shared("TextTitle");
+    public static final DataQuery TEXT_AUTHOR = shared("TextAuthor");
+    public static final DataQuery TEXT_PAGE_LIST = shared("TextPageList");
 
     // RespawnLocation
-    public static final DataQuery FORCED_SPAWN = of("ForcedSpawn");
+    public static final DataQuery FORCED_SPAWN = shared("ForcedSpawn");
 
     // UUID
-    public static final DataQuery UUID_LEAST = of("UuidLeast");
-    public static final DataQuery UUID_MOST = of("UuidMost");
+    public static final DataQuery UUID_LEAST = shared("UuidLeast");
+    public static final DataQuery UUID_MOST = shared("UuidMost");
 
     private Queries() {
     }
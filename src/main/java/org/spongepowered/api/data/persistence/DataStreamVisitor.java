@@ -0,0 +1,133 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.data.persistence;
+
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.io.IOException;
+
+/**
+ * A visitor receiving the contents of a data document as a sequence of
+ * events, without requiring the whole document to be held in memory as a
+ * {@link DataView}.
+ *
+ * <p>Every event provides the full {@link DataQuery} of the entry from the
+ * root of the document. Entries within a list do not have a name of their
+ * own and are reported with the query of the list holding them, entries of
+ * views within a list are reported relative to that query.</p>
+ *
+ * <p>When {@link Result#SKIP} is returned from a start event, all contents of
+ * that view or list are skipped and the matching end event will not be
+ * called. {@link Result#TERMINATE} stops the visit altogether.</p>
+ *
+ * <p>All methods do nothing by default, implementations only have to
+ * override the events they are interested in.</p>
+ */
+public interface DataStreamVisitor {
+
+    /**
+     * Called when a view is entered. The root view of a document is reported
+     * with an empty {@link DataQuery}.
+     *
+     * @param path The path of the view
+     * @return How the visit should continue
+     * @throws IOException If the visitor failed to process the event
+     */
+    default Result visitViewStart(DataQuery path) throws IOException {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Called after all entries of a view were visited.
+     *
+     * @param path The path of the view
+     * @return How the visit should continue
+     * @throws IOException If the visitor failed to process the event
+     */
+    default Result visitViewEnd(DataQuery path) throws IOException {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Called when a list is entered.
+     *
+     * @param path The path of the list
+     * @return How the visit should continue
+     * @throws IOException If the visitor failed to process the event
+     */
+    default Result visitListStart(DataQuery path) throws IOException {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Called after all elements of a list were visited.
+     *
+     * @param path The path of the list
+     * @return How the visit should continue
+     * @throws IOException If the visitor failed to process the event
+     */
+    default Result visitListEnd(DataQuery path) throws IOException {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Called for every value that is neither a view nor a list. Primitive
+     * arrays are reported as a single value.
+     *
+     * @param path The path of the value
+     * @param value The value
+     * @return How the visit should continue
+     * @throws IOException If the visitor failed to process the event
+     */
+    default Result visitValue(DataQuery path, Object value) throws IOException {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Represents how a visit should continue after an event.
+     */
+    enum Result {
+
+        /**
+         * Continues the visit normally.
+         */
+        CONTINUE,
+
+        /**
+         * Skips all contents of the view or list that was just entered. When
+         * returned from any other event this is the same as
+         * {@link #CONTINUE}.
+         */
+        SKIP,
+
+        /**
+         * Stops the visit, no further events will be received.
+         */
+        TERMINATE
+
+    }
+
+}
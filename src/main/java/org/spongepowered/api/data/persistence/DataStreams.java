@@ -0,0 +1,369 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.DataStreamVisitor.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Utilities to work with {@link DataStreamVisitor}s.
+ */
+public final class DataStreams {
+
+    /**
+     * Gets a {@link StreamingDataFormat} for the given {@link DataFormat}.
+     * Formats which already support streaming, such as the
+     * {@link DataFormats#NBT} format of most implementations, are returned
+     * as they are. Other formats are adapted by reading or writing the whole
+     * document as a {@link DataContainer} and visiting that instead.
+     *
+     * @param format The data format
+     * @return The streaming data format
+     */
+    public static StreamingDataFormat of(DataFormat format) {
+        checkNotNull(format, "format");
+        if (format instanceof StreamingDataFormat) {
+            return (StreamingDataFormat) format;
+        }
+        return new BufferedStreamingDataFormat(format);
+    }
+
+    /**
+     * Visits all entries of the given {@link DataView} with the given
+     * {@link DataStreamVisitor}, as if the view was being read from a stream.
+     * The view itself is reported as the root of the document.
+     *
+     * @param view The view to visit
+     * @param visitor The visitor
+     * @return False if the visit was terminated by the visitor
+     * @throws IOException If the visitor failed to process an event
+     */
+    public static boolean visit(DataView view, DataStreamVisitor visitor) throws IOException {
+        checkNotNull(view, "view");
+        checkNotNull(visitor, "visitor");
+        return visitEntry(DataQuery.of(), view, visitor);
+    }
+
+    private static boolean visitEntry(DataQuery path, Object value, DataStreamVisitor visitor) throws IOException {
+        if (value instanceof DataView) {
+            final Result result = visitor.visitViewStart(path);
+            if (result != Result.CONTINUE) {
+                return result == Result.SKIP;
+            }
+            final DataView view = (DataView) value;
+            for (DataQuery key : view.getKeys(false)) {
+                if (!visitEntry(path.then(key), view.get(key).get(), visitor)) {
+                    return false;
+                }
+            }
+            return visitor.visitViewEnd(path) != Result.TERMINATE;
+        } else if (value instanceof Map) {
+            final Result result = visitor.visitViewStart(path);
+            if (result != Result.CONTINUE) {
+                return result == Result.SKIP;
+            }
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!visitEntry(path.then(entry.getKey().toString()), entry.getValue(), visitor)) {
+                    return false;
+                }
+            }
+            return visitor.visitViewEnd(path) != Result.TERMINATE;
+        } else if (value instanceof Collection || value instanceof Object[]) {
+            final Result result = visitor.visitListStart(path);
+            if (result != Result.CONTINUE) {
+                return result == Result.SKIP;
+            }
+            final Iterable<?> elements = value instanceof Object[] ? ImmutableList.copyOf((Object[]) value) : (Collection<?>) value;
+            for (Object element : elements) {
+                if (!visitEntry(path, element, visitor)) {
+                    return false;
+                }
+            }
+            return visitor.visitListEnd(path) != Result.TERMINATE;
+        }
+        return visitor.visitValue(path, value) != Result.TERMINATE;
+    }
+
+    /**
+     * Gets a {@link DataStreamVisitor} which stores all received entries in
+     * the given {@link DataView}. The root view of the visited document is
+     * mapped to the given view.
+     *
+     * @param target The view to store the entries in
+     * @return The collecting visitor
+     */
+    public static DataStreamVisitor collect(DataView target) {
+        return new CollectingVisitor(checkNotNull(target, "target"));
+    }
+
+    /**
+     * Gets a {@link DataStreamVisitor} which only passes the entries at the
+     * given {@link DataQuery}s, including all their children, and the views
+     * and lists leading to them to the given visitor. All other subtrees are
+     * skipped.
+     *
+     * @param visitor The visitor to receive the projected entries
+     * @param queries The queries to project
+     * @return The projecting visitor
+     */
+    public static DataStreamVisitor project(DataStreamVisitor visitor, DataQuery... queries) {
+        checkNotNull(visitor, "visitor");
+        checkNotNull(queries, "queries");
+        final List<List<String>> parts = new ArrayList<>(queries.length);
+        for (DataQuery query : queries) {
+            parts.add(checkNotNull(query, "query").getParts());
+        }
+        return new ProjectingVisitor(visitor, parts);
+    }
+
+    private static final class CollectingVisitor implements DataStreamVisitor {
+
+        private final DataView root;
+        // Either DataViews or Lists, the element at the top receives the
+        // entries that are being visited
+        private final Deque<Object> stack = new ArrayDeque<>();
+
+        CollectingVisitor(DataView root) {
+            this.root = root;
+        }
+
+        @Override
+        public Result visitViewStart(DataQuery path) {
+            @Nullable final Object parent = this.stack.peek();
+            if (parent == null) {
+                this.stack.push(this.root);
+            } else if (parent instanceof List) {
+                this.stack.push(DataContainer.createNew());
+            } else {
+                this.stack.push(((DataView) parent).createView(path.last()));
+            }
+            return Result.CONTINUE;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Result visitViewEnd(DataQuery path) {
+            final Object view = this.stack.pop();
+            @Nullable final Object parent = this.stack.peek();
+            if (parent instanceof List) {
+                ((List<Object>) parent).add(view);
+            }
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitListStart(DataQuery path) {
+            this.stack.push(new ArrayList<>());
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitListEnd(DataQuery path) {
+            return visitValue(path, this.stack.pop());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Result visitValue(DataQuery path, Object value) {
+            final Object parent = this.stack.peek();
+            if (parent instanceof List) {
+                ((List<Object>) parent).add(value);
+            } else {
+                ((DataView) parent).set(path.last(), value);
+            }
+            return Result.CONTINUE;
+        }
+
+    }
+
+    private static final class ProjectingVisitor implements DataStreamVisitor {
+
+        private final DataStreamVisitor delegate;
+        private final List<List<String>> queries;
+
+        ProjectingVisitor(DataStreamVisitor delegate, List<List<String>> queries) {
+            this.delegate = delegate;
+            this.queries = queries;
+        }
+
+        private static boolean isPrefix(List<String> prefix, List<String> parts) {
+            if (prefix.size() > parts.size()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.size(); i++) {
+                if (!prefix.get(i).equals(parts.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets whether the given path is within one of the projected queries.
+         */
+        private boolean isSelected(List<String> path) {
+            for (List<String> query : this.queries) {
+                if (isPrefix(query, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Gets whether the given path is within or leads to one of the
+         * projected queries.
+         */
+        private boolean isRelevant(List<String> path) {
+            for (List<String> query : this.queries) {
+                if (isPrefix(query, path) || isPrefix(path, query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Result visitViewStart(DataQuery path) throws IOException {
+            return isRelevant(path.getParts()) ? this.delegate.visitViewStart(path) : Result.SKIP;
+        }
+
+        @Override
+        public Result visitViewEnd(DataQuery path) throws IOException {
+            // Only ends of entered views are received
+            return this.delegate.visitViewEnd(path);
+        }
+
+        @Override
+        public Result visitListStart(DataQuery path) throws IOException {
+            return isRelevant(path.getParts()) ? this.delegate.visitListStart(path) : Result.SKIP;
+        }
+
+        @Override
+        public Result visitListEnd(DataQuery path) throws IOException {
+            return this.delegate.visitListEnd(path);
+        }
+
+        @Override
+        public Result visitValue(DataQuery path, Object value) throws IOException {
+            return isSelected(path.getParts()) ? this.delegate.visitValue(path, value) : Result.CONTINUE;
+        }
+
+    }
+
+    private static final class BufferedStreamingDataFormat implements StreamingDataFormat {
+
+        private final DataFormat format;
+
+        BufferedStreamingDataFormat(DataFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public String getId() {
+            return this.format.getId();
+        }
+
+        @Override
+        public String getName() {
+            return this.format.getName();
+        }
+
+        @Override
+        public void readFrom(InputStream input, DataStreamVisitor visitor) throws InvalidDataFormatException, IOException {
+            visit(this.format.readFrom(input), visitor);
+        }
+
+        @Override
+        public DataContainer readFrom(InputStream input) throws InvalidDataFormatException, IOException {
+            return this.format.readFrom(input);
+        }
+
+        @Override
+        public DataStreamWriter createWriter(OutputStream output) {
+            final DataContainer container = DataContainer.createNew();
+            final DataStreamVisitor collector = collect(container);
+            return new DataStreamWriter() {
+
+                @Override
+                public Result visitViewStart(DataQuery path) throws IOException {
+                    return collector.visitViewStart(path);
+                }
+
+                @Override
+                public Result visitViewEnd(DataQuery path) throws IOException {
+                    return collector.visitViewEnd(path);
+                }
+
+                @Override
+                public Result visitListStart(DataQuery path) throws IOException {
+                    return collector.visitListStart(path);
+                }
+
+                @Override
+                public Result visitListEnd(DataQuery path) throws IOException {
+                    return collector.visitListEnd(path);
+                }
+
+                @Override
+                public Result visitValue(DataQuery path, Object value) throws IOException {
+                    return collector.visitValue(path, value);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    BufferedStreamingDataFormat.this.format.writeTo(output, container);
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream output, DataView data) throws IOException {
+            this.format.writeTo(output, data);
+        }
+
+    }
+
+    private DataStreams() {
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Represents a {@link DataFormat} which is able to read and write its data
+ * as a stream of events, without materializing the whole document as a
+ * {@link DataContainer}.
+ */
+public interface StreamingDataFormat extends DataFormat {
+
+    /**
+     * Reads the contents of the given {@link InputStream} and passes them to
+     * the given {@link DataStreamVisitor} as they are read.
+     *
+     * <p>Subtrees skipped by the visitor are consumed from the stream without
+     * being decoded where the format allows it.</p>
+     *
+     * @param input The input stream
+     * @param visitor The visitor to receive the contents
+     * @throws InvalidDataFormatException If the data in the stream was not a
+     *         supported format
+     * @throws IOException If there was an error reading from the stream or
+     *         the visitor failed to process an event
+     */
+    void readFrom(InputStream input, DataStreamVisitor visitor) throws InvalidDataFormatException, IOException;
+
+    /**
+     * Creates a new {@link DataContainer} holding only the entries at the
+     * given {@link DataQuery}s, including all their children, from the
+     * contents of the given {@link InputStream}. Everything else is skipped
+     * while reading.
+     *
+     * @param input The input stream
+     * @param queries The queries to read
+     * @return A data container representing the projected contents of the
+     *         input stream
+     * @throws InvalidDataFormatException If the data in the stream was not a
+     *         supported format
+     * @throws IOException If there was an error reading from the stream
+     */
+    default DataContainer readFrom(InputStream input, DataQuery... queries) throws InvalidDataFormatException, IOException {
+        checkNotNull(queries, "queries");
+        final DataContainer container = DataContainer.createNew();
+        readFrom(input, DataStreams.project(DataStreams.collect(container), queries));
+        return container;
+    }
+
+    @Override
+    default DataContainer readFrom(InputStream input) throws InvalidDataFormatException, IOException {
+        final DataContainer container = DataContainer.createNew();
+        readFrom(input, DataStreams.collect(container));
+        return container;
+    }
+
+    /**
+     * Creates a {@link DataStreamWriter} which writes all received events to
+     * the given {@link OutputStream} using the format specified by this
+     * {@link DataFormat}.
+     *
+     * @param output The output stream to write the data to
+     * @return The writer
+     * @throws IOException If there was an error writing to the stream
+     */
+    DataStreamWriter createWriter(OutputStream output) throws IOException;
+
+    @Override
+    default void writeTo(OutputStream output, DataView data) throws IOException {
+        final DataStreamWriter writer = createWriter(output);
+        DataStreams.visit(data, writer);
+        writer.finish();
+    }
+
+}
@@ -24,6 +24,10 @@
  */
 package org.spongepowered.api.event;
 
+import org.spongepowered.api.event.profile.EventProfiler;
+
+import java.util.Optional;
+
 /**
  * Manages the registration of event listeners and the dispatching of events.
  */
@@ -117,4 +121,14 @@ <T extends Event> void registerListener(Object plugin, Class<T> eventClass, Orde
      */
     boolean post(Event event);
 
+    /**
+     * Gets the {@link EventProfiler} collecting the invocation statistics of
+     * the registered listeners, if the implementation supports profiling.
+     *
+     * @return The event profiler, if available
+     */
+    default Optional<EventProfiler> getProfiler() {
+        return Optional.empty();
+    }
+
 }
@@ -0,0 +1,159 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * An index of the listener dispatchers generated at compile time by the
+ * listener annotation processor.
+ *
+ * <p>A generated dispatcher is an {@link EventListener} that performs the
+ * filter checks of a single {@link Listener} method and then calls it
+ * directly. It has a public constructor taking the object declaring the
+ * listener method. Event managers can use these dispatchers instead of
+ * generating them at runtime.</p>
+ *
+ * <p>The index is read from all {@link #RESOURCE} files visible to a class
+ * loader. Each line of such a file describes one dispatcher with four tab
+ * separated columns: the binary name of the dispatcher class, the binary
+ * name of the class declaring the listener method, the name of the method
+ * and the comma separated {@link Class#getTypeName() type names} of its
+ * parameters.</p>
+ */
+public final class GeneratedListenerIndex {
+
+    /**
+     * The path of the index resources.
+     */
+    public static final String RESOURCE = "META-INF/sponge/listeners.index";
+
+    private static final Splitter COLUMN_SPLITTER = Splitter.on('\t');
+
+    /**
+     * Loads the index from all index resources visible to the given class
+     * loader.
+     *
+     * @param classLoader The class loader
+     * @return The index
+     * @throws IOException If an index resource could not be read
+     */
+    public static GeneratedListenerIndex load(ClassLoader classLoader) throws IOException {
+        checkNotNull(classLoader, "classLoader");
+        final Map<String, String> dispatchers = new HashMap<>();
+        final Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+        while (resources.hasMoreElements()) {
+            final URL resource = resources.nextElement();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    final List<String> columns = COLUMN_SPLITTER.splitToList(line);
+                    if (columns.size() != 4) {
+                        throw new IOException("Malformed listener index entry in " + resource + ": " + line);
+                    }
+                    dispatchers.put(key(columns.get(1), columns.get(2), columns.get(3)), columns.get(0));
+                }
+            }
+        }
+        return new GeneratedListenerIndex(ImmutableMap.copyOf(dispatchers));
+    }
+
+    private static String key(String className, String methodName, String parameterTypes) {
+        return className + '#' + methodName + '(' + parameterTypes + ')';
+    }
+
+    private final Map<String, String> dispatchers;
+
+    private GeneratedListenerIndex(Map<String, String> dispatchers) {
+        this.dispatchers = dispatchers;
+    }
+
+    /**
+     * Gets the amount of dispatchers in this index.
+     *
+     * @return The amount of dispatchers
+     */
+    public int size() {
+        return this.dispatchers.size();
+    }
+
+    /**
+     * Gets the binary name of the dispatcher generated for the given listener
+     * method.
+     *
+     * @param method The listener method
+     * @return The binary name of the dispatcher class, if one was generated
+     */
+    public Optional<String> getDispatcherClassName(Method method) {
+        checkNotNull(method, "method");
+        final StringJoiner parameterTypes = new StringJoiner(",");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameterTypes.add(parameterType.getTypeName());
+        }
+        return Optional.ofNullable(this.dispatchers.get(key(method.getDeclaringClass().getName(), method.getName(),
+                parameterTypes.toString())));
+    }
+
+    /**
+     * Creates the generated dispatcher of the given listener method for the
+     * given listener object.
+     *
+     * @param listener The object declaring the listener method
+     * @param method The listener method
+     * @return The dispatcher, if one was generated
+     * @throws ReflectiveOperationException If the dispatcher could not be
+     *     instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<EventListener<Event>> createDispatcher(Object listener, Method method) throws ReflectiveOperationException {
+        checkNotNull(listener, "listener");
+        final Optional<String> className = getDispatcherClassName(method);
+        if (!className.isPresent()) {
+            return Optional.empty();
+        }
+        final Class<?> dispatcherClass = Class.forName(className.get(), true, method.getDeclaringClass().getClassLoader());
+        return Optional.of((EventListener<Event>) dispatcherClass.getConstructor(method.getDeclaringClass()).newInstance(listener));
+    }
+
+}
@@ -0,0 +1,337 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.cause.EventContextKey;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * A simple implementation of a {@link CauseStackManager}.
+ *
+ * <p>The {@link Cause} and {@link EventContext} snapshots are cached until the
+ * stack or context changes, so posting several events without modifying the
+ * stack in between only builds them once. The frames behind the
+ * {@link StackFrame} handles are recycled after they are popped, every push
+ * stamps the frame with a new generation so handles of already popped frames
+ * are rejected.</p>
+ *
+ * <p>This class is not thread-safe, each thread that posts events should use
+ * its own instance.</p>
+ */
+public final class SimpleCauseStackManager implements CauseStackManager {
+
+    private static final int MAX_POOLED_FRAMES = 32;
+
+    private final Deque<Object> cause = new ArrayDeque<>();
+    private final Map<EventContextKey<?>, Object> context = new LinkedHashMap<>();
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final Deque<Frame> framePool = new ArrayDeque<>();
+
+    @Nullable private Cause cachedCause;
+    @Nullable private EventContext cachedContext;
+    private long frameGeneration;
+
+    private long causesBuilt;
+    private long causesReused;
+    private long contextsBuilt;
+    private long contextsReused;
+
+    @Override
+    public Cause getCurrentCause() {
+        if (this.cachedCause != null) {
+            this.causesReused++;
+            return this.cachedCause;
+        }
+        checkState(!this.cause.isEmpty(), "The cause stack is empty");
+        final Cause.Builder builder = Cause.builder();
+        // The most recently pushed object is the root of the cause
+        for (Object obj : this.cause) {
+            builder.append(obj);
+        }
+        this.cachedCause = builder.build(context());
+        this.causesBuilt++;
+        return this.cachedCause;
+    }
+
+    @Override
+    public EventContext getCurrentContext() {
+        if (this.cachedContext != null) {
+            this.contextsReused++;
+        } else {
+            this.contextsBuilt++;
+        }
+        return context();
+    }
+
+    // Only the contexts requested through getCurrentContext are counted
+    private EventContext context() {
+        if (this.cachedContext == null) {
+            this.cachedContext = this.context.isEmpty() ? EventContext.empty() : EventContext.of(this.context);
+        }
+        return this.cachedContext;
+    }
+
+    @Override
+    public CauseStackManager pushCause(Object obj) {
+        checkNotNull(obj, "obj");
+        this.cause.push(obj);
+        this.cachedCause = null;
+        return this;
+    }
+
+    @Override
+    public Object popCause() {
+        final Frame frame = this.frames.peek();
+        checkState(frame == null || this.cause.size() > frame.depth,
+                "Cannot pop causes that were pushed before the current frame");
+        this.cachedCause = null;
+        return this.cause.pop();
+    }
+
+    @Override
+    public void popCauses(int n) {
+        for (int i = 0; i < n; i++) {
+            popCause();
+        }
+    }
+
+    @Override
+    public Object peekCause() {
+        return this.cause.element();
+    }
+
+    @Override
+    public StackFrame pushCauseFrame() {
+        Frame frame = this.framePool.poll();
+        if (frame == null) {
+            frame = new Frame();
+        }
+        frame.depth = this.cause.size();
+        frame.generation = ++this.frameGeneration;
+        this.frames.push(frame);
+        return new Handle(this, frame, frame.generation);
+    }
+
+    @Override
+    public void popCauseFrame(StackFrame handle) {
+        checkNotNull(handle, "handle");
+        checkArgument(handle instanceof Handle && ((Handle) handle).manager == this, "The frame was not pushed by this manager");
+        final Handle frameHandle = (Handle) handle;
+        checkArgument(frameHandle.frame.generation == frameHandle.generation, "The frame was already popped");
+        final Frame frame = this.frames.peek();
+        checkArgument(frame == frameHandle.frame, "The frame to pop is not the current frame, a frame was not popped properly");
+        this.frames.pop();
+        // Invalidates all handles of the popped frame
+        frame.generation = 0;
+        if (this.cause.size() != frame.depth) {
+            while (this.cause.size() > frame.depth) {
+                this.cause.pop();
+            }
+            this.cachedCause = null;
+        }
+        if (!frame.replaced.isEmpty()) {
+            for (Map.Entry<EventContextKey<?>, Object> entry : frame.replaced.entrySet()) {
+                if (entry.getValue() == null) {
+                    this.context.remove(entry.getKey());
+                } else {
+                    this.context.put(entry.getKey(), entry.getValue());
+                }
+            }
+            frame.replaced.clear();
+            this.cachedCause = null;
+            this.cachedContext = null;
+        }
+        if (this.framePool.size() < MAX_POOLED_FRAMES) {
+            this.framePool.push(frame);
+        }
+    }
+
+    @Override
+    public <T> CauseStackManager addContext(EventContextKey<T> key, T value) {
+        checkNotNull(key, "key");
+        checkNotNull(value, "value");
+        remember(key, this.context.put(key, value));
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<T> getContext(EventContextKey<T> key) {
+        checkNotNull(key, "key");
+        return Optional.ofNullable((T) this.context.get(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<T> removeContext(EventContextKey<T> key) {
+        checkNotNull(key, "key");
+        if (!this.context.containsKey(key)) {
+            return Optional.empty();
+        }
+        final Object existing = this.context.remove(key);
+        remember(key, existing);
+        return Optional.of((T) existing);
+    }
+
+    private void remember(EventContextKey<?> key, @Nullable Object previous) {
+        final Frame frame = this.frames.peek();
+        // Only the value from before the frame was pushed has to be restored
+        if (frame != null && !frame.replaced.containsKey(key)) {
+            frame.replaced.put(key, previous);
+        }
+        this.cachedCause = null;
+        this.cachedContext = null;
+    }
+
+    /**
+     * Gets the counts of snapshots that were built or reused since this
+     * manager was created or the statistics were last reset.
+     *
+     * @return The snapshot statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(this.causesBuilt, this.causesReused, this.contextsBuilt, this.contextsReused);
+    }
+
+    /**
+     * Resets the snapshot statistics, for example at the start of every
+     * tick.
+     */
+    public void resetStatistics() {
+        this.causesBuilt = 0;
+        this.causesReused = 0;
+        this.contextsBuilt = 0;
+        this.contextsReused = 0;
+    }
+
+    private static final class Frame {
+
+        // The previous values of the context keys changed within this frame,
+        // null if the key was absent
+        final Map<EventContextKey<?>, Object> replaced = new HashMap<>();
+        int depth;
+        // The generation of the push this frame is currently used for, 0 if
+        // the frame is not on the stack
+        long generation;
+    }
+
+    private static final class Handle implements StackFrame {
+
+        final SimpleCauseStackManager manager;
+        final Frame frame;
+        final long generation;
+
+        Handle(SimpleCauseStackManager manager, Frame frame, long generation) {
+            this.manager = manager;
+            this.frame = frame;
+            this.generation = generation;
+        }
+
+        @Override
+        public void close() {
+            this.manager.popCauseFrame(this);
+        }
+    }
+
+    /**
+     * Counts of the {@link Cause} and {@link EventContext} snapshots built or
+     * reused by a {@link SimpleCauseStackManager}.
+     */
+    public static final class Statistics {
+
+        private final long causesBuilt;
+        private final long causesReused;
+        private final long contextsBuilt;
+        private final long contextsReused;
+
+        Statistics(long causesBuilt, long causesReused, long contextsBuilt, long contextsReused) {
+            this.causesBuilt = causesBuilt;
+            this.causesReused = causesReused;
+            this.contextsBuilt = contextsBuilt;
+            this.contextsReused = contextsReused;
+        }
+
+        /**
+         * Gets the amount of causes that had to be built.
+         *
+         * @return The amount of built causes
+         */
+        public long getCausesBuilt() {
+            return this.causesBuilt;
+        }
+
+        /**
+         * Gets the amount of times a cached cause was returned.
+         *
+         * @return The amount of reused causes
+         */
+        public long getCausesReused() {
+            return this.causesReused;
+        }
+
+        /**
+         * Gets the amount of contexts that had to be built.
+         *
+         * @return The amount of built contexts
+         */
+        public long getContextsBuilt() {
+            return this.contextsBuilt;
+        }
+
+        /**
+         * Gets the amount of times a cached context was returned.
+         *
+         * @return The amount of reused contexts
+         */
+        public long getContextsReused() {
+            return this.contextsReused;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("causesBuilt", this.causesBuilt)
+                    .add("causesReused", this.causesReused)
+                    .add("contextsBuilt", this.contextsBuilt)
+                    .add("contextsReused", this.contextsReused)
+                    .toString();
+        }
+    }
+}
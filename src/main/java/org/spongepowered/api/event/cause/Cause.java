@@ -99,6 +99,8 @@ public static Cause of(EventContext ctx, Iterable<Object> iterable) {
 
     // lazy load
     @Nullable private ImmutableList<Object> immutableCauses;
+    // Built up as types are queried, shared by every listener of an event
+    private volatile TypeIndex typeIndex = TypeIndex.EMPTY;
 
     Cause(EventContext ctx, Object[] causes) {
         checkNotNull(ctx, "Context");
@@ -142,12 +144,8 @@ public Object root() {
      * @return The first element of the type, if available
      */
     public <T> Optional<T> first(Class<T> target) {
-        for (Object aCause : this.cause) {
-            if (target.isInstance(aCause)) {
-                return Optional.of((T) aCause);
-            }
-        }
-        return Optional.empty();
+        final int[] indices = indicesOf(target);
+        return indices.length == 0 ? Optional.empty() : Optional.of((T) this.cause[indices[0]]);
     }
 
     /**
@@ -159,12 +157,8 @@ public <T> Optional<T> first(Class<T> target) {
      * @return The last element of the type, if available
      */
     public <T> Optional<T> last(Class<T> target) {
-        for (int i = this.cause.length - 1; i >= 0; i--) {
-            if (target.isInstance(this.cause[i])) {
-                return Optional.of((T) this.cause[i]);
-            }
-        }
-        return Optional.empty();
+        final int[] indices = indicesOf(target);
+        return indices.length == 0 ? Optional.empty() : Optional.of((T) this.cause[indices[indices.length - 1]]);
     }
 
     /**
@@ -179,10 +173,12 @@ public Optional<?> before(Class<?> clazz) {
         if (this.cause.length == 1) {
             return Optional.empty();
         }
-        for (int i = 0; i < this.cause.length; i++) {
-            if (clazz.isInstance(this.cause[i]) && i > 0) {
-                return Optional.of(this.cause[i - 1]);
-            }
+        final int[] indices = indicesOf(clazz);
+        // The root has nothing before it, so the second match is used then
+        if (indices.length > 0 && indices[0] > 0) {
+            return Optional.of(this.cause[indices[0] - 1]);
+        } else if (indices.length > 1) {
+            return Optional.of(this.cause[indices[1] - 1]);
         }
         return Optional.empty();
     }
@@ -199,10 +195,11 @@ public Optional<?> after(Class<?> clazz) {
         if (this.cause.length == 1) {
             return Optional.empty();
         }
-        for (int i = 0; i < this.cause.length; i++) {
-            if (clazz.isInstance(this.cause[i]) && i + 1 < this.cause.length) {
-                return Optional.of(this.cause[i + 1]);
-            }
+        final int[] indices = indicesOf(clazz);
+        // Only the last element has nothing after it, so the first match
+        // decides
+        if (indices.length > 0 && indices[0] + 1 < this.cause.length) {
+            return Optional.of(this.cause[indices[0] + 1]);
         }
         return Optional.empty();
     }
@@ -216,13 +213,7 @@ public Optional<?> after(Class<?> clazz) {
      */
     public boolean containsType(Class<?> target) {
         checkArgument(target != null, "The provided class cannot be null!");
-        for (Object aCause : this.cause) {
-            if (target.isInstance(aCause)) {
-                return true;
-            }
-        }
-
-        return false;
+        return indicesOf(target).length > 0;
     }
 
     /**
@@ -251,11 +242,13 @@ public boolean contains(Object object) {
      * @return An immutable list of the objects queried
      */
     public <T> List<T> allOf(Class<T> target) {
+        final int[] indices = indicesOf(target);
+        if (indices.length == this.cause.length) {
+            return (List<T>) all();
+        }
         ImmutableList.Builder<T> builder = ImmutableList.builder();
-        for (Object aCause : this.cause) {
-            if (target.isInstance(aCause)) {
-                builder.add((T) aCause);
-            }
+        for (int index : indices) {
+            builder.add((T) this.cause[index]);
         }
         return builder.build();
     }
@@ -352,6 +345,33 @@ public Cause with(Cause cause) {
         return builder.build(this.context);
     }
 
+    /**
+     * Gets the ascending indices of all objects in this cause that are
+     * instances of the given class. The indices are only looked up once per
+     * class and then kept in the type index of this cause.
+     *
+     * @param target The class
+     * @return The indices, must not be modified
+     */
+    private int[] indicesOf(Class<?> target) {
+        final TypeIndex typeIndex = this.typeIndex;
+        int[] indices = typeIndex.get(target);
+        if (indices == null) {
+            int count = 0;
+            indices = new int[this.cause.length];
+            for (int i = 0; i < this.cause.length; i++) {
+                if (target.isInstance(this.cause[i])) {
+                    indices[count++] = i;
+                }
+            }
+            indices = count == 0 ? TypeIndex.NO_INDICES : Arrays.copyOf(indices, count);
+            // Racing lookups may drop each other's entries, which only
+            // means that those are looked up again
+            this.typeIndex = typeIndex.with(target, indices);
+        }
+        return indices;
+    }
+
     @Override
     public Iterator<Object> iterator() {
         return new Itr();
@@ -403,6 +423,61 @@ public boolean hasNext() {
 
     }
 
+    /**
+     * An immutable open addressing table from classes to the indices of
+     * their instances in a cause, replaced as a whole when entries are added.
+     */
+    private static final class TypeIndex {
+
+        static final int[] NO_INDICES = new int[0];
+        static final TypeIndex EMPTY = new TypeIndex(new Class<?>[4], new int[4][], 0);
+
+        private final Class<?>[] keys;
+        private final int[][] values;
+        private final int size;
+
+        private TypeIndex(Class<?>[] keys, int[][] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        @Nullable
+        int[] get(Class<?> type) {
+            final int mask = this.keys.length - 1;
+            for (int i = type.hashCode() & mask; this.keys[i] != null; i = (i + 1) & mask) {
+                if (this.keys[i] == type) {
+                    return this.values[i];
+                }
+            }
+            return null;
+        }
+
+        TypeIndex with(Class<?> type, int[] indices) {
+            // Keep the load factor at most one half
+            final int capacity = (this.size + 1) * 2 > this.keys.length ? this.keys.length * 2 : this.keys.length;
+            final Class<?>[] keys = new Class<?>[capacity];
+            final int[][] values = new int[capacity][];
+            for (int i = 0; i < this.keys.length; i++) {
+                if (this.keys[i] != null) {
+                    put(keys, values, this.keys[i], this.values[i]);
+                }
+            }
+            put(keys, values, type, indices);
+            return new TypeIndex(keys, values, this.size + 1);
+        }
+
+        private static void put(Class<?>[] keys, int[][] values, Class<?> type, int[] indices) {
+            final int mask = keys.length - 1;
+            int i = type.hashCode() & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = type;
+            values[i] = indices;
+        }
+    }
+
     public static final class Builder implements ResettableBuilder<Cause, Builder> {
 
         List<Object> causes = new ArrayList<>();
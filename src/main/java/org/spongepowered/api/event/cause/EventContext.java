@@ -31,11 +31,13 @@
 import com.google.common.collect.Maps;
 import org.spongepowered.api.util.ResettableBuilder;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nullable;
 
@@ -45,7 +47,15 @@
  */
 public final class EventContext {
 
-    private static final EventContext EMPTY_CONTEXT = new EventContext(ImmutableMap.of());
+    // Every key is assigned a dense ordinal the first time it is stored in a
+    // context, the values of a context are stored in an array indexed by
+    // those ordinals
+    private static final ConcurrentMap<EventContextKey<?>, Integer> ordinals = Maps.newConcurrentMap();
+    private static volatile EventContextKey<?>[] keysByOrdinal = new EventContextKey<?>[0];
+
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final long[] NO_BITS = new long[0];
+    private static final EventContext EMPTY_CONTEXT = new EventContext(NO_VALUES, NO_BITS);
 
     /**
      * Gets an empty context.
@@ -64,10 +74,11 @@ public static EventContext empty() {
      */
     public static EventContext of(Map<EventContextKey<?>, Object> entries) {
         checkNotNull(entries, "Context entries cannot be null");
+        final Builder builder = builder();
         for (Map.Entry<EventContextKey<?>, Object> entry : entries.entrySet()) {
-            checkNotNull(entry.getValue(), "Entries cannot contain null values");
+            builder.put(entry.getKey(), checkNotNull(entry.getValue(), "Entries cannot contain null values"));
         }
-        return new EventContext(entries);
+        return builder.build();
     }
 
     /**
@@ -79,10 +90,78 @@ public static Builder builder() {
         return new Builder();
     }
 
-    private final Map<EventContextKey<?>, Object> entries;
+    /**
+     * Gets the ordinal the values of the given key are stored at, assigning a
+     * new one if the key doesn't have one yet.
+     *
+     * <p>Implementations of {@link EventContextKey} should call this once the
+     * key is fully constructed and return the result from
+     * {@link EventContextKey#ordinal()}.</p>
+     *
+     * @param key The key
+     * @return The ordinal of the key
+     */
+    public static int ordinalOf(EventContextKey<?> key) {
+        checkNotNull(key, "key");
+        final Integer ordinal = ordinals.get(key);
+        return ordinal != null ? ordinal : assignOrdinal(key);
+    }
 
-    EventContext(Map<EventContextKey<?>, Object> values) {
-        this.entries = ImmutableMap.copyOf(values);
+    /**
+     * Looks up the ordinal of the given key without assigning one.
+     *
+     * @param key The key
+     * @return The ordinal, or {@code -1} if none was assigned yet
+     */
+    static int findOrdinal(EventContextKey<?> key) {
+        final Integer ordinal = ordinals.get(key);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Gets the ordinal to store the values of the given key at. Ordinals which
+     * weren't assigned to the key by {@link #ordinalOf(EventContextKey)} are
+     * ignored, so every stored value has a matching entry in
+     * {@link #keysByOrdinal}.
+     */
+    private static int ordinal(EventContextKey<?> key) {
+        final int ordinal = key.ordinal();
+        return isOrdinalOf(key, ordinal) ? ordinal : ordinalOf(key);
+    }
+
+    private static int lookupOrdinal(EventContextKey<?> key) {
+        final int ordinal = key.ordinal();
+        return isOrdinalOf(key, ordinal) ? ordinal : findOrdinal(key);
+    }
+
+    private static boolean isOrdinalOf(EventContextKey<?> key, int ordinal) {
+        final EventContextKey<?>[] keys = keysByOrdinal;
+        return ordinal >= 0 && ordinal < keys.length && keys[ordinal] == key;
+    }
+
+    private static synchronized int assignOrdinal(EventContextKey<?> key) {
+        final Integer existing = ordinals.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final int ordinal = keysByOrdinal.length;
+        final EventContextKey<?>[] keys = Arrays.copyOf(keysByOrdinal, ordinal + 1);
+        keys[ordinal] = key;
+        // Publish the key before its ordinal, so the key of every ordinal
+        // that was handed out can be looked up
+        keysByOrdinal = keys;
+        ordinals.put(key, ordinal);
+        return ordinal;
+    }
+
+    // Never modified once the context is constructed, builders share them
+    private final Object[] values;
+    private final long[] bits;
+    @Nullable private ImmutableMap<EventContextKey<?>, Object> entries;
+
+    EventContext(Object[] values, long[] bits) {
+        this.values = values;
+        this.bits = bits;
     }
 
     /**
@@ -94,7 +173,8 @@ public static Builder builder() {
     @SuppressWarnings("unchecked")
     public <T> Optional<T> get(EventContextKey<T> key) {
         checkNotNull(key, "EventContextKey cannot be null");
-        return Optional.ofNullable((T) this.entries.get(key));
+        final int ordinal = lookupOrdinal(key);
+        return ordinal >= 0 && ordinal < this.values.length ? Optional.ofNullable((T) this.values[ordinal]) : Optional.empty();
     }
 
     /**
@@ -122,7 +202,8 @@ public <T> T require(EventContextKey<T> key) {
      * @return True if the key is used and there is an entry for it
      */
     public boolean containsKey(EventContextKey<?> key) {
-        return this.entries.containsKey(key);
+        final int ordinal = lookupOrdinal(key);
+        return ordinal >= 0 && (ordinal >> 6) < this.bits.length && (this.bits[ordinal >> 6] & (1L << ordinal)) != 0;
     }
 
     /**
@@ -131,7 +212,7 @@ public boolean containsKey(EventContextKey<?> key) {
      * @return All present keys
      */
     public Set<EventContextKey<?>> keySet() {
-        return this.entries.keySet();
+        return asMap().keySet();
     }
 
     /**
@@ -140,7 +221,18 @@ public Set<EventContextKey<?>> keySet() {
      * @return A map view of this context
      */
     public Map<EventContextKey<?>, Object> asMap() {
-        return this.entries;
+        ImmutableMap<EventContextKey<?>, Object> entries = this.entries;
+        if (entries == null) {
+            final EventContextKey<?>[] keys = keysByOrdinal;
+            final ImmutableMap.Builder<EventContextKey<?>, Object> builder = ImmutableMap.builder();
+            for (int i = 0; i < this.values.length; i++) {
+                if (this.values[i] != null) {
+                    builder.put(keys[i], this.values[i]);
+                }
+            }
+            this.entries = entries = builder.build();
+        }
+        return entries;
     }
 
     @Override
@@ -152,12 +244,11 @@ public boolean equals(@Nullable Object object) {
             return false;
         }
         EventContext ctx = (EventContext) object;
-        for (Map.Entry<EventContextKey<?>, Object> entry : this.entries.entrySet()) {
-            Object other = ctx.entries.get(entry.getKey());
-            if (other == null) {
-                return false;
-            }
-            if (!entry.getValue().equals(other)) {
+        final int length = Math.max(this.values.length, ctx.values.length);
+        for (int i = 0; i < length; i++) {
+            final Object value = i < this.values.length ? this.values[i] : null;
+            final Object other = i < ctx.values.length ? ctx.values[i] : null;
+            if (value == null ? other != null : !value.equals(other)) {
                 return false;
             }
         }
@@ -166,13 +257,21 @@ public boolean equals(@Nullable Object object) {
 
     @Override
     public int hashCode() {
-        return this.entries.hashCode();
+        // Same as the hash code of the map view
+        final EventContextKey<?>[] keys = keysByOrdinal;
+        int hashCode = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            if (this.values[i] != null) {
+                hashCode += keys[i].hashCode() ^ this.values[i].hashCode();
+            }
+        }
+        return hashCode;
     }
 
     @Override
     public String toString() {
         StringJoiner joiner = new StringJoiner(", ");
-        for (Map.Entry<EventContextKey<?>, Object> entry : this.entries.entrySet()) {
+        for (Map.Entry<EventContextKey<?>, Object> entry : asMap().entrySet()) {
             joiner.add("\"" + entry.getKey().getId() + "\"=" + entry.getValue().toString());
         }
         return "Context[" + joiner.toString() + "]";
@@ -180,7 +279,11 @@ public String toString() {
 
     public static final class Builder implements ResettableBuilder<EventContext, Builder> {
 
-        private final Map<EventContextKey<?>, Object> entries = Maps.newHashMap();
+        private Object[] values = NO_VALUES;
+        private long[] bits = NO_BITS;
+        // Whether the arrays are shared with a built context and have to be
+        // copied before they are modified
+        private boolean shared = true;
 
         Builder() {
 
@@ -195,20 +298,48 @@ public static final class Builder implements ResettableBuilder<EventContext, Bui
          */
         public <T> Builder add(EventContextKey<T> key, T value) {
             checkNotNull(value, "Context object cannot be null");
-            checkArgument(!this.entries.containsKey(key), "Duplicate context keys");
-            this.entries.put(key, value);
+            final int ordinal = ordinal(key);
+            checkArgument(ordinal >= this.values.length || this.values[ordinal] == null, "Duplicate context keys");
+            return put(ordinal, value);
+        }
+
+        Builder put(EventContextKey<?> key, Object value) {
+            return put(ordinal(key), value);
+        }
+
+        private Builder put(int ordinal, Object value) {
+            if (this.shared || ordinal >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, Math.max(this.values.length, ordinal + 1));
+                this.bits = Arrays.copyOf(this.bits, Math.max(this.bits.length, (ordinal >> 6) + 1));
+                this.shared = false;
+            }
+            this.values[ordinal] = value;
+            this.bits[ordinal >> 6] |= 1L << ordinal;
             return this;
         }
 
         @Override
         public Builder from(EventContext value) {
-            this.entries.putAll(value.entries);
+            if (this.values.length == 0) {
+                // Share the arrays until this builder is modified
+                this.values = value.values;
+                this.bits = value.bits;
+                this.shared = true;
+                return this;
+            }
+            for (int i = 0; i < value.values.length; i++) {
+                if (value.values[i] != null) {
+                    put(i, value.values[i]);
+                }
+            }
             return this;
         }
 
         @Override
         public Builder reset() {
-            this.entries.clear();
+            this.values = NO_VALUES;
+            this.bits = NO_BITS;
+            this.shared = true;
             return this;
         }
 
@@ -218,7 +349,11 @@ public Builder reset() {
          * @return The EventContext
          */
         public EventContext build() {
-            return new EventContext(this.entries);
+            if (this.values.length == 0) {
+                return EMPTY_CONTEXT;
+            }
+            this.shared = true;
+            return new EventContext(this.values, this.bits);
         }
 
     }
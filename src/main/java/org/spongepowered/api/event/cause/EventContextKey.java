@@ -49,6 +49,24 @@ static <T> Builder<T> builder(Class<T> clazz) {
      */
     Class<T> getAllowedType();
 
+    /**
+     * Gets the ordinal the values of this key are stored at in an
+     * {@link EventContext}, or {@code -1} if this key was never stored in a
+     * context.
+     *
+     * <p>The default implementation looks the ordinal up by the equality of
+     * this key on every call. Implementations should assign the ordinal once
+     * through {@link EventContext#ordinalOf(EventContextKey)} and return it
+     * from a field, which turns context lookups into a plain array
+     * access. Any other value, such as an ordinal of the catalog of the
+     * implementation, is ignored and the ordinal is looked up instead.</p>
+     *
+     * @return The ordinal of this key
+     */
+    default int ordinal() {
+        return EventContext.findOrdinal(this);
+    }
+
     interface Builder<T> extends ResettableBuilder<EventContextKey<T>, Builder<T>> {
 
         Builder<T> type(Class<T> tClass);
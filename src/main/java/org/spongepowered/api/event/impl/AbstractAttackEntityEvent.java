@@ -27,7 +27,6 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.event.cause.entity.ModifierFunction;
 import org.spongepowered.api.event.cause.entity.damage.DamageFunction;
 import org.spongepowered.api.event.cause.entity.damage.DamageModifier;
@@ -84,14 +83,14 @@ public final double getFinalOutputDamage() {
 
     @Override
     public final boolean isModifierApplicable(DamageModifier damageModifier) {
-        return this.modifiers.containsKey(checkNotNull(damageModifier));
+        return this.containsModifier(checkNotNull(damageModifier));
     }
 
     @Override
     public final double getOutputDamage(DamageModifier damageModifier) {
-        checkArgument(this.modifiers.containsKey(checkNotNull(damageModifier)), "The provided damage modifier is not applicable : "
+        checkArgument(this.containsModifier(checkNotNull(damageModifier)), "The provided damage modifier is not applicable : "
                                                                                 + damageModifier.toString());
-        return this.modifiers.get(checkNotNull(damageModifier));
+        return this.getAmount(checkNotNull(damageModifier));
     }
 
     @Override
@@ -114,7 +113,7 @@ public final void setOutputDamage(DamageModifier damageModifier, DoubleUnaryOper
         } else {
             this.modifierFunctions.add(indexToAddTo, new DamageFunction(damageModifier, function));
         }
-        this.recalculateDamages(this.baseDamage);
+        this.recalculateDamages(this.baseDamage, indexToAddTo);
     }
 
     @Override
@@ -132,11 +131,10 @@ public void addDamageModifierBefore(DamageModifier damageModifier, DoubleUnaryOp
 
         }
         if (indexToAddBefore == -1) {
-            this.modifierFunctions.add(new DamageFunction(damageModifier, function));
-        } else {
-            this.modifierFunctions.add(indexToAddBefore, new DamageFunction(damageModifier, function));
+            indexToAddBefore = this.modifierFunctions.size();
         }
-        this.recalculateDamages(this.baseDamage);
+        this.modifierFunctions.add(indexToAddBefore, new DamageFunction(damageModifier, function));
+        this.recalculateDamages(this.baseDamage, indexToAddBefore);
     }
 
     @Override
@@ -154,11 +152,10 @@ public void addDamageModifierAfter(DamageModifier damageModifier, DoubleUnaryOpe
 
         }
         if (indexToAddAfter == -1) {
-            this.modifierFunctions.add(new DamageFunction(damageModifier, function));
-        } else {
-            this.modifierFunctions.add(indexToAddAfter + 1, new DamageFunction(damageModifier, function));
+            indexToAddAfter = this.modifierFunctions.size() - 1;
         }
-        this.recalculateDamages(this.baseDamage);
+        this.modifierFunctions.add(indexToAddAfter + 1, new DamageFunction(damageModifier, function));
+        this.recalculateDamages(this.baseDamage, indexToAddAfter + 1);
     }
 
     @Override
@@ -176,17 +173,4 @@ public final void setBaseOutputDamage(double baseDamage) {
     protected DamageFunction convertTuple(DamageModifier obj, DoubleUnaryOperator function) {
         return new DamageFunction(obj, function);
     }
-
-    @Override
-    public List<DamageFunction> getModifiers() {
-        ImmutableList.Builder<DamageFunction> builder = ImmutableList.builder();
-        for (ModifierFunction<DamageModifier> entry : this.modifierFunctions) {
-            if (entry instanceof DamageFunction) {
-                builder.add((DamageFunction) entry);
-            } else {
-                builder.add(new DamageFunction(entry.getModifier(), entry.getFunction()));
-            }
-        }
-        return builder.build();
-    }
 }
@@ -27,7 +27,6 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.event.cause.entity.ModifierFunction;
 import org.spongepowered.api.event.cause.entity.damage.DamageFunction;
@@ -85,14 +84,14 @@ public final double getFinalDamage() {
 
     @Override
     public final boolean isModifierApplicable(DamageModifier damageModifier) {
-        return this.modifiers.containsKey(checkNotNull(damageModifier));
+        return this.containsModifier(checkNotNull(damageModifier));
     }
 
     @Override
     public final double getDamage(DamageModifier damageModifier) {
-        checkArgument(this.modifiers.containsKey(checkNotNull(damageModifier)), "The provided damage modifier is not applicable : "
+        checkArgument(this.containsModifier(checkNotNull(damageModifier)), "The provided damage modifier is not applicable : "
                                                                                 + damageModifier.toString());
-        return this.modifiers.get(checkNotNull(damageModifier));
+        return this.getAmount(checkNotNull(damageModifier));
     }
 
     @Override
@@ -115,7 +114,7 @@ public final void setDamage(DamageModifier damageModifier, DoubleUnaryOperator f
         } else {
             this.modifierFunctions.add(indexToAddTo, new DamageFunction(damageModifier, function));
         }
-        this.recalculateDamages(this.baseDamage);
+        this.recalculateDamages(this.baseDamage, indexToAddTo);
     }
 
     @Override
@@ -133,11 +132,10 @@ public void addDamageModifierBefore(DamageModifier damageModifier, DoubleUnaryOp
 
         }
         if (indexToAddBefore == -1) {
-            this.modifierFunctions.add(new DamageFunction(damageModifier, function));
-        } else {
-            this.modifierFunctions.add(indexToAddBefore, new DamageFunction(damageModifier, function));
+            indexToAddBefore = this.modifierFunctions.size();
         }
-        this.recalculateDamages(this.baseDamage);
+        this.modifierFunctions.add(indexToAddBefore, new DamageFunction(damageModifier, function));
+        this.recalculateDamages(this.baseDamage, indexToAddBefore);
     }
 
     @Override
@@ -155,11 +153,10 @@ public void addModifierAfter(DamageModifier damageModifier, DoubleUnaryOperator
 
         }
         if (indexToAddAfter == -1) {
-            this.modifierFunctions.add(new DamageFunction(damageModifier, function));
-        } else {
-            this.modifierFunctions.add(indexToAddAfter + 1, new DamageFunction(damageModifier, function));
+            indexToAddAfter = this.modifierFunctions.size() - 1;
         }
-        this.recalculateDamages(this.baseDamage);
+        this.modifierFunctions.add(indexToAddAfter + 1, new DamageFunction(damageModifier, function));
+        this.recalculateDamages(this.baseDamage, indexToAddAfter + 1);
     }
 
     @Override
@@ -167,19 +164,6 @@ protected DamageFunction convertTuple(DamageModifier obj, DoubleUnaryOperator fu
         return new DamageFunction(obj, function);
     }
 
-    @Override
-    public List<DamageFunction> getModifiers() {
-        ImmutableList.Builder<DamageFunction> builder = ImmutableList.builder();
-        for (ModifierFunction<DamageModifier> entry : this.modifierFunctions) {
-            if (entry instanceof DamageFunction) {
-                builder.add((DamageFunction) entry);
-            } else {
-                builder.add(new DamageFunction(entry.getModifier(), entry.getFunction()));
-            }
-        }
-        return builder.build();
-    }
-
     @Override
     public double getBaseDamage() {
         return this.baseDamage;
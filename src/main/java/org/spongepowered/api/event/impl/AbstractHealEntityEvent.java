@@ -74,14 +74,14 @@ public final double getFinalHealAmount() {
 
     @Override
     public final boolean isModifierApplicable(HealthModifier healthModifier) {
-        return this.modifiers.containsKey(checkNotNull(healthModifier));
+        return this.containsModifier(checkNotNull(healthModifier));
     }
 
     @Override
     public final double getHealAmount(HealthModifier healthModifier) {
-        checkArgument(this.modifiers.containsKey(checkNotNull(healthModifier)), "The provided damage modifier is not applicable : "
+        checkArgument(this.containsModifier(checkNotNull(healthModifier)), "The provided damage modifier is not applicable : "
                                                                                 + healthModifier.toString());
-        return this.modifiers.get(checkNotNull(healthModifier));
+        return this.getAmount(checkNotNull(healthModifier));
     }
 
     @Override
@@ -104,7 +104,7 @@ public final void setHealAmount(HealthModifier healthModifier, DoubleUnaryOperat
         } else {
             this.modifierFunctions.add(indexToAddTo, new HealthFunction(healthModifier, function));
         }
-        this.recalculateDamages(this.baseHealAmount);
+        this.recalculateDamages(this.baseHealAmount, indexToAddTo);
     }
 
     @Override
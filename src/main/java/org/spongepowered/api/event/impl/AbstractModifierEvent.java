@@ -24,25 +24,42 @@
  */
 package org.spongepowered.api.event.impl;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.event.cause.entity.ModifierFunction;
 import org.spongepowered.api.event.entity.DamageEntityEvent;
 import org.spongepowered.api.event.entity.HealEntityEvent;
 import org.spongepowered.api.util.Tuple;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 /**
  * An abstract base class for implementations of {@link DamageEntityEvent} and {@link HealEntityEvent}.
  *
+ * <p>The amount of every modifier and the running total before it are kept
+ * in primitive arrays, so a change to one modifier only re-applies the
+ * functions from that modifier onward. Modifier functions are therefore
+ * expected to return the same amount for the same input. Subclasses that
+ * modify {@link #modifierFunctions} have to call
+ * {@link #recalculateDamages(double, int)} afterwards and can look the
+ * amounts up with {@link #getAmount(Object)}.</p>
+ *
  * @param <T> The modifier type to use
  */
 public abstract class AbstractModifierEvent<T extends ModifierFunction<M>, M> extends AbstractEvent {
@@ -50,23 +67,43 @@
     protected double originalFinalAmount;
     protected List<Tuple<M, Double>> originalModifiers;
     protected Map<M, Double> originalModifierMap;
-    protected final LinkedHashMap<M, Double> modifiers = Maps.newLinkedHashMap();
+    /**
+     * A read only view of the amounts of the modifiers, which is only built
+     * when it is read after the amounts changed.
+     *
+     * @deprecated Use {@link #containsModifier(Object)} and
+     *     {@link #getAmount(Object)} instead
+     */
+    @Deprecated
+    protected final LinkedHashMap<M, Double> modifiers = new ModifierMap();
     protected final List<T> modifierFunctions = new ArrayList<>();
 
+    // amounts[i] is the result of function i, totals[i] the amount it was
+    // applied to and totals[size] the final amount
+    private double[] amounts = new double[0];
+    private double[] totals = new double[1];
+    private double calculatedBase = Double.NaN;
+    @Nullable private ImmutableList<T> modifierView;
+
     protected ImmutableList<T> init(double originalValue, List<T> originalFunctions) {
         final ImmutableList.Builder<Tuple<M, Double>> modifierMapBuilder = ImmutableList.builder();
         final ImmutableList.Builder<T> functionListBuilder = ImmutableList.builder();
         final ImmutableMap.Builder<M, Double> mapBuilder = ImmutableMap.builder();
+        ensureCapacity(originalFunctions.size());
         double finalDamage = originalValue;
+        int index = 0;
         for (T tuple : originalFunctions) {
             this.modifierFunctions.add(convertTuple(tuple.getModifier(), tuple.getFunction()));
             double tempDamage = checkNotNull(tuple.getFunction().applyAsDouble(finalDamage));
+            this.totals[index] = finalDamage;
+            this.amounts[index++] = tempDamage;
             finalDamage += tempDamage;
             modifierMapBuilder.add(new Tuple<>(tuple.getModifier(), tempDamage));
             mapBuilder.put(tuple.getModifier(), tempDamage);
-            this.modifiers.put(tuple.getModifier(), tempDamage);
             functionListBuilder.add(convertTuple(tuple.getModifier(), tuple.getFunction()));
         }
+        this.totals[index] = finalDamage;
+        this.calculatedBase = originalValue;
         this.originalFinalAmount = finalDamage;
         this.originalModifiers = modifierMapBuilder.build();
         this.originalModifierMap = mapBuilder.build();
@@ -76,38 +113,273 @@ protected ImmutableList<T> init(double originalValue, List<T> originalFunctions)
     protected abstract T convertTuple(M obj, DoubleUnaryOperator function);
 
     protected void recalculateDamages(double baseAmount) {
-        double tempAmount = baseAmount;
-        this.modifiers.clear();
-        for (T entry : this.modifierFunctions) {
-            double modifierAmount = checkNotNull(entry.getFunction().applyAsDouble(tempAmount));
-            if (this.modifiers.containsKey(entry.getModifier())) {
-                double oldAmount = this.modifiers.get(entry.getModifier());
-                double difference = oldAmount - modifierAmount;
-                if (oldAmount > 0) {
-                    this.modifiers.put(entry.getModifier(), Math.max(0, oldAmount - difference));
-                } else {
-                    this.modifiers.put(entry.getModifier(), Math.min(0, oldAmount - difference));
-                }
-            } else {
-                this.modifiers.put(entry.getModifier(), modifierAmount);
-            }
+        recalculateDamages(baseAmount, 0);
+    }
+
+    /**
+     * Recalculates the amounts of the modifiers starting at the given index,
+     * after the function at that index was added or replaced. The amounts of
+     * the modifiers before it are reused if the base amount didn't change.
+     *
+     * @param baseAmount The base amount
+     * @param fromIndex The index of the first changed modifier function
+     */
+    protected void recalculateDamages(double baseAmount, int fromIndex) {
+        this.modifierView = null;
+        ((ModifierMap) this.modifiers).invalidate();
+        final int size = this.modifierFunctions.size();
+        ensureCapacity(size);
+        if (fromIndex == 0 || Double.compare(baseAmount, this.calculatedBase) != 0) {
+            fromIndex = 0;
+            this.totals[0] = baseAmount;
+            this.calculatedBase = baseAmount;
+        }
+        double tempAmount = this.totals[fromIndex];
+        for (int i = fromIndex; i < size; i++) {
+            double modifierAmount = checkNotNull(this.modifierFunctions.get(i).getFunction().applyAsDouble(tempAmount));
+            this.amounts[i] = modifierAmount;
             tempAmount += modifierAmount;
+            this.totals[i + 1] = tempAmount;
         }
     }
 
     protected double getFinalAmount(double baseAmount) {
-        double damage = baseAmount;
+        if (Double.compare(baseAmount, this.calculatedBase) != 0) {
+            recalculateDamages(baseAmount, 0);
+        }
+        return this.totals[this.modifierFunctions.size()];
+    }
+
+    /**
+     * Gets whether a function for the given modifier is present.
+     *
+     * @param modifier The modifier
+     * @return True if the modifier is applied
+     */
+    protected boolean containsModifier(M modifier) {
         for (T entry : this.modifierFunctions) {
-            damage += checkNotNull(entry.getFunction().applyAsDouble(damage));
+            if (entry.getModifier().equals(modifier)) {
+                return true;
+            }
         }
-        return damage;
+        return false;
+    }
+
+    /**
+     * Gets the last calculated amount of the given modifier. If the modifier
+     * is present more than once, the amount of its last function is used,
+     * clamped to the sign of the earlier amount.
+     *
+     * @param modifier The modifier
+     * @return The amount of the modifier
+     * @throws IllegalArgumentException If the modifier isn't applied
+     */
+    protected double getAmount(M modifier) {
+        boolean found = false;
+        double amount = 0;
+        for (int i = 0; i < this.modifierFunctions.size(); i++) {
+            if (this.modifierFunctions.get(i).getModifier().equals(modifier)) {
+                final double modifierAmount = this.amounts[i];
+                if (!found) {
+                    amount = modifierAmount;
+                    found = true;
+                } else if (amount > 0) {
+                    amount = Math.max(0, modifierAmount);
+                } else {
+                    amount = Math.min(0, modifierAmount);
+                }
+            }
+        }
+        checkArgument(found, "The provided modifier is not applicable : " + modifier);
+        return amount;
     }
 
     public List<T> getModifiers() {
-        ImmutableList.Builder<T> builder = ImmutableList.builder();
-        for (T entry : this.modifierFunctions) {
-            builder.add(entry);
+        ImmutableList<T> view = this.modifierView;
+        if (view == null) {
+            this.modifierView = view = ImmutableList.copyOf(this.modifierFunctions);
+        }
+        return view;
+    }
+
+    private void ensureCapacity(int size) {
+        if (this.amounts.length < size) {
+            final int capacity = Math.max(size, this.amounts.length * 2);
+            this.amounts = Arrays.copyOf(this.amounts, capacity);
+            this.totals = Arrays.copyOf(this.totals, capacity + 1);
+        }
+    }
+
+    /**
+     * The deprecated {@link #modifiers} map, derived from the amounts when it
+     * is read.
+     */
+    private final class ModifierMap extends LinkedHashMap<M, Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Nullable private Map<M, Double> current;
+
+        void invalidate() {
+            this.current = null;
+        }
+
+        private Map<M, Double> current() {
+            Map<M, Double> current = this.current;
+            if (current == null) {
+                final LinkedHashMap<M, Double> map = new LinkedHashMap<>();
+                final List<T> functions = AbstractModifierEvent.this.modifierFunctions;
+                for (int i = 0; i < functions.size(); i++) {
+                    final M modifier = functions.get(i).getModifier();
+                    final double amount = AbstractModifierEvent.this.amounts[i];
+                    final Double previous = map.get(modifier);
+                    if (previous == null) {
+                        map.put(modifier, amount);
+                    } else {
+                        // Repeated modifiers are merged like in getAmount
+                        map.put(modifier, previous > 0 ? Math.max(0, amount) : Math.min(0, amount));
+                    }
+                }
+                this.current = current = Collections.unmodifiableMap(map);
+            }
+            return current;
+        }
+
+        @Override
+        public int size() {
+            return current().size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return current().isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return current().containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return current().containsValue(value);
+        }
+
+        @Override
+        public Double get(Object key) {
+            return current().get(key);
+        }
+
+        @Override
+        public Double getOrDefault(Object key, Double defaultValue) {
+            return current().getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public Set<M> keySet() {
+            return current().keySet();
+        }
+
+        @Override
+        public Collection<Double> values() {
+            return current().values();
+        }
+
+        @Override
+        public Set<Map.Entry<M, Double>> entrySet() {
+            return current().entrySet();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super M, ? super Double> action) {
+            current().forEach(action);
+        }
+
+        @Override
+        public Double put(M key, Double value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void putAll(Map<? extends M, ? extends Double> m) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Double putIfAbsent(M key, Double value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Double remove(Object key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Double replace(M key, Double value) {
+            throw new UnsupportedOperationException();
         }
-        return builder.build();
+
+        @Override
+        public boolean replace(M key, Double oldValue, Double newValue) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super M, ? super Double, ? extends Double> function) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Double computeIfAbsent(M key, Function<? super M, ? extends Double> mappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Double computeIfPresent(M key, BiFunction<? super M, ? super Double, ? extends Double> remappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Double compute(M key, BiFunction<? super M, ? super Double, ? extends Double> remappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Double merge(M key, Double value, BiFunction<? super Double, ? super Double, ? extends Double> remappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object clone() {
+            return new LinkedHashMap<>(current());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return current().equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return current().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return current().toString();
+        }
+
     }
+
 }
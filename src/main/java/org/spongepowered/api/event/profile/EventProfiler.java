@@ -0,0 +1,290 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event.profile;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventManager;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Collects {@link ListenerStatistics} for the listeners of an
+ * {@link EventManager}.
+ *
+ * <p>The event manager registers every listener to get its statistics handle
+ * and wraps each invocation with {@link #start(ListenerStatistics)} and
+ * {@link #stop(ListenerStatistics, long)}. While the profiler is disabled,
+ * these calls return immediately. To bound the overhead of reading the
+ * clock, only every n-th invocation of a listener is timed, as configured
+ * by {@link #setSampleInterval(int)}.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class EventProfiler {
+
+    /**
+     * The value returned by {@link #start(ListenerStatistics)} for
+     * invocations that are not timed.
+     */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    // Compares values that were read once, the live sums keep changing
+    // while other threads post events
+    private static final Comparator<Snapshot> BY_ESTIMATED_TIME =
+            Comparator.comparingLong((Snapshot snapshot) -> snapshot.estimatedTotalNanos).reversed();
+
+    private final Set<ListenerStatistics> statistics = ConcurrentHashMap.newKeySet();
+    private volatile boolean enabled;
+    private volatile int sampleInterval = 1;
+
+    /**
+     * Gets whether invocations are currently recorded.
+     *
+     * @return Whether the profiler is enabled
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Sets whether invocations are recorded.
+     *
+     * @param enabled Whether the profiler is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the interval at which invocations of a listener are timed.
+     *
+     * @return The sample interval
+     */
+    public int getSampleInterval() {
+        return this.sampleInterval;
+    }
+
+    /**
+     * Sets the interval at which invocations of a listener are timed,
+     * {@code 1} times every invocation.
+     *
+     * @param sampleInterval The sample interval
+     */
+    public void setSampleInterval(int sampleInterval) {
+        checkArgument(sampleInterval > 0, "sampleInterval must be positive");
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Registers a listener and creates the handle its statistics are recorded
+     * with.
+     *
+     * @param plugin The plugin that registered the listener
+     * @param listener A description of the listener
+     * @param eventType The type of event the listener listens to
+     * @return The statistics of the listener
+     */
+    public ListenerStatistics register(PluginContainer plugin, String listener, Class<? extends Event> eventType) {
+        final ListenerStatistics statistics = new ListenerStatistics(checkNotNull(plugin, "plugin"),
+                checkNotNull(listener, "listener"), checkNotNull(eventType, "eventType"));
+        this.statistics.add(statistics);
+        return statistics;
+    }
+
+    /**
+     * Removes the statistics of a listener that was unregistered.
+     *
+     * @param statistics The statistics of the listener
+     */
+    public void unregister(ListenerStatistics statistics) {
+        this.statistics.remove(checkNotNull(statistics, "statistics"));
+    }
+
+    /**
+     * Records the start of an invocation of a listener.
+     *
+     * @param statistics The statistics of the listener
+     * @return The start time to pass to {@link #stop(ListenerStatistics, long)},
+     *     or {@link #NOT_SAMPLED}
+     */
+    public long start(ListenerStatistics statistics) {
+        if (!this.enabled) {
+            return NOT_SAMPLED;
+        }
+        statistics.recordInvocation();
+        if (--statistics.sampleCountdown > 0) {
+            return NOT_SAMPLED;
+        }
+        statistics.sampleCountdown = this.sampleInterval;
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the end of an invocation of a listener.
+     *
+     * @param statistics The statistics of the listener
+     * @param start The value returned by {@link #start(ListenerStatistics)}
+     */
+    public void stop(ListenerStatistics statistics, long start) {
+        if (start != NOT_SAMPLED) {
+            statistics.recordSample(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records that an event was not passed to a listener because one of its
+     * filters rejected the event.
+     *
+     * @param statistics The statistics of the listener
+     * @param filter The type of the filter annotation that rejected the event
+     */
+    public void recordFilterRejection(ListenerStatistics statistics, Class<? extends Annotation> filter) {
+        if (this.enabled) {
+            statistics.recordFilterRejection(filter);
+        }
+    }
+
+    /**
+     * Gets the statistics of all registered listeners, ordered by the
+     * estimated time spent in them, the most expensive first.
+     *
+     * @return The listener statistics
+     */
+    public List<ListenerStatistics> getStatistics() {
+        return collect(statistics -> true);
+    }
+
+    /**
+     * Gets the statistics of the listeners registered by the given plugin,
+     * ordered by the estimated time spent in them, the most expensive first.
+     *
+     * @param plugin The plugin
+     * @return The listener statistics
+     */
+    public List<ListenerStatistics> getStatistics(PluginContainer plugin) {
+        checkNotNull(plugin, "plugin");
+        return collect(statistics -> statistics.getPlugin().equals(plugin));
+    }
+
+    private List<ListenerStatistics> collect(Predicate<ListenerStatistics> filter) {
+        return snapshot(filter).stream()
+                .map(snapshot -> snapshot.statistics)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    private List<Snapshot> snapshot(Predicate<ListenerStatistics> filter) {
+        return this.statistics.stream()
+                .filter(filter)
+                .map(Snapshot::new)
+                .sorted(BY_ESTIMATED_TIME)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Resets the statistics of all registered listeners.
+     */
+    public void reset() {
+        this.statistics.forEach(ListenerStatistics::reset);
+    }
+
+    /**
+     * Writes a report of the statistics of all registered listeners, the most
+     * expensive first.
+     *
+     * @param out The appendable to write the report to
+     * @throws IOException If writing to the appendable fails
+     */
+    public void writeReport(Appendable out) throws IOException {
+        out.append(String.format("%-20s %-40s %-40s %12s %12s %12s %14s %12s%n", "Plugin", "Event", "Listener",
+                "Invocations", "Avg (us)", "Max (us)", "Est. total (ms)", "Rejections"));
+        for (Snapshot snapshot : snapshot(statistics -> true)) {
+            final ListenerStatistics statistics = snapshot.statistics;
+            out.append(String.format("%-20s %-40s %-40s %12d %12.2f %12.2f %14.2f %12d%n",
+                    statistics.getPlugin().getId(),
+                    statistics.getEventType().getSimpleName(),
+                    statistics.getListener(),
+                    snapshot.invocations,
+                    snapshot.averageNanos / 1e3,
+                    snapshot.maxNanos / 1e3,
+                    snapshot.estimatedTotalNanos / 1e6,
+                    snapshot.filterRejections));
+        }
+    }
+
+    /**
+     * Creates a report of the statistics of all registered listeners, the
+     * most expensive first.
+     *
+     * @return The report
+     * @see #writeReport(Appendable)
+     */
+    public String createReport() {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            writeReport(builder);
+        } catch (IOException e) {
+            // Never thrown by a StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The values of a {@link ListenerStatistics}, each read once.
+     */
+    private static final class Snapshot {
+
+        final ListenerStatistics statistics;
+        final long invocations;
+        final double averageNanos;
+        final long maxNanos;
+        final long estimatedTotalNanos;
+        final long filterRejections;
+
+        Snapshot(ListenerStatistics statistics) {
+            this.statistics = statistics;
+            this.invocations = statistics.getInvocationCount();
+            final long samples = statistics.getSampledInvocationCount();
+            this.averageNanos = samples == 0 ? 0 : (double) statistics.getSampledNanos() / samples;
+            this.maxNanos = statistics.getMaxNanos();
+            this.estimatedTotalNanos = (long) (this.averageNanos * this.invocations);
+            this.filterRejections = statistics.getFilterRejectionCount();
+        }
+
+    }
+
+}
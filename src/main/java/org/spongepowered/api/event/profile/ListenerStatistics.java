@@ -0,0 +1,214 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event.profile;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The invocation statistics of a single event listener, collected by an
+ * {@link EventProfiler}.
+ *
+ * <p>Invocations and filter rejections are always counted, while only the
+ * sampled invocations are timed.</p>
+ */
+public final class ListenerStatistics {
+
+    private final PluginContainer plugin;
+    private final String listener;
+    private final Class<? extends Event> eventType;
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder sampledInvocations = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder filterRejections = new LongAdder();
+    private final ConcurrentMap<Class<? extends Annotation>, LongAdder> rejectionsByFilter = Maps.newConcurrentMap();
+    // Only approximately counts down under concurrent invocations, which is
+    // good enough for sampling
+    int sampleCountdown;
+
+    ListenerStatistics(PluginContainer plugin, String listener, Class<? extends Event> eventType) {
+        this.plugin = plugin;
+        this.listener = listener;
+        this.eventType = eventType;
+    }
+
+    /**
+     * Gets the plugin that registered the listener.
+     *
+     * @return The plugin
+     */
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets a description of the listener, usually the name of the listener
+     * method.
+     *
+     * @return The listener description
+     */
+    public String getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Gets the type of event the listener listens to.
+     *
+     * @return The event type
+     */
+    public Class<? extends Event> getEventType() {
+        return this.eventType;
+    }
+
+    /**
+     * Gets the amount of times the listener was invoked.
+     *
+     * @return The invocation count
+     */
+    public long getInvocationCount() {
+        return this.invocations.sum();
+    }
+
+    /**
+     * Gets the amount of invocations that were timed.
+     *
+     * @return The sampled invocation count
+     */
+    public long getSampledInvocationCount() {
+        return this.sampledInvocations.sum();
+    }
+
+    /**
+     * Gets the time spent in the sampled invocations, in nanoseconds.
+     *
+     * @return The sampled time
+     */
+    public long getSampledNanos() {
+        return this.sampledNanos.sum();
+    }
+
+    /**
+     * Gets the average time of a sampled invocation, in nanoseconds.
+     *
+     * @return The average time, or {@code 0} without any samples
+     */
+    public double getAverageNanos() {
+        final long samples = getSampledInvocationCount();
+        return samples == 0 ? 0 : (double) getSampledNanos() / samples;
+    }
+
+    /**
+     * Gets the estimated time spent in all invocations, in nanoseconds,
+     * extrapolated from the sampled invocations.
+     *
+     * @return The estimated total time
+     */
+    public long getEstimatedTotalNanos() {
+        return (long) (getAverageNanos() * getInvocationCount());
+    }
+
+    /**
+     * Gets the time of the slowest sampled invocation, in nanoseconds.
+     *
+     * @return The maximum time
+     */
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Gets the amount of times an event was not passed to the listener
+     * because a filter rejected it.
+     *
+     * @return The filter rejection count
+     */
+    public long getFilterRejectionCount() {
+        return this.filterRejections.sum();
+    }
+
+    /**
+     * Gets the amount of filter rejections per filter annotation, such as
+     * {@link org.spongepowered.api.event.filter.cause.First} or
+     * {@link org.spongepowered.api.event.filter.Getter}.
+     *
+     * @return The filter rejection counts
+     */
+    public Map<Class<? extends Annotation>, Long> getFilterRejectionCounts() {
+        final ImmutableMap.Builder<Class<? extends Annotation>, Long> builder = ImmutableMap.builder();
+        this.rejectionsByFilter.forEach((filter, count) -> builder.put(filter, count.sum()));
+        return builder.build();
+    }
+
+    void recordInvocation() {
+        this.invocations.increment();
+    }
+
+    void recordSample(long nanos) {
+        this.sampledInvocations.increment();
+        this.sampledNanos.add(nanos);
+        this.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordFilterRejection(Class<? extends Annotation> filter) {
+        checkNotNull(filter, "filter");
+        this.filterRejections.increment();
+        this.rejectionsByFilter.computeIfAbsent(filter, key -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        this.invocations.reset();
+        this.sampledInvocations.reset();
+        this.sampledNanos.reset();
+        this.maxNanos.set(0);
+        this.filterRejections.reset();
+        this.rejectionsByFilter.clear();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("plugin", this.plugin.getId())
+                .add("listener", this.listener)
+                .add("eventType", this.eventType.getName())
+                .add("invocations", getInvocationCount())
+                .add("averageNanos", getAverageNanos())
+                .add("maxNanos", getMaxNanos())
+                .add("filterRejections", getFilterRejectionCount())
+                .toString();
+    }
+}
@@ -26,9 +26,11 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.util.Tristate;
@@ -36,17 +38,26 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.Nullable;
 
 /**
  * A subject data implementation storing all contained data in memory.
  *
+ * <p>Permission values resolved through
+ * {@link #getPermissionValue(Set, String)} are cached per context set until
+ * the permissions or parents of this data, or of any
+ * {@link MemorySubjectData} they were inherited from, change.</p>
+ *
  * <p>This class is thread-safe.</p>
  */
 public class MemorySubjectData implements SubjectData {
@@ -55,6 +66,21 @@ public class MemorySubjectData implements SubjectData {
     private final ConcurrentMap<Set<Context>, Map<String, String>> options = Maps.newConcurrentMap();
     private final ConcurrentMap<Set<Context>, NodeTree> permissions = Maps.newConcurrentMap();
     private final ConcurrentMap<Set<Context>, List<Map.Entry<String, String>>> parents = Maps.newConcurrentMap();
+    private final ConcurrentMap<Set<Context>, ResolvedPermissions> resolved = Maps.newConcurrentMap();
+    @Nullable private volatile ResolvedPermissions lastResolved;
+    /**
+     * Incremented whenever the permissions or parents of this data, or of
+     * any data a value was inherited from, change.
+     */
+    private final AtomicLong version = new AtomicLong();
+    /**
+     * The subject data which inherited values from this data, and therefore
+     * have to be invalidated together with it.
+     */
+    private final Set<MemorySubjectData> dependents = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
 
     /**
      * Creates a new subject data instance, using the provided service to
@@ -89,6 +115,121 @@ public NodeTree getNodeTree(Set<Context> contexts) {
         return perms == null ? NodeTree.of(Collections.emptyMap()) : perms;
     }
 
+    /**
+     * Gets the value of the given permission in the given contexts, falling
+     * back to the values of the parents of this subject data in the same
+     * contexts if it is undefined. Only parents that are currently loaded
+     * are taken into account.
+     *
+     * <p>Resolved values are cached until the permissions or parents of this
+     * data, or of any {@link MemorySubjectData} a value was inherited from,
+     * change. If parents are backed by other
+     * subject data implementations, {@link #invalidateCache()} has to be
+     * called when their data changes.</p>
+     *
+     * @param contexts The contexts to get the value in
+     * @param permission The permission to get the value of
+     * @return The resolved value
+     */
+    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        checkNotNull(contexts, "contexts");
+        checkNotNull(permission, "permission");
+        final long currentVersion = this.version.get();
+        // Subjects usually pass the same immutable set instance for repeated
+        // checks, which avoids hashing the context set again. Only the
+        // immutable key that was stored can be compared by identity.
+        ResolvedPermissions resolved = this.lastResolved;
+        if (resolved == null || resolved.contexts != contexts || resolved.version != currentVersion) {
+            resolved = this.resolved.get(contexts);
+            if (resolved == null || resolved.version != currentVersion) {
+                if (resolved != null) {
+                    this.invalidations.increment();
+                }
+                final Set<Context> key = ImmutableSet.copyOf(contexts);
+                resolved = new ResolvedPermissions(key, currentVersion);
+                this.resolved.put(key, resolved);
+            }
+            this.lastResolved = resolved;
+        }
+        Tristate value = resolved.values.get(permission);
+        if (value != null) {
+            this.hits.increment();
+            return value;
+        }
+        this.misses.increment();
+        value = resolvePermissionValue(contexts, permission);
+        resolved.values.put(permission, value);
+        return value;
+    }
+
+    private Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        final NodeTree perms = this.permissions.get(contexts);
+        if (perms != null) {
+            final Tristate value = perms.get(permission);
+            if (value != Tristate.UNDEFINED) {
+                return value;
+            }
+        }
+        final List<Map.Entry<String, String>> parents = this.parents.get(contexts);
+        if (parents != null) {
+            for (Map.Entry<String, String> parent : parents) {
+                final Optional<Subject> subject = this.service.getCollection(parent.getKey())
+                        .flatMap(collection -> collection.getSubject(parent.getValue()));
+                if (subject.isPresent()) {
+                    dependOn(subject.get().getSubjectData());
+                    dependOn(subject.get().getTransientSubjectData());
+                    final Tristate value = subject.get().getPermissionValue(contexts, permission);
+                    if (value != Tristate.UNDEFINED) {
+                        return value;
+                    }
+                }
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+
+    private void dependOn(SubjectData data) {
+        if (data instanceof MemorySubjectData && data != this) {
+            ((MemorySubjectData) data).dependents.add(this);
+        }
+    }
+
+    /**
+     * Discards all permission values cached by
+     * {@link #getPermissionValue(Set, String)}, including the values of
+     * subject data which inherited from this data.
+     */
+    public void invalidateCache() {
+        this.resolved.clear();
+        this.lastResolved = null;
+        this.invalidations.increment();
+        markModified();
+    }
+
+    /**
+     * Gets the statistics of the cache of resolved permission values of this
+     * subject data.
+     *
+     * @return The cache statistics
+     */
+    public CacheStats getCacheStats() {
+        return new CacheStats(this.hits.sum(), this.misses.sum(), this.invalidations.sum());
+    }
+
+    private void markModified() {
+        markModified(Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private void markModified(Set<MemorySubjectData> visited) {
+        // Parents may be inherited in cycles
+        if (visited.add(this)) {
+            this.version.incrementAndGet();
+            for (MemorySubjectData dependent : this.dependents) {
+                dependent.markModified(visited);
+            }
+        }
+    }
+
     @Override
     public Map<String, Boolean> getPermissions(Set<Context> contexts) {
         NodeTree perms = this.permissions.get(contexts);
@@ -114,6 +255,7 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String pe
                 }
             }
         }
+        markModified();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -121,12 +263,17 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String pe
     public CompletableFuture<Boolean> clearPermissions() {
         boolean wasEmpty = this.permissions.isEmpty();
         this.permissions.clear();
+        markModified();
         return CompletableFuture.completedFuture(!wasEmpty);
     }
 
     @Override
     public CompletableFuture<Boolean> clearPermissions(Set<Context> context) {
-        return CompletableFuture.completedFuture(this.permissions.remove(context) != null);
+        final boolean removed = this.permissions.remove(context) != null;
+        if (removed) {
+            markModified();
+        }
+        return CompletableFuture.completedFuture(removed);
     }
 
     @Override
@@ -168,6 +315,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectRefere
             }
 
             if (updateCollection(this.parents, contexts, oldParents, newParents)) {
+                markModified();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -202,6 +350,7 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectRef
             newParents.remove(removeEnt);
 
             if (updateCollection(this.parents, contexts, oldParents, Collections.unmodifiableList(newParents))) {
+                markModified();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -212,12 +361,17 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectRef
     public CompletableFuture<Boolean> clearParents() {
         boolean wasEmpty = this.parents.isEmpty();
         this.parents.clear();
+        markModified();
         return CompletableFuture.completedFuture(!wasEmpty);
     }
 
     @Override
     public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
-        return CompletableFuture.completedFuture(this.parents.remove(contexts) != null);
+        final boolean removed = this.parents.remove(contexts) != null;
+        if (removed) {
+            markModified();
+        }
+        return CompletableFuture.completedFuture(removed);
     }
 
     @Override
@@ -274,4 +428,86 @@ public CompletableFuture<Boolean> clearOptions() {
         this.options.clear();
         return CompletableFuture.completedFuture(true);
     }
+
+    /**
+     * The permission values resolved for a context set while the version
+     * was unchanged.
+     */
+    private static final class ResolvedPermissions {
+
+        final Set<Context> contexts;
+        final long version;
+        final ConcurrentMap<String, Tristate> values = Maps.newConcurrentMap();
+
+        ResolvedPermissions(Set<Context> contexts, long version) {
+            this.contexts = contexts;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Statistics of the resolved permission cache of a
+     * {@link MemorySubjectData}.
+     */
+    public static final class CacheStats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long invalidationCount;
+
+        CacheStats(long hitCount, long missCount, long invalidationCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.invalidationCount = invalidationCount;
+        }
+
+        /**
+         * Gets the amount of lookups that were answered from the cache.
+         *
+         * @return The hit count
+         */
+        public long getHitCount() {
+            return this.hitCount;
+        }
+
+        /**
+         * Gets the amount of lookups that had to be resolved.
+         *
+         * @return The miss count
+         */
+        public long getMissCount() {
+            return this.missCount;
+        }
+
+        /**
+         * Gets the ratio of lookups that were answered from the cache, or
+         * {@code 1} if there were no lookups yet.
+         *
+         * @return The hit rate
+         */
+        public double getHitRate() {
+            final long total = this.hitCount + this.missCount;
+            return total == 0 ? 1.0 : (double) this.hitCount / total;
+        }
+
+        /**
+         * Gets the amount of times cached values of a context set were
+         * discarded because the data changed.
+         *
+         * @return The invalidation count
+         */
+        public long getInvalidationCount() {
+            return this.invalidationCount;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("hitCount", this.hitCount)
+                    .add("missCount", this.missCount)
+                    .add("hitRate", this.getHitRate())
+                    .add("invalidationCount", this.invalidationCount)
+                    .toString();
+        }
+    }
 }
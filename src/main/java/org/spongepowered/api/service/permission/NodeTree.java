@@ -24,12 +24,16 @@
  */
 package org.spongepowered.api.service.permission;
 
-import com.google.common.base.Splitter;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.google.common.collect.ImmutableMap;
+import org.spongepowered.api.util.ResettableBuilder;
 import org.spongepowered.api.util.Tristate;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
 
 /**
  * An immutable tree structure for determining node data. Any changes will
@@ -43,20 +47,58 @@
  * <ul>
  *     <li>Keys are case-insensitive.</li>
  *     <li>Segments of nodes are split by the '.' character</li>
+ *     <li>If enabled through {@link #withWildcardSegments(boolean)}, a
+ *     {@link #WILDCARD} segment matches any segment for which the parent
+ *     node has no child node at all. A child node without a value of its
+ *     own still takes precedence over the wildcard.</li>
  * </ul>
+ *
+ * <p>Lookups walk the given node in place without splitting or lowercasing
+ * it, and the most recently resolved nodes of each tree are memorized.</p>
+ *
+ * <p>The children of every node are stored in a persistent hash array mapped
+ * trie, so a modified tree shares all untouched nodes with the original one.
+ * Many changes at once should be applied through a {@link Builder}, which
+ * modifies the nodes it created itself in place until it is built.</p>
  */
 public class NodeTree {
 
-    private static final Splitter NODE_SPLITTER = Splitter.on('.');
+    /**
+     * The segment matching any other segment without a child node of its
+     * own, if wildcard segments are enabled for a tree.
+     */
+    public static final String WILDCARD = "*";
+
+    private static final int MEMO_SIZE = 64;
+
     private final Node rootNode;
+    private final boolean wildcards;
+    @Nullable private MemoEntry[] memo; //lazy loaded
 
-    private NodeTree(Tristate value) {
-        this.rootNode = new Node(new HashMap<>());
-        this.rootNode.value = value;
+    private NodeTree(Node rootNode, boolean wildcards) {
+        this.rootNode = rootNode;
+        this.wildcards = wildcards;
     }
 
-    private NodeTree(Node rootNode) {
-        this.rootNode = rootNode;
+    /**
+     * Lowercases the given node the same way as it is done char by char
+     * while looking up nodes.
+     */
+    private static String normalize(String node) {
+        final char[] chars = node.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Creates a new builder for creating a {@link NodeTree}.
+     *
+     * @return The new builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -79,22 +121,11 @@ public static NodeTree of(Map<String, Boolean> values) {
      * @return The newly created node tree
      */
     public static NodeTree of(Map<String, Boolean> values, Tristate defaultValue) {
-        NodeTree newTree = new NodeTree(defaultValue);
+        final Builder builder = builder().defaultValue(defaultValue);
         for (Map.Entry<String, Boolean> value : values.entrySet()) {
-            Iterable<String> parts = NODE_SPLITTER.split(value.getKey().toLowerCase());
-            Node currentNode = newTree.rootNode;
-            for (String part : parts) {
-                if (currentNode.children.containsKey(part)) {
-                    currentNode = currentNode.children.get(part);
-                } else {
-                    Node newNode = new Node(new HashMap<>());
-                    currentNode.children.put(part, newNode);
-                    currentNode = newNode;
-                }
-            }
-            currentNode.value = Tristate.fromBoolean(value.getValue());
+            builder.set(value.getKey(), Tristate.fromBoolean(value.getValue()));
         }
-        return newTree;
+        return builder.build();
     }
 
     /**
@@ -105,20 +136,69 @@ public static NodeTree of(Map<String, Boolean> values, Tristate defaultValue) {
      * @return The tristate value for the given node
      */
     public Tristate get(String node) {
-        Iterable<String> parts = NODE_SPLITTER.split(node.toLowerCase());
+        MemoEntry[] memo = this.memo;
+        if (memo == null) {
+            this.memo = memo = new MemoEntry[MEMO_SIZE];
+        }
+        final int slot = node.hashCode() & (MEMO_SIZE - 1);
+        final MemoEntry entry = memo[slot];
+        if (entry != null && entry.node.equals(node)) {
+            return entry.value;
+        }
+        final Tristate value = resolve(node);
+        memo[slot] = new MemoEntry(node, value);
+        return value;
+    }
+
+    private Tristate resolve(String node) {
+        final int length = node.length();
         Node currentNode = this.rootNode;
         Tristate lastUndefinedVal = Tristate.UNDEFINED;
-        for (String str : parts) {
-            if (!currentNode.children.containsKey(str)) {
+        int start = 0;
+        while (true) {
+            int end = node.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            Node child = currentNode.children.get(node, start, end);
+            if (child == null && this.wildcards) {
+                child = currentNode.children.get(WILDCARD, 0, WILDCARD.length());
+            }
+            if (child == null) {
                 break;
             }
-            currentNode = currentNode.children.get(str);
+            currentNode = child;
             if (currentNode.value != Tristate.UNDEFINED) {
                 lastUndefinedVal = currentNode.value;
             }
+            if (end == length) {
+                break;
+            }
+            start = end + 1;
         }
         return lastUndefinedVal;
+    }
+
+    /**
+     * Gets whether {@link #WILDCARD} segments match any other segment in
+     * this tree.
+     *
+     * @return Whether wildcard segments are enabled
+     */
+    public boolean hasWildcardSegments() {
+        return this.wildcards;
+    }
 
+    /**
+     * Return a new NodeTree instance sharing the nodes of this tree, in which
+     * {@link #WILDCARD} segments match any other segment that has no child
+     * node of its own if enabled.
+     *
+     * @param enabled Whether wildcard segments should be enabled
+     * @return The new node tree
+     */
+    public NodeTree withWildcardSegments(boolean enabled) {
+        return this.wildcards == enabled ? this : new NodeTree(this.rootNode, enabled);
     }
 
     /**
@@ -128,9 +208,7 @@ public Tristate get(String node) {
      */
     public Map<String, Boolean> asMap() {
         ImmutableMap.Builder<String, Boolean> ret = ImmutableMap.builder();
-        for (Map.Entry<String, Node> ent : this.rootNode.children.entrySet()) {
-            populateMap(ret, ent.getKey(), ent.getValue());
-        }
+        this.rootNode.children.forEach((key, node) -> populateMap(ret, key, node));
         return ret.build();
     }
 
@@ -138,9 +216,7 @@ private void populateMap(ImmutableMap.Builder<String, Boolean> values, String pr
         if (currentNode.value != Tristate.UNDEFINED) {
             values.put(prefix, currentNode.value.asBoolean());
         }
-        for (Map.Entry<String, Node> ent : currentNode.children.entrySet()) {
-            populateMap(values, prefix + '.' + ent.getKey(), ent.getValue());
-        }
+        currentNode.children.forEach((key, node) -> populateMap(values, prefix + '.' + key, node));
     }
 
     /**
@@ -151,21 +227,9 @@ private void populateMap(ImmutableMap.Builder<String, Boolean> values, String pr
      * @return The new, modified node tree
      */
     public NodeTree withValue(String node, Tristate value) {
-        Iterable<String> parts = NODE_SPLITTER.split(node.toLowerCase());
-        Node newRoot = new Node(new HashMap<>(this.rootNode.children));
-        Node newPtr = newRoot;
-        Node currentPtr = this.rootNode;
-
-        newPtr.value = currentPtr == null ? Tristate.UNDEFINED : currentPtr.value;
-        for (String part : parts) {
-            Node oldChild = currentPtr == null ? null : currentPtr.children.get(part);
-            Node newChild = new Node(oldChild != null ? new HashMap<>(oldChild.children) : new HashMap<>());
-            newPtr.children.put(part, newChild);
-            currentPtr = oldChild;
-            newPtr = newChild;
-        }
-        newPtr.value = value;
-        return new NodeTree(newRoot);
+        checkNotNull(node, "node");
+        checkNotNull(value, "value");
+        return new NodeTree(Node.set(this.rootNode, null, normalize(node), 0, value), this.wildcards);
     }
 
     /**
@@ -175,20 +239,332 @@ public NodeTree withValue(String node, Tristate value) {
      * @return The new node tree
      */
     public NodeTree withAll(Map<String, Tristate> values) {
-        NodeTree ret = this;
+        if (values.isEmpty()) {
+            return this;
+        }
+        final Builder builder = toBuilder();
         for (Map.Entry<String, Tristate> ent : values.entrySet()) {
-            ret = ret.withValue(ent.getKey(), ent.getValue());
+            builder.set(ent.getKey(), ent.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a new {@link Builder} starting with the values of this tree.
+     *
+     * @return The new builder
+     */
+    public Builder toBuilder() {
+        return builder().from(this);
+    }
+
+    /**
+     * A builder for {@link NodeTree}s, applying any amount of changes without
+     * copying the nodes of the tree more than once.
+     *
+     * <p>Building a tree does not copy anything either, instead the nodes
+     * that are part of the built tree are frozen and will be copied again if
+     * they are modified afterwards.</p>
+     */
+    public static final class Builder implements ResettableBuilder<NodeTree, Builder> {
+
+        private Object owner = new Object();
+        private Node rootNode = new Node(this.owner);
+        private boolean wildcards;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the fallback value for any completely undefined nodes.
+         *
+         * @param defaultValue The default value
+         * @return This builder, for chaining
+         */
+        public Builder defaultValue(Tristate defaultValue) {
+            checkNotNull(defaultValue, "defaultValue");
+            this.rootNode = Node.set(this.rootNode, this.owner, null, -1, defaultValue);
+            return this;
+        }
+
+        /**
+         * Sets the value of the given node.
+         *
+         * @param node The node path to change the value of
+         * @param value The value to change, or UNDEFINED to remove
+         * @return This builder, for chaining
+         */
+        public Builder set(String node, Tristate value) {
+            checkNotNull(node, "node");
+            checkNotNull(value, "value");
+            this.rootNode = Node.set(this.rootNode, this.owner, normalize(node), 0, value);
+            return this;
+        }
+
+        /**
+         * Sets whether {@link #WILDCARD} segments should match any other
+         * segment in the built tree.
+         *
+         * @param enabled Whether wildcard segments should be enabled
+         * @return This builder, for chaining
+         * @see NodeTree#withWildcardSegments(boolean)
+         */
+        public Builder wildcardSegments(boolean enabled) {
+            this.wildcards = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder from(NodeTree value) {
+            this.owner = new Object();
+            this.rootNode = value.rootNode;
+            this.wildcards = value.wildcards;
+            return this;
+        }
+
+        @Override
+        public Builder reset() {
+            this.owner = new Object();
+            this.rootNode = new Node(this.owner);
+            this.wildcards = false;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link NodeTree}. This builder may still be used
+         * afterwards without affecting the built tree.
+         *
+         * @return The node tree
+         */
+        public NodeTree build() {
+            // Freeze all nodes created so far
+            this.owner = new Object();
+            return new NodeTree(this.rootNode, this.wildcards);
         }
-        return ret;
+
     }
 
-    private static class Node {
+    private static final class Node {
 
-        final Map<String, Node> children;
-        Tristate value = Tristate.UNDEFINED;
+        /**
+         * The builder which may modify this node in place, nodes which are
+         * part of a built tree are never modified.
+         */
+        @Nullable final Object owner;
+        ChildMap children;
+        Tristate value;
 
-        Node(Map<String, Node> children) {
+        Node(@Nullable Object owner) {
+            this(owner, ChildMap.EMPTY, Tristate.UNDEFINED);
+        }
+
+        private Node(@Nullable Object owner, ChildMap children, Tristate value) {
+            this.owner = owner;
             this.children = children;
+            this.value = value;
+        }
+
+        /**
+         * Sets the value of a node below the given node, returning the
+         * modified node.
+         *
+         * @param current The current node, or null if it doesn't exist yet
+         * @param owner The builder modifying the node, or null to copy all
+         *     modified nodes
+         * @param node The normalized node path
+         * @param start The start of the next segment of the path, or -1 if
+         *     the value should be set on the current node itself
+         * @param value The value to set
+         * @return The modified node
+         */
+        static Node set(@Nullable Node current, @Nullable Object owner, @Nullable String node, int start, Tristate value) {
+            final Node target;
+            if (current == null) {
+                target = new Node(owner);
+            } else if (owner != null && current.owner == owner) {
+                target = current;
+            } else {
+                target = new Node(owner, current.children, current.value);
+            }
+            if (node == null || start < 0) {
+                target.value = value;
+                return target;
+            }
+            int end = node.indexOf('.', start);
+            int next = end + 1;
+            if (end == -1) {
+                end = node.length();
+                next = -1;
+            }
+            final Node child = target.children.get(node, start, end);
+            final Node newChild = set(child, owner, node, next, value);
+            if (newChild != child) {
+                target.children = target.children.with(owner, node.substring(start, end), newChild);
+            }
+            return target;
+        }
+    }
+
+    /**
+     * A persistent hash array mapped trie of the children of a node, which
+     * can be queried with a region of a node string, ignoring its case.
+     *
+     * <p>Every level consumes five bits of the hash of the keys, which is
+     * the hash of the lowercased key. Keys with equal hashes are stored in a
+     * collision level once all bits are consumed.</p>
+     */
+    private static final class ChildMap {
+
+        static final ChildMap EMPTY = new ChildMap(null, 0, new Object[0]);
+
+        private static final int BITS = 5;
+        private static final int MAX_SHIFT = 30;
+
+        @Nullable private final Object owner;
+        // Which of the 32 branches of this level are present, unused within a
+        // collision level
+        private int bitmap;
+        // Key and value pairs for each present branch, the key is null if the
+        // value is a nested ChildMap instead of a Node
+        private Object[] array;
+
+        private ChildMap(@Nullable Object owner, int bitmap, Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private static int hash(String node, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + Character.toLowerCase(node.charAt(i));
+            }
+            return hash;
+        }
+
+        private static boolean matches(String key, String node, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != Character.toLowerCase(node.charAt(start + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Nullable
+        Node get(String node, int start, int end) {
+            if (this.array.length == 0) {
+                return null;
+            }
+            final int hash = hash(node, start, end);
+            ChildMap map = this;
+            for (int shift = 0; shift <= MAX_SHIFT; shift += BITS) {
+                final int bit = 1 << ((hash >>> shift) & 0x1f);
+                if ((map.bitmap & bit) == 0) {
+                    return null;
+                }
+                final int index = 2 * Integer.bitCount(map.bitmap & (bit - 1));
+                final Object key = map.array[index];
+                if (key == null) {
+                    map = (ChildMap) map.array[index + 1];
+                } else {
+                    return matches((String) key, node, start, end) ? (Node) map.array[index + 1] : null;
+                }
+            }
+            // Collision level
+            for (int i = 0; i < map.array.length; i += 2) {
+                if (matches((String) map.array[i], node, start, end)) {
+                    return (Node) map.array[i + 1];
+                }
+            }
+            return null;
+        }
+
+        ChildMap with(@Nullable Object owner, String key, Node value) {
+            return with(owner, key.hashCode(), key, value, 0);
+        }
+
+        private ChildMap with(@Nullable Object owner, int hash, String key, Node value, int shift) {
+            if (shift > MAX_SHIFT) {
+                for (int i = 0; i < this.array.length; i += 2) {
+                    if (key.equals(this.array[i])) {
+                        return editable(owner).put(i + 1, value);
+                    }
+                }
+                return editable(owner).insert(this.array.length, key, value);
+            }
+            final int bit = 1 << ((hash >>> shift) & 0x1f);
+            final int index = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+            if ((this.bitmap & bit) == 0) {
+                final ChildMap map = editable(owner).insert(index, key, value);
+                map.bitmap |= bit;
+                return map;
+            }
+            final Object existingKey = this.array[index];
+            final Object existing = this.array[index + 1];
+            if (existingKey == null) {
+                final ChildMap nested = ((ChildMap) existing).with(owner, hash, key, value, shift + BITS);
+                return nested == existing ? this : editable(owner).put(index + 1, nested);
+            } else if (key.equals(existingKey)) {
+                return existing == value ? this : editable(owner).put(index + 1, value);
+            }
+            // Push both entries down into a new level
+            final String otherKey = (String) existingKey;
+            final ChildMap nested = EMPTY
+                    .with(owner, otherKey.hashCode(), otherKey, (Node) existing, shift + BITS)
+                    .with(owner, hash, key, value, shift + BITS);
+            final ChildMap map = editable(owner).put(index + 1, nested);
+            map.array[index] = null;
+            return map;
+        }
+
+        private ChildMap editable(@Nullable Object owner) {
+            if (owner != null && this.owner == owner) {
+                return this;
+            }
+            return new ChildMap(owner, this.bitmap, this.array.clone());
+        }
+
+        private ChildMap put(int index, Object value) {
+            this.array[index] = value;
+            return this;
+        }
+
+        private ChildMap insert(int index, String key, Node value) {
+            final Object[] array = new Object[this.array.length + 2];
+            System.arraycopy(this.array, 0, array, 0, index);
+            array[index] = key;
+            array[index + 1] = value;
+            System.arraycopy(this.array, index, array, index + 2, this.array.length - index);
+            this.array = array;
+            return this;
+        }
+
+        void forEach(BiConsumer<String, Node> consumer) {
+            for (int i = 0; i < this.array.length; i += 2) {
+                if (this.array[i] == null) {
+                    ((ChildMap) this.array[i + 1]).forEach(consumer);
+                } else {
+                    consumer.accept((String) this.array[i], (Node) this.array[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A memorized result of a lookup.
+     */
+    private static final class MemoEntry {
+
+        final String node;
+        final Tristate value;
+
+        MemoEntry(String node, Tristate value) {
+            this.node = node;
+            this.value = value;
         }
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable plan for applying a {@link TextTemplate}, obtained through
+ * {@link TextTemplate#compile()}.
+ *
+ * <p>The static elements of the template are converted to {@link Text} once,
+ * the default values of the arguments are pre-formatted and the arguments
+ * are resolved to positions, so that applying the template only has to
+ * process the parameters. The result is the same as
+ * {@link TextTemplate#apply(Map)}.</p>
+ */
+public final class CompiledTextTemplate {
+
+    // Slots of the segments which aren't arguments
+    private static final int STATIC_TEXT = -1;
+    private static final int DYNAMIC_ELEMENT = -2;
+
+    private final TextTemplate template;
+    private final ImmutableList<String> argumentNames;
+    private final int[] slots;
+    private final Object[] values;
+    private final Text[] defaults;
+
+    CompiledTextTemplate(TextTemplate template) {
+        this.template = template;
+        final List<Object> elements = template.elements;
+        final List<String> names = new ArrayList<>();
+        this.slots = new int[elements.size()];
+        this.values = new Object[elements.size()];
+        this.defaults = new Text[elements.size()];
+        for (int i = 0; i < elements.size(); i++) {
+            final Object element = elements.get(i);
+            if (element instanceof TextTemplate.Arg) {
+                final TextTemplate.Arg arg = (TextTemplate.Arg) element;
+                int index = names.indexOf(arg.name);
+                if (index < 0) {
+                    index = names.size();
+                    names.add(arg.name);
+                }
+                this.slots[i] = index;
+                this.values[i] = arg;
+                if (arg.defaultValue != null) {
+                    this.defaults[i] = Text.builder().format(arg.format).append(arg.defaultValue).build();
+                }
+            } else if (element instanceof Text) {
+                this.slots[i] = STATIC_TEXT;
+                this.values[i] = element;
+            } else if (element instanceof TextElement) {
+                // May produce something different on every application
+                this.slots[i] = DYNAMIC_ELEMENT;
+                this.values[i] = element;
+            } else {
+                this.slots[i] = STATIC_TEXT;
+                this.values[i] = Text.of(element.toString());
+            }
+        }
+        this.argumentNames = ImmutableList.copyOf(names);
+    }
+
+    /**
+     * Gets the template this plan was compiled from.
+     *
+     * @return The template
+     */
+    public TextTemplate getTemplate() {
+        return this.template;
+    }
+
+    /**
+     * Gets the names of the arguments of the template, in the order in which
+     * they first appear in it. This is the order of the parameters of
+     * {@link #apply(Object...)}.
+     *
+     * @return The argument names
+     */
+    public List<String> getArgumentNames() {
+        return this.argumentNames;
+    }
+
+    /**
+     * Gets the position of the parameter for the argument with the given
+     * name in {@link #apply(Object...)}.
+     *
+     * @param name The name of the argument
+     * @return The position of the parameter, or -1 if there is no argument
+     *     with that name
+     */
+    public int getArgumentIndex(String name) {
+        return this.argumentNames.indexOf(checkNotNull(name, "name"));
+    }
+
+    /**
+     * Applies the specified parameters to the template and returns the
+     * result in a {@link Text.Builder}.
+     *
+     * @param params Parameters to apply
+     * @return Text builder containing result
+     * @throws TextTemplateArgumentException if required parameters are missing
+     * @see TextTemplate#apply(Map)
+     */
+    public Text.Builder apply(Map<String, ?> params) {
+        checkNotNull(params, "params");
+        final Object[] args = new Object[this.argumentNames.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = params.get(this.argumentNames.get(i));
+        }
+        return apply(args);
+    }
+
+    /**
+     * Applies the specified parameters to the template and returns the
+     * result in a {@link Text.Builder}. The parameters are given in the
+     * order of {@link #getArgumentNames()}, a {@code null} parameter is
+     * treated as missing.
+     *
+     * @param args Parameters to apply, one for each argument
+     * @return Text builder containing result
+     * @throws TextTemplateArgumentException if required parameters are missing
+     */
+    public Text.Builder apply(Object... args) {
+        checkNotNull(args, "args");
+        checkArgument(args.length == this.argumentNames.size(), "Expected %s parameters but got %s", this.argumentNames.size(), args.length);
+        // Note: The builder is initialized as null to avoid unnecessary Text nesting
+        @Nullable Text.Builder builder = null;
+        for (int i = 0; i < this.slots.length; i++) {
+            final int slot = this.slots[i];
+            if (slot == STATIC_TEXT) {
+                final Text text = (Text) this.values[i];
+                if (builder == null) {
+                    builder = text.toBuilder();
+                } else {
+                    builder.append(text);
+                }
+            } else if (slot == DYNAMIC_ELEMENT) {
+                if (builder == null) {
+                    builder = Text.builder();
+                }
+                ((TextElement) this.values[i]).applyTo(builder);
+            } else {
+                final Object param = args[slot];
+                @Nullable final Text text;
+                if (param == null) {
+                    ((TextTemplate.Arg) this.values[i]).checkOptional();
+                    text = this.defaults[i];
+                    if (text == null) {
+                        continue;
+                    }
+                } else {
+                    text = wrap(param, (TextTemplate.Arg) this.values[i]);
+                }
+                if (builder == null) {
+                    builder = Text.builder();
+                }
+                builder.append(text);
+            }
+        }
+        return builder == null ? Text.builder() : builder;
+    }
+
+    private static Text wrap(Object param, TextTemplate.Arg arg) {
+        // wrap the parameter in the argument format
+        final Text.Builder wrapper = Text.builder().format(arg.format);
+        if (param instanceof Text) {
+            wrapper.append((Text) param);
+        } else if (param instanceof TextElement) {
+            ((TextElement) param).applyTo(wrapper);
+        } else {
+            wrapper.append(Text.of(param.toString()));
+        }
+        return wrapper.build();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("template", this.template)
+                .add("argumentNames", this.argumentNames)
+                .toString();
+    }
+
+}
@@ -68,7 +68,7 @@ public final class LiteralText extends Text {
      *        {@code null} for none
      * @param content The plain text content of the text
      */
-    LiteralText(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
+    LiteralText(TextFormat format, TextList children, @Nullable ClickAction<?> clickAction,
             @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction, String content) {
         super(format, children, clickAction, hoverAction, shiftClickAction);
         this.content = checkNotNull(content, "content");
@@ -102,8 +102,8 @@ public boolean equals(@Nullable Object o) {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hashCode(super.hashCode(), this.content);
+    int computeHashCode() {
+        return Objects.hashCode(super.computeHashCode(), this.content);
     }
 
     @Override
@@ -186,7 +186,7 @@ public Builder content(String content) {
         @Override
         public LiteralText build() {
             // Special case for empty builder
-            if (this.format.isEmpty() && this.children.isEmpty() && this.clickAction == null && this.hoverAction == null
+            if (this.format.isEmpty() && !hasChildren() && this.clickAction == null && this.hoverAction == null
                     && this.shiftClickAction == null) {
                 if (this.content.isEmpty()) {
                     return EMPTY;
@@ -197,7 +197,7 @@ public LiteralText build() {
 
             return new LiteralText(
                     this.format,
-                    ImmutableList.copyOf(this.children),
+                    buildChildren(),
                     this.clickAction,
                     this.hoverAction,
                     this.shiftClickAction,
@@ -73,7 +73,7 @@ public final class ScoreText extends Text {
      * @param override The text to override the score with, or {@code null} for
      *        none
      */
-    ScoreText(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
+    ScoreText(TextFormat format, TextList children, @Nullable ClickAction<?> clickAction,
             @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction,
             Score score, @Nullable String override) {
         super(format, children, clickAction, hoverAction, shiftClickAction);
@@ -106,6 +106,12 @@ public Builder toBuilder() {
         return new Builder(this);
     }
 
+    @Override
+    boolean computeCacheable() {
+        // The displayed score changes over time
+        return false;
+    }
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) {
@@ -120,8 +126,8 @@ public boolean equals(@Nullable Object o) {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hashCode(super.hashCode(), this.score, this.override);
+    int computeHashCode() {
+        return Objects.hashCode(super.computeHashCode(), this.score, this.override);
     }
 
     @Override
@@ -224,7 +230,7 @@ public Builder override(@Nullable String override) {
         public ScoreText build() {
             return new ScoreText(
                     this.format,
-                    ImmutableList.copyOf(this.children),
+                    buildChildren(),
                     this.clickAction,
                     this.hoverAction,
                     this.shiftClickAction,
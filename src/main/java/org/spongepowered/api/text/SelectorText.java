@@ -69,7 +69,7 @@ public final class SelectorText extends Text {
      *        {@code null} for none
      * @param selector The selector of the text
      */
-    SelectorText(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
+    SelectorText(TextFormat format, TextList children, @Nullable ClickAction<?> clickAction,
             @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction,
             Selector selector) {
         super(format, children, clickAction, hoverAction, shiftClickAction);
@@ -104,8 +104,8 @@ public boolean equals(@Nullable Object o) {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hashCode(super.hashCode(), this.selector);
+    int computeHashCode() {
+        return Objects.hashCode(super.computeHashCode(), this.selector);
     }
 
     @Override
@@ -182,7 +182,7 @@ public Builder selector(Selector selector) {
         public SelectorText build() {
             return new SelectorText(
                     this.format,
-                    ImmutableList.copyOf(this.children),
+                    buildChildren(),
                     this.clickAction,
                     this.hoverAction,
                     this.shiftClickAction,
@@ -89,6 +89,9 @@ public abstract class Text implements TextRepresentable, DataSerializable, Compa
     static final char NEW_LINE_CHAR = '\n';
     static final String NEW_LINE_STRING = "\n";
 
+    private static final byte CACHEABLE = 1;
+    private static final byte NOT_CACHEABLE = 2;
+
     /**
      * An unformatted {@link Text} that will start a new line (if supported).
      */
@@ -101,7 +104,7 @@ public abstract class Text implements TextRepresentable, DataSerializable, Compa
     public static Comparator<Text> PLAIN_COMPARATOR = (text1, text2) -> text1.toPlain().compareTo(text2.toPlain());
 
     final TextFormat format;
-    final ImmutableList<Text> children;
+    final TextList children;
     final Optional<ClickAction<?>> clickAction;
     final Optional<HoverAction<?>> hoverAction;
     final Optional<ShiftClickAction<?>> shiftClickAction;
@@ -112,9 +115,15 @@ public abstract class Text implements TextRepresentable, DataSerializable, Compa
      */
     final Iterable<Text> childrenIterable;
 
+    // Lazily computed representations, recomputing them in a race is harmless
+    private byte cacheState;
+    private int hash;
+    @Nullable private String plain;
+    @Nullable private String json;
+
     Text() {
         this.format = TextFormat.NONE; // TODO
-        this.children = ImmutableList.of();
+        this.children = TextList.EMPTY;
         this.clickAction = Optional.empty();
         this.hoverAction = Optional.empty();
         this.shiftClickAction = Optional.empty();
@@ -132,7 +141,7 @@ public abstract class Text implements TextRepresentable, DataSerializable, Compa
      * @param shiftClickAction The shift click action of the text, or
      *        {@code null} for none
      */
-    Text(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
+    Text(TextFormat format, TextList children, @Nullable ClickAction<?> clickAction,
             @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction) {
         this.format = checkNotNull(format, "format");
         this.children = checkNotNull(children, "children");
@@ -177,7 +186,7 @@ public final TextStyle getStyle() {
      * @return The immutable list of children
      */
     public final ImmutableList<Text> getChildren() {
-        return this.children;
+        return this.children.asList();
     }
 
     /**
@@ -249,7 +258,14 @@ public final boolean isEmpty() {
      * @return This text converted to plain text
      */
     public final String toPlain() {
-        return TextSerializers.PLAIN.serialize(this);
+        String plain = this.plain;
+        if (plain == null) {
+            plain = TextSerializers.PLAIN.serialize(this);
+            if (isCacheable()) {
+                this.plain = plain;
+            }
+        }
+        return plain;
     }
 
     /**
@@ -292,7 +308,45 @@ public int getContentVersion() {
     public DataContainer toContainer() {
         return DataContainer.createNew()
                 .set(Queries.CONTENT_VERSION, getContentVersion())
-                .set(Queries.JSON, TextSerializers.JSON.serialize(this));
+                .set(Queries.JSON, toJson());
+    }
+
+    private String toJson() {
+        String json = this.json;
+        if (json == null) {
+            json = TextSerializers.JSON.serialize(this);
+            if (isCacheable()) {
+                this.json = json;
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Returns whether the serialized forms and the hash code of this text
+     * can never change, so they can be kept once computed.
+     *
+     * @return Whether or not this text can be cached
+     */
+    final boolean isCacheable() {
+        byte state = this.cacheState;
+        if (state == 0) {
+            state = computeCacheable() ? CACHEABLE : NOT_CACHEABLE;
+            this.cacheState = state;
+        }
+        return state == CACHEABLE;
+    }
+
+    boolean computeCacheable() {
+        for (Text child : this.children) {
+            if (!child.isCacheable()) {
+                return false;
+            }
+        }
+        if (this.hoverAction.isPresent() && this.hoverAction.get() instanceof HoverAction.ShowText) {
+            return ((HoverAction.ShowText) this.hoverAction.get()).getResult().isCacheable();
+        }
+        return true;
     }
 
     @Override
@@ -310,6 +364,10 @@ public boolean equals(@Nullable Object o) {
         }
 
         Text that = (Text) o;
+        // Cached hashes are only stored for texts which can't change
+        if (this.hash != 0 && that.hash != 0 && this.hash != that.hash) {
+            return false;
+        }
         return this.format.equals(that.format)
                 && this.children.equals(that.children)
                 && this.clickAction.equals(that.clickAction)
@@ -318,7 +376,18 @@ public boolean equals(@Nullable Object o) {
     }
 
     @Override
-    public int hashCode() {
+    public final int hashCode() {
+        int hash = this.hash;
+        if (hash == 0) {
+            hash = computeHashCode();
+            if (isCacheable()) {
+                this.hash = hash;
+            }
+        }
+        return hash;
+    }
+
+    int computeHashCode() {
         return Objects.hashCode(this.format, this.children, this.clickAction, this.hoverAction, this.shiftClickAction);
     }
 
@@ -326,7 +395,7 @@ MoreObjects.ToStringHelper toStringHelper() {
         return MoreObjects.toStringHelper(Text.class)
                 .omitNullValues()
                 .add("format", this.format.isEmpty() ? null : this.format)
-                .add("children", this.children.isEmpty() ? null : this.children)
+                .add("children", this.children.isEmpty() ? null : this.children.asList())
                 .add("clickAction", this.clickAction.orElse(null))
                 .add("hoverAction", this.hoverAction.orElse(null))
                 .add("shiftClickAction", this.shiftClickAction.orElse(null));
@@ -350,6 +419,8 @@ public final Text toText() {
     public abstract static class Builder implements TextRepresentable {
 
         TextFormat format = TextFormat.NONE;
+        // The children are the shared ones followed by the appended ones
+        TextList sharedChildren = TextList.EMPTY;
         List<Text> children = new ArrayList<>();
         @Nullable ClickAction<?> clickAction;
         @Nullable HoverAction<?> hoverAction;
@@ -369,7 +440,7 @@ public abstract static class Builder implements TextRepresentable {
          */
         Builder(Text text) {
             this.format = text.format;
-            this.children = new ArrayList<>(text.children);
+            this.sharedChildren = text.children;
             this.clickAction = text.clickAction.orElse(null);
             this.hoverAction = text.hoverAction.orElse(null);
             this.shiftClickAction = text.shiftClickAction.orElse(null);
@@ -524,7 +595,32 @@ public Builder onShiftClick(@Nullable ShiftClickAction<?> shiftClickAction) {
          * @see Text#getChildren()
          */
         public final List<Text> getChildren() {
-            return Collections.unmodifiableList(this.children);
+            return Collections.unmodifiableList(unshareChildren());
+        }
+
+        /**
+         * Copies the shared children into the appended ones, so that they can
+         * be modified in place.
+         *
+         * @return The children
+         */
+        final List<Text> unshareChildren() {
+            if (!this.sharedChildren.isEmpty()) {
+                final List<Text> children = new ArrayList<>(this.sharedChildren.size() + this.children.size());
+                this.sharedChildren.forEach(children::add);
+                children.addAll(this.children);
+                this.children = children;
+                this.sharedChildren = TextList.EMPTY;
+            }
+            return this.children;
+        }
+
+        final boolean hasChildren() {
+            return !this.sharedChildren.isEmpty() || !this.children.isEmpty();
+        }
+
+        final TextList buildChildren() {
+            return this.sharedChildren.append(this.children);
         }
 
         /**
@@ -590,7 +686,7 @@ public Builder append(Iterator<? extends Text> children) {
          * @see Text#getChildren()
          */
         public Builder insert(int pos, Text... children) {
-            this.children.addAll(pos, Arrays.asList(children));
+            unshareChildren().addAll(pos, Arrays.asList(children));
             return this;
         }
 
@@ -605,7 +701,7 @@ public Builder insert(int pos, Text... children) {
          * @see Text#getChildren()
          */
         public Builder insert(int pos, Collection<? extends Text> children) {
-            this.children.addAll(pos, children);
+            unshareChildren().addAll(pos, children);
             return this;
         }
 
@@ -620,8 +716,9 @@ public Builder insert(int pos, Collection<? extends Text> children) {
          * @see Text#getChildren()
          */
         public Builder insert(int pos, Iterable<? extends Text> children) {
+            final List<Text> list = unshareChildren();
             for (Text child : children) {
-                this.children.add(pos++, child);
+                list.add(pos++, child);
             }
             return this;
         }
@@ -637,8 +734,9 @@ public Builder insert(int pos, Iterable<? extends Text> children) {
          * @see Text#getChildren()
          */
         public Builder insert(int pos, Iterator<? extends Text> children) {
+            final List<Text> list = unshareChildren();
             while (children.hasNext()) {
-                this.children.add(pos++, children.next());
+                list.add(pos++, children.next());
             }
             return this;
         }
@@ -651,7 +749,7 @@ public Builder insert(int pos, Iterator<? extends Text> children) {
          * @see Text#getChildren()
          */
         public Builder remove(Text... children) {
-            this.children.removeAll(Arrays.asList(children));
+            unshareChildren().removeAll(Arrays.asList(children));
             return this;
         }
 
@@ -663,7 +761,7 @@ public Builder remove(Text... children) {
          * @see Text#getChildren()
          */
         public Builder remove(Collection<? extends Text> children) {
-            this.children.removeAll(children);
+            unshareChildren().removeAll(children);
             return this;
         }
 
@@ -675,8 +773,9 @@ public Builder remove(Collection<? extends Text> children) {
          * @see Text#getChildren()
          */
         public Builder remove(Iterable<? extends Text> children) {
+            final List<Text> list = unshareChildren();
             for (Text child : children) {
-                this.children.remove(child);
+                list.remove(child);
             }
             return this;
         }
@@ -689,8 +788,9 @@ public Builder remove(Iterable<? extends Text> children) {
          * @see Text#getChildren()
          */
         public Builder remove(Iterator<? extends Text> children) {
+            final List<Text> list = unshareChildren();
             while (children.hasNext()) {
-                this.children.remove(children.next());
+                list.remove(children.next());
             }
             return this;
         }
@@ -702,6 +802,7 @@ public Builder remove(Iterator<? extends Text> children) {
          * @see Text#getChildren()
          */
         public Builder removeAll() {
+            this.sharedChildren = TextList.EMPTY;
             this.children.clear();
             return this;
         }
@@ -713,7 +814,12 @@ public Builder removeAll() {
          * @return This builder
          */
         public Builder trim() {
-            Iterator<Text> front = this.children.iterator();
+            if (this.children.isEmpty()) {
+                // Trim without copying the shared children
+                this.sharedChildren = this.sharedChildren.trim();
+                return this;
+            }
+            Iterator<Text> front = unshareChildren().iterator();
             while (front.hasNext()) {
                 if (front.next().isEmpty()) {
                     front.remove();
@@ -755,19 +861,19 @@ public boolean equals(@Nullable Object o) {
                     && Objects.equal(this.clickAction, that.clickAction)
                     && Objects.equal(this.hoverAction, that.hoverAction)
                     && Objects.equal(this.shiftClickAction, that.shiftClickAction)
-                    && Objects.equal(this.children, that.children);
+                    && Objects.equal(unshareChildren(), that.unshareChildren());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hashCode(this.format, this.clickAction, this.hoverAction, this.shiftClickAction, this.children);
+            return Objects.hashCode(this.format, this.clickAction, this.hoverAction, this.shiftClickAction, unshareChildren());
         }
 
         MoreObjects.ToStringHelper toStringHelper() {
             return MoreObjects.toStringHelper(Builder.class)
                     .omitNullValues()
                     .add("format", this.format.isEmpty() ? null : this.format)
-                    .add("children", this.children.isEmpty() ? null : this.children)
+                    .add("children", hasChildren() ? unshareChildren() : null)
                     .add("clickAction", this.clickAction)
                     .add("hoverAction", this.hoverAction)
                     .add("shiftClickAction", this.shiftClickAction);
@@ -1003,9 +1109,9 @@ public static Text of(Object... objects) {
             builder.append(childBuilder.format(format).build());
         }
 
-        if (builder.children.size() == 1) {
+        if (builder.getChildren().size() == 1) {
             // Single content, reduce Text depth
-            return builder.children.get(0);
+            return builder.getChildren().get(0);
         }
 
         return builder.build();
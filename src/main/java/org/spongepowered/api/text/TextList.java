@@ -0,0 +1,219 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * The immutable children of a {@link Text}, sharing their backing array with
+ * the texts they were derived from where possible.
+ *
+ * <p>Appending to a list whose elements end where the used part of the
+ * backing array ends claims the free space after it instead of copying, so
+ * building a text through repeated {@link Text#concat(Text)} only copies the
+ * children when the array has to grow. Trimming shares the array as well.
+ * Lists which were appended to by another list copy their elements the next
+ * time they are appended to.</p>
+ */
+final class TextList implements Iterable<Text> {
+
+    static final TextList EMPTY = new TextList(new Text[0], 0, 0, new AtomicInteger(), ImmutableList.of());
+
+    private final Text[] elements;
+    private final int offset;
+    private final int size;
+    // The end of the part of the array used by any list sharing it
+    private final AtomicInteger used;
+    // Lazily created for Text#getChildren(), recomputing it in a race is harmless
+    @Nullable private ImmutableList<Text> list;
+
+    private TextList(Text[] elements, int offset, int size, AtomicInteger used, @Nullable ImmutableList<Text> list) {
+        this.elements = elements;
+        this.offset = offset;
+        this.size = size;
+        this.used = used;
+        this.list = list;
+    }
+
+    static TextList of(ImmutableList<Text> list) {
+        if (list.isEmpty()) {
+            return EMPTY;
+        }
+        final Text[] elements = list.toArray(new Text[list.size()]);
+        return new TextList(elements, 0, elements.length, new AtomicInteger(elements.length), list);
+    }
+
+    static TextList of(List<? extends Text> texts) {
+        return EMPTY.append(texts);
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    Text get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index + " is out of bounds for size " + this.size);
+        }
+        return this.elements[this.offset + index];
+    }
+
+    /**
+     * Returns a list with the given texts appended to the elements of this
+     * list.
+     *
+     * @param texts The texts to append
+     * @return The new list
+     */
+    TextList append(List<? extends Text> texts) {
+        final int count = texts.size();
+        if (count == 0) {
+            return this;
+        }
+        for (int i = 0; i < count; i++) {
+            checkNotNull(texts.get(i), "child");
+        }
+        final int end = this.offset + this.size;
+        final int newSize = this.size + count;
+        if (end + count <= this.elements.length && this.used.compareAndSet(end, end + count)) {
+            // Nothing was appended after this list yet, the free space is ours
+            for (int i = 0; i < count; i++) {
+                this.elements[end + i] = texts.get(i);
+            }
+            return new TextList(this.elements, this.offset, newSize, this.used, null);
+        }
+        // Only leave room for more when appending to existing children,
+        // most texts are built once and never appended to
+        final Text[] elements = new Text[this.size == 0 ? newSize : newSize + (newSize >> 1)];
+        System.arraycopy(this.elements, this.offset, elements, 0, this.size);
+        for (int i = 0; i < count; i++) {
+            elements[this.size + i] = texts.get(i);
+        }
+        return new TextList(elements, 0, newSize, new AtomicInteger(newSize), null);
+    }
+
+    /**
+     * Returns a list without the empty texts at the beginning and end of
+     * this list.
+     *
+     * @return The trimmed list
+     */
+    TextList trim() {
+        int start = 0;
+        while (start < this.size && get(start).isEmpty()) {
+            start++;
+        }
+        int end = this.size;
+        while (end > start && get(end - 1).isEmpty()) {
+            end--;
+        }
+        if (start == 0 && end == this.size) {
+            return this;
+        } else if (start == end) {
+            return EMPTY;
+        }
+        return new TextList(this.elements, this.offset + start, end - start, this.used, null);
+    }
+
+    ImmutableList<Text> asList() {
+        ImmutableList<Text> list = this.list;
+        if (list == null) {
+            list = ImmutableList.copyOf(Arrays.asList(this.elements).subList(this.offset, this.offset + this.size));
+            this.list = list;
+        }
+        return list;
+    }
+
+    @Override
+    public Iterator<Text> iterator() {
+        return new Iterator<Text>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < TextList.this.size;
+            }
+
+            @Override
+            public Text next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return TextList.this.elements[TextList.this.offset + this.index++];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TextList)) {
+            return false;
+        }
+        final TextList that = (TextList) o;
+        if (this.size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (!this.elements[this.offset + i].equals(that.elements[that.offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as List#hashCode(), so texts hash the same as before
+        int hash = 1;
+        for (int i = 0; i < this.size; i++) {
+            hash = 31 * hash + this.elements[this.offset + i].hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+
+}
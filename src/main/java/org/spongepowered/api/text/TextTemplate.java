@@ -77,6 +77,7 @@ public final class TextTemplate implements TextRepresentable, Iterable<Object> {
     final Text text;
     final String openArg;
     final String closeArg;
+    final CompiledTextTemplate compiled;
 
     TextTemplate(String openArg, String closeArg, Object[] elements) {
         this.openArg = openArg;
@@ -111,6 +112,7 @@ public final class TextTemplate implements TextRepresentable, Iterable<Object> {
             builder = apply(element, builder);
         }
         this.text = Optional.ofNullable(builder).orElse(Text.builder()).build();
+        this.compiled = new CompiledTextTemplate(this);
     }
 
     /**
@@ -164,6 +166,17 @@ public TextTemplate concat(TextTemplate other) {
         return of(this.openArg, this.closeArg, elements.toArray(new Object[elements.size()]));
     }
 
+    /**
+     * Gets the compiled form of this TextTemplate, which can be applied
+     * repeatedly without processing the static elements again and accepts
+     * its parameters by position.
+     *
+     * @return The compiled template
+     */
+    public CompiledTextTemplate compile() {
+        return this.compiled;
+    }
+
     /**
      * Applies an empty map of parameters to this TextTemplate and returns the
      * result in a {@link Text.Builder}.
@@ -184,35 +197,7 @@ public Text.Builder apply() {
      * @throws TextTemplateArgumentException if required parameters are missing
      */
     public Text.Builder apply(Map<String, ?> params) {
-        return apply(null, params);
-    }
-
-    private Text.Builder apply(@Nullable Text.Builder result, Map<String, ?> params) {
-        checkNotNull(params, "params");
-        for (Object element : this.elements) {
-            result = apply(element, result, params);
-        }
-        return Optional.ofNullable(result).orElse(Text.builder());
-    }
-
-    @Nullable
-    private Text.Builder apply(Object element, @Nullable Text.Builder builder, Map<String, ?> params) {
-        // Note: The builder is initialized as null to avoid unnecessary Text nesting
-        if (element instanceof Arg) {
-            Arg arg = (Arg) element;
-            Object param = params.get(arg.name);
-            if (param == null) {
-                arg.checkOptional();
-                if (arg.defaultValue != null) {
-                    builder = applyArg(arg.defaultValue, arg, builder);
-                }
-            } else {
-                builder = applyArg(param, arg, builder);
-            }
-        } else {
-            builder = apply(element, builder);
-        }
-        return builder;
+        return this.compiled.apply(params);
     }
 
     private Text.Builder apply(Object element, @Nullable Text.Builder builder) {
@@ -239,17 +224,6 @@ private Text.Builder apply(Object element, @Nullable Text.Builder builder) {
         return builder;
     }
 
-    private Text.Builder applyArg(Object param, Arg arg, @Nullable Text.Builder builder) {
-        if (builder == null) {
-            builder = Text.builder();
-        }
-        // wrap the parameter in the argument format
-        Text.Builder wrapper = Text.builder().format(arg.format);
-        apply(param, wrapper);
-        builder.append(wrapper.build());
-        return builder;
-    }
-
     /**
      * Constructs a new TextTemplate for the given elements. The order of the
      * elements is the order in which they will be appended to the result
@@ -71,7 +71,7 @@ public final class TranslatableText extends Text {
      * @param translation The translation of the text
      * @param arguments The arguments for the translation
      */
-    TranslatableText(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
+    TranslatableText(TextFormat format, TextList children, @Nullable ClickAction<?> clickAction,
             @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction, Translation translation,
             ImmutableList<Object> arguments) {
         super(format, children, clickAction, hoverAction, shiftClickAction);
@@ -103,6 +103,23 @@ public Builder toBuilder() {
         return new Builder(this);
     }
 
+    @Override
+    boolean computeCacheable() {
+        // Arbitrary arguments may be formatted differently over time
+        for (Object argument : this.arguments) {
+            if (argument instanceof Text) {
+                if (!((Text) argument).isCacheable()) {
+                    return false;
+                }
+            } else if (!(argument instanceof String || argument instanceof Integer || argument instanceof Long
+                    || argument instanceof Double || argument instanceof Float || argument instanceof Short || argument instanceof Byte
+                    || argument instanceof Character || argument instanceof Boolean)) {
+                return false;
+            }
+        }
+        return super.computeCacheable();
+    }
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) {
@@ -118,8 +135,8 @@ public boolean equals(@Nullable Object o) {
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hashCode(super.hashCode(), this.translation, this.arguments);
+    int computeHashCode() {
+        return Objects.hashCode(super.computeHashCode(), this.translation, this.arguments);
     }
 
     @Override
@@ -250,7 +267,7 @@ public Builder translation(org.spongepowered.api.text.translation.Translatable t
         public TranslatableText build() {
             return new TranslatableText(
                     this.format,
-                    ImmutableList.copyOf(this.children),
+                    buildChildren(),
                     this.clickAction,
                     this.hoverAction,
                     this.shiftClickAction,
@@ -0,0 +1,172 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.channel;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TranslatableText;
+import org.spongepowered.api.text.action.HoverAction;
+import org.spongepowered.api.text.chat.ChatType;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+/**
+ * A message sent unchanged to many {@link BroadcastMessageReceiver}s, which
+ * remembers how it was encoded so that it only has to be encoded once.
+ *
+ * <p>Messages without any {@link TranslatableText} are encoded the same way
+ * for every receiver, regardless of their locale. Otherwise, they are
+ * encoded once per locale.</p>
+ */
+public final class BroadcastMessage {
+
+    private final Text text;
+    private final ChatType type;
+    private final boolean localized;
+    private final ConcurrentMap<Object, Object> encoded = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new broadcast message.
+     *
+     * @param text The text of the message
+     * @param type The type of the message
+     */
+    public BroadcastMessage(Text text, ChatType type) {
+        this.text = checkNotNull(text, "text");
+        this.type = checkNotNull(type, "type");
+        this.localized = containsTranslation(text);
+    }
+
+    private static boolean containsTranslation(Text text) {
+        for (Text child : text.withChildren()) {
+            if (child instanceof TranslatableText) {
+                return true;
+            }
+            if (child.getHoverAction().isPresent() && child.getHoverAction().get() instanceof HoverAction.ShowText
+                    && containsTranslation(((HoverAction.ShowText) child.getHoverAction().get()).getResult())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the text of this message.
+     *
+     * @return The text
+     */
+    public Text getText() {
+        return this.text;
+    }
+
+    /**
+     * Gets the type of this message.
+     *
+     * @return The chat type
+     */
+    public ChatType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets whether the text of this message depends on the locale of the
+     * receiver.
+     *
+     * @return Whether or not the message is localized
+     */
+    public boolean isLocalized() {
+        return this.localized;
+    }
+
+    /**
+     * Gets the text of this message encoded by the given encoder, encoding
+     * it only if it hasn't been already for the locale.
+     *
+     * <p>Encoders are told apart by identity, so the same instance should be
+     * used for every receiver. The locale is ignored if the message isn't
+     * {@link #isLocalized() localized}.</p>
+     *
+     * @param locale The locale of the receiver
+     * @param encoder The encoder, receiving the text and the locale
+     * @param <T> The type of the encoded message
+     * @return The encoded message
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getEncoded(Locale locale, BiFunction<? super Text, ? super Locale, ? extends T> encoder) {
+        checkNotNull(locale, "locale");
+        checkNotNull(encoder, "encoder");
+        final Object key = this.localized ? new LocalizedKey(encoder, locale) : encoder;
+        Object value = this.encoded.get(key);
+        if (value == null) {
+            value = this.encoded.computeIfAbsent(key, k -> checkNotNull(encoder.apply(this.text, locale), "encoded"));
+        }
+        return (T) value;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("text", this.text)
+                .add("type", this.type)
+                .add("localized", this.localized)
+                .toString();
+    }
+
+    private static final class LocalizedKey {
+
+        private final Object encoder;
+        private final Locale locale;
+
+        LocalizedKey(Object encoder, Locale locale) {
+            this.encoder = encoder;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof LocalizedKey)) {
+                return false;
+            }
+            final LocalizedKey key = (LocalizedKey) other;
+            return this.encoder == key.encoder && this.locale.equals(key.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.encoder), this.locale);
+        }
+
+    }
+
+}
@@ -57,8 +57,12 @@ public interface MessageChannel {
 
     /**
      * A channel with all online players as members.
+     *
+     * <p>The members are cached between calls to
+     * {@link #invalidateMemberSnapshots()} once the implementation made the
+     * first one.</p>
      */
-    MessageChannel TO_PLAYERS = () -> ImmutableSet.copyOf(Sponge.getGame().getServer().getOnlinePlayers());
+    MessageChannel TO_PLAYERS = new OnlinePlayersMessageChannel(false);
 
     /**
      * A channel with the server console as a member.
@@ -68,11 +72,31 @@ public interface MessageChannel {
     /**
      * A channel with all online players, as well as the server console, as
      * members.
+     *
+     * <p>The members are cached between calls to
+     * {@link #invalidateMemberSnapshots()} once the implementation made the
+     * first one.</p>
+     */
+    MessageChannel TO_ALL = new OnlinePlayersMessageChannel(true);
+
+    /**
+     * Discards the members cached by {@link #TO_PLAYERS} and {@link #TO_ALL}.
+     *
+     * <p>Implementations opt in to the cached members by calling this
+     * whenever a player joins or quits the server. Until it is called for
+     * the first time, the online players are copied on every call to
+     * {@link MessageChannel#getMembers()}. Plugins shouldn't need to call
+     * it.</p>
+     *
+     * <p>It has to be called after the player was added to or removed from
+     * {@link org.spongepowered.api.Server#getOnlinePlayers()}. Members that
+     * are read between an earlier call and the change would otherwise be
+     * kept until the next join or quit.</p>
      */
-    MessageChannel TO_ALL = () -> ImmutableSet.<MessageReceiver>builder()
-            .addAll(Sponge.getGame().getServer().getOnlinePlayers())
-            .add(Sponge.getGame().getServer().getConsole())
-            .build();
+    static void invalidateMemberSnapshots() {
+        ((OnlinePlayersMessageChannel) TO_PLAYERS).invalidate();
+        ((OnlinePlayersMessageChannel) TO_ALL).invalidate();
+    }
 
     /**
      * Creates a message channel that targets all subjects with the given
@@ -184,6 +208,10 @@ default void send(@Nullable Object sender, Text original) {
      * Send a message to this channel, transforming and sending it to the
      * members.
      *
+     * <p>Members implementing {@link BroadcastMessageReceiver} which receive
+     * the original message untransformed all share the same
+     * {@link BroadcastMessage}.</p>
+     *
      * @param sender The sender of the message
      * @param original The original message to send
      * @param type The type of message
@@ -191,11 +219,23 @@ default void send(@Nullable Object sender, Text original) {
     default void send(@Nullable Object sender, Text original, ChatType type) {
         checkNotNull(original, "original text");
         checkNotNull(type, "type");
+        // Shared by all the members receiving the original message, so it is only encoded once
+        @Nullable BroadcastMessage broadcast = null;
         for (MessageReceiver member : this.getMembers()) {
-            if (member instanceof ChatTypeMessageReceiver) {
-                this.transformMessage(sender, member, original, type).ifPresent(text -> ((ChatTypeMessageReceiver) member).sendMessage(type, text));
+            final Optional<Text> message = this.transformMessage(sender, member, original, type);
+            if (!message.isPresent()) {
+                continue;
+            }
+            final Text text = message.get();
+            if (text == original && member instanceof BroadcastMessageReceiver) {
+                if (broadcast == null) {
+                    broadcast = new BroadcastMessage(original, type);
+                }
+                ((BroadcastMessageReceiver) member).sendMessage(broadcast);
+            } else if (member instanceof ChatTypeMessageReceiver) {
+                ((ChatTypeMessageReceiver) member).sendMessage(type, text);
             } else {
-                this.transformMessage(sender, member, original, type).ifPresent(member::sendMessage);
+                member.sendMessage(text);
             }
         }
     }
@@ -0,0 +1,94 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.channel;
+
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.api.Server;
+import org.spongepowered.api.Sponge;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * The channel behind {@link MessageChannel#TO_PLAYERS} and
+ * {@link MessageChannel#TO_ALL}.
+ *
+ * <p>The members are copied from the online players on every call until
+ * the channel is invalidated for the first time. From then on, the
+ * implementation is expected to invalidate it after every join and quit
+ * changed the online players, and a snapshot of the members is kept in
+ * between.</p>
+ */
+final class OnlinePlayersMessageChannel implements MessageChannel {
+
+    private final boolean console;
+    // Zero as long as the channel was never invalidated
+    private final AtomicInteger generation = new AtomicInteger();
+    @Nullable private volatile Snapshot snapshot;
+
+    OnlinePlayersMessageChannel(boolean console) {
+        this.console = console;
+    }
+
+    void invalidate() {
+        this.generation.incrementAndGet();
+    }
+
+    @Override
+    public Collection<MessageReceiver> getMembers() {
+        final int current = this.generation.get();
+        final Snapshot snapshot = this.snapshot;
+        if (snapshot != null && snapshot.generation == current) {
+            return snapshot.members;
+        }
+        final Server server = Sponge.getGame().getServer();
+        final ImmutableSet.Builder<MessageReceiver> builder = ImmutableSet.builder();
+        builder.addAll(server.getOnlinePlayers());
+        if (this.console) {
+            builder.add(server.getConsole());
+        }
+        final ImmutableSet<MessageReceiver> members = builder.build();
+        if (current != 0) {
+            // A snapshot of an older generation is never returned
+            this.snapshot = new Snapshot(current, members);
+        }
+        return members;
+    }
+
+    private static final class Snapshot {
+
+        final int generation;
+        final ImmutableSet<MessageReceiver> members;
+
+        Snapshot(int generation, ImmutableSet<MessageReceiver> members) {
+            this.generation = generation;
+            this.members = members;
+        }
+
+    }
+
+}
@@ -24,6 +24,10 @@
  */
 package org.spongepowered.api.text.serializer;
 
+import org.spongepowered.api.text.Text;
+
+import java.io.IOException;
+
 /**
  * Represents a {@link TextSerializer} for the old "formatting code" strings. A
  * formatted message consists out of plain text with a special character
@@ -46,6 +50,19 @@ public interface FormattingCodeTextSerializer extends SafeTextSerializer {
      */
     char getCharacter();
 
+    /**
+     * Writes the formatting code representation of the provided {@link Text}
+     * to the specified {@link Appendable}, in the same format as
+     * {@link #serialize(Text)}.
+     *
+     * @param text The text to serialize
+     * @param out The appendable to write to
+     * @throws IOException If the appendable throws an exception
+     */
+    default void serialize(Text text, Appendable out) throws IOException {
+        out.append(serialize(text));
+    }
+
     /**
      * Removes the color codes for this {@link FormattingCodeTextSerializer}
      * from a string.
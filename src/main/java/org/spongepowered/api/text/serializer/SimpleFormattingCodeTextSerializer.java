@@ -0,0 +1,407 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.serializer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.text.LiteralText;
+import org.spongepowered.api.text.ScoreText;
+import org.spongepowered.api.text.SelectorText;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TranslatableText;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.text.translation.locale.Locales;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A reference {@link FormattingCodeTextSerializer} for a configurable
+ * formatting character.
+ *
+ * <p>Deserialization is a single pass over the input string. Formatting codes
+ * are resolved through a 128-entry lookup table and the plain text between
+ * two codes is copied exactly once, into the {@link LiteralText} it ends up
+ * in. The resulting text is either a single {@link LiteralText} or an
+ * unformatted root with one child per formatted run.</p>
+ *
+ * <p>Serialization walks the text tree depth-first and writes straight to an
+ * {@link Appendable}, only emitting formatting codes where the effective
+ * format actually changes. Like the format itself, this is lossy: click and
+ * hover actions are dropped, and literal content containing the formatting
+ * character followed by a code character will be read back as a code.</p>
+ *
+ * <p>The {@link TextColors} and {@link TextStyles} lookup tables are built on
+ * first use, so instances may be created before the catalogs have been
+ * populated, but must not be used until then.</p>
+ */
+public final class SimpleFormattingCodeTextSerializer implements FormattingCodeTextSerializer {
+
+    /**
+     * All formatting codes, in table order: 16 colors, 5 styles and reset.
+     */
+    private static final String CODES = "0123456789abcdefklmnor";
+
+    private static final int COLOR_COUNT = 16;
+    private static final int STYLE_COUNT = 5;
+    private static final int RESET = COLOR_COUNT + STYLE_COUNT;
+
+    /**
+     * Maps an ASCII character to its index in {@link #CODES} plus one, or
+     * {@code 0} if the character is not a formatting code.
+     */
+    private static final byte[] CODE_TABLE = new byte[128];
+
+    static {
+        for (int i = 0; i < CODES.length(); i++) {
+            char code = CODES.charAt(i);
+            CODE_TABLE[code] = (byte) (i + 1);
+            CODE_TABLE[Character.toUpperCase(code)] = (byte) (i + 1);
+        }
+    }
+
+    private final String id;
+    private final String name;
+    private final char formattingChar;
+
+    /**
+     * Constructs a new {@link SimpleFormattingCodeTextSerializer}.
+     *
+     * @param id The id of the serializer
+     * @param name The name of the serializer
+     * @param formattingChar The character that introduces a formatting code
+     */
+    public SimpleFormattingCodeTextSerializer(String id, String name, char formattingChar) {
+        this.id = checkNotNull(id, "id");
+        this.name = checkNotNull(name, "name");
+        checkArgument(code(formattingChar) < 0, "Formatting character cannot be a formatting code: %s", formattingChar);
+        this.formattingChar = formattingChar;
+    }
+
+    /**
+     * Returns the index of the specified character in {@link #CODES}.
+     *
+     * @param c The character to look up
+     * @return The code index, or {@code -1} if it is not a formatting code
+     */
+    private static int code(char c) {
+        return c < 128 ? CODE_TABLE[c] - 1 : -1;
+    }
+
+    @Override
+    public String getId() {
+        return this.id;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public char getCharacter() {
+        return this.formattingChar;
+    }
+
+    @Override
+    public String stripCodes(String text) {
+        return replaceCodes(text, (char) 0, true);
+    }
+
+    @Override
+    public String replaceCodes(String text, char to) {
+        return replaceCodes(text, to, false);
+    }
+
+    private String replaceCodes(String text, char to, boolean strip) {
+        checkNotNull(text, "text");
+        if (text.indexOf(this.formattingChar) < 0) {
+            return text;
+        }
+
+        final int length = text.length();
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == this.formattingChar && i + 1 < length && code(text.charAt(i + 1)) >= 0) {
+                if (!strip) {
+                    builder.append(to).append(text.charAt(i + 1));
+                }
+                i++;
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public Text deserialize(String input) {
+        checkNotNull(input, "input");
+        int next = input.indexOf(this.formattingChar);
+        if (next < 0) {
+            return Text.of(input);
+        }
+
+        final int length = input.length();
+        final List<Text> parts = new ArrayList<>();
+        TextColor color = TextColors.NONE;
+        int styles = 0;
+        int start = 0;
+
+        for (int i = next; i < length - 1; i++) {
+            if (input.charAt(i) != this.formattingChar) {
+                continue;
+            }
+
+            int code = code(input.charAt(i + 1));
+            if (code < 0) {
+                continue;
+            }
+
+            if (i > start) {
+                parts.add(Formats.create(input.substring(start, i), color, styles));
+            }
+
+            if (code < COLOR_COUNT) {
+                color = Formats.COLORS[code];
+                styles = 0;
+            } else if (code < RESET) {
+                styles |= 1 << (code - COLOR_COUNT);
+            } else {
+                color = TextColors.NONE;
+                styles = 0;
+            }
+            start = i + 2;
+            i++;
+        }
+
+        if (start < length) {
+            parts.add(Formats.create(start == 0 ? input : input.substring(start), color, styles));
+        }
+
+        if (parts.isEmpty()) {
+            return Text.EMPTY;
+        } else if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return Text.builder().append(parts).build();
+    }
+
+    @Override
+    public String serialize(Text text) {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            serialize(text, builder);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void serialize(Text text, Appendable out) throws IOException {
+        checkNotNull(text, "text");
+        checkNotNull(out, "out");
+        new Writer(out, this.formattingChar).write(text, TextColors.NONE, 0);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("id", this.id)
+                .add("name", this.name)
+                .add("character", this.formattingChar)
+                .toString();
+    }
+
+    /**
+     * Writes a text tree as formatting codes, tracking the format the
+     * receiving end is currently in.
+     */
+    private static final class Writer {
+
+        private final Appendable out;
+        private final char formattingChar;
+
+        private TextColor color = TextColors.NONE;
+        private int styles;
+        private boolean dangling;
+
+        Writer(Appendable out, char formattingChar) {
+            this.out = out;
+            this.formattingChar = formattingChar;
+        }
+
+        void write(Text text, TextColor parentColor, int parentStyles) throws IOException {
+            TextColor color = text.getColor() == TextColors.NONE ? parentColor : Formats.resolve(text.getColor());
+            int styles = Formats.apply(parentStyles, text.getStyle());
+
+            String content = getContent(text);
+            if (!content.isEmpty()) {
+                writeFormat(color, styles, this.dangling && code(content.charAt(0)) >= 0);
+                this.out.append(content);
+                this.dangling = content.charAt(content.length() - 1) == this.formattingChar;
+            }
+
+            for (Text child : text.getChildren()) {
+                write(child, color, styles);
+            }
+        }
+
+        private void writeFormat(TextColor color, int styles, boolean force) throws IOException {
+            if (force || color != this.color || (this.styles & ~styles) != 0) {
+                int code = color == TextColors.NONE ? RESET : Formats.CODE_INDICES.get(color);
+                this.out.append(this.formattingChar).append(CODES.charAt(code));
+                this.color = color;
+                this.styles = 0;
+            }
+
+            int added = styles & ~this.styles;
+            for (int i = 0; added != 0; i++, added >>>= 1) {
+                if ((added & 1) != 0) {
+                    this.out.append(this.formattingChar).append(CODES.charAt(COLOR_COUNT + i));
+                }
+            }
+            this.styles = styles;
+        }
+
+        private static String getContent(Text text) {
+            if (text instanceof LiteralText) {
+                return ((LiteralText) text).getContent();
+            } else if (text instanceof TranslatableText) {
+                TranslatableText translatable = (TranslatableText) text;
+                Object[] args = translatable.getArguments().toArray();
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] instanceof Text) {
+                        args[i] = ((Text) args[i]).toPlain();
+                    }
+                }
+                return translatable.getTranslation().get(Locales.DEFAULT, args);
+            } else if (text instanceof SelectorText) {
+                return ((SelectorText) text).getSelector().toPlain();
+            } else if (text instanceof ScoreText) {
+                ScoreText score = (ScoreText) text;
+                return score.getOverride().orElseGet(() -> Integer.toString(score.getScore().getScore()));
+            }
+            return "";
+        }
+
+    }
+
+    /**
+     * Lookup tables that depend on the {@link TextColors} and
+     * {@link TextStyles} catalogs. These are only initialized on first use,
+     * after the catalogs have been populated.
+     */
+    private static final class Formats {
+
+        static final TextColor[] COLORS = {
+            TextColors.BLACK, TextColors.DARK_BLUE, TextColors.DARK_GREEN, TextColors.DARK_AQUA,
+            TextColors.DARK_RED, TextColors.DARK_PURPLE, TextColors.GOLD, TextColors.GRAY,
+            TextColors.DARK_GRAY, TextColors.BLUE, TextColors.GREEN, TextColors.AQUA,
+            TextColors.RED, TextColors.LIGHT_PURPLE, TextColors.YELLOW, TextColors.WHITE
+        };
+
+        /**
+         * The styles in code order: obfuscated, bold, strikethrough, underline
+         * and italic. Bit {@code n} of a style mask stands for entry
+         * {@code n}.
+         */
+        private static final TextStyle.Base[] BASES = {
+            TextStyles.OBFUSCATED, TextStyles.BOLD, TextStyles.STRIKETHROUGH, TextStyles.UNDERLINE, TextStyles.ITALIC
+        };
+
+        /**
+         * The composed {@link TextStyle} for every style mask.
+         */
+        private static final TextStyle[] STYLES = new TextStyle[1 << STYLE_COUNT];
+
+        static final Map<TextColor, Integer> CODE_INDICES = new HashMap<>();
+
+        static {
+            for (int i = 0; i < COLORS.length; i++) {
+                CODE_INDICES.put(COLORS[i], i);
+            }
+
+            final List<TextStyle> bases = new ArrayList<>(STYLE_COUNT);
+            for (int mask = 0; mask < STYLES.length; mask++) {
+                bases.clear();
+                for (int i = 0; i < STYLE_COUNT; i++) {
+                    if ((mask & (1 << i)) != 0) {
+                        bases.add(BASES[i]);
+                    }
+                }
+                STYLES[mask] = TextStyles.of(bases.toArray(new TextStyle[bases.size()]));
+            }
+        }
+
+        private Formats() {
+        }
+
+        static Text create(String content, TextColor color, int styles) {
+            return Text.builder(content).color(color).style(STYLES[styles]).build();
+        }
+
+        /**
+         * Maps colors without a formatting code (including
+         * {@link TextColors#RESET}) to {@link TextColors#NONE}.
+         *
+         * @param color The color to resolve
+         * @return The color, or {@link TextColors#NONE}
+         */
+        static TextColor resolve(TextColor color) {
+            return CODE_INDICES.containsKey(color) ? color : TextColors.NONE;
+        }
+
+        static int apply(int styles, TextStyle style) {
+            styles = apply(styles, 0, style.isObfuscated());
+            styles = apply(styles, 1, style.isBold());
+            styles = apply(styles, 2, style.hasStrikethrough());
+            styles = apply(styles, 3, style.hasUnderline());
+            return apply(styles, 4, style.isItalic());
+        }
+
+        private static int apply(int styles, int bit, Optional<Boolean> value) {
+            if (!value.isPresent()) {
+                return styles;
+            }
+            return value.get() ? styles | 1 << bit : styles & ~(1 << bit);
+        }
+
+    }
+
+}
@@ -0,0 +1,350 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.flowpowered.math.vector.Vector3d;
+
+import java.util.Arrays;
+
+/**
+ * A growable collection of axis aligned bounding boxes, stored as a
+ * structure of arrays so that many boxes can be tested at once.
+ *
+ * <p>Each corner coordinate lives in its own {@code double[]}, which keeps
+ * the bulk query loops free of object loads and lets the JIT unroll and
+ * vectorize them. Results are written into arrays supplied by the caller,
+ * so a batch can be queried repeatedly without allocating.</p>
+ *
+ * <p>The boxes follow the same rules as {@link AABB}: they are never
+ * degenerate and intersection is inclusive of the faces. Unlike
+ * {@link AABB}, a batch is mutable and is not safe for concurrent use.</p>
+ */
+public final class AABBBatch {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] minX;
+    private double[] minY;
+    private double[] minZ;
+    private double[] maxX;
+    private double[] maxY;
+    private double[] maxZ;
+    private double[] far;
+    private int size;
+
+    /**
+     * Constructs a new empty batch.
+     */
+    public AABBBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty batch able to hold the given amount of boxes
+     * before growing.
+     *
+     * @param capacity The initial capacity
+     */
+    public AABBBatch(int capacity) {
+        checkArgument(capacity >= 0, "capacity must not be negative");
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        this.minX = new double[capacity];
+        this.minY = new double[capacity];
+        this.minZ = new double[capacity];
+        this.maxX = new double[capacity];
+        this.maxY = new double[capacity];
+        this.maxZ = new double[capacity];
+        this.far = new double[capacity];
+    }
+
+    /**
+     * Gets the amount of boxes in this batch.
+     *
+     * @return The size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the boxes from this batch, keeping its capacity.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Makes sure the batch can hold at least the given amount of boxes
+     * without growing.
+     *
+     * @param capacity The minimum capacity
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= this.minX.length) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, this.minX.length + (this.minX.length >> 1) + 1);
+        this.minX = Arrays.copyOf(this.minX, newCapacity);
+        this.minY = Arrays.copyOf(this.minY, newCapacity);
+        this.minZ = Arrays.copyOf(this.minZ, newCapacity);
+        this.maxX = Arrays.copyOf(this.maxX, newCapacity);
+        this.maxY = Arrays.copyOf(this.maxY, newCapacity);
+        this.maxZ = Arrays.copyOf(this.maxZ, newCapacity);
+        this.far = new double[newCapacity];
+    }
+
+    /**
+     * Adds a box to the end of this batch.
+     *
+     * @param box The box to add
+     * @return The index of the box in the batch
+     */
+    public int add(AABB box) {
+        checkNotNull(box, "box");
+        ensureCapacity(this.size + 1);
+        final int index = this.size++;
+        store(index, box.getMin(), box.getMax());
+        return index;
+    }
+
+    /**
+     * Adds a box to the end of this batch from two opposite corners. Fails
+     * if the resulting box would be degenerate (a dimension is 0).
+     *
+     * @param x1 The first corner x coordinate
+     * @param y1 The first corner y coordinate
+     * @param z1 The first corner z coordinate
+     * @param x2 The second corner x coordinate
+     * @param y2 The second corner y coordinate
+     * @param z2 The second corner z coordinate
+     * @return The index of the box in the batch
+     */
+    public int add(double x1, double y1, double z1, double x2, double y2, double z2) {
+        checkArgument(x1 != x2, "The box is degenerate on x");
+        checkArgument(y1 != y2, "The box is degenerate on y");
+        checkArgument(z1 != z2, "The box is degenerate on z");
+        ensureCapacity(this.size + 1);
+        final int index = this.size++;
+        store(index, x1, y1, z1, x2, y2, z2);
+        return index;
+    }
+
+    /**
+     * Replaces the box at the given index.
+     *
+     * @param index The index of the box to replace
+     * @param box The new box
+     */
+    public void set(int index, AABB box) {
+        checkElementIndex(index, this.size);
+        checkNotNull(box, "box");
+        store(index, box.getMin(), box.getMax());
+    }
+
+    /**
+     * Gets the box at the given index as a new {@link AABB}.
+     *
+     * @param index The index of the box
+     * @return The box
+     */
+    public AABB get(int index) {
+        checkElementIndex(index, this.size);
+        return new AABB(this.minX[index], this.minY[index], this.minZ[index], this.maxX[index], this.maxY[index], this.maxZ[index]);
+    }
+
+    private void store(int index, Vector3d min, Vector3d max) {
+        store(index, min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+
+    private void store(int index, double x1, double y1, double z1, double x2, double y2, double z2) {
+        this.minX[index] = Math.min(x1, x2);
+        this.minY[index] = Math.min(y1, y2);
+        this.minZ[index] = Math.min(z1, z2);
+        this.maxX[index] = Math.max(x1, x2);
+        this.maxY[index] = Math.max(y1, y2);
+        this.maxZ[index] = Math.max(z1, z2);
+    }
+
+    /**
+     * Tests every box in this batch for intersection with another box. The
+     * result for the box at index {@code i} is written to
+     * {@code results[i]}.
+     *
+     * @param box The box to test against
+     * @param results The array to write the results to, at least
+     *     {@link #size()} long
+     * @return The amount of intersecting boxes
+     * @see AABB#intersects(AABB)
+     */
+    public int intersects(AABB box, boolean[] results) {
+        checkNotNull(box, "box");
+        checkResults(results.length);
+        final double bMinX = box.getMin().getX();
+        final double bMinY = box.getMin().getY();
+        final double bMinZ = box.getMin().getZ();
+        final double bMaxX = box.getMax().getX();
+        final double bMaxY = box.getMax().getY();
+        final double bMaxZ = box.getMax().getZ();
+        final double[] minX = this.minX;
+        final double[] minY = this.minY;
+        final double[] minZ = this.minZ;
+        final double[] maxX = this.maxX;
+        final double[] maxY = this.maxY;
+        final double[] maxZ = this.maxZ;
+        int count = 0;
+        // Non short-circuiting operators keep the loop body free of branches
+        for (int i = 0; i < this.size; i++) {
+            final boolean hit = maxX[i] >= bMinX & bMaxX >= minX[i]
+                    & maxY[i] >= bMinY & bMaxY >= minY[i]
+                    & maxZ[i] >= bMinZ & bMaxZ >= minZ[i];
+            results[i] = hit;
+            count += hit ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Tests every box in this batch for intersection with another box and
+     * writes the indices of the intersecting boxes, in increasing order, to
+     * the start of {@code indices}.
+     *
+     * @param box The box to test against
+     * @param indices The array to write the indices to, at least
+     *     {@link #size()} long
+     * @return The amount of intersecting boxes
+     * @see AABB#intersects(AABB)
+     */
+    public int intersects(AABB box, int[] indices) {
+        checkNotNull(box, "box");
+        checkResults(indices.length);
+        final double bMinX = box.getMin().getX();
+        final double bMinY = box.getMin().getY();
+        final double bMinZ = box.getMin().getZ();
+        final double bMaxX = box.getMax().getX();
+        final double bMaxY = box.getMax().getY();
+        final double bMaxZ = box.getMax().getZ();
+        final double[] minX = this.minX;
+        final double[] minY = this.minY;
+        final double[] minZ = this.minZ;
+        final double[] maxX = this.maxX;
+        final double[] maxY = this.maxY;
+        final double[] maxZ = this.maxZ;
+        int count = 0;
+        // Always store the index and only advance the cursor on a hit
+        for (int i = 0; i < this.size; i++) {
+            indices[count] = i;
+            count += maxX[i] >= bMinX & bMaxX >= minX[i]
+                    & maxY[i] >= bMinY & bMaxY >= minY[i]
+                    & maxZ[i] >= bMinZ & bMaxZ >= minZ[i] ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Tests every box in this batch for intersection with a ray defined by a
+     * starting point and a direction.
+     *
+     * <p>The distance for the box at index {@code i} is written to
+     * {@code distances[i]}, as a multiplier of the direction: the
+     * intersection point is {@code start + direction * distances[i]}. As for
+     * {@link AABB#intersects(Vector3d, Vector3d)}, the closest intersection
+     * in front of the start is used, which is the exit point when the start
+     * is inside the box. Boxes that aren't intersected get
+     * {@link Double#NaN}.</p>
+     *
+     * @param start The starting point of the ray
+     * @param direction The direction of the ray
+     * @param distances The array to write the distances to, at least
+     *     {@link #size()} long
+     * @return The amount of intersected boxes
+     * @see AABB#intersects(Vector3d, Vector3d)
+     */
+    public int intersects(Vector3d start, Vector3d direction, double[] distances) {
+        checkNotNull(start, "start");
+        checkNotNull(direction, "direction");
+        checkResults(distances.length);
+        // Slab test: the near and far distances are narrowed one axis at a
+        // time, the near ones directly in the output array
+        final double[] near = distances;
+        final double[] far = this.far;
+        Arrays.fill(near, 0, this.size, Double.NEGATIVE_INFINITY);
+        Arrays.fill(far, 0, this.size, Double.POSITIVE_INFINITY);
+        clipSlab(this.minX, this.maxX, start.getX(), direction.getX(), near, far, this.size);
+        clipSlab(this.minY, this.maxY, start.getY(), direction.getY(), near, far, this.size);
+        clipSlab(this.minZ, this.maxZ, start.getZ(), direction.getZ(), near, far, this.size);
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            final double tNear = near[i];
+            final double tFar = far[i];
+            final boolean hit = tFar >= tNear & tFar >= 0;
+            near[i] = hit ? tNear < 0 ? tFar : tNear : Double.NaN;
+            count += hit ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static void clipSlab(double[] min, double[] max, double start, double direction, double[] near, double[] far, int size) {
+        if (direction == 0) {
+            // The ray is parallel to the slab, it either always is inside or never
+            for (int i = 0; i < size; i++) {
+                far[i] = min[i] <= start & start <= max[i] ? far[i] : Double.NEGATIVE_INFINITY;
+            }
+            return;
+        }
+        final double inverse = 1 / direction;
+        if (inverse > 0) {
+            for (int i = 0; i < size; i++) {
+                final double t1 = (min[i] - start) * inverse;
+                final double t2 = (max[i] - start) * inverse;
+                near[i] = t1 > near[i] ? t1 : near[i];
+                far[i] = t2 < far[i] ? t2 : far[i];
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                final double t1 = (max[i] - start) * inverse;
+                final double t2 = (min[i] - start) * inverse;
+                near[i] = t1 > near[i] ? t1 : near[i];
+                far[i] = t2 < far[i] ? t2 : far[i];
+            }
+        }
+    }
+
+    private void checkResults(int length) {
+        checkArgument(length >= this.size, "The results array is shorter than the batch (%s < %s)", length, this.size);
+    }
+
+    @Override
+    public String toString() {
+        return "AABBBatch(" + this.size + " boxes)";
+    }
+
+}
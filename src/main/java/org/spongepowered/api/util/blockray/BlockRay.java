@@ -28,17 +28,14 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.imaginary.Quaterniond;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.block.BlockTypes;
-import org.spongepowered.api.data.property.block.FullBlockSelectionBoxProperty;
 import org.spongepowered.api.data.property.entity.EyeLocationProperty;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.util.Functional;
-import org.spongepowered.api.util.Tuple;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
@@ -48,6 +45,8 @@
 import java.util.Optional;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
+
 /**
  * A block ray which traces a line and returns all block boundaries intersected
  * in order, starting from the start location. If the ray starts in a block,
@@ -91,94 +90,44 @@
     @SuppressWarnings("rawtypes")
     static final Predicate ALL_FILTER = input -> true;
 
-    private static final Vector3d X_POSITIVE = Vector3d.UNIT_X;
-    private static final Vector3d X_NEGATIVE = X_POSITIVE.negate();
-    private static final Vector3d Y_POSITIVE = Vector3d.UNIT_Y;
-    private static final Vector3d Y_NEGATIVE = Y_POSITIVE.negate();
-    private static final Vector3d Z_POSITIVE = Vector3d.UNIT_Z;
-    private static final Vector3d Z_NEGATIVE = Z_POSITIVE.negate();
     // Skipping and ending test predicates
     private final Predicate<BlockRayHit<E>> skipFilter;
     private final Predicate<BlockRayHit<E>> stopFilter;
-    // Extent to iterate in
-    private final E extent;
+    // Whether any filters other than the target block need to be tested
+    private final boolean filtered;
+    // The block at which the ray ends, if set
+    private final boolean targeted;
+    private final int xTarget;
+    private final int yTarget;
+    private final int zTarget;
     // Starting position
     private final Vector3d position;
     // Direction of the ray
     private final Vector3d direction;
-    // Perform narrow phase intersections for blocks with smaller selection boxes
-    private final boolean narrowPhase;
-    // The directions the faces are passed through
-    private final Vector3d xNormal;
-    private final Vector3d yNormal;
-    private final Vector3d zNormal;
-    // The directions the edges and corners are passed through, lazily computed
-    private Vector3d xyzNormal;
-    private Vector3d xyNormal;
-    private Vector3d xzNormal;
-    private Vector3d yzNormal;
-    // The plane increments for the direction
-    private final int xPlaneIncrement;
-    private final int yPlaneIncrement;
-    private final int zPlaneIncrement;
-    // The current coordinates
-    private double xCurrent;
-    private double yCurrent;
-    private double zCurrent;
-    // The current passed face
-    private Vector3d normalCurrent;
-    // The next plane values
-    private int xPlaneNext;
-    private int yPlaneNext;
-    private int zPlaneNext;
-    // The solutions for the nearest plane intersections
-    private double xPlaneT;
-    private double yPlaneT;
-    private double zPlaneT;
-    // Limits to help prevent infinite iteration
-    private final double distanceLimit;
+    // The traversal state
+    private final BlockRayCursor<E> cursor;
     // Last block hit
     private BlockRayHit<E> hit;
     // If hasNext() is called, we need to move ahead to check the next hit
     private boolean ahead;
 
-    private BlockRay(Predicate<BlockRayHit<E>> skipFilter, Predicate<BlockRayHit<E>> stopFilter, E extent, Vector3d position, Vector3d direction,
-            boolean narrowPhase, double distanceLimit) {
+    private BlockRay(Predicate<BlockRayHit<E>> skipFilter, Predicate<BlockRayHit<E>> stopFilter, @Nullable Vector3i target, E extent,
+            Vector3d position, Vector3d direction, boolean narrowPhase, double distanceLimit) {
         checkArgument(direction.lengthSquared() != 0, "Direction cannot be the zero vector");
 
         this.skipFilter = skipFilter;
         this.stopFilter = stopFilter;
+        this.filtered = skipFilter != ALL_FILTER || stopFilter != ALL_FILTER;
+
+        this.targeted = target != null;
+        this.xTarget = target == null ? 0 : target.getX();
+        this.yTarget = target == null ? 0 : target.getY();
+        this.zTarget = target == null ? 0 : target.getZ();
 
-        this.extent = extent;
         this.position = position;
         this.direction = direction;
 
-        this.narrowPhase = narrowPhase;
-
-        this.distanceLimit = distanceLimit;
-
-        // Figure out the direction of the ray for each axis
-        if (this.direction.getX() >= 0) {
-            this.xPlaneIncrement = 1;
-            this.xNormal = X_NEGATIVE;
-        } else {
-            this.xPlaneIncrement = -1;
-            this.xNormal = X_POSITIVE;
-        }
-        if (this.direction.getY() >= 0) {
-            this.yPlaneIncrement = 1;
-            this.yNormal = Y_NEGATIVE;
-        } else {
-            this.yPlaneIncrement = -1;
-            this.yNormal = Y_POSITIVE;
-        }
-        if (this.direction.getZ() >= 0) {
-            this.zPlaneIncrement = 1;
-            this.zNormal = Z_NEGATIVE;
-        } else {
-            this.zPlaneIncrement = -1;
-            this.zNormal = Z_POSITIVE;
-        }
+        this.cursor = new BlockRayCursor<>(extent, narrowPhase, distanceLimit);
 
         reset();
     }
@@ -187,35 +136,7 @@ private BlockRay(Predicate<BlockRayHit<E>> skipFilter, Predicate<BlockRayHit<E>>
      * Resets the iterator; it will iterate from the starting location again.
      */
     public final void reset() {
-        // Start at the position
-        this.xCurrent = this.position.getX();
-        this.yCurrent = this.position.getY();
-        this.zCurrent = this.position.getZ();
-
-        // First planes are for the block that contains the coordinates
-        this.xPlaneNext = GenericMath.floor(this.xCurrent);
-        // noinspection SuspiciousNameCombination
-        this.yPlaneNext = GenericMath.floor(this.yCurrent);
-        this.zPlaneNext = GenericMath.floor(this.zCurrent);
-
-        // Correct the next planes for the direction when inside the block
-        if (this.xCurrent - this.xPlaneNext != 0 && this.direction.getX() >= 0) {
-            this.xPlaneNext++;
-        }
-        if (this.yCurrent - this.yPlaneNext != 0 && this.direction.getY() >= 0) {
-            this.yPlaneNext++;
-        }
-        if (this.zCurrent - this.zPlaneNext != 0 && this.direction.getZ() >= 0) {
-            this.zPlaneNext++;
-        }
-
-        // Compute the first intersection solutions for each plane
-        this.xPlaneT = (this.xPlaneNext - this.position.getX()) / this.direction.getX();
-        this.yPlaneT = (this.yPlaneNext - this.position.getY()) / this.direction.getY();
-        this.zPlaneT = (this.zPlaneNext - this.position.getZ()) / this.direction.getZ();
-
-        // We start in the block, no plane has been entered yet
-        this.normalCurrent = Vector3d.ZERO;
+        this.cursor.start(this.position, this.direction);
 
         // Reset the block
         this.ahead = false;
@@ -228,13 +149,11 @@ public boolean hasNext() {
             // We already checked
             return true;
         }
-        try {
-            advance();
+        if (advance()) {
             this.ahead = true;
             return true;
-        } catch (NoSuchElementException exception) {
-            return false;
         }
+        return false;
     }
 
     @Override
@@ -242,8 +161,8 @@ public BlockRayHit<E> next() {
         if (this.ahead) {
             // We already advanced in hasNext()
             this.ahead = false;
-        } else {
-            advance();
+        } else if (!advance()) {
+            throw new NoSuchElementException("The end of the ray has been reached");
         }
         return this.hit;
     }
@@ -263,246 +182,129 @@ public Optional<BlockRayHit<E>> end() {
         return Optional.ofNullable(last);
     }
 
-    @SuppressWarnings("StatementWithEmptyBody")
-    private void advance() {
-        while (!advanceOneBlock()) {
-        }
-    }
-
-    private boolean advanceOneBlock() {
-        /*
-            The ray can be modeled using the following parametric equations:
-                x = d_x * t + p_x
-                y = d_y * t + p_y
-                z = d_z * t + p_z
-            Where d is the direction vector, p the starting point and t is in |R.
-
-            The block boundary grid can be modeled as an infinity of perpendicular planes
-            on the x, y and z axes, on integer coordinates, spaced 1 unit away.
-
-            Such a plane has an equation:
-                A = n
-            Where A is the axis label and n is in |Z
-
-            The solution of the intersection between the above ray and such a plane is:
-                n = d_A * t_s + p_A
-                t_s = (n - p_A) / d_A
-
-                x_s = d_x * t_s + p_x
-                y_s = d_y * t_s + p_y
-                z_s = d_z * t_s + p_z
-
-            Where t_s is the solution parameter and x_s, y_s, z_s are the intersection coordinates.
-            A small optimization is that A_s = n, which also helps with rounding errors.
-
-            The iterator solves these equations and provides the solutions in increasing order with respect to t_s.
-        */
-
-        if (this.direction.getX() == 0) {
-            if (this.direction.getY() == 0) {
-                // Only zPlaneT exists
-                zIntersect();
-            } else if (this.direction.getZ() == 0) {
-                // Only yPlaneT exists
-                yIntersect();
-            } else {
-                // yPlaneT and zPlaneT exist
-                solveIntersections();
-            }
-        } else if (this.direction.getY() == 0) {
-            if (this.direction.getZ() == 0) {
-                // Only xPlaneT exists
-                xIntersect();
-            } else {
-                // xPlaneT and zPlaneT exist
-                solveIntersections();
+    /**
+     * Traces the block ray and passes every block accepted by the filters to
+     * the given visitor, until either the ray ends or the visitor returns
+     * false. This advances the iterator.
+     *
+     * <p>Unlike iterating this ray no {@link BlockRayHit} is created for the
+     * visited blocks, unless filters other than the ending location have been
+     * set and need to test them.</p>
+     *
+     * @param visitor The visitor
+     */
+    public void visit(BlockRayVisitor visitor) {
+        checkNotNull(visitor, "visitor");
+        if (this.ahead) {
+            // We already advanced in hasNext()
+            this.ahead = false;
+            if (!visitor.visit(this.hit.getBlockX(), this.hit.getBlockY(), this.hit.getBlockZ(), this.hit.getX(), this.hit.getY(),
+                    this.hit.getZ(), this.cursor.getFace())) {
+                return;
             }
-        } else {
-            // xPlaneT and yPlaneT exist
-            solveIntersections();
-        }
-
-        BlockRayHit<E> hit = new BlockRayHit<>(this.extent, this.xCurrent, this.yCurrent, this.zCurrent, this.direction, this.normalCurrent);
-
-        // Make sure we actually have a block
-        if (!hit.mapBlock(Extent::containsBlock)) {
-            throw new NoSuchElementException("Extent limit reached");
         }
-
-        // Now if using the narrow phase, test on small selection boxes, if needed
-        if (this.narrowPhase && !hit.getExtent().getProperty(hit.getBlockPosition(), FullBlockSelectionBoxProperty.class)
-                .map(FullBlockSelectionBoxProperty::getValue).orElse(true)) {
-            // Get the selection box and perform the narrow phase intersection test
-            final Optional<Tuple<Vector3d, Vector3d>> intersection = hit.mapBlock(Extent::getBlockSelectionBox)
-                .flatMap(aabb -> aabb.intersects(this.position, this.direction));
-            // Create the new narrow hit if there was an intersection
-            if (intersection.isPresent()) {
-                final Tuple<Vector3d, Vector3d> pair = intersection.get();
-                final Vector3d narrowHit = pair.getFirst();
-                hit = new BlockRayHit<>(this.extent, narrowHit.getX(), narrowHit.getY(), narrowHit.getZ(), this.direction, pair.getSecond());
-            } else {
-                // Otherwise return false to attempt the next block
-                return false;
+        final BlockRayCursor<E> cursor = this.cursor;
+        while (true) {
+            final int result = advanceOneBlock();
+            if (result == BlockRayCursor.END) {
+                return;
+            }
+            if (result == BlockRayCursor.HIT && !visitor.visit(cursor.getBlockX(), cursor.getBlockY(), cursor.getBlockZ(), cursor.getX(),
+                    cursor.getY(), cursor.getZ(), cursor.getFace())) {
+                return;
             }
         }
+    }
 
-        // Check the distance limit if in use
-        if (this.distanceLimit >= 0 && this.position.distanceSquared(hit.getPosition()) > this.distanceLimit * this.distanceLimit) {
-            throw new NoSuchElementException("Distance limit reached");
-        }
-
-        // Check the block end filter
-        if (!this.stopFilter.test(hit)) {
-            throw new NoSuchElementException("Filter limit reached");
+    private boolean advance() {
+        int result = advanceOneBlock();
+        while (result == BlockRayCursor.MISS) {
+            result = advanceOneBlock();
         }
-
-        // Check the block skip filter
-        if (!this.skipFilter.test(hit)) {
+        if (result == BlockRayCursor.END) {
             return false;
         }
-
-        this.hit = hit;
-        return true;
-    }
-
-    private void solveIntersections() {
-        if (this.xPlaneT == this.yPlaneT) {
-            if (this.xPlaneT == this.zPlaneT) {
-                // xPlaneT, yPlaneT and zPlaneT are equal
-                xyzIntersect();
-            } else {
-                // xPlaneT and yPlaneT are equal
-                xyIntersect();
-            }
-        } else if (this.xPlaneT == this.zPlaneT) {
-            // xPlaneT and zPlaneT are equal
-            xzIntersect();
-        } else if (this.yPlaneT == this.zPlaneT) {
-            // yPlaneT and zPlaneT are equal
-            yzIntersect();
-        } else if (this.xPlaneT < this.yPlaneT) {
-            if (this.xPlaneT < this.zPlaneT) {
-                // xPlaneT is smallest
-                xIntersect();
-            } else {
-                // zPlaneT is smallest
-                zIntersect();
-            }
-        } else if (this.yPlaneT < this.zPlaneT) {
-            // yPlaneT is smallest
-            yIntersect();
-        } else {
-            // zPlaneT is smallest
-            zIntersect();
+        if (this.hit == null) {
+            // No filter needed the hit yet
+            this.hit = this.cursor.createHit();
         }
+        return true;
     }
 
-    private void xyzIntersect() {
-        this.xCurrent = this.xPlaneNext;
-        this.yCurrent = this.yPlaneNext;
-        this.zCurrent = this.zPlaneNext;
-        this.normalCurrent = getXyzNormal();
-        // Prepare next intersection
-        this.xPlaneNext += this.xPlaneIncrement;
-        this.yPlaneNext += this.yPlaneIncrement;
-        this.zPlaneNext += this.zPlaneIncrement;
-        this.xPlaneT = (this.xPlaneNext - this.position.getX()) / this.direction.getX();
-        this.yPlaneT = (this.yPlaneNext - this.position.getY()) / this.direction.getY();
-        this.zPlaneT = (this.zPlaneNext - this.position.getZ()) / this.direction.getZ();
-    }
-
-    private void xyIntersect() {
-        this.xCurrent = this.xPlaneNext;
-        this.yCurrent = this.yPlaneNext;
-        this.zCurrent = this.direction.getZ() * this.xPlaneT + this.position.getZ();
-        this.normalCurrent = getXyNormal();
-        // Prepare next intersection
-        this.xPlaneNext += this.xPlaneIncrement;
-        this.yPlaneNext += this.yPlaneIncrement;
-        this.xPlaneT = (this.xPlaneNext - this.position.getX()) / this.direction.getX();
-        this.yPlaneT = (this.yPlaneNext - this.position.getY()) / this.direction.getY();
-    }
-
-    private void xzIntersect() {
-        this.xCurrent = this.xPlaneNext;
-        this.yCurrent = this.direction.getY() * this.xPlaneT + this.position.getY();
-        this.zCurrent = this.zPlaneNext;
-        this.normalCurrent = getXzNormal();
-        // Prepare next intersection
-        this.xPlaneNext += this.xPlaneIncrement;
-        this.zPlaneNext += this.zPlaneIncrement;
-        this.xPlaneT = (this.xPlaneNext - this.position.getX()) / this.direction.getX();
-        this.zPlaneT = (this.zPlaneNext - this.position.getZ()) / this.direction.getZ();
-    }
-
-    private void yzIntersect() {
-        this.xCurrent = this.direction.getX() * this.yPlaneT + this.position.getX();
-        this.yCurrent = this.yPlaneNext;
-        this.zCurrent = this.zPlaneNext;
-        this.normalCurrent = getYzNormal();
-        // Prepare next intersection
-        this.yPlaneNext += this.yPlaneIncrement;
-        this.zPlaneNext += this.zPlaneIncrement;
-        this.yPlaneT = (this.yPlaneNext - this.position.getY()) / this.direction.getY();
-        this.zPlaneT = (this.zPlaneNext - this.position.getZ()) / this.direction.getZ();
-    }
-
-    private void xIntersect() {
-        this.xCurrent = this.xPlaneNext;
-        this.yCurrent = this.direction.getY() * this.xPlaneT + this.position.getY();
-        this.zCurrent = this.direction.getZ() * this.xPlaneT + this.position.getZ();
-        this.normalCurrent = this.xNormal;
-        // Prepare next intersection
-        this.xPlaneNext += this.xPlaneIncrement;
-        this.xPlaneT = (this.xPlaneNext - this.position.getX()) / this.direction.getX();
-    }
-
-    private void yIntersect() {
-        this.xCurrent = this.direction.getX() * this.yPlaneT + this.position.getX();
-        this.yCurrent = this.yPlaneNext;
-        this.zCurrent = this.direction.getZ() * this.yPlaneT + this.position.getZ();
-        this.normalCurrent = this.yNormal;
-        // Prepare next intersection
-        this.yPlaneNext += this.yPlaneIncrement;
-        this.yPlaneT = (this.yPlaneNext - this.position.getY()) / this.direction.getY();
-    }
-
-    private void zIntersect() {
-        this.xCurrent = this.direction.getX() * this.zPlaneT + this.position.getX();
-        this.yCurrent = this.direction.getY() * this.zPlaneT + this.position.getY();
-        this.zCurrent = this.zPlaneNext;
-        this.normalCurrent = this.zNormal;
-        // Prepare next intersection
-        this.zPlaneNext += this.zPlaneIncrement;
-        this.zPlaneT = (this.zPlaneNext - this.position.getZ()) / this.direction.getZ();
-    }
-
-    private Vector3d getXyzNormal() {
-        if (this.xyzNormal == null) {
-            this.xyzNormal = this.xNormal.add(this.yNormal).add(this.zNormal).normalize();
+    /**
+     * Moves the ray into the next block and applies the filters.
+     *
+     * @return {@link BlockRayCursor#END} if the ray ended,
+     *     {@link BlockRayCursor#HIT} if the block was accepted or
+     *     {@link BlockRayCursor#MISS} otherwise
+     */
+    private int advanceOneBlock() {
+        final BlockRayCursor<E> cursor = this.cursor;
+        this.hit = null;
+        final int result = cursor.advance();
+        if (result != BlockRayCursor.HIT) {
+            return result;
         }
-        return this.xyzNormal;
-    }
 
-    private Vector3d getXyNormal() {
-        if (this.xyNormal == null) {
-            this.xyNormal = this.xNormal.add(this.yNormal).normalize();
+        // Check the ending location
+        if (this.targeted && cursor.getBlockX() == this.xTarget && cursor.getBlockY() == this.yTarget && cursor.getBlockZ() == this.zTarget) {
+            return BlockRayCursor.END;
         }
-        return this.xyNormal;
-    }
 
-    private Vector3d getXzNormal() {
-        if (this.xzNormal == null) {
-            this.xzNormal = this.xNormal.add(this.zNormal).normalize();
+        if (this.filtered) {
+            final BlockRayHit<E> hit = cursor.createHit();
+            this.hit = hit;
+            // Check the block end filter
+            if (!this.stopFilter.test(hit)) {
+                return BlockRayCursor.END;
+            }
+            // Check the block skip filter
+            if (!this.skipFilter.test(hit)) {
+                return BlockRayCursor.MISS;
+            }
         }
-        return this.xzNormal;
+        return BlockRayCursor.HIT;
     }
 
-    private Vector3d getYzNormal() {
-        if (this.yzNormal == null) {
-            this.yzNormal = this.yNormal.add(this.zNormal).normalize();
+    /**
+     * Traces a batch of rays in the given extent and passes every block they
+     * intersect to the given visitor, until either a ray ends or the visitor
+     * returns false for it. The rays are traced one after another, reusing
+     * the same traversal state.
+     *
+     * @param extent The extent in which to trace the rays
+     * @param starts The starting positions of the rays
+     * @param directions The directions of the rays, in the same order as the
+     *     starting positions
+     * @param distanceLimit The maximum distance of each ray, or a negative
+     *     value for no limit
+     * @param narrowPhase Whether or not to perform narrow phase
+     *     intersections
+     * @param visitor The visitor
+     * @param <E> The extent to be applied in
+     * @see BlockRayBuilder#distanceLimit(double)
+     * @see BlockRayBuilder#narrowPhase(boolean)
+     */
+    public static <E extends Extent> void visitAll(E extent, Vector3d[] starts, Vector3d[] directions, double distanceLimit,
+            boolean narrowPhase, BlockRayVisitor.Indexed visitor) {
+        checkNotNull(extent, "extent");
+        checkNotNull(starts, "starts");
+        checkNotNull(directions, "directions");
+        checkNotNull(visitor, "visitor");
+        checkArgument(starts.length == directions.length, "There must be as many starts as directions");
+        final BlockRayCursor<E> cursor = new BlockRayCursor<>(extent, narrowPhase, distanceLimit);
+        for (int i = 0; i < starts.length; i++) {
+            final Vector3d direction = checkNotNull(directions[i], "direction");
+            checkArgument(direction.lengthSquared() != 0, "Direction cannot be the zero vector");
+            cursor.start(checkNotNull(starts[i], "start"), direction.normalize());
+            int result;
+            while ((result = cursor.advance()) != BlockRayCursor.END) {
+                if (result == BlockRayCursor.HIT && !visitor.visit(i, cursor.getBlockX(), cursor.getBlockY(), cursor.getBlockZ(), cursor.getX(),
+                        cursor.getY(), cursor.getZ(), cursor.getFace())) {
+                    break;
+                }
+            }
         }
-        return this.yzNormal;
     }
 
     /**
@@ -564,6 +366,7 @@ public static BlockRayBuilder<World> from(Entity entity) {
         private Predicate<BlockRayHit<E>> skipFilter = allFilter();
         private Predicate<BlockRayHit<E>> stopFilter = allFilter();
         private Vector3d direction = null;
+        @Nullable private Vector3i target;
         private double distanceLimit = DEFAULT_DISTANCE_LIMIT;
         private boolean narrowPhase = true;
 
@@ -666,7 +469,8 @@ public BlockRayBuilder<E> to(Vector3d end) {
             checkNotNull(end, "end");
             checkArgument(!this.position.equals(end), "Start and end cannot be equal");
             this.direction = end.sub(this.position).normalize();
-            return stopFilter(new TargetBlockFilter<>(end));
+            this.target = end.toInt();
+            return this;
         }
 
         /**
@@ -730,7 +534,8 @@ public Vector3d position() {
          */
         public BlockRay<E> build() {
             checkState(this.direction != null, "Either end point or direction needs to be set");
-            return new BlockRay<>(this.skipFilter, this.stopFilter, this.extent, this.position, this.direction, this.narrowPhase, this.distanceLimit);
+            return new BlockRay<>(this.skipFilter, this.stopFilter, this.target, this.extent, this.position, this.direction, this.narrowPhase,
+                    this.distanceLimit);
         }
 
         @Override
@@ -749,6 +554,17 @@ public Iterator<BlockRayHit<E>> iterator() {
         public Optional<BlockRayHit<E>> end() {
             return build().end();
         }
+
+        /**
+         * Traces the built block ray and passes every block to the visitor.
+         *
+         * @param visitor The visitor
+         * @see #build()
+         * @see BlockRay#visit(BlockRayVisitor)
+         */
+        public void visit(BlockRayVisitor visitor) {
+            build().visit(visitor);
+        }
     }
 
     /**
@@ -826,20 +642,4 @@ public boolean test(BlockRayHit<E> lastHit) {
 
     }
 
-    private static class TargetBlockFilter<E extends Extent> implements Predicate<BlockRayHit<E>> {
-
-        private final Vector3i target;
-
-        TargetBlockFilter(Vector3d target) {
-            this.target = target.toInt();
-        }
-
-        @Override
-        public boolean test(BlockRayHit<E> lastHit) {
-            return lastHit.getBlockX() != this.target.getX() || lastHit.getBlockY() != this.target.getY()
-                || lastHit.getBlockZ() != this.target.getZ();
-        }
-
-    }
-
 }
@@ -0,0 +1,391 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.blockray;
+
+import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector3d;
+import org.spongepowered.api.data.property.block.FullBlockSelectionBoxProperty;
+import org.spongepowered.api.util.Direction;
+import org.spongepowered.api.util.Tuple;
+import org.spongepowered.api.world.extent.Extent;
+
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * The mutable traversal state of a ray, which can be reused for any number of
+ * rays in the same extent. Hits are exposed as primitive values.
+ *
+ * @param <E> The extent in which the rays are cast
+ */
+final class BlockRayCursor<E extends Extent> {
+
+    /**
+     * The ray left the extent or exceeded the distance limit.
+     */
+    static final int END = 0;
+    /**
+     * The ray passed through a block without touching its selection box.
+     */
+    static final int MISS = 1;
+    /**
+     * The ray hit a block.
+     */
+    static final int HIT = 2;
+
+    private static final int X_AXIS = 1;
+    private static final int Y_AXIS = 2;
+    private static final int Z_AXIS = 4;
+
+    // The normals of every face, edge and corner, see normalIndex
+    private static final Vector3d[] NORMALS = new Vector3d[27];
+
+    static {
+        final Vector3d[] xNormals = {Vector3d.UNIT_X.negate(), Vector3d.ZERO, Vector3d.UNIT_X};
+        final Vector3d[] yNormals = {Vector3d.UNIT_Y.negate(), Vector3d.ZERO, Vector3d.UNIT_Y};
+        final Vector3d[] zNormals = {Vector3d.UNIT_Z.negate(), Vector3d.ZERO, Vector3d.UNIT_Z};
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                for (int z = -1; z <= 1; z++) {
+                    final int axes = (x != 0 ? 1 : 0) + (y != 0 ? 1 : 0) + (z != 0 ? 1 : 0);
+                    Vector3d normal = axes == 0 ? Vector3d.ZERO : null;
+                    for (Vector3d axisNormal : new Vector3d[] {xNormals[x + 1], yNormals[y + 1], zNormals[z + 1]}) {
+                        if (axisNormal != Vector3d.ZERO) {
+                            normal = normal == null ? axisNormal : normal.add(axisNormal);
+                        }
+                    }
+                    // Edges and corners use the average of the surrounding faces
+                    NORMALS[normalIndex(x, y, z)] = axes > 1 ? normal.normalize() : normal;
+                }
+            }
+        }
+    }
+
+    private static int normalIndex(int x, int y, int z) {
+        return (x + 1) * 9 + (y + 1) * 3 + z + 1;
+    }
+
+    /**
+     * Gets the coordinate of the block containing the given coordinate,
+     * taking into account the face through which it was entered.
+     */
+    static int toBlock(double coordinate, double normal) {
+        if (coordinate % 1 == 0 && normal > 0) {
+            return (int) coordinate - 1;
+        }
+        return GenericMath.floor(coordinate);
+    }
+
+    private final E extent;
+    private final boolean narrowPhase;
+    private final double distanceLimit;
+    // Starting position and direction of the ray
+    private Vector3d position = Vector3d.ZERO;
+    private Vector3d direction = Vector3d.UNIT_X;
+    private double xPosition;
+    private double yPosition;
+    private double zPosition;
+    private double xDirection;
+    private double yDirection;
+    private double zDirection;
+    // The plane increments for the direction, the normals are the opposite
+    private int xPlaneIncrement;
+    private int yPlaneIncrement;
+    private int zPlaneIncrement;
+    // The current coordinates
+    private double xCurrent;
+    private double yCurrent;
+    private double zCurrent;
+    // The axes of the passed face, edge or corner
+    private int axesCurrent;
+    // The normal of the selection box face if the narrow phase was used
+    @Nullable private Vector3d narrowNormal;
+    // The current block
+    private int xBlock;
+    private int yBlock;
+    private int zBlock;
+    // The next plane values
+    private int xPlaneNext;
+    private int yPlaneNext;
+    private int zPlaneNext;
+    // The solutions for the nearest plane intersections
+    private double xPlaneT;
+    private double yPlaneT;
+    private double zPlaneT;
+
+    BlockRayCursor(E extent, boolean narrowPhase, double distanceLimit) {
+        this.extent = extent;
+        this.narrowPhase = narrowPhase;
+        this.distanceLimit = distanceLimit;
+    }
+
+    /**
+     * Starts a new ray, the direction must be normalized.
+     */
+    void start(Vector3d position, Vector3d direction) {
+        this.position = position;
+        this.direction = direction;
+        this.xPosition = position.getX();
+        this.yPosition = position.getY();
+        this.zPosition = position.getZ();
+        this.xDirection = direction.getX();
+        this.yDirection = direction.getY();
+        this.zDirection = direction.getZ();
+
+        // Figure out the direction of the ray for each axis
+        this.xPlaneIncrement = this.xDirection >= 0 ? 1 : -1;
+        this.yPlaneIncrement = this.yDirection >= 0 ? 1 : -1;
+        this.zPlaneIncrement = this.zDirection >= 0 ? 1 : -1;
+
+        // Start at the position
+        this.xCurrent = this.xPosition;
+        this.yCurrent = this.yPosition;
+        this.zCurrent = this.zPosition;
+
+        // First planes are for the block that contains the coordinates
+        this.xPlaneNext = GenericMath.floor(this.xCurrent);
+        // noinspection SuspiciousNameCombination
+        this.yPlaneNext = GenericMath.floor(this.yCurrent);
+        this.zPlaneNext = GenericMath.floor(this.zCurrent);
+
+        // Correct the next planes for the direction when inside the block
+        if (this.xCurrent - this.xPlaneNext != 0 && this.xDirection >= 0) {
+            this.xPlaneNext++;
+        }
+        if (this.yCurrent - this.yPlaneNext != 0 && this.yDirection >= 0) {
+            this.yPlaneNext++;
+        }
+        if (this.zCurrent - this.zPlaneNext != 0 && this.zDirection >= 0) {
+            this.zPlaneNext++;
+        }
+
+        // Compute the first intersection solutions for each plane
+        this.xPlaneT = (this.xPlaneNext - this.xPosition) / this.xDirection;
+        this.yPlaneT = (this.yPlaneNext - this.yPosition) / this.yDirection;
+        this.zPlaneT = (this.zPlaneNext - this.zPosition) / this.zDirection;
+
+        // We start in the block, no plane has been entered yet
+        this.axesCurrent = 0;
+        this.narrowNormal = null;
+    }
+
+    /**
+     * Moves the ray into the next block.
+     *
+     * @return {@link #END}, {@link #MISS} or {@link #HIT}
+     */
+    int advance() {
+        /*
+            The ray can be modeled using the following parametric equations:
+                x = d_x * t + p_x
+                y = d_y * t + p_y
+                z = d_z * t + p_z
+            Where d is the direction vector, p the starting point and t is in |R.
+
+            The block boundary grid can be modeled as an infinity of perpendicular planes
+            on the x, y and z axes, on integer coordinates, spaced 1 unit away.
+
+            Such a plane has an equation:
+                A = n
+            Where A is the axis label and n is in |Z
+
+            The solution of the intersection between the above ray and such a plane is:
+                n = d_A * t_s + p_A
+                t_s = (n - p_A) / d_A
+
+                x_s = d_x * t_s + p_x
+                y_s = d_y * t_s + p_y
+                z_s = d_z * t_s + p_z
+
+            Where t_s is the solution parameter and x_s, y_s, z_s are the intersection coordinates.
+            A small optimization is that A_s = n, which also helps with rounding errors.
+
+            The cursor solves these equations and provides the solutions in increasing order with respect to t_s.
+        */
+
+        solveIntersections();
+
+        // Take into account the face through which we entered
+        // so we know which block is the correct one
+        this.narrowNormal = null;
+        this.xBlock = (this.axesCurrent & X_AXIS) != 0 && this.xPlaneIncrement < 0 ? (int) this.xCurrent - 1 : GenericMath.floor(this.xCurrent);
+        this.yBlock = (this.axesCurrent & Y_AXIS) != 0 && this.yPlaneIncrement < 0 ? (int) this.yCurrent - 1 : GenericMath.floor(this.yCurrent);
+        this.zBlock = (this.axesCurrent & Z_AXIS) != 0 && this.zPlaneIncrement < 0 ? (int) this.zCurrent - 1 : GenericMath.floor(this.zCurrent);
+
+        // Make sure we actually have a block
+        if (!this.extent.containsBlock(this.xBlock, this.yBlock, this.zBlock)) {
+            return END;
+        }
+
+        // Now if using the narrow phase, test on small selection boxes, if needed
+        if (this.narrowPhase && !this.extent.getProperty(this.xBlock, this.yBlock, this.zBlock, FullBlockSelectionBoxProperty.class)
+                .map(FullBlockSelectionBoxProperty::getValue).orElse(true)) {
+            // Get the selection box and perform the narrow phase intersection test
+            final Optional<Tuple<Vector3d, Vector3d>> intersection = this.extent.getBlockSelectionBox(this.xBlock, this.yBlock, this.zBlock)
+                    .flatMap(aabb -> aabb.intersects(this.position, this.direction));
+            if (!intersection.isPresent()) {
+                // Otherwise attempt the next block
+                return MISS;
+            }
+            // Move to the narrow hit
+            final Tuple<Vector3d, Vector3d> pair = intersection.get();
+            final Vector3d narrowHit = pair.getFirst();
+            this.narrowNormal = pair.getSecond();
+            this.xCurrent = narrowHit.getX();
+            this.yCurrent = narrowHit.getY();
+            this.zCurrent = narrowHit.getZ();
+            this.xBlock = toBlock(this.xCurrent, this.narrowNormal.getX());
+            this.yBlock = toBlock(this.yCurrent, this.narrowNormal.getY());
+            this.zBlock = toBlock(this.zCurrent, this.narrowNormal.getZ());
+        }
+
+        // Check the distance limit if in use
+        if (this.distanceLimit >= 0) {
+            final double x = this.xCurrent - this.xPosition;
+            final double y = this.yCurrent - this.yPosition;
+            final double z = this.zCurrent - this.zPosition;
+            if (x * x + y * y + z * z > this.distanceLimit * this.distanceLimit) {
+                return END;
+            }
+        }
+        return HIT;
+    }
+
+    private void solveIntersections() {
+        // Only planes which aren't parallel to the ray are ever intersected
+        final boolean x = this.xDirection != 0;
+        final boolean y = this.yDirection != 0;
+        final boolean z = this.zDirection != 0;
+        double t = Double.POSITIVE_INFINITY;
+        if (x) {
+            t = this.xPlaneT;
+        }
+        if (y && this.yPlaneT < t) {
+            t = this.yPlaneT;
+        }
+        if (z && this.zPlaneT < t) {
+            t = this.zPlaneT;
+        }
+        // Planes intersected at the same time form an edge or corner
+        intersect((x && this.xPlaneT == t ? X_AXIS : 0) | (y && this.yPlaneT == t ? Y_AXIS : 0) | (z && this.zPlaneT == t ? Z_AXIS : 0), t);
+    }
+
+    private void intersect(int axes, double t) {
+        if ((axes & X_AXIS) != 0) {
+            this.xCurrent = this.xPlaneNext;
+            // Prepare next intersection
+            this.xPlaneNext += this.xPlaneIncrement;
+            this.xPlaneT = (this.xPlaneNext - this.xPosition) / this.xDirection;
+        } else {
+            this.xCurrent = this.xDirection * t + this.xPosition;
+        }
+        if ((axes & Y_AXIS) != 0) {
+            this.yCurrent = this.yPlaneNext;
+            this.yPlaneNext += this.yPlaneIncrement;
+            this.yPlaneT = (this.yPlaneNext - this.yPosition) / this.yDirection;
+        } else {
+            this.yCurrent = this.yDirection * t + this.yPosition;
+        }
+        if ((axes & Z_AXIS) != 0) {
+            this.zCurrent = this.zPlaneNext;
+            this.zPlaneNext += this.zPlaneIncrement;
+            this.zPlaneT = (this.zPlaneNext - this.zPosition) / this.zDirection;
+        } else {
+            this.zCurrent = this.zDirection * t + this.zPosition;
+        }
+        this.axesCurrent = axes;
+    }
+
+    int getBlockX() {
+        return this.xBlock;
+    }
+
+    int getBlockY() {
+        return this.yBlock;
+    }
+
+    int getBlockZ() {
+        return this.zBlock;
+    }
+
+    double getX() {
+        return this.xCurrent;
+    }
+
+    double getY() {
+        return this.yCurrent;
+    }
+
+    double getZ() {
+        return this.zCurrent;
+    }
+
+    /**
+     * Gets the normal of the entered face, edge or corner.
+     */
+    Vector3d getNormal() {
+        if (this.narrowNormal != null) {
+            return this.narrowNormal;
+        }
+        return NORMALS[normalIndex((this.axesCurrent & X_AXIS) != 0 ? -this.xPlaneIncrement : 0,
+                (this.axesCurrent & Y_AXIS) != 0 ? -this.yPlaneIncrement : 0, (this.axesCurrent & Z_AXIS) != 0 ? -this.zPlaneIncrement : 0)];
+    }
+
+    /**
+     * Gets the entered face, for edges and corners the one on the axis along
+     * which the ray travels the most.
+     */
+    Direction getFace() {
+        if (this.narrowNormal != null) {
+            return Direction.getClosest(this.narrowNormal, Direction.Division.CARDINAL);
+        }
+        int axis = this.axesCurrent;
+        if (Integer.bitCount(axis) > 1) {
+            final double x = (axis & X_AXIS) != 0 ? Math.abs(this.xDirection) : -1;
+            final double y = (axis & Y_AXIS) != 0 ? Math.abs(this.yDirection) : -1;
+            final double z = (axis & Z_AXIS) != 0 ? Math.abs(this.zDirection) : -1;
+            axis = x >= y && x >= z ? X_AXIS : y >= z ? Y_AXIS : Z_AXIS;
+        }
+        switch (axis) {
+            case X_AXIS:
+                return this.xPlaneIncrement > 0 ? Direction.WEST : Direction.EAST;
+            case Y_AXIS:
+                return this.yPlaneIncrement > 0 ? Direction.DOWN : Direction.UP;
+            case Z_AXIS:
+                return this.zPlaneIncrement > 0 ? Direction.NORTH : Direction.SOUTH;
+            default:
+                return Direction.NONE;
+        }
+    }
+
+    /**
+     * Creates a hit for the current block.
+     */
+    BlockRayHit<E> createHit() {
+        return new BlockRayHit<>(this.extent, this.xCurrent, this.yCurrent, this.zCurrent, this.direction, getNormal());
+    }
+
+}
@@ -24,7 +24,6 @@
  */
 package org.spongepowered.api.util.blockray;
 
-import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.util.Direction;
@@ -75,22 +74,9 @@ public BlockRayHit(E extent, double x, double y, double z, Vector3d direction, V
         this.normal = normal;
         // Take into account the face through which we entered
         // so we know which block is the correct one
-        if (x % 1 == 0 && normal.getX() > 0) {
-            this.xBlock = (int) x - 1;
-        } else {
-            this.xBlock = GenericMath.floor(x);
-        }
-        if (y % 1 == 0 && normal.getY() > 0) {
-            this.yBlock = (int) y - 1;
-        } else {
-            //noinspection SuspiciousNameCombination
-            this.yBlock = GenericMath.floor(y);
-        }
-        if (z % 1 == 0 && normal.getZ() > 0) {
-            this.zBlock = (int) z - 1;
-        } else {
-            this.zBlock = GenericMath.floor(z);
-        }
+        this.xBlock = BlockRayCursor.toBlock(x, normal.getX());
+        this.yBlock = BlockRayCursor.toBlock(y, normal.getY());
+        this.zBlock = BlockRayCursor.toBlock(z, normal.getZ());
     }
 
     /**
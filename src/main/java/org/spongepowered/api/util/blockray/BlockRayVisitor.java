@@ -0,0 +1,85 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.blockray;
+
+import org.spongepowered.api.util.Direction;
+
+/**
+ * Receives the blocks intersected by a {@link BlockRay} as primitive values,
+ * avoiding the creation of a {@link BlockRayHit} for every block.
+ *
+ * @see BlockRay#visit(BlockRayVisitor)
+ */
+@FunctionalInterface
+public interface BlockRayVisitor {
+
+    /**
+     * Visits a block intersected by the ray.
+     *
+     * <p>The face is the one through which the block was entered. If the
+     * ray enters through an edge or corner, this is the face on the axis
+     * along which the ray travels the most.</p>
+     *
+     * @param blockX The x coordinate of the block
+     * @param blockY The y coordinate of the block
+     * @param blockZ The z coordinate of the block
+     * @param x The x coordinate of the intersection
+     * @param y The y coordinate of the intersection
+     * @param z The z coordinate of the intersection
+     * @param face The entered face
+     * @return True to continue the ray, false to stop it
+     */
+    boolean visit(int blockX, int blockY, int blockZ, double x, double y, double z, Direction face);
+
+    /**
+     * Receives the blocks intersected by each ray of a batch.
+     *
+     * @see BlockRay#visitAll(org.spongepowered.api.world.extent.Extent,
+     *     com.flowpowered.math.vector.Vector3d[],
+     *     com.flowpowered.math.vector.Vector3d[], double, boolean, Indexed)
+     */
+    @FunctionalInterface
+    interface Indexed {
+
+        /**
+         * Visits a block intersected by a ray of the batch.
+         *
+         * @param ray The index of the ray in the batch
+         * @param blockX The x coordinate of the block
+         * @param blockY The y coordinate of the block
+         * @param blockZ The z coordinate of the block
+         * @param x The x coordinate of the intersection
+         * @param y The y coordinate of the intersection
+         * @param z The z coordinate of the intersection
+         * @param face The entered face
+         * @return True to continue the ray, false to stop it
+         * @see BlockRayVisitor#visit(int, int, int, double, double, double,
+         *     Direction)
+         */
+        boolean visit(int ray, int blockX, int blockY, int blockZ, double x, double y, double z, Direction face);
+
+    }
+
+}
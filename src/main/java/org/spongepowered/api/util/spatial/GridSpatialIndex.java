@@ -0,0 +1,475 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.spatial;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.util.AABB;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * A {@link MutableSpatialIndex} backed by a sparse uniform grid.
+ *
+ * <p>Every element is stored in each cell its bounding box overlaps, so box
+ * and radius queries only look at the cells covering the query, and nearest
+ * neighbour queries search rings of cells outwards from the point until no
+ * closer element can remain. Moving an element within the same cells only
+ * updates its bounds. Elements spanning too many cells are kept in a
+ * separate list which every query checks.</p>
+ *
+ * <p>The cell size should be close to the size of the typical query: about
+ * 16 blocks suits entity queries. Cell coordinates are clamped to a large
+ * but finite range, elements beyond it share the outermost cells.</p>
+ *
+ * <p>This index is not safe for concurrent use.</p>
+ *
+ * @param <T> The type of the indexed elements
+ */
+public final class GridSpatialIndex<T> implements MutableSpatialIndex<T> {
+
+    private static final double DEFAULT_CELL_SIZE = 16;
+    private static final int MAX_CELLS_PER_ELEMENT = 64;
+    // Cell keys pack x and z in 26 bits each and y in 12 bits
+    private static final int XZ_MIN = -(1 << 25);
+    private static final int XZ_MAX = (1 << 25) - 1;
+    private static final int Y_MIN = -(1 << 11);
+    private static final int Y_MAX = (1 << 11) - 1;
+
+    private final double cellSize;
+    private final double inverseCellSize;
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final List<Entry<T>> oversized = new ArrayList<>();
+    private int stamp;
+
+    /**
+     * Constructs a new empty index with a cell size of 16.
+     */
+    public GridSpatialIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs a new empty index with the given cell size.
+     *
+     * @param cellSize The length of the sides of the cells
+     */
+    public GridSpatialIndex(double cellSize) {
+        checkArgument(cellSize > 0 && !Double.isInfinite(cellSize), "cellSize must be positive and finite");
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1 / cellSize;
+    }
+
+    /**
+     * Gets the length of the sides of the cells of this index.
+     *
+     * @return The cell size
+     */
+    public double getCellSize() {
+        return this.cellSize;
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public boolean contains(T element) {
+        checkNotNull(element, "element");
+        return this.entries.containsKey(element);
+    }
+
+    @Override
+    public Optional<AABB> getBounds(T element) {
+        checkNotNull(element, "element");
+        final Entry<T> entry = this.entries.get(element);
+        return entry == null ? Optional.empty() : Optional.of(entry.bounds);
+    }
+
+    @Override
+    public void put(T element, AABB bounds) {
+        checkNotNull(element, "element");
+        checkNotNull(bounds, "bounds");
+        final int cellMinX = cellHorizontal(bounds.getMin().getX());
+        final int cellMinY = cellVertical(bounds.getMin().getY());
+        final int cellMinZ = cellHorizontal(bounds.getMin().getZ());
+        final int cellMaxX = cellHorizontal(bounds.getMax().getX());
+        final int cellMaxY = cellVertical(bounds.getMax().getY());
+        final int cellMaxZ = cellHorizontal(bounds.getMax().getZ());
+        Entry<T> entry = this.entries.get(element);
+        if (entry == null) {
+            entry = new Entry<>(element);
+            this.entries.put(element, entry);
+        } else if (entry.cellMinX == cellMinX && entry.cellMinY == cellMinY && entry.cellMinZ == cellMinZ
+                && entry.cellMaxX == cellMaxX && entry.cellMaxY == cellMaxY && entry.cellMaxZ == cellMaxZ) {
+            // Still in the same cells, only the bounds changed
+            entry.setBounds(bounds);
+            return;
+        } else {
+            unlink(entry);
+        }
+        entry.setBounds(bounds);
+        entry.cellMinX = cellMinX;
+        entry.cellMinY = cellMinY;
+        entry.cellMinZ = cellMinZ;
+        entry.cellMaxX = cellMaxX;
+        entry.cellMaxY = cellMaxY;
+        entry.cellMaxZ = cellMaxZ;
+        link(entry);
+    }
+
+    @Override
+    public boolean remove(T element) {
+        checkNotNull(element, "element");
+        final Entry<T> entry = this.entries.remove(element);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.entries.clear();
+        this.cells.clear();
+        this.oversized.clear();
+    }
+
+    private void link(Entry<T> entry) {
+        final long cellCount = (long) (entry.cellMaxX - entry.cellMinX + 1) * (entry.cellMaxY - entry.cellMinY + 1)
+                * (entry.cellMaxZ - entry.cellMinZ + 1);
+        entry.oversized = cellCount > MAX_CELLS_PER_ELEMENT;
+        if (entry.oversized) {
+            this.oversized.add(entry);
+            return;
+        }
+        for (int x = entry.cellMinX; x <= entry.cellMaxX; x++) {
+            for (int y = entry.cellMinY; y <= entry.cellMaxY; y++) {
+                for (int z = entry.cellMinZ; z <= entry.cellMaxZ; z++) {
+                    this.cells.computeIfAbsent(key(x, y, z), key -> new ArrayList<>(4)).add(entry);
+                }
+            }
+        }
+    }
+
+    private void unlink(Entry<T> entry) {
+        if (entry.oversized) {
+            removeFrom(this.oversized, entry);
+            return;
+        }
+        for (int x = entry.cellMinX; x <= entry.cellMaxX; x++) {
+            for (int y = entry.cellMinY; y <= entry.cellMaxY; y++) {
+                for (int z = entry.cellMinZ; z <= entry.cellMaxZ; z++) {
+                    final Long key = key(x, y, z);
+                    final List<Entry<T>> cell = this.cells.get(key);
+                    removeFrom(cell, entry);
+                    if (cell.isEmpty()) {
+                        this.cells.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private static <T> void removeFrom(List<Entry<T>> list, Entry<T> entry) {
+        // The order doesn't matter, so swap with the last entry instead of shifting
+        final int last = list.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            if (list.get(i) == entry) {
+                list.set(i, list.get(last));
+                list.remove(last);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void forEachIntersecting(AABB box, Consumer<? super T> consumer) {
+        checkNotNull(box, "box");
+        checkNotNull(consumer, "consumer");
+        final double minX = box.getMin().getX();
+        final double minY = box.getMin().getY();
+        final double minZ = box.getMin().getZ();
+        final double maxX = box.getMax().getX();
+        final double maxY = box.getMax().getY();
+        final double maxZ = box.getMax().getZ();
+        final int cellMinX = cellHorizontal(minX);
+        final int cellMinY = cellVertical(minY);
+        final int cellMinZ = cellHorizontal(minZ);
+        final int cellMaxX = cellHorizontal(maxX);
+        final int cellMaxY = cellVertical(maxY);
+        final int cellMaxZ = cellHorizontal(maxZ);
+        final long cellCount = (long) (cellMaxX - cellMinX + 1) * (cellMaxY - cellMinY + 1) * (cellMaxZ - cellMinZ + 1);
+        if (cellCount > this.entries.size()) {
+            // Looking up every cell would cost more than testing every element
+            for (Entry<T> entry : this.entries.values()) {
+                if (entry.intersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+                    consumer.accept(entry.element);
+                }
+            }
+            return;
+        }
+        for (Entry<T> entry : this.oversized) {
+            if (entry.intersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+                consumer.accept(entry.element);
+            }
+        }
+        final int stamp = nextStamp();
+        for (int x = cellMinX; x <= cellMaxX; x++) {
+            for (int y = cellMinY; y <= cellMaxY; y++) {
+                for (int z = cellMinZ; z <= cellMaxZ; z++) {
+                    final List<Entry<T>> cell = this.cells.get(key(x, y, z));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size(); i++) {
+                        final Entry<T> entry = cell.get(i);
+                        // Elements spanning several cells must only be reported once
+                        if (entry.stamp != stamp) {
+                            entry.stamp = stamp;
+                            if (entry.intersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+                                consumer.accept(entry.element);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<T> getNearest(Vector3d point, int count) {
+        checkNotNull(point, "point");
+        checkArgument(count >= 0, "count must not be negative");
+        if (count == 0 || this.entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final double px = point.getX();
+        final double py = point.getY();
+        final double pz = point.getZ();
+        if (count >= this.entries.size()) {
+            final List<Entry<T>> all = new ArrayList<>(this.entries.values());
+            for (Entry<T> entry : all) {
+                entry.distance = entry.distanceSquared(px, py, pz);
+            }
+            all.sort(Entry.BY_DISTANCE);
+            final List<T> result = new ArrayList<>(all.size());
+            for (Entry<T> entry : all) {
+                result.add(entry.element);
+            }
+            return result;
+        }
+        // Keeps the closest entries found so far, the furthest one at the head
+        final PriorityQueue<Entry<T>> nearest = new PriorityQueue<>(count + 1, Entry.BY_DISTANCE.reversed());
+        final int stamp = nextStamp();
+        int seen = 0;
+        for (Entry<T> entry : this.oversized) {
+            entry.stamp = stamp;
+            seen++;
+            offer(nearest, count, entry, px, py, pz);
+        }
+        final int cx = cellHorizontal(px);
+        final int cy = cellVertical(py);
+        final int cz = cellHorizontal(pz);
+        for (int r = 0; seen < this.entries.size(); r++) {
+            final long shellCells = 24L * r * r + 2;
+            if (shellCells > this.entries.size() - seen) {
+                // The rings have grown larger than what is left to find
+                for (Entry<T> entry : this.entries.values()) {
+                    if (entry.stamp != stamp) {
+                        offer(nearest, count, entry, px, py, pz);
+                    }
+                }
+                break;
+            }
+            final int x0 = Math.max(cx - r, XZ_MIN);
+            final int x1 = Math.min(cx + r, XZ_MAX);
+            final int y0 = Math.max(cy - r, Y_MIN);
+            final int y1 = Math.min(cy + r, Y_MAX);
+            for (int x = x0; x <= x1; x++) {
+                for (int y = y0; y <= y1; y++) {
+                    final boolean onShell = x == cx - r || x == cx + r || y == cy - r || y == cy + r;
+                    final int z0 = cz - r;
+                    final int z1 = cz + r;
+                    // Only the near and far faces of the ring when inside the shell on x and y
+                    final int step = onShell || r == 0 ? 1 : z1 - z0;
+                    for (int z = z0; z <= z1; z += step) {
+                        if (z < XZ_MIN || z > XZ_MAX) {
+                            continue;
+                        }
+                        final List<Entry<T>> cell = this.cells.get(key(x, y, z));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (int i = 0; i < cell.size(); i++) {
+                            final Entry<T> entry = cell.get(i);
+                            if (entry.stamp != stamp) {
+                                entry.stamp = stamp;
+                                seen++;
+                                offer(nearest, count, entry, px, py, pz);
+                            }
+                        }
+                    }
+                }
+            }
+            if (nearest.size() == count) {
+                // Anything not found yet is outside the searched cells
+                final double bound = Math.min(searchedDistance(px, cx, r, XZ_MIN, XZ_MAX),
+                        Math.min(searchedDistance(py, cy, r, Y_MIN, Y_MAX), searchedDistance(pz, cz, r, XZ_MIN, XZ_MAX)));
+                if (nearest.peek().distance <= bound * bound) {
+                    break;
+                }
+            }
+        }
+        @SuppressWarnings("unchecked")
+        final T[] sorted = (T[]) new Object[nearest.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = nearest.poll().element;
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    private static <T> void offer(PriorityQueue<Entry<T>> nearest, int count, Entry<T> entry, double px, double py, double pz) {
+        final double distance = entry.distanceSquared(px, py, pz);
+        if (nearest.size() < count) {
+            entry.distance = distance;
+            nearest.add(entry);
+        } else if (distance < nearest.peek().distance) {
+            nearest.poll();
+            entry.distance = distance;
+            nearest.add(entry);
+        }
+    }
+
+    private double searchedDistance(double coordinate, int cell, int r, int min, int max) {
+        // The outermost cells extend infinitely, so nothing lies beyond them
+        final double low = cell - r <= min ? Double.NEGATIVE_INFINITY : (cell - r) * this.cellSize;
+        final double high = cell + r >= max ? Double.POSITIVE_INFINITY : (cell + r + 1) * this.cellSize;
+        return Math.max(0, Math.min(coordinate - low, high - coordinate));
+    }
+
+    private int nextStamp() {
+        if (++this.stamp == 0) {
+            // Wrapped around, forget the old stamps so they can't collide
+            for (Entry<T> entry : this.entries.values()) {
+                entry.stamp = 0;
+            }
+            this.stamp = 1;
+        }
+        return this.stamp;
+    }
+
+    private int cellHorizontal(double coordinate) {
+        return clamp((int) Math.floor(coordinate * this.inverseCellSize), XZ_MIN, XZ_MAX);
+    }
+
+    private int cellVertical(double coordinate) {
+        return clamp((int) Math.floor(coordinate * this.inverseCellSize), Y_MIN, Y_MAX);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return value < min ? min : value > max ? max : value;
+    }
+
+    private static long key(int x, int y, int z) {
+        return (long) (x - XZ_MIN) << 38 | (long) (z - XZ_MIN) << 12 | (y - Y_MIN);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("cellSize", this.cellSize)
+                .add("size", this.entries.size())
+                .add("cells", this.cells.size())
+                .add("oversized", this.oversized.size())
+                .toString();
+    }
+
+    private static final class Entry<T> {
+
+        static final Comparator<Entry<?>> BY_DISTANCE = Comparator.comparingDouble(entry -> entry.distance);
+
+        final T element;
+        AABB bounds;
+        double minX;
+        double minY;
+        double minZ;
+        double maxX;
+        double maxY;
+        double maxZ;
+        int cellMinX;
+        int cellMinY;
+        int cellMinZ;
+        int cellMaxX;
+        int cellMaxY;
+        int cellMaxZ;
+        boolean oversized;
+        int stamp;
+        double distance;
+
+        Entry(T element) {
+            this.element = element;
+        }
+
+        void setBounds(AABB bounds) {
+            this.bounds = bounds;
+            this.minX = bounds.getMin().getX();
+            this.minY = bounds.getMin().getY();
+            this.minZ = bounds.getMin().getZ();
+            this.maxX = bounds.getMax().getX();
+            this.maxY = bounds.getMax().getY();
+            this.maxZ = bounds.getMax().getZ();
+        }
+
+        boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            return this.maxX >= minX && maxX >= this.minX
+                    && this.maxY >= minY && maxY >= this.minY
+                    && this.maxZ >= minZ && maxZ >= this.minZ;
+        }
+
+        double distanceSquared(double x, double y, double z) {
+            final double dx = Math.max(0, Math.max(this.minX - x, x - this.maxX));
+            final double dy = Math.max(0, Math.max(this.minY - y, y - this.maxY));
+            final double dz = Math.max(0, Math.max(this.minZ - z, z - this.maxZ));
+            return dx * dx + dy * dy + dz * dz;
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.spatial;
+
+import org.spongepowered.api.util.AABB;
+
+/**
+ * A {@link SpatialIndex} which can be updated incrementally as elements are
+ * added, moved and removed.
+ *
+ * @param <T> The type of the indexed elements
+ */
+public interface MutableSpatialIndex<T> extends SpatialIndex<T> {
+
+    /**
+     * Adds an element to this index, or updates its bounding box if it
+     * already is indexed. This should be called every time the element
+     * moves or changes size.
+     *
+     * @param element The element
+     * @param bounds The bounding box of the element
+     */
+    void put(T element, AABB bounds);
+
+    /**
+     * Removes an element from this index.
+     *
+     * @param element The element to remove
+     * @return Whether or not the element was indexed
+     */
+    boolean remove(T element);
+
+    /**
+     * Removes all the elements from this index.
+     */
+    void clear();
+
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.spatial;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.spongepowered.api.util.AABB;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A read only view of elements indexed by their bounding boxes, able to
+ * answer box, radius and nearest neighbour queries without looking at every
+ * element.
+ *
+ * @param <T> The type of the indexed elements
+ * @see MutableSpatialIndex
+ */
+public interface SpatialIndex<T> {
+
+    /**
+     * Gets the amount of elements in this index.
+     *
+     * @return The size
+     */
+    int size();
+
+    /**
+     * Checks if the element is in this index.
+     *
+     * @param element The element to check
+     * @return Whether or not the element is indexed
+     */
+    boolean contains(T element);
+
+    /**
+     * Gets the bounding box the element was indexed with.
+     *
+     * @param element The element
+     * @return The bounding box, if the element is indexed
+     */
+    Optional<AABB> getBounds(T element);
+
+    /**
+     * Passes every element whose bounding box intersects the given box to
+     * the consumer, once each and in no particular order.
+     *
+     * <p>The index must not be modified by the consumer.</p>
+     *
+     * @param box The box to test against
+     * @param consumer The consumer of the intersecting elements
+     */
+    void forEachIntersecting(AABB box, Consumer<? super T> consumer);
+
+    /**
+     * Gets every element whose bounding box intersects the given box.
+     *
+     * @param box The box to test against
+     * @return The intersecting elements
+     */
+    default Set<T> getIntersecting(AABB box) {
+        return getIntersecting(box, element -> true);
+    }
+
+    /**
+     * Gets every element whose bounding box intersects the given box and
+     * which matches the filter.
+     *
+     * @param box The box to test against
+     * @param filter The filter to test the elements with
+     * @return The intersecting elements
+     */
+    default Set<T> getIntersecting(AABB box, Predicate<? super T> filter) {
+        checkNotNull(box, "box");
+        checkNotNull(filter, "filter");
+        final Set<T> result = new HashSet<>();
+        forEachIntersecting(box, element -> {
+            if (filter.test(element)) {
+                result.add(element);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gets every element whose bounding box is within the given distance of
+     * a point. Elements whose box contains the point are at distance 0.
+     *
+     * @param point The point to measure from
+     * @param distance The maximum distance
+     * @return The nearby elements
+     */
+    default Set<T> getWithinDistance(Vector3d point, double distance) {
+        checkNotNull(point, "point");
+        checkArgument(distance > 0, "distance must be > 0");
+        final AABB box = new AABB(point.sub(distance, distance, distance), point.add(distance, distance, distance));
+        final double distanceSquared = distance * distance;
+        final Set<T> result = new HashSet<>();
+        forEachIntersecting(box, element -> {
+            if (distanceSquared(getBounds(element).get(), point) <= distanceSquared) {
+                result.add(element);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gets up to {@code count} elements whose bounding boxes are the closest
+     * to a point, ordered from the closest to the furthest. Elements whose
+     * box contains the point are at distance 0, ties are in no particular
+     * order.
+     *
+     * @param point The point to measure from
+     * @param count The maximum amount of elements to return
+     * @return The nearest elements
+     */
+    List<T> getNearest(Vector3d point, int count);
+
+    /**
+     * Gets the squared distance between a point and the closest point of a
+     * box, which is 0 if the box contains the point.
+     *
+     * @param box The box
+     * @param point The point
+     * @return The squared distance
+     */
+    static double distanceSquared(AABB box, Vector3d point) {
+        final Vector3d min = box.getMin();
+        final Vector3d max = box.getMax();
+        final double dx = Math.max(0, Math.max(min.getX() - point.getX(), point.getX() - max.getX()));
+        final double dy = Math.max(0, Math.max(min.getY() - point.getY(), point.getY() - max.getY()));
+        final double dz = Math.max(0, Math.max(min.getZ() - point.getZ(), point.getZ() - max.getZ()));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+}
@@ -26,9 +26,9 @@
 
 import com.google.common.collect.Lists;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * This is a variant of the {@link RandomObjectTable} which uses a 0-1 chance
@@ -58,23 +58,33 @@ public ChanceTable(int rolls) {
     @Override
     public List<T> get(Random rand) {
         List<T> results = Lists.newArrayList();
+        get(rand, results::add);
+        return results;
+    }
+
+    @Override
+    public void get(Random rand, Consumer<? super T> consumer) {
         if (this.entries.isEmpty()) {
-            return results;
+            return;
         }
         int rolls = getRolls().getFlooredAmount(rand);
         for (int i = 0; i < rolls; i++) {
-            for (Iterator<TableEntry<T>> it = this.entries.iterator(); it.hasNext();) {
-                TableEntry<T> next = it.next();
+            for (int j = 0; j < this.entries.size(); j++) {
+                TableEntry<T> next = this.entries.get(j);
                 if (rand.nextDouble() < next.getWeight()) {
                     if (next instanceof NestedTableEntry) {
-                        results.addAll(((NestedTableEntry<T>) next).get(rand));
+                        ((NestedTableEntry<T>) next).get(rand, consumer);
                     } else if (next instanceof WeightedObject) {
-                        results.add(((WeightedObject<T>) next).get());
+                        consumer.accept(((WeightedObject<T>) next).get());
                     }
                 }
             }
         }
-        return results;
+    }
+
+    @Override
+    public CompiledTable<T> compile() {
+        return CompiledTable.chance(getRolls(), getEntries(), true);
     }
 
     @Override
@@ -0,0 +1,91 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.weighted;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * An immutable snapshot of a {@link LootTable} with all of its tables
+ * compiled.
+ *
+ * @param <T> The entry type
+ * @see LootTable#compile()
+ */
+public final class CompiledLootTable<T> {
+
+    private final ImmutableList<CompiledTable<T>> pool;
+
+    CompiledLootTable(ImmutableList<CompiledTable<T>> pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Gets all compiled tables in the pool.
+     *
+     * @return The tables
+     */
+    public List<CompiledTable<T>> getTables() {
+        return this.pool;
+    }
+
+    /**
+     * Gets a List of objects as retrieved from all pools.
+     *
+     * @param rand The random object to use
+     * @return The retrieved entries
+     */
+    public List<T> get(Random rand) {
+        final List<T> results = Lists.newArrayList();
+        get(rand, results::add);
+        return results;
+    }
+
+    /**
+     * Retrieves objects from all pools and passes them to the given consumer.
+     *
+     * @param rand The random object to use
+     * @param consumer The consumer of the retrieved entries
+     */
+    public void get(Random rand, Consumer<? super T> consumer) {
+        checkNotNull(consumer, "consumer");
+        for (int i = 0; i < this.pool.size(); i++) {
+            this.pool.get(i).get(rand, consumer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("pool", this.pool).toString();
+    }
+
+}
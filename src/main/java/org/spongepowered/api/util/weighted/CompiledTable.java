@@ -0,0 +1,274 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.weighted;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable snapshot of a {@link RandomObjectTable} which is optimized for
+ * repeated rolling. Changes to the original table, or to any tables nested
+ * in it, are not reflected by the compiled table.
+ *
+ * <p>A compiled {@link WeightedTable} picks an entry in constant time using
+ * an alias table, no matter how many entries it has. A compiled
+ * {@link ChanceTable} skips entries which can never or will always pass
+ * without rolling for them.</p>
+ *
+ * @param <T> The entry type
+ * @see RandomObjectTable#compile()
+ */
+public final class CompiledTable<T> {
+
+    private static final int[] NO_ALIASES = new int[0];
+
+    /**
+     * Creates a sampler for the given weighted entries. If {@code freeze} is
+     * set nested tables are compiled too, otherwise they are rolled live.
+     */
+    static <T> CompiledTable<T> weighted(VariableAmount rolls, List<TableEntry<T>> entries, boolean freeze) {
+        final int size = entries.size();
+        final Object[] objects = new Object[size];
+        final Object[] nested = new Object[size];
+        final double[] probabilities = new double[size];
+        final int[] aliases = new int[size];
+
+        double totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            final TableEntry<T> entry = entries.get(i);
+            collect(entry, i, objects, nested, freeze);
+            totalWeight += entry.getWeight();
+        }
+        if (size > 0 && totalWeight <= 0) {
+            // Nothing has a weight, a roll always selects the first entry
+            probabilities[0] = 1;
+            return new CompiledTable<>(rolls, false, objects, nested, probabilities, aliases, null);
+        }
+
+        // Vose's alias method, every column is split between its own entry
+        // and at most one alias
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = entries.get(i).getWeight() * size / totalWeight;
+            if (scaled[i] < 1) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            final int less = small[--smallSize];
+            final int more = large[--largeSize];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // Whatever is left over is only off by rounding errors
+        while (largeSize > 0) {
+            final int index = large[--largeSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+        while (smallSize > 0) {
+            final int index = small[--smallSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+        return new CompiledTable<>(rolls, false, objects, nested, probabilities, aliases, null);
+    }
+
+    /**
+     * Creates a sampler for the given chance entries, dropping entries which
+     * can never pass.
+     */
+    static <T> CompiledTable<T> chance(VariableAmount rolls, List<TableEntry<T>> entries, boolean freeze) {
+        final List<TableEntry<T>> passing = Lists.newArrayListWithCapacity(entries.size());
+        for (TableEntry<T> entry : entries) {
+            if (entry.getWeight() > 0) {
+                passing.add(entry);
+            }
+        }
+        final int size = passing.size();
+        final Object[] objects = new Object[size];
+        final Object[] nested = new Object[size];
+        final double[] thresholds = new double[size];
+        for (int i = 0; i < size; i++) {
+            final TableEntry<T> entry = passing.get(i);
+            collect(entry, i, objects, nested, freeze);
+            thresholds[i] = entry.getWeight();
+        }
+        return new CompiledTable<>(rolls, true, objects, nested, thresholds, NO_ALIASES, null);
+    }
+
+    /**
+     * Creates a compiled table which simply rolls the given table, for tables
+     * which don't provide a compiled form of their own.
+     */
+    static <T> CompiledTable<T> delegate(RandomObjectTable<T> table) {
+        return new CompiledTable<>(table.getRolls(), false, new Object[0], new Object[0], new double[0], NO_ALIASES, table);
+    }
+
+    private static <T> void collect(TableEntry<T> entry, int index, Object[] objects, Object[] nested, boolean freeze) {
+        if (entry instanceof NestedTableEntry) {
+            final RandomObjectTable<T> table = ((NestedTableEntry<T>) entry).getTable();
+            nested[index] = freeze ? table.compile() : table;
+        } else if (entry instanceof WeightedObject) {
+            objects[index] = ((WeightedObject<T>) entry).get();
+        }
+    }
+
+    private final VariableAmount rolls;
+    private final boolean chance;
+    // The object of each entry, or null for nested and empty entries
+    private final Object[] objects;
+    // The nested compiled table or live table of each entry
+    private final Object[] nested;
+    // The alias probabilities of a weighted table or the entry chances of a
+    // chance table
+    private final double[] probabilities;
+    private final int[] aliases;
+    @Nullable private final RandomObjectTable<T> delegate;
+
+    private CompiledTable(VariableAmount rolls, boolean chance, Object[] objects, Object[] nested, double[] probabilities, int[] aliases,
+            @Nullable RandomObjectTable<T> delegate) {
+        this.rolls = rolls;
+        this.chance = chance;
+        this.objects = objects;
+        this.nested = nested;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the number of times this table will roll while retrieving items.
+     *
+     * @return The number of rolls
+     * @see RandomObjectTable#getRolls()
+     */
+    public VariableAmount getRolls() {
+        return this.rolls;
+    }
+
+    /**
+     * Performs a number of rolls according to the number of rolls defined by
+     * {@link #getRolls()} and returns items from the table for each roll.
+     *
+     * @param rand The random object to use
+     * @return The returned items, may be empty but not null
+     */
+    public List<T> get(Random rand) {
+        final List<T> results = Lists.newArrayList();
+        get(rand, results::add);
+        return results;
+    }
+
+    /**
+     * Performs a number of rolls according to the number of rolls defined by
+     * {@link #getRolls()} and passes the items retrieved for each roll to the
+     * given consumer.
+     *
+     * @param rand The random object to use
+     * @param consumer The consumer of the retrieved items
+     */
+    public void get(Random rand, Consumer<? super T> consumer) {
+        checkNotNull(rand, "rand");
+        checkNotNull(consumer, "consumer");
+        if (this.delegate != null) {
+            this.delegate.get(rand, consumer);
+            return;
+        }
+        if (this.objects.length == 0) {
+            return;
+        }
+        roll(rand, this.rolls.getFlooredAmount(rand), consumer);
+    }
+
+    void roll(Random rand, int rolls, Consumer<? super T> consumer) {
+        final int size = this.objects.length;
+        if (size == 0) {
+            return;
+        }
+        if (this.chance) {
+            for (int i = 0; i < rolls; i++) {
+                for (int j = 0; j < size; j++) {
+                    final double chance = this.probabilities[j];
+                    if (chance >= 1 || rand.nextDouble() < chance) {
+                        accept(j, rand, consumer);
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < rolls; i++) {
+                // A single double picks both the column and the side of it
+                final double roll = rand.nextDouble() * size;
+                final int column = Math.min((int) roll, size - 1);
+                accept(roll - column < this.probabilities[column] ? column : this.aliases[column], rand, consumer);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void accept(int index, Random rand, Consumer<? super T> consumer) {
+        final Object object = this.objects[index];
+        if (object != null) {
+            consumer.accept((T) object);
+            return;
+        }
+        final Object nested = this.nested[index];
+        if (nested instanceof CompiledTable) {
+            ((CompiledTable<T>) nested).get(rand, consumer);
+        } else if (nested != null) {
+            ((RandomObjectTable<T>) nested).get(rand, consumer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("rolls", this.rolls)
+                .add("type", this.delegate != null ? "delegate" : this.chance ? "chance" : "weighted")
+                .add("entries", this.delegate != null ? this.delegate.size() : this.objects.length)
+                .toString();
+    }
+
+}
@@ -33,6 +33,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * Represents a pool of tables which are rolled sequentially when retrieving
@@ -103,10 +104,35 @@ public void clearPool() {
      */
     public List<T> get(Random rand) {
         List<T> results = Lists.newArrayList();
+        get(rand, results::add);
+        return results;
+    }
+
+    /**
+     * Retrieves objects from all pools and passes them to the given consumer.
+     *
+     * @param rand The random object to use
+     * @param consumer The consumer of the retrieved entries
+     */
+    public void get(Random rand, Consumer<? super T> consumer) {
+        checkNotNull(consumer, "consumer");
         for (RandomObjectTable<T> pool : this.pool) {
-            results.addAll(pool.get(rand));
+            pool.get(rand, consumer);
         }
-        return results;
+    }
+
+    /**
+     * Creates an immutable snapshot of this loot table with every table in
+     * the pool {@link RandomObjectTable#compile() compiled}.
+     *
+     * @return The compiled loot table
+     */
+    public CompiledLootTable<T> compile() {
+        ImmutableList.Builder<CompiledTable<T>> tables = ImmutableList.builder();
+        for (RandomObjectTable<T> pool : this.pool) {
+            tables.add(pool.compile());
+        }
+        return new CompiledLootTable<>(tables.build());
     }
 
     @Override
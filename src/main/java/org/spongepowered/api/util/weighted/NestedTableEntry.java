@@ -30,6 +30,7 @@
 
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * Represents a {@link RandomObjectTable} which is nested inside the entry of
@@ -63,6 +64,26 @@ public List<T> get(Random rand) {
         return this.table.get(rand);
     }
 
+    /**
+     * Retrieves entries from the nested table and passes them to the given
+     * consumer.
+     *
+     * @param rand The random object to use
+     * @param consumer The consumer of the retrieved entries
+     */
+    public void get(Random rand, Consumer<? super T> consumer) {
+        this.table.get(rand, consumer);
+    }
+
+    /**
+     * Gets the nested table.
+     *
+     * @return The nested table
+     */
+    public RandomObjectTable<T> getTable() {
+        return this.table;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == this) {
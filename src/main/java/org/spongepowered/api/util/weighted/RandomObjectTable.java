@@ -34,6 +34,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * An abstract table holding weighted objects. Objects may be retrieved from the
@@ -236,6 +237,34 @@ public int size() {
      */
     public abstract List<T> get(Random rand);
 
+    /**
+     * Performs a number of rolls according to the number of rolls defined by
+     * {@link #getRolls()} and passes the items retrieved for each roll to the
+     * given consumer, without collecting them in a list first.
+     *
+     * @param rand The random object to use
+     * @param consumer The consumer of the retrieved items
+     */
+    public void get(Random rand, Consumer<? super T> consumer) {
+        checkNotNull(consumer, "consumer");
+        for (T result : get(rand)) {
+            consumer.accept(result);
+        }
+    }
+
+    /**
+     * Creates an immutable snapshot of this table which is optimized for
+     * rolling it many times. Nested tables are compiled as well.
+     *
+     * <p>Tables which don't provide an optimized form return a compiled table
+     * which rolls this table instead.</p>
+     *
+     * @return The compiled table
+     */
+    public CompiledTable<T> compile() {
+        return CompiledTable.delegate(this);
+    }
+
     /**
      * Gets the entries in the table. Note that the specific sub class of this
      * abstract table will determine the context that the entry weights should
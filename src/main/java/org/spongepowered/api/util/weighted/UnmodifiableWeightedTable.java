@@ -180,6 +180,16 @@ public List<T> get(Random rand) {
         return this.table.get(rand);
     }
 
+    @Override
+    public void get(Random rand, Consumer<? super T> consumer) {
+        this.table.get(rand, consumer);
+    }
+
+    @Override
+    public CompiledTable<T> compile() {
+        return this.table.compile();
+    }
+
     @Override
     public boolean containsObject(Object obj) {
         return this.table.containsObject(obj);
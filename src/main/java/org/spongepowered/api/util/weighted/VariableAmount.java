@@ -30,7 +30,9 @@
 import org.spongepowered.api.data.DataSerializable;
 import org.spongepowered.api.data.Queries;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Represents a value which may vary randomly.
@@ -38,6 +40,12 @@
  * <p>Implementors of this interface using it in a fashion in which may ever be
  * serialized <strong>must</strong> implement the {@link #toContainer()}
  * method.</p>
+ *
+ * <p>Amounts may be evaluated with any {@link Random}, which includes the
+ * {@link java.util.concurrent.ThreadLocalRandom} of the current thread, or
+ * with a {@link SplittableRandom}. Both avoid contention when amounts are
+ * evaluated from many threads at once. When evaluating an amount many times,
+ * use the bulk methods on the {@link #flatten() flattened} amount.</p>
  */
 @FunctionalInterface
 public interface VariableAmount extends DataSerializable {
@@ -196,6 +204,17 @@ static VariableAmount baseWithOptionalAddition(double base, VariableAmount addit
      */
     double getAmount(Random rand);
 
+    /**
+     * Gets an instance of the variable amount depending on the given
+     * {@link SplittableRandom}.
+     *
+     * @param rand The random object
+     * @return The amount
+     */
+    default double getAmount(SplittableRandom rand) {
+        return getAmount(new SplittableRandomAdapter(rand));
+    }
+
     /**
      * Gets the amount as if from {@link #getAmount(Random)} but floored to the
      * nearest integer equivalent.
@@ -207,6 +226,82 @@ default int getFlooredAmount(Random rand) {
         return GenericMath.floor(getAmount(rand));
     }
 
+    /**
+     * Gets the amount as if from {@link #getAmount(SplittableRandom)} but
+     * floored to the nearest integer equivalent.
+     *
+     * @param rand The random object
+     * @return The floored amount
+     */
+    default int getFlooredAmount(SplittableRandom rand) {
+        return GenericMath.floor(getAmount(rand));
+    }
+
+    /**
+     * Fills the given array with instances of the variable amount, as if by
+     * calling {@link #getAmount(Random)} for each element.
+     *
+     * @param rand The random object
+     * @param amounts The array to fill
+     */
+    default void getAmounts(Random rand, double[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = getAmount(rand);
+        }
+    }
+
+    /**
+     * Fills the given array with instances of the variable amount, as if by
+     * calling {@link #getAmount(SplittableRandom)} for each element.
+     *
+     * @param rand The random object
+     * @param amounts The array to fill
+     */
+    default void getAmounts(SplittableRandom rand, double[] amounts) {
+        getAmounts(new SplittableRandomAdapter(rand), amounts);
+    }
+
+    /**
+     * Fills the given array with floored instances of the variable amount, as
+     * if by calling {@link #getFlooredAmount(Random)} for each element.
+     *
+     * @param rand The random object
+     * @param amounts The array to fill
+     */
+    default void getFlooredAmounts(Random rand, int[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = getFlooredAmount(rand);
+        }
+    }
+
+    /**
+     * Fills the given array with floored instances of the variable amount, as
+     * if by calling {@link #getFlooredAmount(SplittableRandom)} for each
+     * element.
+     *
+     * @param rand The random object
+     * @param amounts The array to fill
+     */
+    default void getFlooredAmounts(SplittableRandom rand, int[] amounts) {
+        getFlooredAmounts(new SplittableRandomAdapter(rand), amounts);
+    }
+
+    /**
+     * Gets a variable amount with the same distribution as this amount which
+     * is cheaper to evaluate. Nested amounts which are fixed are folded into
+     * their parent, so for example a {@link #range(double, double) range}
+     * becomes a single uniform evaluation.
+     *
+     * <p>The flattened amount may consume a different amount of random
+     * values than this amount. Amounts which can't be simplified return
+     * themselves.</p>
+     *
+     * @return The flattened amount
+     */
+    default VariableAmount flatten() {
+        return this;
+    }
+
     // This is overridden to allow this to be a functional interface as this
     // greatly increases the usability of the interface.
     @Override
@@ -236,6 +331,31 @@ public double getAmount(Random rand) {
             return this.amount;
         }
 
+        @Override
+        public double getAmount(SplittableRandom rand) {
+            return this.amount;
+        }
+
+        @Override
+        public void getAmounts(Random rand, double[] amounts) {
+            Arrays.fill(amounts, this.amount);
+        }
+
+        @Override
+        public void getAmounts(SplittableRandom rand, double[] amounts) {
+            Arrays.fill(amounts, this.amount);
+        }
+
+        @Override
+        public void getFlooredAmounts(Random rand, int[] amounts) {
+            Arrays.fill(amounts, GenericMath.floor(this.amount));
+        }
+
+        @Override
+        public void getFlooredAmounts(SplittableRandom rand, int[] amounts) {
+            Arrays.fill(amounts, GenericMath.floor(this.amount));
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this).add("amount", this.amount).toString();
@@ -294,6 +414,16 @@ public double getAmount(Random rand) {
             return this.base + rand.nextDouble() * var * 2 - var;
         }
 
+        @Override
+        public VariableAmount flatten() {
+            VariableAmount variance = this.variance.flatten();
+            if (variance instanceof Fixed) {
+                double var = ((Fixed) variance).amount;
+                return new Uniform(this.base - var, var * 2);
+            }
+            return variance == this.variance ? this : new BaseAndVariance(this.base, variance);
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this).add("base", this.base).add("variance", this.variance).toString();
@@ -354,6 +484,15 @@ public double getAmount(Random rand) {
             return this.base + (rand.nextDouble() * this.addition.getAmount(rand));
         }
 
+        @Override
+        public VariableAmount flatten() {
+            VariableAmount addition = this.addition.flatten();
+            if (addition instanceof Fixed) {
+                return new Uniform(this.base, ((Fixed) addition).amount);
+            }
+            return addition == this.addition ? this : new BaseAndAddition(this.base, addition);
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this).add("base", this.base).add("addition", this.addition).toString();
@@ -418,6 +557,18 @@ public double getAmount(Random rand) {
             return this.base;
         }
 
+        @Override
+        public VariableAmount flatten() {
+            if (this.chance <= 0) {
+                return fixed(this.base);
+            }
+            VariableAmount inner = this.inner.flatten();
+            if (this.chance >= 1) {
+                return inner;
+            }
+            return inner == this.inner ? this : new OptionalAmount(this.base, this.chance, inner);
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this).add("base", this.base).add("chance", this.chance).add("inner", this.inner).toString();
@@ -459,4 +610,97 @@ public int getContentVersion() {
         }
     }
 
+    /**
+     * Represents an amount between a minimum (inclusive) and the minimum plus
+     * a width (exclusive). This is what fixed ranges, variances and additions
+     * are {@link #flatten() flattened} into.
+     */
+    class Uniform implements VariableAmount {
+
+        private final double min;
+        private final double width;
+
+        Uniform(double min, double width) {
+            this.min = min;
+            this.width = width;
+        }
+
+        @Override
+        public double getAmount(Random rand) {
+            return this.min + rand.nextDouble() * this.width;
+        }
+
+        @Override
+        public double getAmount(SplittableRandom rand) {
+            return this.min + rand.nextDouble() * this.width;
+        }
+
+        @Override
+        public void getAmounts(Random rand, double[] amounts) {
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = this.min + rand.nextDouble() * this.width;
+            }
+        }
+
+        @Override
+        public void getAmounts(SplittableRandom rand, double[] amounts) {
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = this.min + rand.nextDouble() * this.width;
+            }
+        }
+
+        @Override
+        public void getFlooredAmounts(Random rand, int[] amounts) {
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = GenericMath.floor(this.min + rand.nextDouble() * this.width);
+            }
+        }
+
+        @Override
+        public void getFlooredAmounts(SplittableRandom rand, int[] amounts) {
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = GenericMath.floor(this.min + rand.nextDouble() * this.width);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("min", this.min).add("width", this.width).toString();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Uniform)) {
+                return false;
+            }
+            Uniform amount = (Uniform) obj;
+            return amount.min == this.min && amount.width == this.width;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 1;
+            result = 37 * result + (int) (Double.doubleToLongBits(this.min) ^ (Double.doubleToLongBits(this.min) >> 32));
+            result = 37 * result + (int) (Double.doubleToLongBits(this.width) ^ (Double.doubleToLongBits(this.width) >> 32));
+            return result;
+        }
+
+        // Serialized in the same form as a base with a fixed addition
+        @Override
+        public DataContainer toContainer() {
+            return DataContainer.createNew()
+                    .set(Queries.CONTENT_VERSION, getContentVersion())
+                    .set(Queries.VARIABLE_BASE, this.min)
+                    .set(Queries.VARIABLE_VARIANCE, fixed(this.width));
+        }
+
+        @Override
+        public int getContentVersion() {
+            return 1;
+        }
+    }
+
 }
@@ -30,6 +30,9 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
 
 /**
  * A table of weighted entry, each entry is given a weight, the higher the
@@ -41,6 +44,8 @@
 public class WeightedTable<T> extends RandomObjectTable<T> {
 
     private double totalWeight = 0;
+    // The alias table used to roll this table, rebuilt after changes
+    @Nullable private CompiledTable<T> sampler;
 
     /**
      * Creates a new {@link WeightedTable} with a default roll
@@ -143,6 +148,7 @@ public void clear() {
      * Recalculates the total weight of all entries in this table.
      */
     protected void recalculateWeight() {
+        this.sampler = null;
         this.totalWeight = 0;
         for (Iterator<TableEntry<T>> it = this.entries.iterator(); it.hasNext();) {
             TableEntry<T> entry = it.next();
@@ -160,26 +166,26 @@ protected void recalculateWeight() {
     @Override
     public List<T> get(Random rand) {
         List<T> results = Lists.newArrayList();
+        get(rand, results::add);
+        return results;
+    }
+
+    @Override
+    public void get(Random rand, Consumer<? super T> consumer) {
         if (this.entries.isEmpty()) {
-            return results;
+            return;
         }
-        int rolls = getRolls().getFlooredAmount(rand);
-        for (int i = 0; i < rolls; i++) {
-            double roll = rand.nextDouble() * this.totalWeight;
-            for (Iterator<TableEntry<T>> it = this.entries.iterator(); it.hasNext();) {
-                TableEntry<T> next = it.next();
-                roll -= next.getWeight();
-                if (roll <= 0) {
-                    if (next instanceof NestedTableEntry) {
-                        results.addAll(((NestedTableEntry<T>) next).get(rand));
-                    } else if (next instanceof WeightedObject) {
-                        results.add(((WeightedObject<T>) next).get());
-                    }
-                    break;
-                }
-            }
+        CompiledTable<T> sampler = this.sampler;
+        if (sampler == null) {
+            // Nested tables are rolled live so changes to them stay visible
+            this.sampler = sampler = CompiledTable.weighted(getRolls(), this.entries, false);
         }
-        return results;
+        sampler.roll(rand, getRolls().getFlooredAmount(rand), consumer);
+    }
+
+    @Override
+    public CompiledTable<T> compile() {
+        return CompiledTable.weighted(getRolls(), getEntries(), true);
     }
 
     @Override
@@ -37,12 +37,16 @@
 import org.spongepowered.api.entity.EntitySnapshot;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.util.AABB;
+import org.spongepowered.api.util.spatial.SpatialIndex;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * A container of {@link Entity} instances.
@@ -89,9 +93,14 @@ public interface EntityUniverse {
     default Collection<Entity> getNearbyEntities(Vector3d location, double distance) {
         checkNotNull(location, "location");
         checkArgument(distance > 0, "distance must be > 0");
-        return this.getIntersectingEntities(new AABB(location.getX() - distance, location.getY() - distance, location.getZ() - distance,
-                location.getX() + distance, location.getY() + distance, location.getZ() + distance),
-                entity -> entity.getLocation().getPosition().distanceSquared(location) <= distance * distance);
+        final AABB box = new AABB(location.getX() - distance, location.getY() - distance, location.getZ() - distance,
+                location.getX() + distance, location.getY() + distance, location.getZ() + distance);
+        final Predicate<Entity> filter = entity -> entity.getLocation().getPosition().distanceSquared(location) <= distance * distance;
+        final Optional<SpatialIndex<Entity>> index = getEntityIndex();
+        if (index.isPresent()) {
+            return index.get().getIntersecting(box, filter);
+        }
+        return this.getIntersectingEntities(box, filter);
     }
 
     /**
@@ -108,6 +117,50 @@ default Collection<Entity> getNearbyEntities(Vector3d location, double distance)
      */
     Collection<Entity> getEntities(Predicate<Entity> filter);
 
+    /**
+     * Gets up to {@code count} entities closest to the specified location,
+     * ordered from the closest to the furthest. The distance is measured to
+     * the bounding box of the entities, or to their position if they have
+     * none.
+     *
+     * <p>For world implementations, only some parts of the world is usually
+     * loaded, so this method will only return entities within those loaded
+     * parts.</p>
+     *
+     * @param location The location to measure from
+     * @param count The maximum amount of entities to return
+     * @return The nearest entities
+     */
+    default List<Entity> getNearestEntities(Vector3d location, int count) {
+        checkNotNull(location, "location");
+        checkArgument(count >= 0, "count must not be negative");
+        final Optional<SpatialIndex<Entity>> index = getEntityIndex();
+        if (index.isPresent()) {
+            return index.get().getNearest(location, count);
+        }
+        return getEntities().stream()
+                .sorted(Comparator.comparingDouble(entity -> entity.getBoundingBox()
+                        .map(box -> SpatialIndex.distanceSquared(box, location))
+                        .orElseGet(() -> entity.getLocation().getPosition().distanceSquared(location))))
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the {@link SpatialIndex} of the entities in this universe, keyed
+     * by their bounding boxes, if the implementation maintains one.
+     *
+     * <p>The index is kept up to date by the implementation as entities
+     * spawn, move and are removed. When present, it is used by the default
+     * spatial queries of this universe instead of looking at every
+     * entity.</p>
+     *
+     * @return The entity index, if available
+     */
+    default Optional<SpatialIndex<Entity>> getEntityIndex() {
+        return Optional.empty();
+    }
+
     /**
      * Create an entity instance at the given position.
      *
@@ -25,8 +25,12 @@
 package org.spongepowered.api.world.storage;
 
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.persistence.DataStreamVisitor;
+import org.spongepowered.api.data.persistence.DataStreams;
 import org.spongepowered.api.world.Chunk;
 
+import java.io.IOException;
+
 import javax.annotation.Nullable;
 
 /**
@@ -60,6 +64,28 @@ public interface ChunkDataStream {
     @Nullable
     DataContainer next();
 
+    /**
+     * Passes the data of the next {@link Chunk} to the given
+     * {@link DataStreamVisitor} as it is read from storage, without
+     * holding the whole chunk data in memory where the implementation allows
+     * it.
+     *
+     * <p>This method BLOCKS the thread until the next available data has been
+     * read.</p>
+     *
+     * @param visitor The visitor to receive the chunk data
+     * @return False if there was no chunk data available to read
+     * @throws IOException If the visitor failed to process the data
+     */
+    default boolean next(DataStreamVisitor visitor) throws IOException {
+        @Nullable final DataContainer container = next();
+        if (container == null) {
+            return false;
+        }
+        DataStreams.visit(container, visitor);
+        return true;
+    }
+
     /**
      * Checks if there is an available chunk to represent.
      *
@@ -0,0 +1,113 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.command.dispatcher.SimpleDispatcher;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Tests for {@link TabCompletionSession}.
+ */
+public class TabCompletionSessionTest {
+
+    private static CommandCallable callable() {
+        final CommandCallable callable = mock(CommandCallable.class);
+        when(callable.testPermission(any(CommandSource.class))).thenReturn(true);
+        return callable;
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        final SimpleDispatcher dispatcher = new SimpleDispatcher();
+        dispatcher.register(callable(), "alpha", "apple", "axe");
+        final TabCompletionSession session = new TabCompletionSession(dispatcher, Runnable::run, 2, false);
+
+        assertEquals(ImmutableList.of("alpha", "apple"), session.complete(mock(CommandSource.class), "a", null).get());
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        final CommandCallable callable = callable();
+        when(callable.getSuggestions(any(CommandSource.class), anyString(), any()))
+                .thenReturn(ImmutableList.of("stone", "stick", "sand"));
+        when(callable.getSuggestionsAsync(any(CommandSource.class), anyString(), any(), any(Executor.class))).thenCallRealMethod();
+        final TabCompletionSession session = new TabCompletionSession(callable, Runnable::run, 10, true);
+        final CommandSource source = mock(CommandSource.class);
+
+        assertEquals(ImmutableList.of("stone", "stick", "sand"), session.complete(source, "give s", null).get());
+        assertEquals(ImmutableList.of("stone", "stick"), session.complete(source, "give st", null).get());
+        assertEquals(ImmutableList.of("stick"), session.complete(source, "give sti", null).get());
+        verify(callable, times(1)).getSuggestions(any(CommandSource.class), anyString(), any());
+
+        // A new word has to be completed by the callable again
+        session.complete(source, "give sti ", null).get();
+        verify(callable, times(2)).getSuggestions(any(CommandSource.class), anyString(), any());
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        final CommandCallable callable = callable();
+        when(callable.getSuggestions(any(CommandSource.class), anyString(), any())).thenReturn(ImmutableList.of("x"));
+        when(callable.getSuggestionsAsync(any(CommandSource.class), anyString(), any(), any(Executor.class))).thenCallRealMethod();
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final TabCompletionSession session = new TabCompletionSession(callable, tasks::add);
+        final CommandSource source = mock(CommandSource.class);
+
+        final CompletableFuture<?> first = session.complete(source, "a", null);
+        final CompletableFuture<?> second = session.complete(source, "ab", null);
+        tasks.forEach(Runnable::run);
+
+        assertTrue(first.isCompletedExceptionally());
+        assertEquals(ImmutableList.of("x"), second.get());
+        verify(callable, times(1)).getSuggestions(any(CommandSource.class), anyString(), any());
+    }
+
+    @Test
+    public void testCancelReturnedFuture() throws Exception {
+        final CompletableFuture<List<String>> inner = new CompletableFuture<>();
+        final CommandCallable callable = callable();
+        when(callable.getSuggestionsAsync(any(CommandSource.class), anyString(), any(), any(Executor.class))).thenReturn(inner);
+        final TabCompletionSession session = new TabCompletionSession(callable, Runnable::run);
+
+        session.complete(mock(CommandSource.class), "a", null).cancel(false);
+        assertTrue(inner.isCancelled());
+    }
+}
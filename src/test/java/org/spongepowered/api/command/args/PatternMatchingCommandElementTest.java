@@ -0,0 +1,184 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.command.args;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.GameRegistry;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.parsing.SingleArg;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the choice matching of {@link PatternMatchingCommandElement}.
+ */
+public class PatternMatchingCommandElementTest {
+
+    private static final CommandSource MOCK_SOURCE = Mockito.mock(CommandSource.class);
+    private static final List<String> CHOICES = ImmutableList.of("Notch", "notepad", "jeb_", "Nodus", "dinnerbone", "nOtable");
+
+    private static PatternMatchingCommandElement element(Iterable<String> choices) {
+        return new PatternMatchingCommandElement(Text.of("value")) {
+            @Override
+            protected Iterable<String> getChoices(CommandSource source) {
+                return choices;
+            }
+
+            @Override
+            protected Object getValue(String choice) throws IllegalArgumentException {
+                return choice;
+            }
+        };
+    }
+
+    private static List<String> complete(PatternMatchingCommandElement element, String input) {
+        final CommandArgs args = new CommandArgs(input, ImmutableList.of(new SingleArg(input, 0, input.length())));
+        return element.complete(MOCK_SOURCE, args, new CommandContext());
+    }
+
+    @Test
+    public void testLiteralPrefix() {
+        final PatternMatchingCommandElement element = element(new ArrayList<>(CHOICES));
+        assertEquals(ImmutableList.of("Notch", "notepad", "nOtable"), complete(element, "NOT"));
+        assertEquals(ImmutableList.of("Notch", "notepad", "nOtable"), complete(element, "^not"));
+        assertEquals(ImmutableList.of(), complete(element, "x"));
+    }
+
+    @Test
+    public void testRegex() {
+        final PatternMatchingCommandElement element = element(new ArrayList<>(CHOICES));
+        assertEquals(ImmutableList.of("Notch", "notepad", "nOtable"), complete(element, "no.*[aec]"));
+        assertEquals(ImmutableList.of("jeb_", "dinnerbone"), complete(element, "(j|d)"));
+    }
+
+    @Test
+    public void testIndexedChoices() {
+        final PatternMatchingCommandElement element = element(ImmutableSet.copyOf(CHOICES));
+        for (int i = 0; i < 3; i++) {
+            // The index is only built once the same choices are seen again
+            assertEquals(ImmutableList.of("Notch", "notepad", "nOtable"), complete(element, "Not"));
+            assertEquals(ImmutableList.of("Nodus"), complete(element, "nod"));
+            assertEquals(ImmutableList.of(), complete(element, "a"));
+            assertEquals(ImmutableList.of(), complete(element, "zz"));
+        }
+    }
+
+    @Test
+    public void testIndexForEqualChoices() {
+        final PatternMatchingCommandElement element = element(ImmutableList.of());
+        assertNull(element.getChoiceIndex(MOCK_SOURCE, new ArrayList<>(CHOICES)));
+        final PatternMatchingCommandElement.ChoiceIndex index = element.getChoiceIndex(MOCK_SOURCE, new ArrayList<>(CHOICES));
+        assertNotNull(index);
+        assertSame(index, element.getChoiceIndex(MOCK_SOURCE, new ArrayList<>(CHOICES)));
+
+        final List<String> changed = new ArrayList<>(CHOICES);
+        changed.add("Notable2");
+        assertNull(element.getChoiceIndex(MOCK_SOURCE, changed));
+        assertEquals(ImmutableList.of("Notch", "notepad", "nOtable", "Notable2"), element.getChoiceIndex(MOCK_SOURCE, changed).withPrefix("not"));
+    }
+
+    @Test
+    public void testIndexMatchesScan() {
+        final Random random = new Random(0);
+        final List<String> choices = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final StringBuilder choice = new StringBuilder();
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                choice.append("aAbB".charAt(random.nextInt(4)));
+            }
+            choices.add(choice.toString());
+        }
+        final PatternMatchingCommandElement element = element(ImmutableList.of());
+        element.getChoiceIndex(MOCK_SOURCE, choices);
+        final PatternMatchingCommandElement.ChoiceIndex index = element.getChoiceIndex(MOCK_SOURCE, choices);
+        for (String prefix : new String[] {"a", "B", "ab", "bA", "aab", "bbbb", "c"}) {
+            final List<String> expected = choices.stream()
+                    .filter(choice -> choice.regionMatches(true, 0, prefix, 0, prefix.length()))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.withPrefix(prefix));
+        }
+    }
+
+    @Test
+    public void testIndexPerSource() {
+        final CommandSource other = mock(CommandSource.class);
+        final List<String> otherChoices = ImmutableList.of("Notary", "jeb_");
+        final PatternMatchingCommandElement element = element(ImmutableList.of());
+        assertNull(element.getChoiceIndex(MOCK_SOURCE, new ArrayList<>(CHOICES)));
+        assertNull(element.getChoiceIndex(other, otherChoices));
+        // Alternating between sources keeps the index of each
+        final PatternMatchingCommandElement.ChoiceIndex index = element.getChoiceIndex(MOCK_SOURCE, new ArrayList<>(CHOICES));
+        assertNotNull(index);
+        assertEquals(ImmutableList.of("Notary"), element.getChoiceIndex(other, otherChoices).withPrefix("not"));
+        assertSame(index, element.getChoiceIndex(MOCK_SOURCE, new ArrayList<>(CHOICES)));
+    }
+
+    @Test
+    public void testIndexForCatalogedElement() throws Exception {
+        final List<CatalogType> types = new ArrayList<>();
+        for (String id : CHOICES) {
+            final CatalogType type = mock(CatalogType.class);
+            when(type.getId()).thenReturn(id);
+            types.add(type);
+        }
+        final Game game = mock(Game.class);
+        final GameRegistry registry = mock(GameRegistry.class);
+        when(game.getRegistry()).thenReturn(registry);
+        // Every call returns a new collection, like the registry does
+        when(registry.getAllOf(CatalogType.class)).thenAnswer(invocation -> new ArrayList<>(types));
+        TestHooks.setGame(game);
+
+        final PatternMatchingCommandElement element =
+                (PatternMatchingCommandElement) GenericArguments.catalogedElement(Text.of("type"), CatalogType.class);
+        assertEquals(ImmutableList.of("Notch", "notepad", "nOtable"), complete(element, "not"));
+        final PatternMatchingCommandElement.ChoiceIndex index = element.getChoiceIndex(MOCK_SOURCE, element.getChoices(MOCK_SOURCE));
+        assertNotNull(index);
+        assertEquals(ImmutableList.of("Nodus"), complete(element, "nod"));
+        assertSame(index, element.getChoiceIndex(MOCK_SOURCE, element.getChoices(MOCK_SOURCE)));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void testInvalidRegex() {
+        complete(element(CHOICES), "no(t");
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.command.dispatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandCallable;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandMapping;
+import org.spongepowered.api.command.CommandSource;
+
+public class SimpleDispatcherTest {
+
+    private static CommandCallable callable(boolean permitted) {
+        final CommandCallable callable = mock(CommandCallable.class);
+        when(callable.testPermission(any(CommandSource.class))).thenReturn(permitted);
+        return callable;
+    }
+
+    @Test
+    public void testLookup() {
+        final SimpleDispatcher dispatcher = new SimpleDispatcher();
+        final CommandMapping mapping = dispatcher.register(callable(true), "Teleport", "tp").get();
+
+        assertEquals(mapping, dispatcher.get("teleport").get());
+        assertEquals(mapping, dispatcher.get("TP").get());
+        assertFalse(dispatcher.get("tele").isPresent());
+        assertTrue(dispatcher.containsAlias("tp"));
+        assertFalse(dispatcher.containsAlias("t"));
+        assertTrue(dispatcher.containsMapping(mapping));
+        assertEquals(2, dispatcher.size());
+        assertEquals(ImmutableSet.of("Teleport", "tp"), dispatcher.getAliases());
+        assertEquals(ImmutableSet.of("Teleport"), dispatcher.getPrimaryAliases());
+    }
+
+    @Test
+    public void testSuggestions() throws CommandException {
+        final SimpleDispatcher dispatcher = new SimpleDispatcher();
+        dispatcher.register(callable(true), "time");
+        dispatcher.register(callable(true), "tell", "t");
+        dispatcher.register(callable(false), "tp");
+        dispatcher.register(callable(true), "weather");
+        final CommandSource source = mock(CommandSource.class);
+
+        assertEquals(ImmutableList.of("t", "tell", "time"), dispatcher.getSuggestions(source, "t", null));
+        assertEquals(ImmutableList.of("tell"), dispatcher.getSuggestions(source, "TE", null));
+        assertEquals(ImmutableList.of(), dispatcher.getSuggestions(source, "x", null));
+        assertEquals(ImmutableList.of("t", "tell", "time", "weather"), dispatcher.getSuggestions(source, "", null));
+    }
+
+    @Test
+    public void testRemove() {
+        final SimpleDispatcher dispatcher = new SimpleDispatcher();
+        final CommandMapping first = dispatcher.register(callable(true), "home", "h").get();
+        final CommandMapping second = dispatcher.register(callable(true), "help", "h").get();
+        assertEquals(ImmutableSet.of(first, second), dispatcher.getAll("h"));
+
+        assertEquals(ImmutableList.of(first, second), dispatcher.remove("H"));
+        assertFalse(dispatcher.containsAlias("h"));
+        assertTrue(dispatcher.containsAlias("home"));
+        assertTrue(dispatcher.containsAlias("help"));
+
+        assertEquals(first, dispatcher.removeMapping(first).get());
+        assertFalse(dispatcher.containsAlias("home"));
+        assertFalse(dispatcher.removeMapping(first).isPresent());
+        assertTrue(dispatcher.removeAll(ImmutableList.of("help")));
+        assertEquals(0, dispatcher.size());
+        assertTrue(dispatcher.getCommands().isEmpty());
+    }
+}
@@ -25,8 +25,11 @@
 package org.spongepowered.api.data;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import org.junit.Test;
 
@@ -130,6 +133,54 @@ public void testPop() {
         assertThat(single.pop().equals(empty), is(true));
     }
 
+    /**
+     * Method: popFirst()
+     */
+    @Test
+    public void testPopFirst() {
+        DataQuery prePopped = DataQuery.of("this", "test", "query");
+        DataQuery expected = DataQuery.of("test", "query");
+        assertThat(prePopped.popFirst().equals(expected), is(true));
+        assertThat(prePopped.popFirst().hashCode(), is(expected.hashCode()));
+        assertThat(prePopped.popFirst().popFirst().equals(DataQuery.of("query")), is(true));
+        assertThat(DataQuery.of("single").popFirst().equals(DataQuery.of()), is(true));
+    }
+
+    /**
+     * Method: of(String part) for the parts of {@link Queries}
+     */
+    @Test
+    public void testOfSharesQueries() {
+        assertThat(DataQuery.of("ContentVersion"), is(sameInstance(Queries.CONTENT_VERSION)));
+        assertThat(DataQuery.of("NotAQuery"), is(not(sameInstance(DataQuery.of("NotAQuery")))));
+    }
+
+    /**
+     * Method: hashCode()
+     */
+    @Test
+    public void testHashCode() {
+        List<String> parts = ImmutableList.of("a", "b", "c");
+        assertThat(DataQuery.of(parts).hashCode(), is(Objects.hashCode(parts)));
+        assertThat(DataQuery.of("a", "b", "c", "d").pop().hashCode(), is(Objects.hashCode(parts)));
+    }
+
+    /**
+     * Method: then(DataQuery that) on popped queries
+     */
+    @Test
+    public void testThenOnPopped() {
+        DataQuery full = DataQuery.of("a", "b", "c", "d");
+        DataQuery middle = full.popFirst().pop();
+        assertThat(middle.equals(DataQuery.of("b", "c")), is(true));
+        assertThat(middle.getParts(), is(ImmutableList.of("b", "c")));
+        assertThat(middle.then("e").equals(DataQuery.of("b", "c", "e")), is(true));
+        assertThat(middle.then(full.last()).equals(DataQuery.of("b", "c", "d")), is(true));
+        assertThat(middle.toString(), is("b.c"));
+        // The original query must not be affected
+        assertThat(full.equals(DataQuery.of('.', "a.b.c.d")), is(true));
+    }
+
     /**
      * Method: last()
      */
@@ -25,6 +25,7 @@
 package org.spongepowered.api.data;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.spongepowered.api.data.DataQuery.of;
@@ -384,6 +385,96 @@ public void testTest() {
         containertest.set(DataQuery.of("test1", "test2", "test3"), containertest2);
     }
 
+    @Test
+    public void testPrimitiveArrays() {
+        final DataContainer container = DataContainer.createNew();
+        container.set(of("Ints"), Lists.newArrayList(1, 2, 3));
+        container.set(of("Longs"), new long[] {4L, 5L});
+        container.set(of("Mixed"), Lists.newArrayList(1, 2L));
+
+        assertTrue(container.getIntegerList(of("Ints")).get().equals(Arrays.asList(1, 2, 3)));
+        assertTrue(Arrays.equals(container.getIntArray(of("Ints")).get(), new int[] {1, 2, 3}));
+        assertTrue(Arrays.equals(container.getLongArray(of("Longs")).get(), new long[] {4L, 5L}));
+        assertTrue(Arrays.equals(container.getLongArray(of("Mixed")).get(), new long[] {1L, 2L}));
+        assertTrue(!container.getDoubleArray(of("Missing")).isPresent());
+
+        // Retrieved arrays are copies and don't affect the stored data
+        container.getIntArray(of("Ints")).get()[0] = 10;
+        assertTrue(container.getIntArray(of("Ints")).get()[0] == 1);
+    }
+
+    @Test
+    public void testBorrowedView() {
+        final MemoryDataContainer container = new MemoryDataContainer();
+        container.set(of("Level", "Blocks"), new byte[] {1, 2, 3});
+        final DataView borrowed = container.asBorrowedView();
+
+        final byte[] blocks = borrowed.getByteArray(of("Level", "Blocks")).get();
+        assertTrue(blocks == borrowed.getByteArray(of("Level", "Blocks")).get());
+        assertTrue(blocks == borrowed.getView(of("Level")).get().get(of("Blocks")).get());
+        assertTrue(blocks != container.getByteArray(of("Level", "Blocks")).get());
+
+        container.set(of("Level", "xPos"), 1);
+        assertTrue(borrowed.getInt(of("Level", "xPos")).get() == 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBorrowedViewIsReadOnly() {
+        new MemoryDataContainer().asBorrowedView().set(of("Foo"), "bar");
+    }
+
+    @Test
+    public void testBorrowedContainer() {
+        final MemoryDataContainer container = new MemoryDataContainer();
+        container.set(of("Level", "xPos"), 1);
+        final DataView borrowed = container.asBorrowedView();
+        assertTrue(borrowed instanceof DataContainer);
+        assertTrue(!borrowed.getParent().isPresent());
+        assertTrue(borrowed.getContainer() == borrowed);
+
+        final DataView level = borrowed.getView(of("Level")).get();
+        assertReadOnly(level.getContainer());
+        assertTrue(level.getContainer().getInt(of("Level", "xPos")).get() == 1);
+    }
+
+    @Test
+    public void testBorrowedParent() {
+        final MemoryDataContainer container = new MemoryDataContainer();
+        container.set(of("Level", "Sections", "Y"), 1);
+        final DataView sections = container.asBorrowedView().getView(of("Level", "Sections")).get();
+        final DataView level = sections.getParent().get();
+        assertTrue(level.getInt(of("Sections", "Y")).get() == 1);
+        assertReadOnly(level);
+        assertReadOnly(level.getParent().get());
+    }
+
+    @Test
+    public void testBorrowedViewsInLists() {
+        final MemoryDataContainer container = new MemoryDataContainer();
+        final DataContainer entity = new MemoryDataContainer().set(of("id"), "minecraft:pig");
+        container.set(of("Entities"), ImmutableList.of(entity, ImmutableList.of(entity)));
+        final DataView borrowed = container.asBorrowedView();
+
+        final List<DataView> views = borrowed.getViewList(of("Entities")).get();
+        assertTrue(views.size() == 1);
+        assertTrue(views.get(0).getString(of("id")).get().equals("minecraft:pig"));
+        assertReadOnly(views.get(0));
+        final List<?> nested = (List<?>) borrowed.getList(of("Entities")).get().get(1);
+        assertReadOnly((DataView) nested.get(0));
+
+        // The original list elements stay writable
+        container.getViewList(of("Entities")).get().get(0).set(of("Health"), 10);
+    }
+
+    private static void assertReadOnly(DataView view) {
+        try {
+            view.set(of("Foo"), "bar");
+            fail("Borrowed view was writable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testDeepSerialization() {
         List<List<?>> values = Lists.newArrayList();
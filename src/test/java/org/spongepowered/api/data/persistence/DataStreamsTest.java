@@ -0,0 +1,151 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.data.persistence;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.spongepowered.api.data.DataQuery.of;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DataStreamsTest {
+
+    private static DataContainer createChunk() {
+        final DataContainer entity1 = DataContainer.createNew()
+                .set(of("id"), "minecraft:pig")
+                .set(of("Health"), 10.0D);
+        final DataContainer entity2 = DataContainer.createNew()
+                .set(of("id"), "minecraft:cow")
+                .set(of("Health"), 8.0D);
+        return DataContainer.createNew()
+                .set(of("Level", "xPos"), 4)
+                .set(of("Level", "zPos"), -2)
+                .set(of("Level", "Blocks"), new byte[] {1, 2, 3})
+                .set(of("Level", "Entities"), ImmutableList.of(entity1, entity2))
+                .set(of("DataVersion"), 1343);
+    }
+
+    @Test
+    public void testCollect() throws IOException {
+        final DataContainer chunk = createChunk();
+        final DataContainer copy = DataContainer.createNew();
+        assertThat(DataStreams.visit(chunk, DataStreams.collect(copy)), is(true));
+        assertThat(copy.getInt(of("Level", "xPos")).get(), is(4));
+        assertThat(copy.getInt(of("DataVersion")).get(), is(1343));
+        assertThat(copy.get(of("Level", "Blocks")).get(), is(new byte[] {1, 2, 3}));
+        final List<DataView> entities = copy.getViewList(of("Level", "Entities")).get();
+        assertThat(entities.size(), is(2));
+        assertThat(entities.get(1).getString(of("id")).get(), is("minecraft:cow"));
+    }
+
+    @Test
+    public void testProject() throws IOException {
+        final DataContainer chunk = createChunk();
+        final DataContainer copy = DataContainer.createNew();
+        DataStreams.visit(chunk, DataStreams.project(DataStreams.collect(copy), of("Level", "xPos"), of("Level", "Entities", "id")));
+        assertThat(copy.getKeys(true), contains(of("Level"), of("Level", "xPos"), of("Level", "Entities")));
+        final List<DataView> entities = copy.getViewList(of("Level", "Entities")).get();
+        assertThat(entities.size(), is(2));
+        assertThat(entities.get(0).getKeys(false), contains(of("id")));
+    }
+
+    @Test
+    public void testSkipAndTerminate() throws IOException {
+        final DataContainer chunk = createChunk();
+        final List<DataQuery> visited = new ArrayList<>();
+        final boolean completed = DataStreams.visit(chunk, new DataStreamVisitor() {
+            @Override
+            public Result visitListStart(DataQuery path) {
+                return Result.SKIP;
+            }
+
+            @Override
+            public Result visitValue(DataQuery path, Object value) {
+                visited.add(path);
+                return path.equals(of("Level", "Blocks")) ? Result.TERMINATE : Result.CONTINUE;
+            }
+        });
+        assertThat(completed, is(false));
+        assertThat(visited, contains(of("Level", "xPos"), of("Level", "zPos"), of("Level", "Blocks")));
+    }
+
+    @Test
+    public void testOfNonStreamingFormat() throws IOException {
+        final MemoryDataFormat format = new MemoryDataFormat();
+        final StreamingDataFormat streaming = DataStreams.of(format);
+        assertThat(DataStreams.of(streaming), is(sameInstance(streaming)));
+        assertThat(streaming.getId(), is(format.getId()));
+
+        final DataStreamWriter writer = streaming.createWriter(new ByteArrayOutputStream());
+        DataStreams.visit(createChunk(), writer);
+        assertThat(format.written, is((DataView) null));
+        writer.finish();
+        assertThat(format.written.getInt(of("Level", "zPos")).get(), is(-2));
+
+        final DataContainer projected = streaming.readFrom(new ByteArrayInputStream(new byte[0]), of("DataVersion"));
+        assertThat(projected.getKeys(true), contains(of("DataVersion")));
+    }
+
+    private static final class MemoryDataFormat implements DataFormat {
+
+        DataView written;
+
+        @Override
+        public String getId() {
+            return "test:memory";
+        }
+
+        @Override
+        public String getName() {
+            return "Memory";
+        }
+
+        @Override
+        public DataContainer readFrom(InputStream input) {
+            return createChunk();
+        }
+
+        @Override
+        public void writeTo(OutputStream output, DataView data) {
+            this.written = data;
+        }
+
+    }
+
+}
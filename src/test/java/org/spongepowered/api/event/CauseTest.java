@@ -119,4 +119,24 @@ public void testListedArray() {
     }
 
 
+    @Test
+    public void testTypeQueries() {
+        final Cause cause = Cause.builder().append(1).append("foo").append(2L).append("bar").append(3).build(EventContext.empty());
+        for (int i = 0; i < 2; i++) {
+            // Repeated to also cover the indexed lookups
+            assertThat(cause.first(String.class).get(), is("foo"));
+            assertThat(cause.last(String.class).get(), is("bar"));
+            assertThat(cause.first(Number.class).get(), is(1));
+            assertThat(cause.last(Number.class).get(), is(3));
+            assertThat(cause.allOf(Number.class), is(ImmutableList.of(1, 2L, 3)));
+            assertThat(cause.allOf(Object.class), is(cause.all()));
+            assertThat(cause.before(Integer.class).get(), is("bar"));
+            assertThat(cause.after(Integer.class).get(), is("foo"));
+            assertThat(cause.after(String.class).get(), is(2L));
+            assertThat(cause.first(Double.class).isPresent(), is(false));
+            assertThat(cause.containsType(Long.class), is(true));
+            assertThat(cause.containsType(Double.class), is(false));
+        }
+    }
+
 }
@@ -0,0 +1,95 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.Assert.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.cause.EventContextKey;
+
+import java.util.Optional;
+
+public class EventContextTest {
+
+    private final EventContextKey<String> first = new TestEventContextKey<>("first", true);
+    private final EventContextKey<Integer> second = new TestEventContextKey<>("second", false);
+    private final EventContextKey<String> unused = new TestEventContextKey<>("unused", false);
+
+    @Test
+    public void testGet() {
+        final EventContext context = EventContext.builder().add(this.second, 2).add(this.first, "one").build();
+        assertThat(context.get(this.first), is(Optional.of("one")));
+        assertThat(context.require(this.second), is(2));
+        assertThat(context.get(this.unused), is(Optional.empty()));
+        assertThat(context.containsKey(this.first), is(true));
+        assertThat(context.containsKey(this.unused), is(false));
+        // Looking up a key must not assign it an ordinal
+        assertThat(this.unused.ordinal(), is(-1));
+        assertThat(this.second.ordinal(), is(not(-1)));
+        assertThat(context.asMap(), is(ImmutableMap.of(this.first, "one", this.second, 2)));
+        assertThat(context.hashCode(), is(context.asMap().hashCode()));
+        assertThat(EventContext.of(context.asMap()), is(context));
+    }
+
+    @Test
+    public void testSelfNumberedKeys() {
+        final EventContextKey<String> colliding = new TestEventContextKey<>("colliding", this.first.ordinal());
+        final EventContextKey<String> outOfRange = new TestEventContextKey<>("outOfRange", 100000);
+        final EventContext context = EventContext.builder().add(this.first, "one").add(colliding, "two").add(outOfRange, "three").build();
+        assertThat(context.get(this.first), is(Optional.of("one")));
+        assertThat(context.get(colliding), is(Optional.of("two")));
+        assertThat(context.get(outOfRange), is(Optional.of("three")));
+        assertThat(context.containsKey(outOfRange), is(true));
+        assertThat(EventContext.empty().get(colliding), is(Optional.empty()));
+        assertThat(context.asMap(), is(ImmutableMap.of(this.first, "one", colliding, "two", outOfRange, "three")));
+        assertThat(context.hashCode(), is(context.asMap().hashCode()));
+        assertThat(context.toString().contains("\"outOfRange\"=three"), is(true));
+    }
+
+    @Test
+    public void testFrom() {
+        final EventContext original = EventContext.builder().add(this.first, "one").build();
+        final EventContext.Builder builder = EventContext.builder().from(original);
+        assertThat(builder.build(), is(original));
+
+        final EventContext extended = builder.add(this.second, 2).build();
+        assertThat(extended.containsKey(this.second), is(true));
+        assertThat(original.containsKey(this.second), is(false));
+        assertThat(extended.equals(original), is(false));
+        assertThat(original.equals(extended), is(false));
+
+        builder.reset();
+        assertThat(builder.build(), is(EventContext.empty()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateKey() {
+        EventContext.builder().add(this.first, "one").add(this.first, "two");
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.cause.EventContextKey;
+
+public class SimpleCauseStackManagerTest {
+
+    private static final EventContextKey<String> KEY = new TestEventContextKey<>("key", true);
+
+    @Test
+    public void testCachedCause() {
+        final SimpleCauseStackManager manager = new SimpleCauseStackManager();
+        manager.pushCause("first").pushCause("second");
+        final Cause cause = manager.getCurrentCause();
+        assertEquals(ImmutableList.of("second", "first"), cause.all());
+        assertSame(cause, manager.getCurrentCause());
+        assertEquals(1, manager.getStatistics().getCausesBuilt());
+        assertEquals(1, manager.getStatistics().getCausesReused());
+        // Building the cause doesn't count as a requested context
+        assertEquals(0, manager.getStatistics().getContextsBuilt());
+        assertEquals(0, manager.getStatistics().getContextsReused());
+        assertSame(cause.getContext(), manager.getCurrentContext());
+        assertEquals(0, manager.getStatistics().getContextsBuilt());
+        assertEquals(1, manager.getStatistics().getContextsReused());
+
+        manager.addContext(KEY, "value");
+        final Cause withContext = manager.getCurrentCause();
+        assertNotSame(cause, withContext);
+        assertEquals("value", withContext.getContext().require(KEY));
+
+        manager.popCause();
+        assertEquals(ImmutableList.of("first"), manager.getCurrentCause().all());
+        manager.resetStatistics();
+        assertEquals(0, manager.getStatistics().getCausesBuilt());
+    }
+
+    @Test
+    public void testFrames() {
+        final SimpleCauseStackManager manager = new SimpleCauseStackManager();
+        manager.pushCause("outer");
+        manager.addContext(KEY, "outer");
+        final EventContext outerContext = manager.getCurrentContext();
+
+        try (CauseStackManager.StackFrame frame = manager.pushCauseFrame()) {
+            manager.pushCause("inner");
+            manager.addContext(KEY, "inner");
+            manager.addContext(KEY, "innermost");
+            assertEquals("innermost", manager.getCurrentCause().getContext().require(KEY));
+        }
+        assertEquals(ImmutableList.of("outer"), manager.getCurrentCause().all());
+        assertEquals(outerContext, manager.getCurrentContext());
+
+        final CauseStackManager.StackFrame frame = manager.pushCauseFrame();
+        manager.removeContext(KEY);
+        assertFalse(manager.getContext(KEY).isPresent());
+        manager.popCauseFrame(frame);
+        assertEquals("outer", manager.requireContext(KEY));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPopBelowFrame() {
+        final SimpleCauseStackManager manager = new SimpleCauseStackManager();
+        manager.pushCause("outer");
+        manager.pushCauseFrame();
+        manager.popCause();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPopWrongFrame() {
+        final SimpleCauseStackManager manager = new SimpleCauseStackManager();
+        final CauseStackManager.StackFrame outer = manager.pushCauseFrame();
+        manager.pushCauseFrame();
+        manager.popCauseFrame(outer);
+    }
+
+    @Test
+    public void testStaleFrameHandle() {
+        final SimpleCauseStackManager manager = new SimpleCauseStackManager();
+        final CauseStackManager.StackFrame stale = manager.pushCauseFrame();
+        stale.close();
+        // The recycled frame must not be popped through the old handle
+        final CauseStackManager.StackFrame current = manager.pushCauseFrame();
+        manager.pushCause("current");
+        try {
+            stale.close();
+            fail("Closed a frame twice");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals("current", manager.peekCause());
+        current.close();
+    }
+}
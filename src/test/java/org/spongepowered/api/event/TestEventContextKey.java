@@ -0,0 +1,75 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event;
+
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.cause.EventContextKey;
+
+/**
+ * A context key which either caches its ordinal like implementations should,
+ * looks it up through the default implementation or returns an ordinal it
+ * numbered itself.
+ */
+final class TestEventContextKey<T> implements EventContextKey<T> {
+
+    private final String id;
+    private final boolean cached;
+    private int ordinal = -1;
+
+    TestEventContextKey(String id, boolean cached) {
+        this.id = id;
+        this.cached = cached;
+        if (cached) {
+            this.ordinal = EventContext.ordinalOf(this);
+        }
+    }
+
+    TestEventContextKey(String id, int ordinal) {
+        this.id = id;
+        this.cached = true;
+        this.ordinal = ordinal;
+    }
+
+    @Override
+    public String getId() {
+        return this.id;
+    }
+
+    @Override
+    public String getName() {
+        return this.id;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<T> getAllowedType() {
+        return (Class<T>) Object.class;
+    }
+
+    @Override
+    public int ordinal() {
+        return this.cached ? this.ordinal : EventContextKey.super.ordinal();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.cause.entity.damage.DamageFunction;
+import org.spongepowered.api.event.cause.entity.damage.DamageModifier;
+import org.spongepowered.api.event.cause.entity.damage.DamageModifierType;
+
+import java.util.List;
+
+public class AbstractModifierEventTest {
+
+    private final DamageModifierType armorType = mock(DamageModifierType.class);
+    private final DamageModifierType absorptionType = mock(DamageModifierType.class);
+    private final DamageModifier weapon = modifier(mock(DamageModifierType.class));
+    private final DamageModifier armor = modifier(this.armorType);
+    private final DamageModifier absorption = modifier(this.absorptionType);
+
+    private static DamageModifier modifier(DamageModifierType type) {
+        final DamageModifier modifier = mock(DamageModifier.class);
+        when(modifier.getType()).thenReturn(type);
+        return modifier;
+    }
+
+    private TestDamageEntityEvent createEvent() {
+        return new TestDamageEntityEvent(10, Lists.newArrayList(
+                DamageFunction.of(this.weapon, damage -> damage * 0.5),
+                DamageFunction.of(this.armor, damage -> -damage * 0.25),
+                DamageFunction.of(this.absorption, damage -> -Math.min(damage, 4))));
+    }
+
+    @Test
+    public void testSetDamage() {
+        final TestDamageEntityEvent event = createEvent();
+        event.setDamage(this.armor, damage -> -damage * 0.5);
+        assertMatchesFullCalculation(event);
+        event.setDamage(this.absorption, damage -> -1);
+        assertMatchesFullCalculation(event);
+        event.setDamage(this.weapon, damage -> damage);
+        assertMatchesFullCalculation(event);
+    }
+
+    @Test
+    public void testAddDamageModifierBefore() {
+        final TestDamageEntityEvent event = createEvent();
+        final DamageModifier modifier = modifier(mock(DamageModifierType.class));
+        event.addDamageModifierBefore(modifier, damage -> damage * 2, ImmutableSet.of(this.armorType));
+        assertEquals(modifier, event.getModifiers().get(1).getModifier());
+        assertMatchesFullCalculation(event);
+    }
+
+    @Test
+    public void testAddDamageModifierAfter() {
+        final TestDamageEntityEvent event = createEvent();
+        final DamageModifier modifier = modifier(mock(DamageModifierType.class));
+        event.addModifierAfter(modifier, damage -> -damage * 0.1, ImmutableSet.of(this.armorType));
+        assertEquals(modifier, event.getModifiers().get(2).getModifier());
+        assertMatchesFullCalculation(event);
+        final DamageModifier last = modifier(mock(DamageModifierType.class));
+        event.addModifierAfter(last, damage -> 3, ImmutableSet.of(this.absorptionType));
+        assertEquals(last, event.getModifiers().get(4).getModifier());
+        assertMatchesFullCalculation(event);
+    }
+
+    @Test
+    public void testChangesAfterSetBaseDamage() {
+        final TestDamageEntityEvent event = createEvent();
+        event.setBaseDamage(3);
+        event.setDamage(this.absorption, damage -> -damage);
+        assertMatchesFullCalculation(event);
+        event.addDamageModifierBefore(modifier(mock(DamageModifierType.class)), damage -> 7, ImmutableSet.of(this.absorptionType));
+        assertMatchesFullCalculation(event);
+        assertFalse(event.isModifierApplicable(modifier(this.armorType)));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedModifierMap() {
+        final TestDamageEntityEvent event = createEvent();
+        assertEquals(ImmutableList.of(this.weapon, this.armor, this.absorption), ImmutableList.copyOf(event.modifiers.keySet()));
+        assertEquals(event.getDamage(this.armor), event.modifiers.get(this.armor), 0);
+        event.setDamage(this.armor, damage -> -1);
+        assertEquals(-1, event.modifiers.get(this.armor), 0);
+        assertEquals(event.getDamage(this.absorption), event.modifiers.get(this.absorption), 0);
+        assertFalse(event.modifiers.containsKey(modifier(this.armorType)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedModifierMapIsReadOnly() {
+        createEvent().modifiers.put(this.armor, 0.0);
+    }
+
+    private static void assertMatchesFullCalculation(TestDamageEntityEvent event) {
+        final TestDamageEntityEvent full = new TestDamageEntityEvent(event.getBaseDamage(), Lists.newArrayList(event.getModifiers()));
+        assertEquals(full.getFinalDamage(), event.getFinalDamage(), 0);
+        for (DamageFunction function : event.getModifiers()) {
+            assertEquals(full.getDamage(function.getModifier()), event.getDamage(function.getModifier()), 0);
+        }
+    }
+
+    private static final class TestDamageEntityEvent extends AbstractDamageEntityEvent {
+
+        private final Cause cause = Cause.of(EventContext.empty(), "none");
+        private final Entity targetEntity = mock(Entity.class);
+
+        TestDamageEntityEvent(double originalDamage, List<DamageFunction> originalFunctions) {
+            this.originalDamage = originalDamage;
+            this.originalFunctions = originalFunctions;
+            init();
+        }
+
+        @Override
+        public double getOriginalDamage() {
+            return this.originalDamage;
+        }
+
+        @Override
+        public List<DamageFunction> getOriginalFunctions() {
+            return this.originalFunctions;
+        }
+
+        @Override
+        public Entity getTargetEntity() {
+            return this.targetEntity;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setCancelled(boolean cancel) {
+        }
+
+    }
+
+}
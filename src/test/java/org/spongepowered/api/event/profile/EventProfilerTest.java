@@ -0,0 +1,149 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.event.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.filter.cause.First;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class EventProfilerTest {
+
+    private static PluginContainer plugin(String id) {
+        final PluginContainer plugin = mock(PluginContainer.class);
+        when(plugin.getId()).thenReturn(id);
+        return plugin;
+    }
+
+    private static void invoke(EventProfiler profiler, ListenerStatistics statistics, long sleepMillis) throws InterruptedException {
+        final long start = profiler.start(statistics);
+        Thread.sleep(sleepMillis);
+        profiler.stop(statistics, start);
+    }
+
+    @Test
+    public void testDisabled() throws InterruptedException {
+        final EventProfiler profiler = new EventProfiler();
+        final ListenerStatistics statistics = profiler.register(plugin("test"), "onEvent", Event.class);
+        invoke(profiler, statistics, 0);
+        profiler.recordFilterRejection(statistics, First.class);
+        assertEquals(0, statistics.getInvocationCount());
+        assertEquals(0, statistics.getFilterRejectionCount());
+    }
+
+    @Test
+    public void testSampling() throws InterruptedException {
+        final EventProfiler profiler = new EventProfiler();
+        profiler.setEnabled(true);
+        profiler.setSampleInterval(3);
+        final ListenerStatistics statistics = profiler.register(plugin("test"), "onEvent", Event.class);
+        for (int i = 0; i < 7; i++) {
+            invoke(profiler, statistics, 0);
+        }
+        assertEquals(7, statistics.getInvocationCount());
+        assertEquals(3, statistics.getSampledInvocationCount());
+
+        profiler.reset();
+        assertEquals(0, statistics.getInvocationCount());
+        assertEquals(0, statistics.getMaxNanos());
+    }
+
+    @Test
+    public void testStatistics() throws InterruptedException {
+        final EventProfiler profiler = new EventProfiler();
+        profiler.setEnabled(true);
+        final PluginContainer first = plugin("first");
+        final ListenerStatistics fast = profiler.register(first, "onFast", Event.class);
+        final ListenerStatistics slow = profiler.register(first, "onSlow", Event.class);
+        final ListenerStatistics other = profiler.register(plugin("second"), "onOther", Event.class);
+        invoke(profiler, fast, 0);
+        invoke(profiler, slow, 5);
+        profiler.recordFilterRejection(other, First.class);
+        profiler.recordFilterRejection(other, First.class);
+        profiler.recordFilterRejection(other, Getter.class);
+
+        assertEquals(ImmutableList.of(slow, fast), profiler.getStatistics(first));
+        assertEquals(slow, profiler.getStatistics().get(0));
+        assertTrue(slow.getMaxNanos() >= 5000000);
+        assertEquals(3, other.getFilterRejectionCount());
+        assertEquals(ImmutableMap.of(First.class, 2L, Getter.class, 1L), other.getFilterRejectionCounts());
+        assertTrue(profiler.createReport().contains("onSlow"));
+
+        profiler.unregister(other);
+        assertEquals(2, profiler.getStatistics().size());
+    }
+
+    @Test
+    public void testReportWhileRecording() throws InterruptedException {
+        final EventProfiler profiler = new EventProfiler();
+        profiler.setEnabled(true);
+        final PluginContainer plugin = plugin("test");
+        final List<ListenerStatistics> listeners = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            listeners.add(profiler.register(plugin, "onEvent" + i, Event.class));
+        }
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread recorder = new Thread(() -> {
+            final Random random = new Random(0);
+            while (running.get()) {
+                final ListenerStatistics statistics = listeners.get(random.nextInt(listeners.size()));
+                profiler.stop(statistics, profiler.start(statistics) - random.nextInt(1000000));
+            }
+        });
+        recorder.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                assertEquals(listeners.size(), profiler.getStatistics().size());
+                // The printed totals are the ones the report was sorted by
+                double previous = Double.MAX_VALUE;
+                for (String line : profiler.createReport().split("\\R")) {
+                    if (line.startsWith("test")) {
+                        final String[] columns = line.trim().split(" +");
+                        final double total = Double.parseDouble(columns[columns.length - 2]);
+                        assertTrue(total <= previous);
+                        previous = total;
+                    }
+                }
+            }
+        } finally {
+            running.set(false);
+            recorder.join();
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.permission;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+public class MemorySubjectDataTest {
+
+    private static final Set<Context> GLOBAL = ImmutableSet.of();
+    private static final Context NETHER = new Context("world", "nether");
+
+    private PermissionService service;
+    private SubjectCollection groups;
+
+    @Before
+    public void initialize() {
+        this.service = mock(PermissionService.class);
+        this.groups = mock(SubjectCollection.class);
+        when(this.service.getCollection("groups")).thenReturn(Optional.of(this.groups));
+        when(this.groups.getSubject(anyString())).thenReturn(Optional.empty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private MemorySubjectData createGroup(String identifier) {
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        final Subject subject = mock(Subject.class);
+        when(subject.getSubjectData()).thenReturn(data);
+        when(subject.getTransientSubjectData()).thenReturn(new MemorySubjectData(this.service));
+        when(subject.getPermissionValue(anySetOf(Context.class), anyString()))
+                .thenAnswer(invocation -> {
+                    final Object[] args = invocation.getArguments();
+                    return data.getPermissionValue((Set<Context>) args[0], (String) args[1]);
+                });
+        when(this.groups.getSubject(identifier)).thenReturn(Optional.of(subject));
+        return data;
+    }
+
+    private static SubjectReference group(String identifier) {
+        final SubjectReference reference = mock(SubjectReference.class);
+        when(reference.getCollectionIdentifier()).thenReturn("groups");
+        when(reference.getSubjectIdentifier()).thenReturn(identifier);
+        return reference;
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        data.setPermission(GLOBAL, "sponge.build", Tristate.TRUE);
+
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.build"));
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.build"));
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(new HashSet<>(), "sponge.fly"));
+
+        final MemorySubjectData.CacheStats stats = data.getCacheStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRate(), 0.0);
+        assertEquals(0, stats.getInvalidationCount());
+    }
+
+    @Test
+    public void testMutatedContextSet() {
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        data.setPermission(ImmutableSet.of(NETHER), "sponge.build", Tristate.FALSE);
+
+        final Set<Context> contexts = new HashSet<>();
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(contexts, "sponge.build"));
+        contexts.add(NETHER);
+        assertEquals(Tristate.FALSE, data.getPermissionValue(contexts, "sponge.build"));
+        contexts.clear();
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(contexts, "sponge.build"));
+    }
+
+    @Test
+    public void testInvalidateOnSetPermission() {
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.build"));
+        data.setPermission(GLOBAL, "sponge.build", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.build"));
+        data.setPermission(GLOBAL, "sponge.build", Tristate.FALSE);
+        assertEquals(Tristate.FALSE, data.getPermissionValue(GLOBAL, "sponge.build"));
+        assertEquals(2, data.getCacheStats().getInvalidationCount());
+        assertEquals(3, data.getCacheStats().getMissCount());
+    }
+
+    @Test
+    public void testInvalidateOnClear() {
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        data.setPermission(GLOBAL, "sponge.build", Tristate.TRUE);
+        data.setPermission(ImmutableSet.of(NETHER), "sponge.build", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.build"));
+        data.clearPermissions(GLOBAL);
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.build"));
+        assertEquals(Tristate.TRUE, data.getPermissionValue(ImmutableSet.of(NETHER), "sponge.build"));
+        data.clearPermissions();
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(ImmutableSet.of(NETHER), "sponge.build"));
+
+        createGroup("admin").setPermission(GLOBAL, "sponge.fly", Tristate.TRUE);
+        data.addParent(GLOBAL, group("admin"));
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        data.clearParents(GLOBAL);
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        data.addParent(GLOBAL, group("admin"));
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        data.clearParents();
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.fly"));
+    }
+
+    @Test
+    public void testInvalidateOnAddParent() {
+        final MemorySubjectData admin = createGroup("admin");
+        admin.setPermission(GLOBAL, "sponge.fly", Tristate.TRUE);
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        data.addParent(GLOBAL, group("admin"));
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        data.removeParent(GLOBAL, group("admin"));
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.fly"));
+    }
+
+    @Test
+    public void testParentChangeSeenByChild() {
+        final MemorySubjectData admin = createGroup("admin");
+        final MemorySubjectData moderator = createGroup("moderator");
+        moderator.addParent(GLOBAL, group("admin"));
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        data.addParent(GLOBAL, group("moderator"));
+
+        assertEquals(Tristate.UNDEFINED, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        admin.setPermission(GLOBAL, "sponge.fly", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.fly"));
+        moderator.setPermission(GLOBAL, "sponge.fly", Tristate.FALSE);
+        assertEquals(Tristate.FALSE, data.getPermissionValue(GLOBAL, "sponge.fly"));
+    }
+
+    @Test
+    public void testUnrelatedChangeKeepsCache() {
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        data.setPermission(GLOBAL, "sponge.build", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.build"));
+
+        new MemorySubjectData(this.service).setPermission(GLOBAL, "sponge.build", Tristate.FALSE);
+        assertEquals(Tristate.TRUE, data.getPermissionValue(GLOBAL, "sponge.build"));
+        assertEquals(1, data.getCacheStats().getHitCount());
+        assertEquals(0, data.getCacheStats().getInvalidationCount());
+    }
+
+    @Test
+    public void testInvalidateCache() {
+        final MemorySubjectData data = new MemorySubjectData(this.service);
+        data.getPermissionValue(GLOBAL, "sponge.build");
+        data.invalidateCache();
+        data.getPermissionValue(GLOBAL, "sponge.build");
+        assertEquals(2, data.getCacheStats().getMissCount());
+        assertEquals(1, data.getCacheStats().getInvalidationCount());
+    }
+
+}
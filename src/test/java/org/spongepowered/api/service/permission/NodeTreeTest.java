@@ -83,12 +83,43 @@ public void testWithAll() throws Exception {
         assertEquals(Tristate.TRUE, newTree.get("generate.sunset.red"));
 
         assertEquals(Tristate.FALSE, oldTree.get("generate.thunderstorm.explosive"));
-        assertEquals(Tristate.UNDEFINED, newTree.get("generate.thunderstorm.explosive"));
+        // Falls back to the value of "generate", which must not be lost
+        assertEquals(Tristate.TRUE, newTree.get("generate.thunderstorm.explosive"));
+        assertEquals(Tristate.TRUE, newTree.get("generate"));
 
         assertEquals(Tristate.UNDEFINED, oldTree.get("something.new"));
         assertEquals(Tristate.FALSE, newTree.get("something.new"));
     }
 
+    @Test
+    public void testBuilder() throws Exception {
+        final Map<String, Boolean> testPermissions = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            testPermissions.put("plugin" + (i % 50) + ".node" + i, i % 2 == 0);
+        }
+        NodeTree.Builder builder = NodeTree.builder();
+        testPermissions.forEach((node, value) -> builder.set(node, Tristate.fromBoolean(value)));
+        NodeTree tree = builder.build();
+        assertEquals(testPermissions, tree.asMap());
+
+        // Changes after building must not affect the built tree
+        builder.set("plugin0.node0", Tristate.FALSE);
+        builder.set("plugin1.node1", Tristate.UNDEFINED);
+        NodeTree changed = builder.build();
+        assertEquals(Tristate.TRUE, tree.get("plugin0.node0"));
+        assertEquals(Tristate.FALSE, tree.get("plugin1.node1"));
+        assertEquals(Tristate.FALSE, changed.get("plugin0.node0"));
+        assertEquals(Tristate.TRUE, changed.get("plugin0.node50"));
+        assertEquals(testPermissions.size() - 1, changed.asMap().size());
+
+        // "a~" and "b_" share the same hash code
+        NodeTree collisions = NodeTree.builder().set("a~", Tristate.TRUE).set("b_", Tristate.FALSE).build();
+        assertEquals(Tristate.TRUE, collisions.get("a~.node"));
+        assertEquals(Tristate.FALSE, collisions.get("b_"));
+        assertEquals(Tristate.TRUE, collisions.withValue("b_", Tristate.TRUE).get("B_"));
+        assertEquals(Tristate.TRUE, collisions.get("A~"));
+    }
+
     @Test
     public void testCreateFromValues() throws Exception {
         final Map<String, Boolean> testPermissions = new HashMap<>();
@@ -107,4 +138,38 @@ public void testCreateFromValues() throws Exception {
         assertEquals(Tristate.FALSE, nodes.get("generate.thunderstorm.explosive"));
         assertEquals(Tristate.UNDEFINED, nodes.get("random.perm"));
     }
+
+    @Test
+    public void testCaseInsensitive() throws Exception {
+        final Map<String, Boolean> testPermissions = new HashMap<>();
+        testPermissions.put("Generate.Rainbow", true);
+        testPermissions.put("generate.SUNSET", false);
+
+        NodeTree nodes = NodeTree.of(testPermissions);
+
+        assertEquals(Tristate.TRUE, nodes.get("generate.rainbow"));
+        assertEquals(Tristate.TRUE, nodes.get("GENERATE.RAINBOW.double"));
+        assertEquals(Tristate.FALSE, nodes.get("gEnErAtE.sunset"));
+        assertEquals(Tristate.UNDEFINED, nodes.get("generate"));
+        assertEquals(Tristate.UNDEFINED, nodes.get("generate.rainbo"));
+        assertEquals(Tristate.UNDEFINED, nodes.get(""));
+        // Repeated lookups are answered from the memo
+        assertEquals(Tristate.TRUE, nodes.get("GENERATE.RAINBOW.double"));
+    }
+
+    @Test
+    public void testWildcardSegments() throws Exception {
+        final Map<String, Boolean> testPermissions = new HashMap<>();
+        testPermissions.put("generate.*.explosive", true);
+        testPermissions.put("generate.sunset", false);
+
+        NodeTree nodes = NodeTree.of(testPermissions);
+        assertEquals(Tristate.UNDEFINED, nodes.get("generate.thunderstorm.explosive"));
+
+        NodeTree wildcards = nodes.withWildcardSegments(true);
+        assertEquals(Tristate.TRUE, wildcards.get("generate.thunderstorm.explosive"));
+        assertEquals(Tristate.UNDEFINED, wildcards.get("generate.thunderstorm"));
+        assertEquals(Tristate.FALSE, wildcards.get("generate.sunset.explosive"));
+        assertEquals(Tristate.TRUE, wildcards.withValue("other", Tristate.TRUE).get("generate.rainbow.explosive"));
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextFormat;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.Collections;
+
+public class CompiledTextTemplateTest {
+
+    @Before
+    public void initialize() throws Exception {
+        TestPlainTextSerializer.inject();
+        TestHooks.mockFields(TextColors.class, TextColor.class);
+        TestHooks.mockFields(TextStyles.class, TextStyle.class);
+    }
+
+    @Test
+    public void testApply() {
+        final TextTemplate template = TextTemplate.of("Hello ", TextTemplate.arg("name").color(TextColors.RED), 42,
+                TextTemplate.arg("suffix").optional().defaultValue(Text.of("!")));
+        final CompiledTextTemplate compiled = template.compile();
+        assertEquals(ImmutableList.of("name", "suffix"), compiled.getArgumentNames());
+        assertEquals(1, compiled.getArgumentIndex("suffix"));
+        assertEquals(-1, compiled.getArgumentIndex("missing"));
+
+        final Text expected = Text.builder("Hello ")
+                .append(Text.builder().format(TextFormat.of(TextColors.RED)).append(Text.of("Bob")).build())
+                .append(Text.of("42"))
+                .append(Text.builder().append(Text.of("!")).build())
+                .build();
+        assertEquals(expected, template.apply(ImmutableMap.of("name", Text.of("Bob"))).build());
+        assertEquals(expected, compiled.apply(Text.of("Bob"), null).build());
+        assertEquals(expected, compiled.apply(ImmutableMap.of("name", Text.of("Bob"))).build());
+    }
+
+    @Test
+    public void testApplyToString() {
+        final CompiledTextTemplate compiled = TextTemplate.of(TextTemplate.arg("first"), " and ", TextTemplate.arg("first")).compile();
+        assertEquals(1, compiled.getArgumentNames().size());
+        final Text wrapped = Text.builder().append(Text.of("7")).build();
+        final Text expected = Text.builder().append(wrapped).append(Text.of(" and ")).append(wrapped).build();
+        assertEquals(expected, compiled.apply(7).build());
+    }
+
+    @Test
+    public void testMissingOptionalArgument() {
+        final CompiledTextTemplate compiled = TextTemplate.of(TextTemplate.arg("first").optional(), "text").compile();
+        assertEquals(Text.of("text"), compiled.apply(Collections.emptyMap()).build());
+    }
+
+    @Test(expected = TextTemplateArgumentException.class)
+    public void testMissingRequiredArgument() {
+        TextTemplate.of("Hello ", TextTemplate.arg("name")).compile().apply(new Object[] {null});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongParameterCount() {
+        TextTemplate.of("Hello ", TextTemplate.arg("name")).compile().apply();
+    }
+
+}
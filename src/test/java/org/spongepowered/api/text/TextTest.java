@@ -26,13 +26,18 @@
 
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.spongepowered.api.text.action.TextActions.insertText;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.spongepowered.api.scoreboard.Score;
 import org.spongepowered.api.text.format.TextColor;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.format.TextStyle;
@@ -100,6 +105,78 @@ public void testCompositeText() {
         assertThat(server.getShiftClickAction().get(), is(insertText("Welcome Spongie!")));
     }
 
+    @Test
+    public void testCachedRepresentations() {
+        Text text = Text.of(TextColors.RED, "Red", Text.of(TextColors.YELLOW, "Yellow"));
+        assertSame(text.toPlain(), text.toPlain());
+        assertThat(text.hashCode(), is(text.hashCode()));
+
+        Text same = Text.of(TextColors.RED, "Red", Text.of(TextColors.YELLOW, "Yellow"));
+        assertThat(same.hashCode(), is(text.hashCode()));
+        assertThat(same, is(text));
+        assertThat(text.compareTo(same), is(0));
+        assertNotEquals(text, Text.of(TextColors.RED, "Red", Text.of(TextColors.YELLOW, "Green")));
+    }
+
+    @Test
+    public void testScoreTextNotCached() {
+        Score score = mock(Score.class);
+        when(score.getScore()).thenReturn(1);
+        Text text = Text.of("Score: ", Text.of(score));
+        assertThat(text.toPlain(), is("Score: 1"));
+        when(score.getScore()).thenReturn(2);
+        assertThat(text.toPlain(), is("Score: 2"));
+    }
+
+    @Test
+    public void testRepeatedConcat() {
+        Text text = Text.of("Start");
+        Text.Builder expected = Text.builder("Start");
+        for (int i = 0; i < 100; i++) {
+            text = text.concat(Text.of(i));
+            expected.append(Text.of(i));
+        }
+        assertThat(text, is(expected.build()));
+        assertThat(text.getChildren().size(), is(100));
+        assertThat(text.hashCode(), is(expected.build().hashCode()));
+    }
+
+    @Test
+    public void testConcatBranches() {
+        Text base = Text.of("Base").concat(Text.of("1"));
+        Text first = base.concat(Text.of("A"));
+        Text second = base.concat(Text.of("B"));
+        assertThat(base.toPlain(), is("Base1"));
+        assertThat(first.toPlain(), is("Base1A"));
+        assertThat(second.toPlain(), is("Base1B"));
+        Text third = first.concat(Text.of("C"));
+        Text fourth = first.concat(Text.of("D"));
+        assertThat(third.toPlain(), is("Base1AC"));
+        assertThat(fourth.toPlain(), is("Base1AD"));
+        assertThat(first.getChildren().size(), is(2));
+    }
+
+    @Test
+    public void testBuilderDoesNotModifySharedChildren() {
+        Text text = Text.builder("Root").append(Text.of("A"), Text.of("B")).build();
+        Text.Builder builder = text.toBuilder().append(Text.of("C"));
+        builder.remove(Text.of("A"));
+        builder.insert(0, Text.of("D"));
+        assertThat(builder.build().toPlain(), is("RootDBC"));
+        assertThat(text.toPlain(), is("RootAB"));
+    }
+
+    @Test
+    public void testTrimSharedChildren() {
+        Text text = Text.builder().append(Text.EMPTY, Text.of("A"), Text.EMPTY, Text.of("B"), Text.EMPTY).build();
+        Text trimmed = text.trim();
+        assertThat(trimmed.getChildren().size(), is(3));
+        assertThat(trimmed.toPlain(), is("AB"));
+        assertThat(trimmed.concat(Text.of("C")).toPlain(), is("ABC"));
+        assertThat(text.getChildren().size(), is(5));
+        assertThat(Text.builder().append(Text.EMPTY).build().trim().getChildren(), empty());
+    }
+
     private static Text findText(Text root, String text) {
         for (Text t : root.withChildren()) {
             if (t instanceof LiteralText && ((LiteralText) t).getContent().contains(text)) {
@@ -0,0 +1,229 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Server;
+import org.spongepowered.api.command.source.ConsoleSource;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.TestPlainTextSerializer;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.text.translation.Translation;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import javax.annotation.Nullable;
+
+public class MessageChannelTest {
+
+    @Before
+    public void initialize() throws Exception {
+        TestPlainTextSerializer.inject();
+        TestHooks.mockFields(TextColors.class, TextColor.class);
+        TestHooks.mockFields(TextStyles.class, TextStyle.class);
+    }
+
+    private static MessageReceiver broadcastReceiver() {
+        return mock(MessageReceiver.class, withSettings().extraInterfaces(BroadcastMessageReceiver.class));
+    }
+
+    @Test
+    public void testBroadcastIsShared() {
+        final MessageReceiver first = broadcastReceiver();
+        final MessageReceiver second = broadcastReceiver();
+        final MessageReceiver plain = mock(MessageReceiver.class);
+        final ChatType type = mock(ChatType.class);
+        final Text text = Text.of("Hello");
+        MessageChannel.fixed(first, second, plain).send(text, type);
+
+        final ArgumentCaptor<BroadcastMessage> firstMessage = ArgumentCaptor.forClass(BroadcastMessage.class);
+        final ArgumentCaptor<BroadcastMessage> secondMessage = ArgumentCaptor.forClass(BroadcastMessage.class);
+        verify((BroadcastMessageReceiver) first).sendMessage(firstMessage.capture());
+        verify((BroadcastMessageReceiver) second).sendMessage(secondMessage.capture());
+        assertSame(firstMessage.getValue(), secondMessage.getValue());
+        assertSame(text, firstMessage.getValue().getText());
+        assertSame(type, firstMessage.getValue().getType());
+        verify(first, never()).sendMessage(any(Text.class));
+        verify(plain).sendMessage(text);
+    }
+
+    @Test
+    public void testTransformedMessagesAreNotShared() {
+        final MessageReceiver transformed = broadcastReceiver();
+        final MessageReceiver untransformed = broadcastReceiver();
+        final Text text = Text.of("Hello");
+        final Text other = Text.of("Bye");
+        final MessageChannel channel = new MessageChannel() {
+
+            @Override
+            public Optional<Text> transformMessage(@Nullable Object sender, MessageReceiver recipient, Text original, ChatType type) {
+                return Optional.of(recipient == transformed ? other : original);
+            }
+
+            @Override
+            public Collection<MessageReceiver> getMembers() {
+                return ImmutableList.of(transformed, untransformed);
+            }
+        };
+        channel.send(text, mock(ChatType.class));
+        verify(transformed).sendMessage(other);
+        verify((BroadcastMessageReceiver) transformed, never()).sendMessage(any(BroadcastMessage.class));
+        verify((BroadcastMessageReceiver) untransformed).sendMessage(any(BroadcastMessage.class));
+    }
+
+    @Test
+    public void testEncodedOnce() {
+        final AtomicInteger count = new AtomicInteger();
+        final BiFunction<Text, Locale, String> encoder = (text, locale) -> text.toPlain() + count.incrementAndGet();
+        final BroadcastMessage message = new BroadcastMessage(Text.of("Hello"), mock(ChatType.class));
+        assertFalse(message.isLocalized());
+        assertEquals("Hello1", message.getEncoded(Locale.ENGLISH, encoder));
+        assertEquals("Hello1", message.getEncoded(Locale.FRENCH, encoder));
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testEncodedPerLocale() {
+        final AtomicInteger count = new AtomicInteger();
+        final BiFunction<Text, Locale, String> encoder = (text, locale) -> locale.getLanguage() + count.incrementAndGet();
+        final Text text = Text.of("Hello ", Text.of(mock(Translation.class)));
+        final BroadcastMessage message = new BroadcastMessage(text, mock(ChatType.class));
+        assertTrue(message.isLocalized());
+        assertEquals("en1", message.getEncoded(Locale.ENGLISH, encoder));
+        assertEquals("fr2", message.getEncoded(Locale.FRENCH, encoder));
+        assertEquals("en1", message.getEncoded(Locale.ENGLISH, encoder));
+        assertEquals(2, count.get());
+    }
+
+    private static List<Player> mockOnlinePlayers() throws Exception {
+        final Game game = mock(Game.class);
+        final Server server = mock(Server.class);
+        final List<Player> players = new ArrayList<>();
+        players.add(mock(Player.class));
+        when(game.getServer()).thenReturn(server);
+        when(server.getOnlinePlayers()).thenReturn(players);
+        when(server.getConsole()).thenReturn(mock(ConsoleSource.class));
+        TestHooks.setGame(game);
+        return players;
+    }
+
+    @Test
+    public void testMembersWithoutSnapshots() throws Exception {
+        final List<Player> players = mockOnlinePlayers();
+        final OnlinePlayersMessageChannel channel = new OnlinePlayersMessageChannel(false);
+        final Collection<MessageReceiver> members = channel.getMembers();
+        assertEquals(1, members.size());
+
+        // A quit and a join between two calls
+        final Player joined = mock(Player.class);
+        players.set(0, joined);
+        final Collection<MessageReceiver> updated = channel.getMembers();
+        assertNotSame(members, updated);
+        assertEquals(ImmutableSet.of(joined), updated);
+    }
+
+    @Test
+    public void testMemberSnapshots() throws Exception {
+        final List<Player> players = mockOnlinePlayers();
+        final OnlinePlayersMessageChannel channel = new OnlinePlayersMessageChannel(true);
+        channel.invalidate();
+        final Collection<MessageReceiver> members = channel.getMembers();
+        assertEquals(2, members.size());
+        assertSame(members, channel.getMembers());
+
+        final Player joined = mock(Player.class);
+        players.set(0, joined);
+        channel.invalidate();
+        final Collection<MessageReceiver> updated = channel.getMembers();
+        assertNotSame(members, updated);
+        assertTrue(updated.contains(joined));
+        assertSame(updated, channel.getMembers());
+    }
+
+    @Test
+    public void testInvalidateAfterPlayersChanged() throws Exception {
+        final List<Player> players = mockOnlinePlayers();
+        final OnlinePlayersMessageChannel channel = new OnlinePlayersMessageChannel(false);
+        final Player joined = mock(Player.class);
+
+        // Invalidated before the join, the members read in between are kept
+        channel.invalidate();
+        final Collection<MessageReceiver> stale = channel.getMembers();
+        players.add(joined);
+        assertSame(stale, channel.getMembers());
+        assertFalse(channel.getMembers().contains(joined));
+
+        // Invalidated after the join, as required
+        channel.invalidate();
+        assertTrue(channel.getMembers().contains(joined));
+        players.remove(joined);
+        channel.invalidate();
+        assertFalse(channel.getMembers().contains(joined));
+    }
+
+    @Test
+    public void testInvalidateMemberSnapshots() throws Exception {
+        final List<Player> players = mockOnlinePlayers();
+        MessageChannel.invalidateMemberSnapshots();
+        final Collection<MessageReceiver> members = MessageChannel.TO_PLAYERS.getMembers();
+        assertSame(members, MessageChannel.TO_PLAYERS.getMembers());
+        assertEquals(2, MessageChannel.TO_ALL.getMembers().size());
+
+        players.add(mock(Player.class));
+        MessageChannel.invalidateMemberSnapshots();
+        assertEquals(2, MessageChannel.TO_PLAYERS.getMembers().size());
+        assertEquals(3, MessageChannel.TO_ALL.getMembers().size());
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.serializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.spongepowered.api.text.LiteralText;
+import org.spongepowered.api.text.TestPlainTextSerializer;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class SimpleFormattingCodeTextSerializerTest {
+
+    private static final String[] STYLES = {"OBFUSCATED", "BOLD", "STRIKETHROUGH", "UNDERLINE", "ITALIC"};
+    private static final Map<String, Object> originalStyles = new HashMap<>();
+
+    private static final SimpleFormattingCodeTextSerializer serializer = new SimpleFormattingCodeTextSerializer("test:formatting_code", "Test", '&');
+
+    @BeforeClass
+    public static void initialize() throws Exception {
+        TestPlainTextSerializer.inject();
+        TestHooks.mockFields(TextColors.class, TextColor.class);
+        for (int i = 0; i < STYLES.length; i++) {
+            originalStyles.put(STYLES[i], TextStyles.class.getField(STYLES[i]).get(null));
+            TestHooks.setCatalogElement(TextStyles.class, STYLES[i], new TestStyle(STYLES[i], i));
+        }
+    }
+
+    @AfterClass
+    public static void restore() throws Exception {
+        for (Map.Entry<String, Object> entry : originalStyles.entrySet()) {
+            TestHooks.setCatalogElement(TextStyles.class, entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Test
+    public void testDeserializePlain() {
+        Text text = serializer.deserialize("Hello & goodbye");
+        assertEquals(Text.of("Hello & goodbye"), text);
+        assertSame(Text.EMPTY, serializer.deserialize("&c&l"));
+    }
+
+    @Test
+    public void testDeserializeCodes() {
+        Text text = serializer.deserialize("&cHello &L&eSponge&r!&");
+        Text expected = Text.builder().append(
+                Text.builder("Hello ").color(TextColors.RED).build(),
+                Text.builder("Sponge").color(TextColors.YELLOW).build(),
+                Text.of("!&")).build();
+        assertEquals(expected, text);
+
+        Text single = serializer.deserialize("&a&lGreen");
+        assertEquals(Text.builder("Green").color(TextColors.GREEN).style(TextStyles.BOLD).build(), single);
+    }
+
+    @Test
+    public void testUnknownCodesAreLiteral() {
+        assertEquals(Text.of("a&zb&&"), serializer.deserialize("a&zb&&"));
+        assertEquals("a&zb", serializer.stripCodes("a&z&cb"));
+    }
+
+    @Test
+    public void testStripAndReplaceCodes() {
+        assertEquals("Hello Sponge!", serializer.stripCodes("&cHello &e&lSponge!"));
+        assertEquals("$cHello $eSponge! &", serializer.replaceCodes("&cHello &eSponge! &", '$'));
+        assertEquals("plain", serializer.stripCodes("plain"));
+    }
+
+    @Test
+    public void testSerialize() {
+        Text text = Text.builder("Hello ").color(TextColors.RED)
+                .append(Text.builder("bold ").style(TextStyles.BOLD).build())
+                .append(Text.of("red "))
+                .append(Text.builder("yellow").color(TextColors.YELLOW).build())
+                .build();
+        assertEquals("&cHello &lbold &cred &eyellow", serializer.serialize(text));
+        assertEquals("plain", serializer.serialize(Text.of("plain")));
+    }
+
+    @Test
+    public void testSerializeToAppendable() throws Exception {
+        Text text = serializer.deserialize("&1a&2&kb&rc");
+        StringBuilder builder = new StringBuilder("> ");
+        serializer.serialize(text, builder);
+        assertEquals("> " + serializer.serialize(text), builder.toString());
+    }
+
+    @Test
+    public void testSerializeSeparatesDanglingFormattingChar() {
+        Text text = serializer.deserialize("&ca&&c&cb");
+        String serialized = serializer.serialize(text);
+        assertEquals("&ca&&cb", serialized);
+        assertEquals(flatten(text), flatten(serializer.deserialize(serialized)));
+    }
+
+    @Test
+    public void testRoundTripRandom() {
+        final String alphabet = "ab &&&0123456789abcdefklmnorRLz";
+        final Random random = new Random(25);
+        for (int n = 0; n < 2000; n++) {
+            final StringBuilder input = new StringBuilder();
+            final int length = random.nextInt(24);
+            for (int i = 0; i < length; i++) {
+                input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            Text text = serializer.deserialize(input.toString());
+            String serialized = serializer.serialize(text);
+            Text reparsed = serializer.deserialize(serialized);
+            String message = input + " -> " + serialized;
+            assertEquals(message, flatten(text), flatten(reparsed));
+            assertEquals(message, serialized, serializer.serialize(reparsed));
+            assertEquals(message, serializer.stripCodes(input.toString()), serializer.stripCodes(serialized));
+        }
+    }
+
+    /**
+     * Describes every character of a text together with its effective color
+     * and style.
+     */
+    private static String flatten(Text text) {
+        StringBuilder builder = new StringBuilder();
+        flatten(text, TextColors.NONE, TextStyles.NONE, builder);
+        return builder.toString();
+    }
+
+    private static void flatten(Text text, TextColor color, TextStyle style, StringBuilder builder) {
+        if (text.getColor() != TextColors.NONE) {
+            color = text.getColor();
+        }
+        style = style.and(text.getStyle());
+        for (char c : ((LiteralText) text).getContent().toCharArray()) {
+            builder.append(c).append('[').append(color == TextColors.NONE ? "none" : Integer.toHexString(System.identityHashCode(color)));
+            for (String name : STYLES) {
+                builder.append(isSet(style, name) ? name.charAt(0) : '-');
+            }
+            builder.append(']');
+        }
+        for (Text child : text.getChildren()) {
+            flatten(child, color, style, builder);
+        }
+    }
+
+    private static boolean isSet(TextStyle style, String name) {
+        switch (name) {
+            case "OBFUSCATED":
+                return style.isObfuscated().orElse(false);
+            case "BOLD":
+                return style.isBold().orElse(false);
+            case "STRIKETHROUGH":
+                return style.hasStrikethrough().orElse(false);
+            case "UNDERLINE":
+                return style.hasUnderline().orElse(false);
+            default:
+                return style.isItalic().orElse(false);
+        }
+    }
+
+    private static final class TestStyle extends TextStyle.Base {
+
+        private final String name;
+
+        TestStyle(String name, int index) {
+            super(index == 1 ? true : null, index == 4 ? true : null, index == 3 ? true : null, index == 2 ? true : null,
+                    index == 0 ? true : null);
+            this.name = name;
+        }
+
+        @Override
+        public String getId() {
+            return "test:" + this.name.toLowerCase();
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+    }
+
+}
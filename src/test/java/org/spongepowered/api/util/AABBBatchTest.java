@@ -0,0 +1,154 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.Random;
+
+public class AABBBatchTest {
+
+    private static final Random RANDOM = new Random();
+
+    @Test
+    public void testAddAndGet() {
+        final AABBBatch batch = new AABBBatch(1);
+        final AABB aabb1 = new AABB(new Vector3d(1, 2, 3), new Vector3d(7, 10, 13));
+        Assert.assertEquals(0, batch.add(aabb1));
+        Assert.assertEquals(1, batch.add(7, 10, 13, 1, 2, 3));
+        Assert.assertEquals(2, batch.add(-1, -2, -3, 1, 2, 3));
+        Assert.assertEquals(3, batch.size());
+        Assert.assertEquals(aabb1, batch.get(0));
+        Assert.assertEquals(aabb1, batch.get(1));
+        Assert.assertEquals(new AABB(-1, -2, -3, 1, 2, 3), batch.get(2));
+        batch.set(2, aabb1);
+        Assert.assertEquals(aabb1, batch.get(2));
+        batch.clear();
+        Assert.assertEquals(0, batch.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddDegenerate() {
+        new AABBBatch().add(1, 2, 3, 1, 5, 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortResults() {
+        final AABBBatch batch = new AABBBatch();
+        batch.add(0, 0, 0, 1, 1, 1);
+        batch.add(0, 0, 0, 2, 2, 2);
+        batch.intersects(new AABB(0, 0, 0, 1, 1, 1), new boolean[1]);
+    }
+
+    @Test
+    public void testIntersectsAABB() {
+        final AABBBatch batch = new AABBBatch();
+        final AABB[] boxes = new AABB[500];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = newAABB();
+            batch.add(boxes[i]);
+        }
+        final boolean[] results = new boolean[boxes.length];
+        final int[] indices = new int[boxes.length];
+        for (int n = 0; n < 100; n++) {
+            final AABB other = newAABB();
+            final int count = batch.intersects(other, results);
+            Assert.assertEquals(count, batch.intersects(other, indices));
+            int expected = 0;
+            for (int i = 0; i < boxes.length; i++) {
+                final boolean hit = boxes[i].intersects(other);
+                Assert.assertEquals(hit, results[i]);
+                if (hit) {
+                    Assert.assertEquals(i, indices[expected++]);
+                }
+            }
+            Assert.assertEquals(expected, count);
+        }
+    }
+
+    @Test
+    public void testIntersectsRay() {
+        final AABBBatch batch = new AABBBatch();
+        batch.add(0, 0, 0, 2, 2, 2);
+        batch.add(4, 0, 0, 6, 2, 2);
+        batch.add(-4, 0, 0, -2, 2, 2);
+        batch.add(0, 4, 0, 2, 6, 2);
+        final double[] distances = new double[4];
+        Assert.assertEquals(2, batch.intersects(new Vector3d(1, 1, 1), new Vector3d(1, 0, 0), distances));
+        Assert.assertEquals(1, distances[0], 0);
+        Assert.assertEquals(3, distances[1], 0);
+        Assert.assertTrue(Double.isNaN(distances[2]));
+        Assert.assertTrue(Double.isNaN(distances[3]));
+        Assert.assertEquals(1, batch.intersects(new Vector3d(1, 1, -1), new Vector3d(0, 0, 0.5), distances));
+        Assert.assertEquals(2, distances[0], 0);
+        Assert.assertTrue(Double.isNaN(distances[1]));
+        Assert.assertEquals(0, batch.intersects(new Vector3d(-1, -1, -1), new Vector3d(0, 1, 0), distances));
+    }
+
+    @Test
+    public void testIntersectsRayMatchesAABB() {
+        final AABBBatch batch = new AABBBatch();
+        final AABB[] boxes = new AABB[500];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = newAABB();
+            batch.add(boxes[i]);
+        }
+        final double[] distances = new double[boxes.length];
+        for (int n = 0; n < 100; n++) {
+            final Vector3d start = new Vector3d(randomCoordinate(), randomCoordinate(), randomCoordinate());
+            final Vector3d direction = new Vector3d(RANDOM.nextGaussian(), RANDOM.nextGaussian(), RANDOM.nextGaussian());
+            int expected = 0;
+            final int count = batch.intersects(start, direction, distances);
+            for (int i = 0; i < boxes.length; i++) {
+                final Optional<Tuple<Vector3d, Vector3d>> hit = boxes[i].intersects(start, direction);
+                if (hit.isPresent()) {
+                    expected++;
+                    final Vector3d point = start.add(direction.mul(distances[i]));
+                    Assert.assertEquals(0, hit.get().getFirst().distance(point), 1e-6);
+                } else {
+                    Assert.assertTrue(Double.isNaN(distances[i]));
+                }
+            }
+            Assert.assertEquals(expected, count);
+        }
+    }
+
+    private static AABB newAABB() {
+        final Vector3d min = new Vector3d(randomCoordinate(), randomCoordinate(), randomCoordinate());
+        return new AABB(min, min.add(randomPositiveCoordinate(), randomPositiveCoordinate(), randomPositiveCoordinate()));
+    }
+
+    private static double randomPositiveCoordinate() {
+        return RANDOM.nextDouble() * 10 + 1;
+    }
+
+    private static double randomCoordinate() {
+        return (RANDOM.nextDouble() - 0.5) * 40;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.blockray;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.util.Direction;
+import org.spongepowered.api.world.extent.Extent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BlockRayTest {
+
+    private Extent extent;
+
+    @Before
+    public void createExtent() {
+        this.extent = mock(Extent.class, CALLS_REAL_METHODS);
+        when(this.extent.containsBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            final int x = invocation.getArgument(0);
+            final int y = invocation.getArgument(1);
+            final int z = invocation.getArgument(2);
+            return Math.abs(x) < 16 && Math.abs(y) < 16 && Math.abs(z) < 16;
+        });
+    }
+
+    private BlockRay.BlockRayBuilder<Extent> ray(Vector3d start) {
+        return BlockRay.from(this.extent, start).narrowPhase(false);
+    }
+
+    @Test
+    public void testAxisRay() {
+        final List<Vector3i> blocks = new ArrayList<>();
+        for (BlockRayHit<Extent> hit : ray(new Vector3d(0.5, 0.5, 0.5)).direction(Vector3d.UNIT_X).distanceLimit(5)) {
+            assertEquals(Vector3d.UNIT_X.negate(), hit.getNormal());
+            blocks.add(hit.getBlockPosition());
+        }
+        assertEquals(5, blocks.size());
+        assertEquals(new Vector3i(1, 0, 0), blocks.get(0));
+        assertEquals(new Vector3i(5, 0, 0), blocks.get(4));
+
+        final List<Vector3i> visited = new ArrayList<>();
+        ray(new Vector3d(0.5, 0.5, 0.5)).direction(Vector3d.UNIT_X).distanceLimit(5).visit((blockX, blockY, blockZ, x, y, z, face) -> {
+            assertEquals(Direction.WEST, face);
+            assertEquals(blockX, x, 0);
+            visited.add(new Vector3i(blockX, blockY, blockZ));
+            return true;
+        });
+        assertEquals(blocks, visited);
+    }
+
+    @Test
+    public void testExtentLimit() {
+        // Rays parallel to the grid and starting on it still cross every plane
+        final List<BlockRayHit<Extent>> hits = new ArrayList<>();
+        ray(new Vector3d(0, 2, 0.5)).direction(new Vector3d(-1, 0, 0)).distanceLimit(-1).forEach(hits::add);
+        assertEquals(15, hits.size());
+        assertEquals(new Vector3i(-1, 2, 0), hits.get(0).getBlockPosition());
+        assertEquals(new Vector3i(-15, 2, 0), hits.get(14).getBlockPosition());
+    }
+
+    @Test
+    public void testVisitMatchesIterator() {
+        final Vector3d start = new Vector3d(0.25, 0.5, 0.75);
+        final Vector3d direction = new Vector3d(1, -0.5, 2);
+        final List<Vector3i> blocks = new ArrayList<>();
+        ray(start).direction(direction).skipFilter(hit -> hit.getBlockY() != -1).forEach(hit -> blocks.add(hit.getBlockPosition()));
+
+        final List<Vector3i> visited = new ArrayList<>();
+        ray(start).direction(direction).skipFilter(hit -> hit.getBlockY() != -1).visit((blockX, blockY, blockZ, x, y, z, face) -> {
+            visited.add(new Vector3i(blockX, blockY, blockZ));
+            return true;
+        });
+        assertEquals(blocks, visited);
+
+        final List<Vector3i> unfiltered = new ArrayList<>();
+        BlockRay.visitAll(this.extent, new Vector3d[] {start}, new Vector3d[] {direction}, 1000, false,
+                (ray, blockX, blockY, blockZ, x, y, z, face) -> unfiltered.add(new Vector3i(blockX, blockY, blockZ)));
+        unfiltered.removeIf(block -> block.getY() == -1);
+        assertEquals(blocks, unfiltered);
+    }
+
+    @Test
+    public void testTarget() {
+        final List<Vector3i> visited = new ArrayList<>();
+        ray(new Vector3d(0.5, 0.5, 0.5)).to(new Vector3d(3.5, 0.5, 0.5)).visit((blockX, blockY, blockZ, x, y, z, face) -> {
+            visited.add(new Vector3i(blockX, blockY, blockZ));
+            return true;
+        });
+        assertEquals(2, visited.size());
+        assertEquals(new Vector3i(2, 0, 0), visited.get(1));
+    }
+
+    @Test
+    public void testVisitAllStops() {
+        final int[] counts = new int[2];
+        BlockRay.visitAll(this.extent, new Vector3d[] {Vector3d.ZERO, new Vector3d(0.5, 0.5, 0.5)},
+                new Vector3d[] {Vector3d.UNIT_Y, Vector3d.UNIT_Z.negate()}, -1, false, (ray, blockX, blockY, blockZ, x, y, z, face) -> {
+                    counts[ray]++;
+                    assertEquals(ray == 0 ? Direction.DOWN : Direction.SOUTH, face);
+                    return counts[ray] < 3;
+                });
+        assertEquals(3, counts[0]);
+        assertEquals(3, counts[1]);
+    }
+
+}
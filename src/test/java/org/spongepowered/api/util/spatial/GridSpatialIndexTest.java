@@ -0,0 +1,141 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.spatial;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.util.AABB;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class GridSpatialIndexTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testPutAndRemove() {
+        final GridSpatialIndex<String> index = new GridSpatialIndex<>(4);
+        final AABB box = new AABB(0, 0, 0, 1, 1, 1);
+        index.put("a", box);
+        Assert.assertTrue(index.contains("a"));
+        Assert.assertEquals(box, index.getBounds("a").get());
+        index.put("a", box.offset(100, 0, 0));
+        Assert.assertEquals(1, index.size());
+        Assert.assertTrue(index.getIntersecting(box).isEmpty());
+        Assert.assertEquals(1, index.getIntersecting(box.offset(100, 0, 0)).size());
+        Assert.assertTrue(index.remove("a"));
+        Assert.assertFalse(index.remove("a"));
+        Assert.assertFalse(index.contains("a"));
+        Assert.assertFalse(index.getBounds("a").isPresent());
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testQueriesMatchBruteForce() {
+        final GridSpatialIndex<Integer> index = new GridSpatialIndex<>(8);
+        final AABB[] boxes = new AABB[2000];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = newBox(i % 100 == 0 ? 100 : 3);
+            index.put(i, boxes[i]);
+        }
+        // Move part of the elements around, some within their cells
+        for (int i = 0; i < boxes.length; i += 3) {
+            boxes[i] = i % 2 == 0 ? boxes[i].offset(0.1, 0, 0) : newBox(3);
+            index.put(i, boxes[i]);
+        }
+        for (int i = 1; i < boxes.length; i += 7) {
+            boxes[i] = null;
+            index.remove(i);
+        }
+        for (int n = 0; n < 50; n++) {
+            final AABB query = newBox(20);
+            final Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (boxes[i] != null && boxes[i].intersects(query)) {
+                    expected.add(i);
+                }
+            }
+            Assert.assertEquals(expected, index.getIntersecting(query));
+
+            final Vector3d point = newPoint();
+            final double distance = 1 + this.random.nextDouble() * 20;
+            expected.clear();
+            for (int i = 0; i < boxes.length; i++) {
+                if (boxes[i] != null && SpatialIndex.distanceSquared(boxes[i], point) <= distance * distance) {
+                    expected.add(i);
+                }
+            }
+            Assert.assertEquals(expected, index.getWithinDistance(point, distance));
+
+            final int count = 1 + this.random.nextInt(30);
+            final List<Double> expectedDistances = new ArrayList<>();
+            for (AABB box : boxes) {
+                if (box != null) {
+                    expectedDistances.add(SpatialIndex.distanceSquared(box, point));
+                }
+            }
+            expectedDistances.sort(null);
+            final List<Integer> nearest = index.getNearest(point, count);
+            Assert.assertEquals(count, nearest.size());
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(expectedDistances.get(i), SpatialIndex.distanceSquared(boxes[nearest.get(i)], point), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testNearestFarAway() {
+        final GridSpatialIndex<Integer> index = new GridSpatialIndex<>(1);
+        index.put(0, new AABB(0, 0, 0, 1, 1, 1));
+        index.put(1, new AABB(5000, 0, 0, 5001, 1, 1));
+        index.put(2, new AABB(0, 1e9, 0, 1, 1e9 + 1, 1));
+        index.put(3, new AABB(0, -1e9, -1e9, 1, -1e9 + 1, -1e9 + 1));
+        Assert.assertEquals(0, (int) index.getNearest(new Vector3d(-10, 0, 0), 1).get(0));
+        Assert.assertEquals(1, (int) index.getNearest(new Vector3d(4000, 0, 0), 1).get(0));
+        Assert.assertEquals(2, (int) index.getNearest(new Vector3d(0, 2e9, 0), 1).get(0));
+        Assert.assertEquals(3, (int) index.getNearest(new Vector3d(0, -2e9, -2e9), 1).get(0));
+        final List<Integer> all = index.getNearest(new Vector3d(-10, 0, 0), 10);
+        Assert.assertEquals(4, all.size());
+        Assert.assertEquals(0, (int) all.get(0));
+        Assert.assertEquals(1, (int) all.get(1));
+        Assert.assertTrue(index.getNearest(Vector3d.ZERO, 0).isEmpty());
+    }
+
+    private Vector3d newPoint() {
+        return new Vector3d(this.random.nextDouble() * 200 - 100, this.random.nextDouble() * 100, this.random.nextDouble() * 200 - 100);
+    }
+
+    private AABB newBox(double maxSize) {
+        final Vector3d min = newPoint();
+        return new AABB(min, min.add(0.1 + this.random.nextDouble() * maxSize, 0.1 + this.random.nextDouble() * maxSize,
+                0.1 + this.random.nextDouble() * maxSize));
+    }
+
+}
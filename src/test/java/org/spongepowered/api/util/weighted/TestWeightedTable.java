@@ -27,7 +27,9 @@
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class TestWeightedTable {
 
@@ -41,4 +43,58 @@ public void test() {
         Assert.assertEquals(this, results.get(0));
     }
 
+    @Test
+    public void testCompiledDistribution() {
+        WeightedTable<String> table = new WeightedTable<>();
+        table.add("a", 1);
+        table.add("b", 2);
+        table.add("c", 7);
+        table.add("d", 0);
+        CompiledTable<String> compiled = table.compile();
+        int[] counts = new int[4];
+        Random rand = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            compiled.get(rand, s -> counts[s.charAt(0) - 'a']++);
+        }
+        Assert.assertEquals(0.1, counts[0] / 100000.0, 0.01);
+        Assert.assertEquals(0.2, counts[1] / 100000.0, 0.01);
+        Assert.assertEquals(0.7, counts[2] / 100000.0, 0.01);
+        Assert.assertEquals(0, counts[3]);
+    }
+
+    @Test
+    public void testCompiledIsSnapshot() {
+        WeightedTable<String> table = new WeightedTable<>();
+        table.add("a", 1);
+        CompiledTable<String> compiled = table.compile();
+        table.clear();
+        table.add("b", 1);
+        Random rand = new Random(0);
+        Assert.assertEquals("a", compiled.get(rand).get(0));
+        Assert.assertEquals("b", table.get(rand).get(0));
+    }
+
+    @Test
+    public void testNested() {
+        ChanceTable<String> inner = new ChanceTable<>();
+        inner.add("x", 1);
+        inner.add("y", 0);
+        WeightedTable<String> table = new WeightedTable<>();
+        table.add(new NestedTableEntry<>(1, inner));
+        LootTable<String> loot = new LootTable<>();
+        loot.addTable(table);
+        CompiledLootTable<String> compiled = loot.compile();
+
+        Random rand = new Random(0);
+        List<String> results = new ArrayList<>();
+        table.get(rand, results::add);
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("x", results.get(0));
+        Assert.assertEquals(results, compiled.get(rand));
+
+        inner.add("z", 1);
+        Assert.assertEquals(2, loot.get(rand).size());
+        Assert.assertEquals(1, compiled.get(rand).size());
+    }
+
 }
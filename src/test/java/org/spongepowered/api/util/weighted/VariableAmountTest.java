@@ -0,0 +1,79 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.weighted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+public class VariableAmountTest {
+
+    @Test
+    public void testFlatten() {
+        VariableAmount fixed = VariableAmount.fixed(3);
+        assertSame(fixed, fixed.flatten());
+        assertEquals(new VariableAmount.Uniform(2, 3), VariableAmount.range(2, 5).flatten());
+        assertEquals(new VariableAmount.Uniform(1, 4), VariableAmount.baseWithVariance(3, 2).flatten());
+        assertEquals(VariableAmount.fixed(3), VariableAmount.baseWithOptionalVariance(3, 2, 0).flatten());
+        assertEquals(new VariableAmount.Uniform(1, 4), VariableAmount.baseWithOptionalVariance(3, 2, 1).flatten());
+
+        VariableAmount lambda = rand -> 1;
+        VariableAmount nested = VariableAmount.baseWithRandomAddition(1, lambda);
+        assertSame(nested, nested.flatten());
+    }
+
+    @Test
+    public void testBulk() {
+        VariableAmount amount = VariableAmount.baseWithVariance(10, VariableAmount.range(1, 2));
+        double[] amounts = new double[1000];
+        amount.getAmounts(new Random(1), amounts);
+        for (double value : amounts) {
+            assertTrue(value >= 8 && value < 12);
+        }
+
+        int[] floored = new int[1000];
+        amount.flatten().getFlooredAmounts(new SplittableRandom(1), floored);
+        for (int value : floored) {
+            assertTrue(value >= 8 && value < 12);
+        }
+    }
+
+    @Test
+    public void testSplittableRandom() {
+        VariableAmount range = VariableAmount.range(0, 10);
+        // The adapter draws the same values as the random it wraps
+        assertEquals(range.getAmount(new SplittableRandom(7)), range.flatten().getAmount(new SplittableRandom(7)), 1e-9);
+
+        int[] floored = new int[4];
+        VariableAmount.fixed(2.5).getFlooredAmounts(new SplittableRandom(7), floored);
+        assertEquals(2, floored[3]);
+    }
+
+}
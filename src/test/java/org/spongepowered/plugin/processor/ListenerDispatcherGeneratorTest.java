@@ -0,0 +1,489 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.plugin.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.GeneratedListenerIndex;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.cause.EventContextKey;
+import org.spongepowered.api.event.cause.EventContextKeys;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.filter.IsCancelled;
+import org.spongepowered.api.event.filter.cause.ContextValue;
+import org.spongepowered.api.event.filter.cause.First;
+import org.spongepowered.api.event.filter.cause.Last;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.filter.type.Exclude;
+import org.spongepowered.api.event.filter.type.Include;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+public class ListenerDispatcherGeneratorTest {
+
+    @ClassRule public static final TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String[] SAMPLE_EVENT = {
+        "package listener;",
+        "",
+        "import org.spongepowered.api.event.Cancellable;",
+        "import org.spongepowered.api.event.Event;",
+        "import org.spongepowered.api.event.cause.Cause;",
+        "",
+        "import java.util.Optional;",
+        "",
+        "public class SampleEvent implements Event, Cancellable {",
+        "",
+        "    private final Cause cause;",
+        "    private final Object value;",
+        "    private final String name;",
+        "    private boolean cancelled;",
+        "",
+        "    public SampleEvent(Cause cause, Object value, String name) {",
+        "        this.cause = cause;",
+        "        this.value = value;",
+        "        this.name = name;",
+        "    }",
+        "",
+        "    @Override",
+        "    public Cause getCause() {",
+        "        return this.cause;",
+        "    }",
+        "",
+        "    public Object getValue() {",
+        "        return this.value;",
+        "    }",
+        "",
+        "    public Optional<String> getName() {",
+        "        return Optional.ofNullable(this.name);",
+        "    }",
+        "",
+        "    @Override",
+        "    public boolean isCancelled() {",
+        "        return this.cancelled;",
+        "    }",
+        "",
+        "    @Override",
+        "    public void setCancelled(boolean cancel) {",
+        "        this.cancelled = cancel;",
+        "    }",
+        "",
+        "}",
+    };
+
+    private static final String[] OTHER_EVENT = {
+        "package listener;",
+        "",
+        "import org.spongepowered.api.event.cause.Cause;",
+        "",
+        "public class OtherEvent extends SampleEvent {",
+        "",
+        "    public OtherEvent(Cause cause, Object value, String name) {",
+        "        super(cause, value, name);",
+        "    }",
+        "",
+        "}",
+    };
+
+    private static final String[] SAMPLE_LISTENER = {
+        "package listener;",
+        "",
+        "import org.spongepowered.api.entity.living.player.Player;",
+        "import org.spongepowered.api.entity.living.player.User;",
+        "import org.spongepowered.api.event.Listener;",
+        "import org.spongepowered.api.event.filter.Getter;",
+        "import org.spongepowered.api.event.filter.IsCancelled;",
+        "import org.spongepowered.api.event.filter.cause.ContextValue;",
+        "import org.spongepowered.api.event.filter.cause.First;",
+        "import org.spongepowered.api.event.filter.cause.Last;",
+        "import org.spongepowered.api.event.filter.cause.Root;",
+        "import org.spongepowered.api.event.filter.type.Exclude;",
+        "import org.spongepowered.api.event.filter.type.Include;",
+        "import org.spongepowered.api.util.Tristate;",
+        "",
+        "import java.util.ArrayList;",
+        "import java.util.Arrays;",
+        "import java.util.List;",
+        "import java.util.Optional;",
+        "",
+        "public class SampleListener {",
+        "",
+        "    public final List<List<Object>> calls = new ArrayList<>();",
+        "",
+        "    private void record(Object... arguments) {",
+        "        this.calls.add(Arrays.asList(arguments));",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onFirst(SampleEvent event, @First Number number) {",
+        "        record(event, number);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onFirstFiltered(SampleEvent event, @First(typeFilter = Integer.class) Number number) {",
+        "        record(event, number);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onFirstInverse(SampleEvent event, @First(typeFilter = Integer.class, inverse = true) Number number) {",
+        "        record(event, number);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onLastInverse(SampleEvent event, @Last(typeFilter = {Integer.class, Long.class}, inverse = true) Number number) {",
+        "        record(event, number);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onRootInverse(SampleEvent event, @Root(typeFilter = String.class, inverse = true) Object root) {",
+        "        record(event, root);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onGetter(SampleEvent event, @Getter(\"getValue\") String value) {",
+        "        record(event, value);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onOptionalGetter(SampleEvent event, @Getter(\"getName\") String name) {",
+        "        record(event, name);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onOptionalGetterKept(SampleEvent event, @Getter(\"getName\") Optional<String> name) {",
+        "        record(event, name);",
+        "    }",
+        "",
+        "    @Listener",
+        "    @Include(OtherEvent.class)",
+        "    public void onInclude(SampleEvent event) {",
+        "        record(event);",
+        "    }",
+        "",
+        "    @Listener",
+        "    @Exclude(OtherEvent.class)",
+        "    public void onExclude(SampleEvent event) {",
+        "        record(event);",
+        "    }",
+        "",
+        "    @Listener",
+        "    @IsCancelled",
+        "    public void onCancelled(SampleEvent event) {",
+        "        record(event);",
+        "    }",
+        "",
+        "    @Listener",
+        "    @IsCancelled(Tristate.UNDEFINED)",
+        "    public void onAny(SampleEvent event) {",
+        "        record(event);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onContextValue(SampleEvent event, @ContextValue(\"OWNER\") User owner) {",
+        "        record(event, owner);",
+        "    }",
+        "",
+        "    @Listener",
+        "    public void onContextValueInverse(SampleEvent event,",
+        "            @ContextValue(value = \"OWNER\", typeFilter = Player.class, inverse = true) User owner) {",
+        "        record(event, owner);",
+        "    }",
+        "",
+        "    @Listener",
+        "    @Exclude(OtherEvent.class)",
+        "    @IsCancelled(Tristate.UNDEFINED)",
+        "    public void onCombined(SampleEvent event, @First(typeFilter = Double.class) Number number, @Getter(\"getValue\") Integer value,",
+        "            @ContextValue(\"OWNER\") Player owner) {",
+        "        record(event, number, value, owner);",
+        "    }",
+        "",
+        "}",
+    };
+
+    private static File sources;
+    private static ClassLoader classLoader;
+    private static Class<?> listenerClass;
+    private static List<Event> events;
+
+    @BeforeClass
+    public static void compile() throws Exception {
+        TestHooks.setCatalogElement(EventContextKeys.class, "OWNER", new OwnerKey());
+
+        final File input = folder.newFolder("input");
+        sources = folder.newFolder("sources");
+        final File classes = folder.newFolder("classes");
+        final List<File> files = ImmutableList.of(
+                writeSource(input, "SampleEvent", SAMPLE_EVENT),
+                writeSource(input, "OtherEvent", OTHER_EVENT),
+                writeSource(input, "SampleListener", SAMPLE_LISTENER));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            final List<String> options = ImmutableList.of("-classpath", System.getProperty("java.class.path"),
+                    "-d", classes.getPath(), "-s", sources.getPath(), "-A" + ListenerProcessor.GENERATE_DISPATCHERS_OPTION + "=true");
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(ImmutableList.of(new ListenerProcessor()));
+            assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        }
+
+        classLoader = new URLClassLoader(new URL[] {classes.toURI().toURL()}, ListenerDispatcherGeneratorTest.class.getClassLoader());
+        listenerClass = classLoader.loadClass("listener.SampleListener");
+        events = createEvents();
+    }
+
+    private static File writeSource(File directory, String name, String[] lines) throws Exception {
+        final File file = new File(directory, "listener/" + name + ".java");
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<Event> createEvents() throws ReflectiveOperationException {
+        final EventContext userContext = EventContext.builder().add(EventContextKeys.OWNER, mock(User.class)).build();
+        final EventContext playerContext = EventContext.builder().add(EventContextKeys.OWNER, mock(Player.class)).build();
+        final List<Cause> causes = ImmutableList.of(
+                Cause.of(EventContext.empty(), 1, 2.5, "text"),
+                Cause.of(userContext, "root", 3L, 1.5F, 4),
+                Cause.of(playerContext, 2.5, new StringBuilder(), 7),
+                Cause.of(playerContext, "only"));
+        final List<Event> events = new ArrayList<>();
+        for (String eventName : new String[] {"listener.SampleEvent", "listener.OtherEvent"}) {
+            final Constructor<?> constructor = classLoader.loadClass(eventName).getConstructor(Cause.class, Object.class, String.class);
+            for (Cause cause : causes) {
+                for (Object value : new Object[] {"value", 5, null}) {
+                    for (String name : new String[] {"name", null}) {
+                        for (boolean cancelled : new boolean[] {false, true}) {
+                            final Event event = (Event) constructor.newInstance(cause, value, name);
+                            ((Cancellable) event).setCancelled(cancelled);
+                            events.add(event);
+                        }
+                    }
+                }
+            }
+        }
+        return events;
+    }
+
+    private static List<Method> getListenerMethods() {
+        final List<Method> methods = new ArrayList<>();
+        for (Method method : listenerClass.getMethods()) {
+            if (method.isAnnotationPresent(Listener.class)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    @Test
+    public void testFiltersMatchRuntime() throws Exception {
+        final GeneratedListenerIndex index = GeneratedListenerIndex.load(classLoader);
+        final Object listener = listenerClass.newInstance();
+        @SuppressWarnings("unchecked")
+        final List<List<Object>> calls = (List<List<Object>>) listenerClass.getField("calls").get(listener);
+        for (Method method : getListenerMethods()) {
+            final EventListener<Event> dispatcher = index.createDispatcher(listener, method)
+                    .orElseThrow(() -> new AssertionError("No dispatcher for " + method));
+            int called = 0;
+            for (Event event : events) {
+                calls.clear();
+                dispatcher.handle(event);
+                final Object[] expected = filter(method, event);
+                if (expected == null) {
+                    assertEquals(method.getName() + " for " + event.getCause(), ImmutableList.of(), calls);
+                } else {
+                    assertEquals(method.getName() + " for " + event.getCause(), ImmutableList.of(Arrays.asList(expected)), calls);
+                    called++;
+                }
+            }
+            assertTrue(method.getName() + " was never called", called > 0);
+            assertTrue(method.getName() + " was never filtered", called < events.size() || method.getName().equals("onAny"));
+        }
+    }
+
+    @Test
+    public void testIndexRoundTrip() throws Exception {
+        final GeneratedListenerIndex index = GeneratedListenerIndex.load(classLoader);
+        final List<Method> methods = getListenerMethods();
+        assertEquals(methods.size(), index.size());
+        final Object listener = listenerClass.newInstance();
+        for (Method method : methods) {
+            final Optional<String> className = index.getDispatcherClassName(method);
+            assertTrue(method.getName(), className.isPresent());
+            assertEquals(className.get(), index.createDispatcher(listener, method).get().getClass().getName());
+        }
+        assertFalse(index.getDispatcherClassName(Object.class.getMethod("toString")).isPresent());
+        assertFalse(index.createDispatcher(listener, listenerClass.getDeclaredMethod("record", Object[].class)).isPresent());
+    }
+
+    @Test
+    public void testNoRemovedGeneratedAnnotation() throws Exception {
+        final File source = new File(sources, "listener/SampleListener_onFirst_Dispatcher.java");
+        assertTrue(source.isFile());
+        assertFalse(new String(Files.readAllBytes(source.toPath()), StandardCharsets.UTF_8).contains("@javax.annotation.Generated"));
+    }
+
+    // The filters as applied by the event manager at runtime
+
+    @Nullable
+    private static Object[] filter(Method method, Event event) throws ReflectiveOperationException {
+        final IsCancelled isCancelled = method.getAnnotation(IsCancelled.class);
+        final Tristate state = isCancelled == null ? Tristate.FALSE : isCancelled.value();
+        if (state != Tristate.UNDEFINED && event instanceof Cancellable && ((Cancellable) event).isCancelled() != state.asBoolean()) {
+            return null;
+        }
+        final Include include = method.getAnnotation(Include.class);
+        if (include != null && !isInstance(event, include.value())) {
+            return null;
+        }
+        final Exclude exclude = method.getAnnotation(Exclude.class);
+        if (exclude != null && isInstance(event, exclude.value())) {
+            return null;
+        }
+
+        final Parameter[] parameters = method.getParameters();
+        final Object[] arguments = new Object[parameters.length];
+        arguments[0] = event;
+        for (int i = 1; i < parameters.length; i++) {
+            arguments[i] = filter(parameters[i], event);
+            if (arguments[i] == null) {
+                return null;
+            }
+        }
+        return arguments;
+    }
+
+    @Nullable
+    private static Object filter(Parameter parameter, Event event) throws ReflectiveOperationException {
+        final Class<?> type = parameter.getType();
+        final First first = parameter.getAnnotation(First.class);
+        if (first != null) {
+            return find(event.getCause().all(), type, first.typeFilter(), first.inverse());
+        }
+        final Last last = parameter.getAnnotation(Last.class);
+        if (last != null) {
+            return find(Lists.reverse(event.getCause().all()), type, last.typeFilter(), last.inverse());
+        }
+
+        final Root root = parameter.getAnnotation(Root.class);
+        final ContextValue contextValue = parameter.getAnnotation(ContextValue.class);
+        if (root != null) {
+            return find(ImmutableList.of(event.getCause().root()), type, root.typeFilter(), root.inverse());
+        } else if (contextValue != null) {
+            final EventContextKey<?> key = (EventContextKey<?>) EventContextKeys.class.getField(contextValue.value()).get(null);
+            final Optional<?> value = event.getContext().get(key);
+            return find(value.isPresent() ? ImmutableList.of(value.get()) : ImmutableList.of(), type, contextValue.typeFilter(),
+                    contextValue.inverse());
+        }
+        Object value = event.getClass().getMethod(parameter.getAnnotation(Getter.class).value()).invoke(event);
+        if (value instanceof Optional && type != Optional.class) {
+            value = ((Optional<?>) value).orElse(null);
+        }
+        return type.isInstance(value) ? value : null;
+    }
+
+    @Nullable
+    private static Object find(List<Object> candidates, Class<?> type, Class<?>[] typeFilter, boolean inverse) {
+        for (Object candidate : candidates) {
+            if (type.isInstance(candidate) && (typeFilter.length == 0 || isInstance(candidate, typeFilter) != inverse)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInstance(Object object, Class<?>[] types) {
+        for (Class<?> type : types) {
+            if (type.isInstance(object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class OwnerKey implements EventContextKey<User> {
+
+        private final int ordinal = EventContext.ordinalOf(this);
+
+        @Override
+        public String getId() {
+            return "sponge:owner";
+        }
+
+        @Override
+        public String getName() {
+            return "Owner";
+        }
+
+        @Override
+        public Class<User> getAllowedType() {
+            return User.class;
+        }
+
+        @Override
+        public int ordinal() {
+            return this.ordinal;
+        }
+
+    }
+
+}